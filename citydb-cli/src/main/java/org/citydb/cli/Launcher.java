@@ -74,6 +74,14 @@ public class Launcher implements Command, CommandLine.IVersionProvider {
             description = "Write log messages to this file.")
     private Path logFile;
 
+    @CommandLine.Option(names = "--log-async", scope = CommandLine.ScopeType.INHERIT,
+            description = "Write log messages asynchronously.")
+    private boolean logAsync;
+
+    @CommandLine.Option(names = "--log-warning-limit", scope = CommandLine.ScopeType.INHERIT, paramLabel = "<count>",
+            description = "Maximum number of similar warnings to log. Further warnings are summarized at the end.")
+    private Integer warningLimit;
+
     @CommandLine.Option(names = "--pid-file", scope = CommandLine.ScopeType.INHERIT, paramLabel = "<file>",
             description = "Create a file containing the process ID.")
     private Path pidFile;
@@ -167,6 +175,8 @@ public class Launcher implements Command, CommandLine.IVersionProvider {
             logException(e.getCause());
         } catch (Throwable e) {
             logException(e);
+        } finally {
+            LoggerManager.getInstance().logSuppressedWarnings();
         }
 
         return exitCode;
@@ -187,7 +197,10 @@ public class Launcher implements Command, CommandLine.IVersionProvider {
     }
 
     private void initializeLogging() {
-        LoggerManager manager = LoggerManager.getInstance();
+        LoggerManager manager = LoggerManager.getInstance()
+                .setAsync(logAsync)
+                .setWarningLimit(warningLimit != null ? warningLimit : 0);
+
         manager.logConsole()
                 .setLogLevel(logLevel.level)
                 .setLogPattern(logLevel.level.isMoreSpecificThan(Level.INFO) ?
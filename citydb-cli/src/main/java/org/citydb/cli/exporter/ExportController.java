@@ -21,12 +21,19 @@
 
 package org.citydb.cli.exporter;
 
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import com.alibaba.fastjson2.JSONWriter;
 import org.apache.logging.log4j.Logger;
 import org.citydb.cli.ExecutionException;
 import org.citydb.cli.command.Command;
+import org.citydb.cli.option.ChangeFeedOptions;
 import org.citydb.cli.option.DatabaseOptions;
 import org.citydb.cli.option.OutputFileOptions;
+import org.citydb.cli.option.ProjectionOptions;
 import org.citydb.cli.option.ThreadsOption;
+import org.citydb.cli.option.TilingOptions;
 import org.citydb.cli.util.CommandHelper;
 import org.citydb.cli.util.QueryExecutor;
 import org.citydb.cli.util.QueryResult;
@@ -41,11 +48,28 @@ import org.citydb.io.writer.WriteOptions;
 import org.citydb.io.writer.options.SpatialReference;
 import org.citydb.logging.LoggerManager;
 import org.citydb.model.feature.Feature;
+import org.citydb.model.geometry.Coordinate;
+import org.citydb.model.geometry.Envelope;
 import org.citydb.operation.exporter.ExportOptions;
 import org.citydb.operation.exporter.Exporter;
 import org.citydb.operation.util.FeatureStatistics;
 import picocli.CommandLine;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class ExportController implements Command {
@@ -59,10 +83,27 @@ public abstract class ExportController implements Command {
     @CommandLine.Mixin
     protected ThreadsOption threadsOption;
 
+    @CommandLine.Option(names = "--feature-batch-size", paramLabel = "<number>", defaultValue = "1",
+            description = "Number of top-level features whose hierarchies are fetched together using " +
+                    "non-recursive queries (default: ${DEFAULT-VALUE}).")
+    protected int featureBatchSize;
+
     @CommandLine.Option(names = {"-q", "--query"}, paramLabel = "<select>",
             description = "SQL select statement to use as filter query.")
     private String query;
 
+    @CommandLine.ArgGroup(exclusive = false,
+            heading = "Change export options:%n")
+    protected ChangeFeedOptions changeFeedOptions;
+
+    @CommandLine.ArgGroup(exclusive = false,
+            heading = "Tiling options:%n")
+    protected TilingOptions tilingOptions;
+
+    @CommandLine.ArgGroup(exclusive = false,
+            heading = "Projection options:%n")
+    protected ProjectionOptions projectionOptions;
+
     @CommandLine.ArgGroup(exclusive = false, multiplicity = "1", order = Integer.MAX_VALUE,
             heading = "Database connection options:%n")
     protected DatabaseOptions databaseOptions;
@@ -71,6 +112,7 @@ public abstract class ExportController implements Command {
     protected final CommandHelper helper = CommandHelper.of(logger);
     private final Object lock = new Object();
     private volatile boolean shouldRun = true;
+    private OffsetDateTime changedUntil;
 
     protected abstract IOAdapter getIOAdapter(IOAdapterManager ioManager) throws ExecutionException;
     protected abstract Object getFormatOptions() throws ExecutionException;
@@ -91,28 +133,94 @@ public abstract class ExportController implements Command {
                         .findFirst()
                         .orElse(null));
 
-        DatabaseManager databaseManager = helper.connect(databaseOptions);
+        DatabaseManager databaseManager = helper.connect(databaseOptions, threadsOption.getNumberOfThreads(),
+                tilingOptions != null ? tilingOptions.getNumberOfWorkers() : 1);
         QueryExecutor executor = QueryExecutor.of(databaseManager.getAdapter());
         FeatureStatistics statistics = helper.createFeatureStatistics(databaseManager.getAdapter());
 
         helper.printIndexStatus(databaseManager.getAdapter(), logger::info);
+        if (changeFeedOptions != null) {
+            changedUntil = getDatabaseTime(databaseManager.getAdapter());
+            logger.info(changeFeedOptions.getChangedSince() != null ?
+                    "Exporting changes since " + changeFeedOptions.getChangedSince() + "." :
+                    "No previous watermark found. Exporting all features.");
+        }
+
         initialize(databaseManager);
 
-        try (OutputFile outputFile = builder.newOutputFile(outputFileOptions.getFile());
+        try {
+            AtomicLong counter = new AtomicLong();
+            if (tilingOptions != null) {
+                exportTiles(databaseManager.getAdapter(), ioAdapter, ioManager, builder, executor, statistics,
+                        counter);
+            } else {
+                logger.info("Querying features matching the request...");
+                try (QueryResult result = executor.executeQuery(getQuery(databaseManager.getAdapter()))) {
+                    exportFeatures(databaseManager.getAdapter(), ioAdapter, ioManager, builder,
+                            outputFileOptions.getFile(), result, result.hasNext(), statistics, counter,
+                            new AtomicLong());
+                }
+            }
+
+            if (shouldRun && changeFeedOptions != null && changeFeedOptions.getChangedSince() != null) {
+                writeDeletionList(executor, databaseManager.getAdapter(),
+                        changeFeedOptions.getDeletionList(outputFileOptions.getFile()));
+            }
+        } catch (Throwable e) {
+            logger.warn("Database export aborted due to an error.");
+            throw new ExecutionException("A fatal error has occurred during export.", e);
+        } finally {
+            databaseManager.disconnect();
+            if (!statistics.isEmpty()) {
+                logger.info("Export summary:");
+                statistics.printFeatureSummary(logger::info);
+            } else {
+                logger.info("No features exported.");
+            }
+        }
+
+        if (shouldRun && changeFeedOptions != null) {
+            try {
+                changeFeedOptions.writeWatermark(changedUntil);
+            } catch (IOException e) {
+                throw new ExecutionException("Failed to update watermark file.", e);
+            }
+        }
+
+        return shouldRun;
+    }
+
+    protected String getQuery(DatabaseAdapter adapter) {
+        String schema = adapter.getConnectionDetails().getSchema();
+        if (query != null) {
+            return "select f.id from " + schema + ".feature f " +
+                    "where f.id in (" + query + ")" +
+                    "and f.termination_date is null" +
+                    getChangeFilter("f.last_modification_date");
+        } else {
+            return "select f.id from " + schema + ".feature f " +
+                    "inner join " + schema + ".objectclass o on o.id = f.objectclass_id " +
+                    "where o.is_toplevel = 1 and f.termination_date is null" +
+                    getChangeFilter("f.last_modification_date");
+        }
+    }
+
+    private Path exportFeatures(DatabaseAdapter adapter, IOAdapter ioAdapter, IOAdapterManager ioManager,
+                                OutputFileBuilder builder, Path file, QueryResult result, boolean hasNext,
+                                FeatureStatistics statistics, AtomicLong counter, AtomicLong fileCounter)
+            throws Exception {
+        try (OutputFile outputFile = builder.newOutputFile(file);
              FeatureWriter writer = ioAdapter.createWriter()) {
             Exporter exporter = Exporter.newInstance();
             ExportOptions exportOptions = getExportOptions().setOutputFile(outputFile);
-            WriteOptions writeOptions = getWriteOptions(databaseManager.getAdapter())
-                    .setFormatOptions(getFormatOptions());
-            AtomicLong counter = new AtomicLong();
+            WriteOptions writeOptions = getWriteOptions(adapter).setFormatOptions(getFormatOptions());
 
             logger.info("Exporting to " + ioManager.getFileFormat(ioAdapter) + " file " + outputFile.getFile() + ".");
             writer.initialize(outputFile, writeOptions);
 
-            logger.info("Querying features matching the request...");
-            try (QueryResult result = executor.executeQuery(getQuery(databaseManager.getAdapter()))) {
-                exporter.startSession(databaseManager.getAdapter(), exportOptions);
-                while (shouldRun && result.hasNext()) {
+            try {
+                exporter.startSession(adapter, exportOptions);
+                while (shouldRun && hasNext) {
                     long id = result.getId();
                     exporter.exportFeature(id).whenComplete((feature, t) -> {
                         if (feature != null) {
@@ -120,6 +228,7 @@ public abstract class ExportController implements Command {
                                 writer.write(feature).whenComplete((success, e) -> {
                                     if (success == Boolean.TRUE) {
                                         statistics.add(feature);
+                                        fileCounter.incrementAndGet();
                                         long count = counter.incrementAndGet();
                                         if (count % 1000 == 0) {
                                             logger.info(count + " features exported.");
@@ -135,42 +244,213 @@ public abstract class ExportController implements Command {
                             abort(null, id, t);
                         }
                     });
+
+                    hasNext = result.hasNext();
                 }
             } finally {
                 exporter.closeSession();
             }
-        } catch (Throwable e) {
-            logger.warn("Database export aborted due to an error.");
-            throw new ExecutionException("A fatal error has occurred during export.", e);
+
+            return outputFile.getFile();
+        }
+    }
+
+    private void exportTiles(DatabaseAdapter adapter, IOAdapter ioAdapter, IOAdapterManager ioManager,
+                             OutputFileBuilder builder, QueryExecutor executor, FeatureStatistics statistics,
+                             AtomicLong counter) throws Exception {
+        String query = getQuery(adapter);
+        logger.info("Computing extent of features matching the request...");
+        Envelope extent = getExtent(adapter, query);
+        if (extent == null) {
+            logger.info("No features with an extent found. Skipping tiled export.");
+            return;
+        }
+
+        int columns = tilingOptions.getColumns();
+        int rows = tilingOptions.getRows();
+        double minX = extent.getLowerCorner().getX();
+        double minY = extent.getLowerCorner().getY();
+        double maxX = extent.getUpperCorner().getX();
+        double maxY = extent.getUpperCorner().getY();
+        double width = (maxX - minX) / columns;
+        double height = (maxY - minY) / rows;
+
+        logger.info("Exporting " + columns + "x" + rows + " tiles using " + tilingOptions.getNumberOfWorkers() +
+                " worker(s).");
+        ExecutorService service = Executors.newFixedThreadPool(Math.min(tilingOptions.getNumberOfWorkers(),
+                columns * rows));
+        try {
+            List<Future<JSONObject>> tiles = new ArrayList<>();
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    Envelope tile = Envelope.of(
+                            Coordinate.of(minX + column * width, minY + row * height),
+                            Coordinate.of(column == columns - 1 ? Math.nextUp(maxX) : minX + (column + 1) * width,
+                                    row == rows - 1 ? Math.nextUp(maxY) : minY + (row + 1) * height));
+
+                    // features without envelope are assigned to the first tile
+                    String filter = adapter.getSchemaAdapter().getTileFilter("f.envelope", tile);
+                    String tileQuery = query + " and " + (column == 0 && row == 0 ?
+                            "(f.envelope is null or " + filter + ")" :
+                            filter);
+
+                    Path file = getTileFile(outputFileOptions.getFile(), column, row);
+                    int tileColumn = column, tileRow = row;
+                    tiles.add(service.submit(() -> {
+                        try {
+                            return exportTile(adapter, ioAdapter, ioManager, builder, executor, tileQuery, file,
+                                    tile, tileColumn, tileRow, statistics, counter);
+                        } catch (Exception e) {
+                            shouldRun = false;
+                            throw e;
+                        }
+                    }));
+                }
+            }
+
+            JSONArray manifestTiles = new JSONArray();
+            for (Future<JSONObject> tile : tiles) {
+                JSONObject manifestTile = tile.get();
+                if (manifestTile != null) {
+                    manifestTiles.add(manifestTile);
+                }
+            }
+
+            if (shouldRun) {
+                JSONObject manifest = new JSONObject();
+                manifest.put("srid", adapter.getDatabaseMetadata().getSpatialReference().getSRID());
+                manifest.put("columns", columns);
+                manifest.put("rows", rows);
+                manifest.put("extent", JSONArray.of(minX, minY, maxX, maxY));
+                manifest.put("tiles", manifestTiles);
+
+                Path manifestFile = outputFileOptions.getFile().resolveSibling(
+                        getFileName(outputFileOptions.getFile())[0] + ".tiles.json");
+                Files.writeString(manifestFile, JSON.toJSONString(manifest, JSONWriter.Feature.PrettyFormat),
+                        StandardCharsets.UTF_8);
+                logger.info("Wrote tile index for " + manifestTiles.size() + " non-empty tile(s) to " +
+                        manifestFile + ".");
+            }
         } finally {
-            databaseManager.disconnect();
-            if (!statistics.isEmpty()) {
-                logger.info("Export summary:");
-                statistics.printFeatureSummary(logger::info);
-            } else {
-                logger.info("No features exported.");
+            service.shutdown();
+        }
+    }
+
+    private JSONObject exportTile(DatabaseAdapter adapter, IOAdapter ioAdapter, IOAdapterManager ioManager,
+                                  OutputFileBuilder builder, QueryExecutor executor, String query, Path file,
+                                  Envelope tile, int column, int row, FeatureStatistics statistics,
+                                  AtomicLong counter) throws Exception {
+        try (QueryResult result = executor.executeQuery(query)) {
+            if (!shouldRun || !result.hasNext()) {
+                return null;
             }
+
+            AtomicLong fileCounter = new AtomicLong();
+            Path outputFile = exportFeatures(adapter, ioAdapter, ioManager, builder, file, result, true,
+                    statistics, counter, fileCounter);
+
+            JSONObject manifestTile = new JSONObject();
+            manifestTile.put("column", column);
+            manifestTile.put("row", row);
+            manifestTile.put("file", outputFile.getFileName().toString());
+            manifestTile.put("extent", JSONArray.of(
+                    tile.getLowerCorner().getX(), tile.getLowerCorner().getY(),
+                    tile.getUpperCorner().getX(), tile.getUpperCorner().getY()));
+            manifestTile.put("features", fileCounter.get());
+            return manifestTile;
         }
+    }
 
-        return shouldRun;
+    private Envelope getExtent(DatabaseAdapter adapter, String query) throws SQLException {
+        try (Connection connection = adapter.getPool().getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(adapter.getSchemaAdapter().getExtentQuery(query))) {
+            if (rs.next()) {
+                double minX = rs.getDouble("xmin");
+                if (!rs.wasNull()) {
+                    return Envelope.of(Coordinate.of(minX, rs.getDouble("ymin")),
+                            Coordinate.of(rs.getDouble("xmax"), rs.getDouble("ymax")));
+                }
+            }
+
+            return null;
+        }
     }
 
-    protected String getQuery(DatabaseAdapter adapter) {
+    private Path getTileFile(Path file, int column, int row) {
+        String[] fileName = getFileName(file);
+        return file.resolveSibling(fileName[0] + "_" + column + "_" + row +
+                (fileName[1] != null ? "." + fileName[1] : ""));
+    }
+
+    private String[] getFileName(Path file) {
+        String fileName = file.getFileName().toString();
+        int index = fileName.lastIndexOf('.');
+        return index > 0 ?
+                new String[]{fileName.substring(0, index), fileName.substring(index + 1)} :
+                new String[]{fileName, null};
+    }
+
+    private String getChangeFilter(String column) {
+        if (changedUntil == null) {
+            return "";
+        }
+
+        String filter = " and " + column + " <= " + toLiteral(changedUntil);
+        if (changeFeedOptions.getChangedSince() != null) {
+            filter += " and " + column + " > " + toLiteral(changeFeedOptions.getChangedSince());
+        }
+
+        return filter;
+    }
+
+    private String toLiteral(OffsetDateTime timestamp) {
+        return "timestamp with time zone '" + timestamp + "'";
+    }
+
+    private OffsetDateTime getDatabaseTime(DatabaseAdapter adapter) throws ExecutionException {
+        try (Connection connection = adapter.getPool().getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("select current_timestamp")) {
+            if (rs.next()) {
+                return rs.getObject(1, OffsetDateTime.class);
+            }
+
+            throw new ExecutionException("Failed to query the current database time.");
+        } catch (SQLException e) {
+            throw new ExecutionException("Failed to query the current database time.", e);
+        }
+    }
+
+    private void writeDeletionList(QueryExecutor executor, DatabaseAdapter adapter, Path file) throws IOException,
+            SQLException {
         String schema = adapter.getConnectionDetails().getSchema();
-        if (query != null) {
-            return "select f.id from " + schema + ".feature f " +
-                    "where f.id in (" + query + ")" +
-                    "and f.termination_date is null";
-        } else {
-            return "select f.id from " + schema + ".feature f " +
-                    "inner join " + schema + ".objectclass o on o.id = f.objectclass_id " +
-                    "where o.is_toplevel = 1 and f.termination_date is null";
+        String select = "select distinct f.objectid from " + schema + ".feature f " +
+                "inner join " + schema + ".objectclass o on o.id = f.objectclass_id " +
+                "where o.is_toplevel = 1 and f.objectid is not null" +
+                (query != null ? " and f.id in (" + query + ")" : "") +
+                getChangeFilter("f.termination_date") +
+                " and not exists (select 1 from " + schema + ".feature g " +
+                "where g.objectid = f.objectid and g.termination_date is null)";
+
+        long count = 0;
+        try (QueryResult result = executor.executeQuery(select);
+             BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (result.hasNext()) {
+                writer.write(result.getObjectId());
+                writer.newLine();
+                count++;
+            }
         }
+
+        logger.info("Wrote " + count + " terminated feature(s) to deletion list " + file + ".");
     }
 
     protected ExportOptions getExportOptions() {
         return ExportOptions.defaults()
-                .setNumberOfThreads(threadsOption.getNumberOfThreads());
+                .setNumberOfThreads(threadsOption.getNumberOfThreads())
+                .setFeatureBatchSize(featureBatchSize)
+                .setProjection(projectionOptions != null ? projectionOptions.toProjection() : null);
     }
 
     protected WriteOptions getWriteOptions(DatabaseAdapter databaseAdapter) {
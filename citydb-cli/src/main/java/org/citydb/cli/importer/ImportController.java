@@ -24,13 +24,17 @@ package org.citydb.cli.importer;
 import org.apache.logging.log4j.Logger;
 import org.citydb.cli.ExecutionException;
 import org.citydb.cli.command.Command;
+import org.citydb.cli.option.AdaptiveBatchingOptions;
 import org.citydb.cli.option.DatabaseOptions;
 import org.citydb.cli.option.IndexOption;
 import org.citydb.cli.option.InputFileOptions;
+import org.citydb.cli.option.JournalOptions;
 import org.citydb.cli.option.ThreadsOption;
 import org.citydb.cli.util.CommandHelper;
 import org.citydb.core.file.InputFile;
 import org.citydb.database.DatabaseManager;
+import org.citydb.database.schema.ForeignKeyHelper;
+import org.citydb.database.schema.Table;
 import org.citydb.io.IOAdapter;
 import org.citydb.io.IOAdapterManager;
 import org.citydb.io.InputFiles;
@@ -38,17 +42,24 @@ import org.citydb.io.reader.FeatureReader;
 import org.citydb.io.reader.ReadOptions;
 import org.citydb.logging.LoggerManager;
 import org.citydb.model.feature.Feature;
+import org.citydb.operation.importer.ImportException;
 import org.citydb.operation.importer.ImportOptions;
 import org.citydb.operation.importer.Importer;
+import org.citydb.operation.importer.util.AsyncImportLogger;
+import org.citydb.operation.importer.util.BatchSizeListener;
+import org.citydb.operation.importer.util.ImportJournal;
 import org.citydb.operation.importer.util.StatisticsConsumer;
 import org.citydb.operation.util.FeatureStatistics;
 import picocli.CommandLine;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class ImportController implements Command {
+    enum LogFormat {csv, jsonl}
+
     @CommandLine.Mixin
     protected InputFileOptions inputFileOptions;
 
@@ -70,6 +81,43 @@ public abstract class ImportController implements Command {
             description = "Compute and overwrite extents of features.")
     protected boolean computeEnvelopes;
 
+    @CommandLine.Option(names = "--incremental",
+            description = "Only import new and changed features. Previous versions of changed features " +
+                    "are terminated.")
+    protected boolean incremental;
+
+    @CommandLine.Option(names = "--bulk-load",
+            description = "Tune database sessions for bulk loading: use asynchronous commits and more work " +
+                    "memory, and analyze the affected tables after the import.")
+    protected boolean bulkLoad;
+
+    @CommandLine.Option(names = "--defer-foreign-keys",
+            description = "Drop foreign key constraints during the import and validate them afterwards. " +
+                    "The constraint definitions are saved to a recovery file in the working directory " +
+                    "until they are restored. The database user must own the 3DCityDB tables.")
+    protected boolean deferForeignKeys;
+
+    @CommandLine.Option(names = "--texture-prefetch-threads", paramLabel = "<threads>",
+            description = "Number of dedicated I/O threads used to prefetch texture images from ZIP archives " +
+                    "while the features referencing them are being imported (default: disabled).")
+    protected int texturePrefetchThreads;
+
+    @CommandLine.ArgGroup(exclusive = false,
+            heading = "Adaptive batching options:%n")
+    protected AdaptiveBatchingOptions adaptiveBatchingOptions;
+
+    @CommandLine.ArgGroup(exclusive = false,
+            heading = "Resume options:%n")
+    protected JournalOptions journalOptions;
+
+    @CommandLine.Option(names = "--import-log", paramLabel = "<file>",
+            description = "Log the object identifiers and database IDs of imported features to this file.")
+    protected Path importLogFile;
+
+    @CommandLine.Option(names = "--import-log-format", defaultValue = "csv",
+            description = "Format of the import log: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}).")
+    protected LogFormat importLogFormat;
+
     @CommandLine.ArgGroup(exclusive = false, multiplicity = "1", order = Integer.MAX_VALUE,
             heading = "Database connection options:%n")
     protected final DatabaseOptions databaseOptions = new DatabaseOptions();
@@ -101,7 +149,9 @@ public abstract class ImportController implements Command {
             logger.info("Found " + inputFiles.size() + " file(s) at " + inputFileOptions.joinFiles() + ".");
         }
 
-        DatabaseManager databaseManager = helper.connect(databaseOptions);
+        DatabaseManager databaseManager = helper.connect(databaseOptions, threadsOption.getNumberOfThreads(),
+                incremental ? 2 : 1);
+        checkForeignKeys(databaseManager);
         FeatureStatistics statistics = helper.createFeatureStatistics(databaseManager.getAdapter());
         IndexOption.Mode indexMode = indexOption.getMode();
 
@@ -116,22 +166,59 @@ public abstract class ImportController implements Command {
             logger.info("Import is running in preview mode. Features will not be imported.");
         }
 
+        AsyncImportLogger importLogger = null;
+        ImportJournal journal = null;
+        Importer importer = Importer.newInstance();
         try {
-            Importer importer = Importer.newInstance()
+            if (importLogFile != null && !preview) {
+                logger.info("Writing import log to " + importLogFile + ".");
+                importLogger = AsyncImportLogger.of(importLogFile, importLogFormat == LogFormat.jsonl ?
+                        AsyncImportLogger.Format.JSON_LINES :
+                        AsyncImportLogger.Format.CSV);
+            }
+
+            if (journalOptions != null) {
+                journal = ImportJournal.of(journalOptions.getJournalFile(), journalOptions.isResume());
+                logger.info((journalOptions.isResume() ?
+                        "Resuming import from journal " :
+                        "Writing import journal to ") + journal.getJournalFile() + ".");
+            }
+
+            importer.setImportJournal(journal)
+                    .setImportLogger(importLogger)
                     .setAutoCommit(!preview)
                     .setFeatureStatisticsConsumer(StatisticsConsumer.of(statistics::merge, preview ?
                             StatisticsConsumer.Mode.COUNT_ALL :
-                            StatisticsConsumer.Mode.COUNT_COMMITTED));
+                            StatisticsConsumer.Mode.COUNT_COMMITTED))
+                    .setBatchSizeListener(adaptiveBatchingOptions != null ? new BatchSizeLogger() : null);
 
             ReadOptions readOptions = getReadOptions().setFormatOptions(getFormatOptions());
             ImportOptions importOptions = getImportOptions();
             AtomicLong counter = new AtomicLong();
 
+            if (deferForeignKeys) {
+                // drop the constraints once for all input files rather than once per import session
+                logger.info("Dropping foreign key constraints...");
+                importer.deferForeignKeys(databaseManager.getAdapter(), threadsOption.getNumberOfThreads());
+            }
+
             for (int i = 0; shouldRun && i < inputFiles.size(); i++) {
                 InputFile inputFile = inputFiles.get(i);
+                if (journal != null && journal.checkInputFile(inputFile).isCompleted(inputFile.getContentFile())) {
+                    logger.info("[" + (i + 1) + "|" + inputFiles.size() + "] Skipping file " +
+                            inputFile.getContentFile() + " that has already been imported.");
+                    continue;
+                }
+
                 logger.info("[" + (i + 1) + "|" + inputFiles.size() + "] Importing file " +
                         inputFile.getContentFile() + ".");
 
+                ImportJournal fileJournal = journal != null ? journal.startFile(inputFile.getContentFile()) : null;
+                if (fileJournal != null && fileJournal.getNumberOfCommittedFeatures() > 0) {
+                    logger.info("Skipping " + fileJournal.getNumberOfCommittedFeatures() +
+                            " feature(s) that have already been committed.");
+                }
+
                 try (FeatureReader reader = ioAdapter.createReader()) {
                     logger.debug("Preprocessing input file...");
                     reader.initialize(inputFile, readOptions);
@@ -139,30 +226,45 @@ public abstract class ImportController implements Command {
                     logger.debug("Importing features from input file...");
                     importer.startSession(databaseManager.getAdapter(), importOptions);
 
-                    reader.read(feature -> importer.importFeature(feature)
-                            .whenComplete((descriptor, e) -> {
-                                if (descriptor != null) {
-                                    long count = counter.incrementAndGet();
-                                    if (count % 1000 == 0) {
-                                        logger.info(count + " features processed.");
+                    reader.read(feature -> {
+                        Long index = feature.getUserProperties().get(FeatureReader.FEATURE_INDEX, Long.class);
+                        if (fileJournal != null && index != null && fileJournal.isCommitted(index)) {
+                            return;
+                        }
+
+                        importer.importFeature(feature, index)
+                                .whenComplete((descriptor, e) -> {
+                                    if (descriptor != null) {
+                                        long count = counter.incrementAndGet();
+                                        if (count % 1000 == 0) {
+                                            logger.info(count + " features processed.");
+                                        }
+                                    } else {
+                                        reader.cancel();
+                                        abort(feature, e);
                                     }
-                                } else {
-                                    reader.cancel();
-                                    abort(feature, e);
-                                }
-                            }));
+                                });
+                    });
                 } catch (Throwable e) {
                     shouldRun = false;
                     throw e;
                 } finally {
                     if (shouldRun && !preview && importer.wasSuccessful()) {
                         importer.commitSession();
+                        if (fileJournal != null) {
+                            fileJournal.completeFile();
+                        }
                     } else {
                         importer.abortSession();
                     }
                 }
             }
 
+            if (deferForeignKeys) {
+                logger.info("Restoring and validating foreign key constraints...");
+                importer.restoreForeignKeys();
+            }
+
             if (shouldRun && indexMode == IndexOption.Mode.drop_create) {
                 logger.info("Re-creating database indexes. This operation may take some time...");
                 helper.createIndexes(databaseManager.getAdapter());
@@ -171,6 +273,27 @@ public abstract class ImportController implements Command {
             logger.warn("Database import aborted due to an error.");
             throw new ExecutionException("A fatal error has occurred during import.", e);
         } finally {
+            try {
+                // no-op unless the import failed before the constraints were restored
+                importer.restoreForeignKeys();
+            } catch (ImportException e) {
+                shouldRun = false;
+                helper.logException("Failed to restore foreign key constraints.", e);
+            }
+
+            if (importLogger != null) {
+                try {
+                    importLogger.close();
+                } catch (ImportException e) {
+                    shouldRun = false;
+                    helper.logException("Failed to write import log.", e);
+                }
+            }
+
+            if (journal != null) {
+                journal.close();
+            }
+
             databaseManager.disconnect();
             if (!statistics.isEmpty()) {
                 logger.info(!preview ? "Import summary:" : "Preview of features to be imported:");
@@ -183,6 +306,32 @@ public abstract class ImportController implements Command {
         return shouldRun;
     }
 
+    @Override
+    public void preprocess(CommandLine commandLine) {
+        if (journalOptions != null && preview) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --journal and --preview are mutually exclusive (specify only one)");
+        }
+    }
+
+    private void checkForeignKeys(DatabaseManager databaseManager) throws ExecutionException {
+        ForeignKeyHelper foreignKeyHelper = databaseManager.getAdapter().getSchemaAdapter().getForeignKeyHelper();
+        List<String> missing;
+        try {
+            missing = foreignKeyHelper.getMissingForeignKeys();
+        } catch (Exception e) {
+            databaseManager.disconnect();
+            throw new ExecutionException("Failed to check foreign key constraints.", e);
+        }
+
+        if (!missing.isEmpty()) {
+            databaseManager.disconnect();
+            throw new ExecutionException("The foreign key(s) " + String.join(", ", missing) + " dropped by " +
+                    "an earlier import with --defer-foreign-keys are still missing. Execute the statements in " +
+                    foreignKeyHelper.getRecoveryFile() + " to restore them before starting a new import.");
+        }
+    }
+
     protected List<InputFile> getInputFiles(IOAdapter ioAdapter, IOAdapterManager ioManager) throws ExecutionException {
         try {
             logger.debug("Searching for " + ioManager.getFileFormat(ioAdapter) + " input files...");
@@ -205,7 +354,15 @@ public abstract class ImportController implements Command {
 
     protected ImportOptions getImportOptions() {
         return ImportOptions.defaults()
-                .setNumberOfThreads(threadsOption.getNumberOfThreads());
+                .setNumberOfThreads(threadsOption.getNumberOfThreads())
+                .setIncrementalMode(incremental)
+                .setBulkLoad(bulkLoad)
+                .setDeferForeignKeys(deferForeignKeys)
+                .setTexturePrefetchThreads(texturePrefetchThreads)
+                .setAdaptiveBatching(adaptiveBatchingOptions != null)
+                .setAdaptiveBatchOptions(adaptiveBatchingOptions != null ?
+                        adaptiveBatchingOptions.toAdaptiveBatchOptions() :
+                        null);
     }
 
     private void abort(Feature feature, Throwable e) {
@@ -219,4 +376,19 @@ public abstract class ImportController implements Command {
             shouldRun = false;
         }
     }
+
+    private class BatchSizeLogger implements BatchSizeListener {
+        @Override
+        public void featureBatchSizeChanged(int oldSize, int newSize, int features, long latency) {
+            logger.debug("Changed feature batch size from " + oldSize + " to " + newSize + " (" + features +
+                    " feature(s) committed in " + latency + " ms).");
+        }
+
+        @Override
+        public void tableBatchSizeChanged(Table table, int oldSize, int newSize, int rows, long bytes,
+                                          long latency) {
+            logger.debug("Changed batch size of table " + table + " from " + oldSize + " to " + newSize + " (" +
+                    rows + " row(s), " + bytes + " byte(s) inserted in " + latency + " ms).");
+        }
+    }
 }
@@ -36,6 +36,21 @@ public class CityGMLImportCommand extends ImportController {
             description = "Import XML snippets of xAL address elements.")
     protected boolean importXALSource;
 
+    @CommandLine.Option(names = "--parallel-tokenization",
+            description = "Split the input file at its members and tokenize the parts in parallel. " +
+                    "Only applies to uncompressed CityGML files.")
+    protected boolean parallelTokenization;
+
+    @CommandLine.Option(names = "--geometry-cache-size", paramLabel = "<size>",
+            description = "Number of referenced geometries and implicit geometry templates kept in memory " +
+                    "during preprocessing. Further geometries are read from the local cache (default: 10000).")
+    protected Integer geometryCacheSize;
+
+    @CommandLine.Option(names = "--appearance-target-cache-size", paramLabel = "<size>",
+            description = "Number of global appearance targets kept in memory during preprocessing " +
+                    "(default: 100000).")
+    protected Integer appearanceTargetCacheSize;
+
     @CommandLine.ArgGroup(exclusive = false,
             heading = "Upgrade options for CityGML 2.0 and 1.0:%n")
     private UpgradeOptions upgradeOptions;
@@ -48,7 +63,16 @@ public class CityGMLImportCommand extends ImportController {
     @Override
     protected Object getFormatOptions() {
         CityGMLFormatOptions formatOptions = new CityGMLFormatOptions()
-                .setImportXALSource(importXALSource);
+                .setImportXALSource(importXALSource)
+                .setParallelTokenization(parallelTokenization);
+
+        if (geometryCacheSize != null) {
+            formatOptions.setGeometryCacheSize(geometryCacheSize);
+        }
+
+        if (appearanceTargetCacheSize != null) {
+            formatOptions.setAppearanceTargetCacheSize(appearanceTargetCacheSize);
+        }
 
         if (upgradeOptions != null) {
             formatOptions.setUseLod4AsLod3(upgradeOptions.isUseLod4AsLod3())
@@ -58,4 +82,19 @@ public class CityGMLImportCommand extends ImportController {
 
         return formatOptions;
     }
+
+    @Override
+    public void preprocess(CommandLine commandLine) {
+        super.preprocess(commandLine);
+        if (geometryCacheSize != null && geometryCacheSize <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: Geometry cache size must be a positive integer but was '" + geometryCacheSize + "'");
+        }
+
+        if (appearanceTargetCacheSize != null && appearanceTargetCacheSize <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: Appearance target cache size must be a positive integer but was '" +
+                            appearanceTargetCacheSize + "'");
+        }
+    }
 }
@@ -37,6 +37,11 @@ public class CityJSONImportCommand extends ImportController {
                     "(default: ${DEFAULT-VALUE}).")
     private boolean mapUnknownObjects;
 
+    @CommandLine.Option(names = "--memory-mapped-vertices",
+            description = "Keep the vertices of the input file in memory-mapped buffers instead of the heap. " +
+                    "Only applies to uncompressed CityJSON files.")
+    private boolean memoryMappedVertices;
+
     @Override
     protected IOAdapter getIOAdapter(IOAdapterManager ioManager) {
         return ioManager.getAdapter(CityJSONAdapter.class);
@@ -45,6 +50,7 @@ public class CityJSONImportCommand extends ImportController {
     @Override
     protected Object getFormatOptions() {
         return new CityJSONFormatOptions()
-                .setMapUnsupportedTypesToGenerics(mapUnknownObjects);
+                .setMapUnsupportedTypesToGenerics(mapUnknownObjects)
+                .setMemoryMappedVertices(memoryMappedVertices);
     }
 }
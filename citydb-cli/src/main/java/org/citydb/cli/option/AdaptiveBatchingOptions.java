@@ -0,0 +1,67 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.cli.option;
+
+import org.citydb.operation.importer.AdaptiveBatchOptions;
+import picocli.CommandLine;
+
+public class AdaptiveBatchingOptions implements Option {
+    @CommandLine.Option(names = "--adaptive-batching", required = true,
+            description = "Adapt the number of features and rows per batch to the measured database latency.")
+    private boolean adaptiveBatching;
+
+    @CommandLine.Option(names = "--batch-latency", paramLabel = "<min,max>", split = ",",
+            description = "Target latency window in milliseconds for executing a batch (default: 250,1000).")
+    private long[] latency;
+
+    @CommandLine.Option(names = "--max-batch-bytes", paramLabel = "<bytes>",
+            description = "Flush a batch once its binary payload exceeds this size (default: 64 MB).")
+    private Long maxBatchBytes;
+
+    public boolean isAdaptiveBatching() {
+        return adaptiveBatching;
+    }
+
+    public AdaptiveBatchOptions toAdaptiveBatchOptions() {
+        AdaptiveBatchOptions options = AdaptiveBatchOptions.defaults();
+        if (latency != null) {
+            options.setLatencyWindow(latency[0], latency[1]);
+        }
+
+        if (maxBatchBytes != null) {
+            options.setMaxBatchBytes(maxBatchBytes);
+        }
+
+        return options;
+    }
+
+    @Override
+    public void preprocess(CommandLine commandLine) {
+        if (latency != null && (latency.length != 2 || latency[0] <= 0 || latency[1] < latency[0])) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: Batch latency must be given as two positive integers <min,max> with min <= max");
+        } else if (maxBatchBytes != null && maxBatchBytes <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: Maximum batch size in bytes must be a positive integer but was '" +
+                            maxBatchBytes + "'");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.cli.option;
+
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+public class ChangeFeedOptions implements Option {
+    @CommandLine.Option(names = "--changed-since", paramLabel = "<timestamp>",
+            description = "Only export features changed after this timestamp (e.g. 2024-01-31T00:00:00Z).")
+    private String changedSince;
+
+    @CommandLine.Option(names = "--watermark-file", paramLabel = "<file>",
+            description = "File storing the timestamp of the last change export. If the file exists, only " +
+                    "features changed since then are exported. The file is updated after a successful export.")
+    private Path watermarkFile;
+
+    @CommandLine.Option(names = "--watermark-overlap", paramLabel = "<seconds>", defaultValue = "300",
+            description = "Also export changes made up to this many seconds before the watermark. Imports " +
+                    "still running when the watermark was taken are only covered if they committed within " +
+                    "this overlap (default: ${DEFAULT-VALUE}).")
+    private int watermarkOverlap;
+
+    @CommandLine.Option(names = "--deletion-list", paramLabel = "<file>",
+            description = "Output file for the object identifiers of terminated features " +
+                    "(default: <output>.deleted.txt).")
+    private Path deletionList;
+
+    private OffsetDateTime timestamp;
+
+    public OffsetDateTime getChangedSince() {
+        return timestamp;
+    }
+
+    public Path getWatermarkFile() {
+        return watermarkFile;
+    }
+
+    public Path getDeletionList(Path outputFile) {
+        return deletionList != null ?
+                deletionList :
+                outputFile.resolveSibling(outputFile.getFileName() + ".deleted.txt");
+    }
+
+    public void writeWatermark(OffsetDateTime watermark) throws IOException {
+        if (watermarkFile != null) {
+            Path tempFile = watermarkFile.resolveSibling(watermarkFile.getFileName() + ".tmp");
+            Files.writeString(tempFile, watermark.toString(), StandardCharsets.UTF_8);
+            Files.move(tempFile, watermarkFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    @Override
+    public void preprocess(CommandLine commandLine) throws Exception {
+        if (watermarkOverlap < 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The watermark overlap must be a non-negative integer but was '" +
+                            watermarkOverlap + "'");
+        }
+
+        if (changedSince != null) {
+            timestamp = parse(changedSince, "--changed-since", commandLine);
+        } else if (watermarkFile != null && Files.exists(watermarkFile)) {
+            String watermark = Files.readString(watermarkFile, StandardCharsets.UTF_8).trim();
+            if (!watermark.isEmpty()) {
+                // the watermark is taken from the database clock, whereas modification dates are set when
+                // features are imported, so changes committed after the watermark may carry older dates
+                timestamp = parse(watermark, "--watermark-file", commandLine).minusSeconds(watermarkOverlap);
+            }
+        }
+    }
+
+    private OffsetDateTime parse(String value, String option, CommandLine commandLine) {
+        try {
+            return OffsetDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The timestamp for " + option + " must be in ISO 8601 format with offset " +
+                            "but was '" + value + "'");
+        }
+    }
+}
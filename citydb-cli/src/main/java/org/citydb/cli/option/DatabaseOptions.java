@@ -58,12 +58,20 @@ public class DatabaseOptions implements Option {
             description = "Password to use when connecting to the 3DCityDB (leave empty to be prompted).")
     private String password;
 
+    @CommandLine.Option(names = "--db-pool-size", paramLabel = "<connections>",
+            description = "Maximum number of database connections (default: derived from the number of threads).")
+    private Integer poolSize;
+
     public int getPort() {
         return Objects.requireNonNullElse(port, 5432);
     }
 
+    public Integer getPoolSize() {
+        return poolSize;
+    }
+
     public ConnectionDetails toConnectionDetails() {
-        return new ConnectionDetails()
+        ConnectionDetails connectionDetails = new ConnectionDetails()
                 .setDatabaseName("PostgreSQL")
                 .setSchema(schema)
                 .setHost(host)
@@ -71,5 +79,19 @@ public class DatabaseOptions implements Option {
                 .setDatabase(name)
                 .setUser(user)
                 .setPassword(password);
+
+        if (poolSize != null) {
+            connectionDetails.getPoolOptions().setMaxActive(poolSize);
+        }
+
+        return connectionDetails;
+    }
+
+    @Override
+    public void preprocess(CommandLine commandLine) {
+        if (poolSize != null && poolSize <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: Database pool size must be a positive integer but was '" + poolSize + "'");
+        }
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.cli.option;
+
+import picocli.CommandLine;
+
+import java.nio.file.Path;
+
+public class JournalOptions implements Option {
+    @CommandLine.Option(names = "--journal", paramLabel = "<file>", required = true,
+            description = "Record committed input files and features in this journal so that an aborted " +
+                    "import can be resumed.")
+    private Path journalFile;
+
+    @CommandLine.Option(names = "--resume",
+            description = "Resume a previous import from the journal and skip the files and features " +
+                    "it has already committed. Input files that have been modified since are rejected.")
+    private boolean resume;
+
+    public Path getJournalFile() {
+        return journalFile;
+    }
+
+    public boolean isResume() {
+        return resume;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.cli.option;
+
+import org.citydb.database.schema.Projection;
+import org.citydb.model.common.Name;
+import picocli.CommandLine;
+
+public class ProjectionOptions implements Option {
+    @CommandLine.Option(names = "--property", paramLabel = "<[{namespace}]name>", split = ",",
+            description = "Only export attributes with these names. Geometries and nested features are " +
+                    "exported regardless.")
+    private String[] properties;
+
+    @CommandLine.Option(names = "--lod", paramLabel = "<lod>", split = ",",
+            description = "Only export geometries of these LoDs.")
+    private String[] lods;
+
+    @CommandLine.Option(names = "--no-appearances",
+            description = "Do not export appearances.")
+    private boolean noAppearances;
+
+    public Projection toProjection() {
+        Projection projection = Projection.newInstance()
+                .setWithAppearances(!noAppearances);
+
+        if (properties != null) {
+            for (String property : properties) {
+                int index = property.indexOf('}');
+                projection.addPropertyName(property.startsWith("{") && index > 0 ?
+                        Name.of(property.substring(index + 1), property.substring(1, index)) :
+                        Name.of(property));
+            }
+        }
+
+        if (lods != null) {
+            for (String lod : lods) {
+                projection.addLod(lod);
+            }
+        }
+
+        return projection;
+    }
+}
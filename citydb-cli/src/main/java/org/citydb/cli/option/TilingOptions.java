@@ -0,0 +1,57 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.cli.option;
+
+import picocli.CommandLine;
+
+public class TilingOptions implements Option {
+    @CommandLine.Option(names = "--tiling", paramLabel = "<columns,rows>", required = true, split = ",",
+            description = "Split the export into a grid of tiles over the extent of the features. Each tile is " +
+                    "written to a separate output file.")
+    private int[] grid;
+
+    @CommandLine.Option(names = "--tile-workers", paramLabel = "<threads>",
+            description = "Number of tiles to export in parallel (default: half of the available processors).")
+    private Integer workers;
+
+    public int getColumns() {
+        return grid[0];
+    }
+
+    public int getRows() {
+        return grid[1];
+    }
+
+    public int getNumberOfWorkers() {
+        return workers != null ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    @Override
+    public void preprocess(CommandLine commandLine) {
+        if (grid.length != 2 || grid[0] <= 0 || grid[1] <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: Tiling must be given as two positive integers <columns,rows>");
+        } else if (workers != null && workers <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: Number of tile workers must be a positive integer but was '" + workers + "'");
+        }
+    }
+}
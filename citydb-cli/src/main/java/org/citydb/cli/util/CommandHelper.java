@@ -57,6 +57,22 @@ public class CommandHelper {
         return connect(options.toConnectionDetails());
     }
 
+    public DatabaseManager connect(DatabaseOptions options, int numberOfThreads, int connectionsPerThread) throws ExecutionException {
+        ConnectionDetails connectionDetails = options.toConnectionDetails();
+        if (options.getPoolSize() == null) {
+            int threads = numberOfThreads > 0 ?
+                    numberOfThreads :
+                    Math.max(2, Runtime.getRuntime().availableProcessors());
+
+            // reserve additional connections for reference resolving and metadata queries
+            connectionDetails.getPoolOptions()
+                    .setMaxActive(threads * connectionsPerThread + 2)
+                    .setMinIdle(threads);
+        }
+
+        return connect(connectionDetails);
+    }
+
     public DatabaseManager connect(ConnectionDetails connectionDetails) throws ExecutionException {
         try {
             logger.info("Connecting to database " + connectionDetails.toConnectString() + ".");
@@ -32,6 +32,7 @@ import java.util.Map;
 public class PersistentMapStore implements AutoCloseable {
     private MVStore store;
     private final Path backingFile;
+    private final boolean persistent;
 
     public enum CompressionLevel {
         DISABLED,
@@ -39,9 +40,10 @@ public class PersistentMapStore implements AutoCloseable {
         HIGH
     }
 
-    private PersistentMapStore(MVStore store, Path backingFile) {
+    private PersistentMapStore(MVStore store, Path backingFile, boolean persistent) {
         this.store = store;
         this.backingFile = backingFile;
+        this.persistent = persistent;
     }
 
     public static PersistentMapStore newInstance() throws IOException {
@@ -72,6 +74,15 @@ public class PersistentMapStore implements AutoCloseable {
         }
     }
 
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    public void commit() {
+        ensureOpen();
+        store.commit();
+    }
+
     public boolean isClosed() {
         return store == null || store.isClosed();
     }
@@ -80,8 +91,12 @@ public class PersistentMapStore implements AutoCloseable {
     public void close() {
         if (store != null) {
             try {
-                store.closeImmediately();
-                Files.deleteIfExists(backingFile);
+                if (persistent) {
+                    store.close();
+                } else {
+                    store.closeImmediately();
+                    Files.deleteIfExists(backingFile);
+                }
             } catch (Exception e) {
                 //
             } finally {
@@ -99,6 +114,7 @@ public class PersistentMapStore implements AutoCloseable {
     public static class Builder {
         private static final SecureRandom random = new SecureRandom();
         private Path tempDirectory;
+        private Path persistentFile;
         private CompressionLevel compressionLevel;
         private int cacheSize;
         private int cacheConcurrency;
@@ -108,6 +124,11 @@ public class PersistentMapStore implements AutoCloseable {
             return this;
         }
 
+        public Builder persistentFile(Path persistentFile) {
+            this.persistentFile = persistentFile;
+            return this;
+        }
+
         public Builder compressionLevel(CompressionLevel compressionLevel) {
             this.compressionLevel = compressionLevel;
             return this;
@@ -131,12 +152,15 @@ public class PersistentMapStore implements AutoCloseable {
 
         public PersistentMapStore build() throws IOException {
             try {
-                Path backingFile = getBackingFile();
+                // a persistent file keeps its content across sessions and is not deleted on close
+                Path backingFile = persistentFile != null ?
+                        persistentFile.normalize().toAbsolutePath() :
+                        getBackingFile();
                 MVStore store = getBuilder()
                         .fileName(backingFile.toString())
                         .open();
 
-                return new PersistentMapStore(store, backingFile);
+                return new PersistentMapStore(store, backingFile, persistentFile != null);
             } catch (Exception e) {
                 throw new IOException("Failed to create persistent map store.", e);
             }
@@ -0,0 +1,155 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.core.cache;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class SpillableCache<K, V> {
+    private final Map<K, byte[]> spilled;
+    private final ValueSerializer<V> serializer;
+    private final int capacity;
+    private final LinkedHashMap<K, Entry<V>> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long modCount;
+
+    public interface ValueSerializer<V> {
+        byte[] serialize(V value) throws IOException;
+        V deserialize(byte[] bytes) throws IOException;
+    }
+
+    private SpillableCache(PersistentMapStore store, String name, int capacity, ValueSerializer<V> serializer) {
+        Objects.requireNonNull(store, "The persistent map store must not be null.");
+        Objects.requireNonNull(name, "The cache name must not be null.");
+        this.serializer = Objects.requireNonNull(serializer, "The value serializer must not be null.");
+        this.capacity = Math.max(capacity, 1);
+        spilled = store.getOrCreateMap(name);
+    }
+
+    public static <K, V> SpillableCache<K, V> of(PersistentMapStore store, String name, int capacity, ValueSerializer<V> serializer) {
+        return new SpillableCache<>(store, name, capacity, serializer);
+    }
+
+    public V get(K key) {
+        long version;
+        synchronized (this) {
+            Entry<V> entry = cache.get(key);
+            if (entry != null) {
+                return entry.value;
+            }
+
+            version = modCount;
+        }
+
+        byte[] bytes = spilled.get(key);
+        if (bytes != null) {
+            V value = deserialize(bytes);
+            synchronized (this) {
+                if (version == modCount && !cache.containsKey(key)) {
+                    // the spilled copy is kept so that the entry need not be serialized again on eviction
+                    cache.put(key, new Entry<>(value, true));
+                    evict();
+                }
+            }
+
+            return value;
+        }
+
+        return null;
+    }
+
+    public synchronized void put(K key, V value) {
+        Objects.requireNonNull(value, "The value must not be null.");
+        // values are only serialized when they are evicted from the in-memory cache
+        modCount++;
+        Entry<V> previous = cache.put(key, new Entry<>(value, false));
+        if ((previous == null || previous.spilled) && !spilled.isEmpty()) {
+            spilled.remove(key);
+        }
+
+        evict();
+    }
+
+    public V remove(K key) {
+        Entry<V> entry;
+        synchronized (this) {
+            modCount++;
+            entry = cache.remove(key);
+            if (entry != null && !entry.spilled) {
+                return entry.value;
+            }
+        }
+
+        byte[] bytes = spilled.remove(key);
+        return entry != null ? entry.value : bytes != null ? deserialize(bytes) : null;
+    }
+
+    public synchronized boolean isEmpty() {
+        return cache.isEmpty() && spilled.isEmpty();
+    }
+
+    public synchronized void clear() {
+        modCount++;
+        cache.clear();
+        spilled.clear();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = cache.entrySet().iterator();
+        while (cache.size() > capacity && iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = iterator.next();
+            if (!eldest.getValue().spilled) {
+                spilled.put(eldest.getKey(), serialize(eldest.getValue().value));
+            }
+
+            iterator.remove();
+        }
+    }
+
+    private byte[] serialize(V value) {
+        try {
+            return serializer.serialize(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write value to persistent cache.", e);
+        }
+    }
+
+    private V deserialize(byte[] bytes) {
+        try {
+            return serializer.deserialize(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read value from persistent cache.", e);
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final boolean spilled;
+
+        Entry(V value, boolean spilled) {
+            this.value = value;
+            this.spilled = spilled;
+        }
+    }
+}
@@ -55,46 +55,14 @@ public class FileLocator {
     }
 
     public static FileLocator of(String location) {
-        try {
-            return FileLocator.of(new URL(location));
-        } catch (Exception e) {
-            return new FileLocator(Path.of(location));
-        }
+        URL url = FileResolver.toURL(location);
+        return url != null ?
+                new FileLocator(url) :
+                new FileLocator(Path.of(location));
     }
 
     public static FileLocator of(InputFile file, String location) throws IOException {
-        try {
-            return FileLocator.of(new URL(location));
-        } catch (Exception e) {
-            //
-        }
-
-        if ("/".equals(file.getSeparator())) {
-            location = location.replace("\\", "/");
-        }
-
-        Path path = null;
-        try {
-            path = file.resolve(location);
-        } catch (Exception e) {
-            //
-        }
-
-        if (file.getFileType() == FileType.ARCHIVE && (path == null || !Files.exists(path))) {
-            try {
-                path = file.getFile().getParent().resolve(location);
-            } catch (Exception e) {
-                //
-            }
-        }
-
-        if (path == null || !Files.exists(path)) {
-            throw new IOException("Failed to find file at " + location + ".");
-        } else if (Files.size(path) == 0) {
-            throw new IOException("The file " + location + " has zero bytes.");
-        }
-
-        return FileLocator.of(path);
+        return file.getFileResolver().resolve(location);
     }
 
     public Optional<URL> getURL() {
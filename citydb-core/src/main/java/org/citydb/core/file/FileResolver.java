@@ -0,0 +1,177 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.file;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class FileResolver {
+    private final InputFile file;
+    private final Map<String, Resolution> resolutions = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> archiveEntries;
+
+    private FileResolver(InputFile file) {
+        this.file = Objects.requireNonNull(file, "The input file must not be null.");
+    }
+
+    public static FileResolver of(InputFile file) {
+        return new FileResolver(file);
+    }
+
+    public FileLocator resolve(String location) throws IOException {
+        Objects.requireNonNull(location, "The location must not be null.");
+        return resolutions.computeIfAbsent(location, this::doResolve).get();
+    }
+
+    public void clear() {
+        resolutions.clear();
+        archiveEntries = null;
+    }
+
+    static URL toURL(String location) {
+        int index = location.indexOf(':');
+        if (index > 1) {
+            for (int i = 0; i < index; i++) {
+                char c = location.charAt(i);
+                if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z'
+                        || i > 0 && (c >= '0' && c <= '9' || c == '+' || c == '-' || c == '.'))) {
+                    return null;
+                }
+            }
+
+            try {
+                return new URL(location);
+            } catch (Exception e) {
+                //
+            }
+        }
+
+        return null;
+    }
+
+    private Resolution doResolve(String location) {
+        URL url = toURL(location);
+        if (url != null) {
+            return new Resolution(FileLocator.of(url), null);
+        }
+
+        if ("/".equals(file.getSeparator())) {
+            location = location.replace("\\", "/");
+        }
+
+        if (file.getFileType() == FileType.ARCHIVE) {
+            Resolution resolution = resolveArchiveEntry(location);
+            if (resolution != null) {
+                return resolution;
+            }
+
+            try {
+                return resolvePath(file.getFile().getParent().resolve(location), location);
+            } catch (Exception e) {
+                return new Resolution(null, "Failed to find file at " + location + ".");
+            }
+        } else {
+            try {
+                return resolvePath(file.resolve(location), location);
+            } catch (Exception e) {
+                return new Resolution(null, "Failed to find file at " + location + ".");
+            }
+        }
+    }
+
+    private Resolution resolvePath(Path path, String location) throws IOException {
+        if (!Files.exists(path)) {
+            return new Resolution(null, "Failed to find file at " + location + ".");
+        } else if (Files.size(path) == 0) {
+            return new Resolution(null, "The file " + location + " has zero bytes.");
+        } else {
+            return new Resolution(FileLocator.of(path), null);
+        }
+    }
+
+    private Resolution resolveArchiveEntry(String location) {
+        try {
+            Path path = file.resolve(location).normalize().toAbsolutePath();
+            Long size = getArchiveEntries(path.getFileSystem()).get(path.toString());
+            if (size == null) {
+                return null;
+            } else if (size == 0) {
+                return new Resolution(null, "The file " + location + " has zero bytes.");
+            } else {
+                return new Resolution(FileLocator.of(path), null);
+            }
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private Map<String, Long> getArchiveEntries(FileSystem fileSystem) throws IOException {
+        Map<String, Long> entries = archiveEntries;
+        if (entries == null) {
+            synchronized (this) {
+                entries = archiveEntries;
+                if (entries == null) {
+                    Map<String, Long> index = new HashMap<>();
+                    for (Path root : fileSystem.getRootDirectories()) {
+                        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                            @Override
+                            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                                if (attributes.isRegularFile()) {
+                                    index.put(file.toAbsolutePath().toString(), attributes.size());
+                                }
+
+                                return FileVisitResult.CONTINUE;
+                            }
+                        });
+                    }
+
+                    archiveEntries = entries = index;
+                }
+            }
+        }
+
+        return entries;
+    }
+
+    private static class Resolution {
+        private final FileLocator locator;
+        private final String error;
+
+        Resolution(FileLocator locator, String error) {
+            this.locator = locator;
+            this.error = error;
+        }
+
+        FileLocator get() throws IOException {
+            if (locator != null) {
+                return locator;
+            } else {
+                throw new IOException(error);
+            }
+        }
+    }
+}
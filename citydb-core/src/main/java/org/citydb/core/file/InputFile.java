@@ -22,6 +22,7 @@
 package org.citydb.core.file;
 
 import org.apache.tika.mime.MediaType;
+import org.citydb.core.concurrent.LazyInitializer;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -32,12 +33,14 @@ public abstract class InputFile implements AutoCloseable {
     private final Path file;
     private final FileType fileType;
     private final MediaType mediaType;
+    private final LazyInitializer<FileResolver, RuntimeException> fileResolver;
 
     protected InputFile(Path file, FileType fileType, MediaType mediaType) {
         Objects.requireNonNull(file, "The file path must not be null.");
         this.file = file.normalize().toAbsolutePath();
         this.fileType = Objects.requireNonNull(fileType, "The file type must not be null.");
         this.mediaType = Objects.requireNonNull(mediaType, "The media type must not be null.");
+        fileResolver = LazyInitializer.of(() -> FileResolver.of(this));
     }
 
     public abstract String getContentFile();
@@ -59,4 +62,8 @@ public abstract class InputFile implements AutoCloseable {
     public MediaType getMediaType() {
         return mediaType;
     }
+
+    public FileResolver getFileResolver() {
+        return fileResolver.get();
+    }
 }
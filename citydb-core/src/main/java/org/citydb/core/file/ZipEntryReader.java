@@ -0,0 +1,247 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.core.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+public class ZipEntryReader implements AutoCloseable {
+    private static final long DEFAULT_MAX_PREFETCHED_BYTES = 256L * 1024 * 1024;
+    private final Map<Path, ZipFile> zipFiles = new ConcurrentHashMap<>();
+    private final Map<Path, Prefetched> prefetched = new ConcurrentHashMap<>();
+    private final AtomicLong prefetchedBytes = new AtomicLong();
+    private final long maxPrefetchedBytes;
+    private final ExecutorService service;
+
+    private ZipEntryReader(int prefetchThreads, long maxPrefetchedBytes) {
+        this.maxPrefetchedBytes = maxPrefetchedBytes;
+        service = prefetchThreads > 0 ?
+                Executors.newFixedThreadPool(prefetchThreads, runnable -> {
+                    Thread thread = new Thread(runnable, "zip-entry-prefetch");
+                    thread.setDaemon(true);
+                    return thread;
+                }) :
+                null;
+    }
+
+    public static ZipEntryReader newInstance() {
+        return new ZipEntryReader(0, 0);
+    }
+
+    public static ZipEntryReader newInstance(int prefetchThreads) {
+        return new ZipEntryReader(prefetchThreads, DEFAULT_MAX_PREFETCHED_BYTES);
+    }
+
+    public static ZipEntryReader newInstance(int prefetchThreads, long maxPrefetchedBytes) {
+        return new ZipEntryReader(prefetchThreads, maxPrefetchedBytes);
+    }
+
+    public static boolean isZipEntry(Path path) {
+        return path != null && "jar".equalsIgnoreCase(path.getFileSystem().provider().getScheme());
+    }
+
+    public boolean isPrefetching() {
+        return service != null;
+    }
+
+    public boolean prefetch(Path path) {
+        if (service == null || !isZipEntry(path)) {
+            return false;
+        }
+
+        path = path.normalize();
+        if (prefetched.containsKey(path)) {
+            return false;
+        }
+
+        long size;
+        try {
+            size = getEntry(path).getSize();
+        } catch (IOException e) {
+            return false;
+        }
+
+        // bound the prefetched data by its uncompressed size and read larger entries on demand
+        if (size < 0 || prefetchedBytes.addAndGet(size) > maxPrefetchedBytes) {
+            prefetchedBytes.addAndGet(-Math.max(size, 0));
+            return false;
+        }
+
+        Prefetched entry = new Prefetched(size);
+        if (prefetched.putIfAbsent(path, entry) != null) {
+            prefetchedBytes.addAndGet(-size);
+            return false;
+        }
+
+        Path key = path;
+        service.execute(() -> {
+            if (!entry.future.isDone()) {
+                try {
+                    entry.future.complete(read(key));
+                } catch (Throwable e) {
+                    entry.future.completeExceptionally(e);
+                }
+            }
+        });
+
+        return true;
+    }
+
+    public void release(Path path) {
+        if (path != null) {
+            Prefetched entry = prefetched.remove(path.normalize());
+            if (entry != null) {
+                entry.future.cancel(false);
+                prefetchedBytes.addAndGet(-entry.size);
+            }
+        }
+    }
+
+    public void release(Collection<Path> paths) {
+        for (Path path : paths) {
+            release(path);
+        }
+    }
+
+    public byte[] readAllBytes(Path path) throws IOException {
+        path = path.normalize();
+        Prefetched entry = prefetched.remove(path);
+        if (entry != null) {
+            prefetchedBytes.addAndGet(-entry.size);
+            try {
+                return entry.future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading ZIP entry " + path + ".", e);
+            } catch (CancellationException e) {
+                return read(path);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                } else {
+                    throw new IOException("Failed to read ZIP entry " + path + ".", e.getCause());
+                }
+            }
+        }
+
+        return read(path);
+    }
+
+    private byte[] read(Path path) throws IOException {
+        ZipFile zipFile = getZipFile(path);
+        ZipEntry entry = getEntry(zipFile, path);
+        try (InputStream stream = zipFile.getInputStream(entry)) {
+            long size = entry.getSize();
+            if (size >= 0 && size < Integer.MAX_VALUE - 8) {
+                // the entry size is known, so decompress directly into the final buffer
+                byte[] data = new byte[(int) size];
+                int length = stream.readNBytes(data, 0, data.length);
+                if (length == data.length && stream.read() == -1) {
+                    return data;
+                }
+
+                throw new IOException("The size of ZIP entry " + path + " does not match its header.");
+            } else {
+                return stream.readAllBytes();
+            }
+        }
+    }
+
+    private ZipEntry getEntry(Path path) throws IOException {
+        return getEntry(getZipFile(path), path);
+    }
+
+    private ZipEntry getEntry(ZipFile zipFile, Path path) throws IOException {
+        ZipEntry entry = zipFile.getEntry(path.toAbsolutePath().toString().substring(1));
+        if (entry == null) {
+            throw new NoSuchFileException(path.toString());
+        }
+
+        return entry;
+    }
+
+    private ZipFile getZipFile(Path path) throws IOException {
+        try {
+            String uri = path.toUri().getRawSchemeSpecificPart();
+            int index = uri.indexOf("!/");
+            Path file = Path.of(URI.create(index != -1 ? uri.substring(0, index) : uri));
+            return zipFiles.computeIfAbsent(file, key -> {
+                try {
+                    return new ZipFile(key.toFile());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Failed to resolve ZIP file of " + path + ".", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (service != null) {
+            service.shutdownNow();
+        }
+
+        prefetched.values().forEach(entry -> entry.future.cancel(false));
+        prefetched.clear();
+        prefetchedBytes.set(0);
+        IOException exception = null;
+        for (ZipFile zipFile : zipFiles.values()) {
+            try {
+                zipFile.close();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+
+        zipFiles.clear();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private static class Prefetched {
+        private final CompletableFuture<byte[]> future = new CompletableFuture<>();
+        private final long size;
+
+        Prefetched(long size) {
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.database.postgres;
+
+import org.citydb.database.adapter.DatabaseAdapter;
+import org.citydb.database.connection.SessionProfile;
+import org.citydb.database.schema.Table;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.Set;
+
+public class BulkLoadProfile implements SessionProfile {
+    private final DatabaseAdapter adapter;
+    private String workMem = "256MB";
+
+    BulkLoadProfile(DatabaseAdapter adapter) {
+        this.adapter = adapter;
+    }
+
+    public String getWorkMem() {
+        return workMem;
+    }
+
+    public BulkLoadProfile setWorkMem(String workMem) {
+        this.workMem = Objects.requireNonNull(workMem, "The work memory must not be null.");
+        return this;
+    }
+
+    @Override
+    public void apply(Connection connection) throws SQLException {
+        // triggers are kept enabled since the 3DCityDB tables only use them for foreign key checks
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("set synchronous_commit = off");
+            stmt.execute("set work_mem = '" + workMem.replace("'", "''") + "'");
+        }
+    }
+
+    @Override
+    public void reset(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("reset synchronous_commit");
+            stmt.execute("reset work_mem");
+        }
+    }
+
+    @Override
+    public void afterCommit(Connection connection, Set<Table> tables) throws SQLException {
+        String schema = "\"" + adapter.getConnectionDetails().getSchema().replace("\"", "\"\"") + "\"";
+        try (Statement stmt = connection.createStatement()) {
+            for (Table table : tables) {
+                stmt.execute("analyze " + schema + "." + table.getName());
+            }
+        }
+    }
+}
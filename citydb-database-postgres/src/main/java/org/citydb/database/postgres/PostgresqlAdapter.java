@@ -38,6 +38,11 @@ public class PostgresqlAdapter extends DatabaseAdapter {
         return new GeometryAdapter(adapter);
     }
 
+    @Override
+    protected BulkLoadProfile createBulkLoadProfile(DatabaseAdapter adapter) {
+        return new BulkLoadProfile(adapter);
+    }
+
     @Override
     public Class<?> getDriverClass() {
         return Driver.class;
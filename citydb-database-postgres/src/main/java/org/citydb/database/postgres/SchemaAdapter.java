@@ -24,24 +24,31 @@ package org.citydb.database.postgres;
 import org.citydb.core.concurrent.LazyInitializer;
 import org.citydb.database.adapter.DatabaseAdapter;
 import org.citydb.database.metadata.SpatialReferenceType;
+import org.citydb.database.schema.ForeignKey;
 import org.citydb.database.schema.Index;
+import org.citydb.database.schema.Projection;
 import org.citydb.database.schema.Sequence;
+import org.citydb.model.common.Name;
+import org.citydb.model.common.Namespaces;
+import org.citydb.model.geometry.Envelope;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.Locale;
-import java.util.Objects;
+import java.sql.SQLException;
+import java.util.*;
 import java.util.stream.Collectors;
 
 public class SchemaAdapter extends org.citydb.database.adapter.SchemaAdapter {
     private final LazyInitializer<String, IOException> featureHierarchyQuery;
+    private final LazyInitializer<String, IOException> featureHierarchyBatchQuery;
     private final LazyInitializer<String, IOException> recursiveImplicitGeometryQuery;
 
     SchemaAdapter(DatabaseAdapter adapter) {
         super(adapter);
-        featureHierarchyQuery = LazyInitializer.of(this::readFeatureHierarchyQuery);
-        recursiveImplicitGeometryQuery = LazyInitializer.of(this::readRecursiveImplicitGeometryQuery);
+        featureHierarchyQuery = LazyInitializer.of(() -> readQuery("query_feature_hierarchy.sql"));
+        featureHierarchyBatchQuery = LazyInitializer.of(() -> readQuery("query_feature_hierarchy_batch.sql"));
+        recursiveImplicitGeometryQuery = LazyInitializer.of(() -> readQuery("query_recursive_implicit_geometry.sql"));
     }
 
     @Override
@@ -67,13 +74,37 @@ public class SchemaAdapter extends org.citydb.database.adapter.SchemaAdapter {
 
     @Override
     public String getFeatureHierarchyQuery() {
+        return getFeatureHierarchyQuery(null);
+    }
+
+    @Override
+    public String getFeatureHierarchyQuery(Projection projection) {
         try {
-            return featureHierarchyQuery.get();
+            return featureHierarchyQuery.get().replace("%PROPERTY_FILTER%", projection != null && !projection.isEmpty() ?
+                    "WHERE " + getPropertyFilter(projection) :
+                    "");
         } catch (Exception e) {
             throw new IllegalStateException("Failed to create feature hierarchy query.", e);
         }
     }
 
+    @Override
+    public String getFeatureHierarchyBatchQuery(Projection projection) {
+        try {
+            return featureHierarchyBatchQuery.get().replace("%PROPERTY_FILTER%", projection != null && !projection.isEmpty() ?
+                    "WHERE " + getPropertyFilter(projection) :
+                    "");
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to create feature hierarchy batch query.", e);
+        }
+    }
+
+    @Override
+    public String getNestedFeaturesQuery() {
+        return "select feature_id, val_feature_id from " + adapter.getConnectionDetails().getSchema() + ".property " +
+                "where feature_id = any(?) and val_feature_id is not null and val_reference_type is null";
+    }
+
     @Override
     public String getRecursiveImplicitGeometryQuery(String featureQuery) {
         try {
@@ -83,6 +114,27 @@ public class SchemaAdapter extends org.citydb.database.adapter.SchemaAdapter {
         }
     }
 
+    @Override
+    public String getExtentQuery(String featureQuery) {
+        return "select ST_XMin(e) as xmin, ST_YMin(e) as ymin, ST_XMax(e) as xmax, ST_YMax(e) as ymax " +
+                "from (select ST_Extent(f.envelope) as e from " + adapter.getConnectionDetails().getSchema() +
+                ".feature f where f.id in (" + featureQuery + ")) t";
+    }
+
+    @Override
+    public String getTileFilter(String column, Envelope tile) {
+        double minX = tile.getLowerCorner().getX();
+        double minY = tile.getLowerCorner().getY();
+        double maxX = tile.getUpperCorner().getX();
+        double maxY = tile.getUpperCorner().getY();
+
+        // assign features to the tile containing the lower left corner of their envelope
+        return column + " && ST_MakeEnvelope(" + minX + ", " + minY + ", " + maxX + ", " + maxY + ", " +
+                adapter.getDatabaseMetadata().getSpatialReference().getSRID() + ") " +
+                "and ST_XMin(" + column + ") >= " + minX + " and ST_XMin(" + column + ") < " + maxX + " " +
+                "and ST_YMin(" + column + ") >= " + minY + " and ST_YMin(" + column + ") < " + maxY;
+    }
+
     @Override
     public String getCreateIndex(Index index) {
         return "create index if not exists " + index.getName() +
@@ -105,6 +157,41 @@ public class SchemaAdapter extends org.citydb.database.adapter.SchemaAdapter {
                 "and c.relname = '" + index.getName() + "' limit 1";
     }
 
+    @Override
+    public String getForeignKeys() {
+        return "select c.conname as name, t.relname as table_name, " +
+                "regexp_replace(pg_get_constraintdef(c.oid), ' NOT VALID$', '') as definition " +
+                "from pg_constraint c " +
+                "join pg_class t on t.oid = c.conrelid " +
+                "join pg_namespace n on n.oid = t.relnamespace " +
+                "where c.contype = 'f' " +
+                "and n.nspname = '" + adapter.getConnectionDetails().getSchema() + "'";
+    }
+
+    @Override
+    public String getCreateForeignKey(ForeignKey foreignKey, boolean validate) {
+        return "alter table " + adapter.getConnectionDetails().getSchema() + "." + foreignKey.getTable() +
+                " add constraint " + foreignKey.getName() + " " + foreignKey.getDefinition() +
+                (validate ? "" : " not valid");
+    }
+
+    @Override
+    public String getDropForeignKey(ForeignKey foreignKey) {
+        return "alter table " + adapter.getConnectionDetails().getSchema() + "." + foreignKey.getTable() +
+                " drop constraint if exists " + foreignKey.getName();
+    }
+
+    @Override
+    public String getValidateForeignKey(ForeignKey foreignKey) {
+        return "alter table " + adapter.getConnectionDetails().getSchema() + "." + foreignKey.getTable() +
+                " validate constraint " + foreignKey.getName();
+    }
+
+    @Override
+    public boolean isForeignKeyViolation(SQLException e) {
+        return "23503".equals(e.getSQLState());
+    }
+
     @Override
     protected String getCityDBVersion() {
         return "select major_version, minor_version, minor_revision, version from citydb_pkg.citydb_version()";
@@ -144,18 +231,62 @@ public class SchemaAdapter extends org.citydb.database.adapter.SchemaAdapter {
         }
     }
 
-    private String readFeatureHierarchyQuery() throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(
-                SchemaAdapter.class.getResourceAsStream("/org/citydb/database/postgres/query_feature_hierarchy.sql"))))) {
-            return reader.lines()
-                    .collect(Collectors.joining(" "))
-                    .replace("%SCHEMA%", adapter.getConnectionDetails().getSchema());
+    private String getPropertyFilter(Projection projection) throws SQLException {
+        // nested properties are only kept if their top-level property passes the projection
+        return "(P.PARENT_ID IS NULL AND " + getPropertyFilter(projection, "P", true) + ") " +
+                "OR (P.PARENT_ID IS NOT NULL AND " + getPropertyFilter(projection, "P", false) + " " +
+                "AND EXISTS (SELECT 1 FROM " + adapter.getConnectionDetails().getSchema() + ".PROPERTY R " +
+                "WHERE R.ID = P.ROOT_ID AND " + getPropertyFilter(projection, "R", true) + "))";
+    }
+
+    private String getPropertyFilter(Projection projection, String alias, boolean matchNames) throws SQLException {
+        String geometryFilter = "(" + alias + ".VAL_GEOMETRY_ID IS NOT NULL OR " +
+                alias + ".VAL_IMPLICITGEOM_ID IS NOT NULL)";
+        if (projection.hasLods()) {
+            geometryFilter = "(" + geometryFilter + " AND " + alias + ".VAL_LOD IN (" +
+                    projection.getLods().stream()
+                            .map(this::getLiteral)
+                            .collect(Collectors.joining(", ")) + "))";
+        }
+
+        String attributeFilter = alias + ".VAL_GEOMETRY_ID IS NULL AND " +
+                alias + ".VAL_IMPLICITGEOM_ID IS NULL AND " +
+                alias + ".VAL_APPEARANCE_ID IS NULL";
+        if (matchNames && projection.hasPropertyNames()) {
+            attributeFilter += " AND " + getNameFilter(projection.getPropertyNames(), alias);
+        }
+
+        return "(" + alias + ".VAL_FEATURE_ID IS NOT NULL OR " + geometryFilter +
+                (projection.isWithAppearances() ? " OR " + alias + ".VAL_APPEARANCE_ID IS NOT NULL" : "") +
+                " OR (" + alias + ".VAL_FEATURE_ID IS NULL AND " + attributeFilter + "))";
+    }
+
+    private String getNameFilter(Set<Name> names, String alias) throws SQLException {
+        List<String> conditions = new ArrayList<>();
+        for (Name name : names) {
+            String condition = alias + ".NAME = " + getLiteral(name.getLocalName());
+            if (!Namespaces.EMPTY_NAMESPACE.equals(name.getNamespace())) {
+                Integer namespaceId = getNamespaceHelper().getNamespaceId(name.getNamespace());
+                if (namespaceId == null) {
+                    continue;
+                }
+
+                condition += " AND " + alias + ".NAMESPACE_ID = " + namespaceId;
+            }
+
+            conditions.add("(" + condition + ")");
         }
+
+        return !conditions.isEmpty() ? "(" + String.join(" OR ", conditions) + ")" : "FALSE";
+    }
+
+    private String getLiteral(String value) {
+        return "'" + value.replace("'", "''") + "'";
     }
 
-    public String readRecursiveImplicitGeometryQuery() throws IOException {
+    private String readQuery(String name) throws IOException {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(
-                SchemaAdapter.class.getResourceAsStream("/org/citydb/database/postgres/query_recursive_implicit_geometry.sql"))))) {
+                SchemaAdapter.class.getResourceAsStream("/org/citydb/database/postgres/" + name))))) {
             return reader.lines()
                     .collect(Collectors.joining(" "))
                     .replace("%SCHEMA%", adapter.getConnectionDetails().getSchema());
@@ -57,7 +57,8 @@ WITH RECURSIVE FEATURE_HIERARCHY AS
      P.ID = ANY(PATH),
      PATH || P.ID
    FROM %SCHEMA%.PROPERTY P
-   INNER JOIN FEATURE_HIERARCHY H ON H.VAL_FEATURE_ID = P.FEATURE_ID AND H.VAL_REFERENCE_TYPE IS NULL)
+   INNER JOIN FEATURE_HIERARCHY H ON H.VAL_FEATURE_ID = P.FEATURE_ID AND H.VAL_REFERENCE_TYPE IS NULL
+   %PROPERTY_FILTER%)
 SELECT
   H.ID,
   H.FEATURE_ID,
@@ -27,6 +27,7 @@ import org.citydb.database.adapter.DatabaseAdapter;
 import org.citydb.database.adapter.DatabaseAdapterException;
 import org.citydb.database.adapter.DatabaseAdapterManager;
 import org.citydb.database.connection.ConnectionDetails;
+import org.citydb.database.connection.PoolOptions;
 
 import java.sql.SQLException;
 import java.util.Objects;
@@ -60,11 +61,15 @@ public class DatabaseManager {
                 connectionDetails.getPort(),
                 connectionDetails.getDatabase()));
 
+        PoolOptions poolOptions = connectionDetails.getPoolOptions();
         properties.setInitialSize(0);
+        properties.setMaxActive(poolOptions.getMaxActive());
+        properties.setMaxIdle(poolOptions.getMaxActive());
+        properties.setMinIdle(Math.min(poolOptions.getMinIdle(), poolOptions.getMaxActive()));
         properties.setDefaultAutoCommit(true);
 
         dataSource = new DataSource(properties);
-        dataSource.setLoginTimeout(connectionDetails.getPoolOptions().getLoginTimeout());
+        dataSource.setLoginTimeout(poolOptions.getLoginTimeout());
         dataSource.createPool();
 
         adapter.initialize(Pool.newInstance(this), connectionDetails);
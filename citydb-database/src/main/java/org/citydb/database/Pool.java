@@ -21,8 +21,11 @@
 
 package org.citydb.database;
 
+import org.citydb.database.connection.SessionProfile;
+
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Objects;
 
 public class Pool {
     private final DatabaseManager manager;
@@ -45,6 +48,25 @@ public class Pool {
         }
     }
 
+    public Connection getConnection(boolean autoCommit, SessionProfile profile) throws SQLException {
+        Objects.requireNonNull(profile, "The session profile must not be null.");
+        if (profile == SessionProfile.DEFAULT) {
+            return getConnection(autoCommit);
+        }
+
+        Connection connection = getConnection(true);
+        try {
+            // apply the profile outside a transaction so that a rollback does not revert it
+            profile.apply(connection);
+            connection.setAutoCommit(autoCommit);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+
+        return ProfiledConnection.of(connection, profile);
+    }
+
     public Connection getConnection() throws SQLException {
         return getConnection(true);
     }
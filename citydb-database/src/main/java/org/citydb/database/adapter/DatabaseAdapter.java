@@ -23,6 +23,7 @@ package org.citydb.database.adapter;
 
 import org.citydb.database.Pool;
 import org.citydb.database.connection.ConnectionDetails;
+import org.citydb.database.connection.SessionProfile;
 import org.citydb.database.metadata.DatabaseMetadata;
 import org.citydb.database.metadata.DatabaseVersion;
 import org.citydb.database.metadata.SpatialReference;
@@ -35,6 +36,7 @@ public abstract class DatabaseAdapter {
     private ConnectionDetails connectionDetails;
     private SchemaAdapter schemaAdapter;
     private GeometryAdapter geometryAdapter;
+    private SessionProfile bulkLoadProfile;
     private DatabaseMetadata databaseMetadata;
 
     protected abstract SchemaAdapter createSchemaAdapter(DatabaseAdapter adapter);
@@ -42,11 +44,16 @@ public abstract class DatabaseAdapter {
     public abstract Class<?> getDriverClass();
     public abstract String getConnectionString(String host, int port, String database);
 
+    protected SessionProfile createBulkLoadProfile(DatabaseAdapter adapter) {
+        return SessionProfile.DEFAULT;
+    }
+
     public final void initialize(Pool pool, ConnectionDetails connectionDetails) throws SQLException {
         this.pool = Objects.requireNonNull(pool, "The database pool must not be null.");
         this.connectionDetails = Objects.requireNonNull(connectionDetails, "The connection details must not be null.");
         schemaAdapter = Objects.requireNonNull(createSchemaAdapter(this), "The schema adapter must not be null.");
         geometryAdapter = Objects.requireNonNull(createGeometryAdapter(this), "The geometry adapter must not be null.");
+        bulkLoadProfile = Objects.requireNonNullElse(createBulkLoadProfile(this), SessionProfile.DEFAULT);
 
         if (connectionDetails.getSchema() == null) {
             connectionDetails.setSchema(schemaAdapter.getDefaultSchema());
@@ -71,6 +78,10 @@ public abstract class DatabaseAdapter {
         return geometryAdapter;
     }
 
+    public SessionProfile getBulkLoadProfile() {
+        return bulkLoadProfile;
+    }
+
     public final Pool getPool() {
         return pool;
     }
@@ -21,7 +21,6 @@
 
 package org.citydb.database.adapter;
 
-import com.alibaba.fastjson2.JSONObject;
 import org.citydb.database.geometry.GeometryBuilder;
 import org.citydb.database.geometry.GeometryException;
 import org.citydb.database.geometry.PropertiesBuilder;
@@ -45,13 +44,13 @@ public abstract class GeometryAdapter {
         return getGeometry(geometry, true);
     }
 
-    public Geometry<?> buildGeometry(Object geometryObject, JSONObject properties) throws GeometryException {
+    public Geometry<?> buildGeometry(Object geometryObject, String properties) throws GeometryException {
         return geometryObject != null ?
                 geometryBuilder.buildGeometry(getGeometry(geometryObject), properties) :
                 null;
     }
 
-    public JSONObject buildGeometryProperties(Geometry<?> geometry) {
+    public String buildGeometryProperties(Geometry<?> geometry) {
         return propertiesBuilder.buildProperties(geometry);
     }
 }
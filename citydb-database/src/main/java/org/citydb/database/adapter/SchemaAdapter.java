@@ -24,6 +24,7 @@ package org.citydb.database.adapter;
 import org.citydb.core.concurrent.LazyInitializer;
 import org.citydb.database.metadata.SpatialReferenceType;
 import org.citydb.database.schema.*;
+import org.citydb.model.geometry.Envelope;
 
 import java.sql.SQLException;
 import java.util.Iterator;
@@ -35,6 +36,7 @@ public abstract class SchemaAdapter {
     private final LazyInitializer<NamespaceHelper, SQLException> namespaceHelper;
     private final LazyInitializer<ObjectClassHelper, SQLException> objectClassHelper;
     private final IndexHelper indexHelper;
+    private final ForeignKeyHelper foreignKeyHelper;
 
     protected SchemaAdapter(DatabaseAdapter adapter) {
         this.adapter = adapter;
@@ -42,6 +44,7 @@ public abstract class SchemaAdapter {
         namespaceHelper = LazyInitializer.of(() -> NamespaceHelper.newInstance(adapter));
         objectClassHelper = LazyInitializer.of(() -> ObjectClassHelper.newInstance(adapter));
         indexHelper = IndexHelper.newInstance(adapter);
+        foreignKeyHelper = ForeignKeyHelper.newInstance(adapter);
     }
 
     public abstract String getDefaultSchema();
@@ -49,10 +52,20 @@ public abstract class SchemaAdapter {
     public abstract int getMaximumBatchSize();
     public abstract int getMaximumNumberOfItemsForInOperator();
     public abstract String getFeatureHierarchyQuery();
+    public abstract String getFeatureHierarchyQuery(Projection projection);
+    public abstract String getFeatureHierarchyBatchQuery(Projection projection);
+    public abstract String getNestedFeaturesQuery();
     public abstract String getRecursiveImplicitGeometryQuery(String featureQuery);
+    public abstract String getExtentQuery(String featureQuery);
+    public abstract String getTileFilter(String column, Envelope tile);
     public abstract String getCreateIndex(Index index);
     public abstract String getDropIndex(Index index);
     public abstract String getIndexExists(Index index);
+    public abstract String getForeignKeys();
+    public abstract String getCreateForeignKey(ForeignKey foreignKey, boolean validate);
+    public abstract String getDropForeignKey(ForeignKey foreignKey);
+    public abstract String getValidateForeignKey(ForeignKey foreignKey);
+    public abstract boolean isForeignKeyViolation(SQLException e);
     protected abstract String getCityDBVersion();
     protected abstract String getSpatialReference();
     protected abstract SpatialReferenceType getSpatialReferenceType(String type);
@@ -73,6 +86,10 @@ public abstract class SchemaAdapter {
         return indexHelper;
     }
 
+    public ForeignKeyHelper getForeignKeyHelper() {
+        return foreignKeyHelper;
+    }
+
     public String getInOperator(String column, Set<Long> values) {
         if (values.isEmpty()) {
             return column + " = 0";
@@ -23,6 +23,8 @@ package org.citydb.database.connection;
 
 public class PoolOptions {
     private int loginTimeout = 60;
+    private int maxActive = 100;
+    private int minIdle = 10;
 
     public int getLoginTimeout() {
         return loginTimeout;
@@ -35,4 +37,28 @@ public class PoolOptions {
 
         return this;
     }
+
+    public int getMaxActive() {
+        return maxActive;
+    }
+
+    public PoolOptions setMaxActive(int maxActive) {
+        if (maxActive > 0) {
+            this.maxActive = maxActive;
+        }
+
+        return this;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public PoolOptions setMinIdle(int minIdle) {
+        if (minIdle >= 0) {
+            this.minIdle = minIdle;
+        }
+
+        return this;
+    }
 }
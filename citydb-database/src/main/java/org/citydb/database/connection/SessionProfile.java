@@ -0,0 +1,41 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.database.connection;
+
+import org.citydb.database.schema.Table;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+public interface SessionProfile {
+    SessionProfile DEFAULT = new SessionProfile() {
+    };
+
+    default void apply(Connection connection) throws SQLException {
+    }
+
+    default void reset(Connection connection) throws SQLException {
+    }
+
+    default void afterCommit(Connection connection, Set<Table> tables) throws SQLException {
+    }
+}
@@ -21,8 +21,8 @@
 
 package org.citydb.database.geometry;
 
-import com.alibaba.fastjson2.JSONArray;
-import com.alibaba.fastjson2.JSONObject;
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONReader;
 import org.citydb.model.geometry.*;
 
 import java.util.*;
@@ -30,38 +30,36 @@ import java.util.stream.Collectors;
 
 public class GeometryBuilder {
 
-    public Geometry<?> buildGeometry(Geometry<?> geometry, JSONObject properties) throws GeometryException {
+    public Geometry<?> buildGeometry(Geometry<?> geometry, String properties) throws GeometryException {
         if (geometry != null && properties != null) {
-            Map<Integer, JSONObject> hierarchy = buildHierarchy(properties);
+            Metadata metadata = readProperties(properties);
+            List<Item> hierarchy = metadata.hierarchy;
             if (!hierarchy.isEmpty()) {
-                if (hierarchy.get(0).containsKey(Properties.JSON_KEY_PARENT)) {
+                if (hierarchy.get(0).parent != Item.UNDEFINED) {
                     throw new GeometryException("The geometry hierarchy lacks a root item.");
                 }
 
-                Map<Integer, Geometry<?>> parents = new HashMap<>(hierarchy.size());
+                Geometry<?>[] parents = new Geometry<?>[hierarchy.size()];
                 List<? extends Geometry<?>> primitives = getPrimitives(geometry);
                 try {
-                    for (Map.Entry<Integer, JSONObject> entry : hierarchy.entrySet()) {
-                        Geometry<?> item = buildGeometry(entry.getValue(), parents, primitives);
-                        parents.put(entry.getKey(), item);
+                    for (int i = 0; i < hierarchy.size(); i++) {
+                        parents[i] = buildGeometry(hierarchy.get(i), parents, primitives);
                     }
                 } catch (Exception e) {
                     throw new GeometryException("Failed to rebuild geometry hierarchy.", e);
                 }
 
-                if (!parents.isEmpty()) {
-                    geometry = parents.get(0);
-                }
+                geometry = parents[0];
             }
 
-            processMetadata(geometry, properties);
+            processMetadata(geometry, metadata);
         }
 
         return geometry;
     }
 
-    private Geometry<?> buildGeometry(JSONObject item, Map<Integer, Geometry<?>> parents, List<? extends Geometry<?>> primitives) throws GeometryException {
-        GeometryType type = GeometryType.fromDatabaseValue(item.getIntValue(Properties.JSON_KEY_TYPE, -1));
+    private Geometry<?> buildGeometry(Item item, Geometry<?>[] parents, List<? extends Geometry<?>> primitives) throws GeometryException {
+        GeometryType type = GeometryType.fromDatabaseValue(item.type);
         if (type == null) {
             throw new GeometryException("Missing geometry type property.");
         }
@@ -83,7 +81,7 @@ public class GeometryBuilder {
                 break;
             case POLYGON:
                 geometry = getPrimitive(item, primitives, Polygon.class);
-                ((Polygon) geometry).setReversed(item.getBooleanValue(Properties.JSON_KEY_IS_REVERSED, false));
+                ((Polygon) geometry).setReversed(item.isReversed);
                 if (parent instanceof SurfaceCollection<?>) {
                     ((SurfaceCollection<?>) parent).getPolygons().add((Polygon) geometry);
                 }
@@ -120,15 +118,15 @@ public class GeometryBuilder {
         }
 
         if (geometry != null) {
-            return geometry.setObjectId(item.getString(Properties.JSON_KEY_OBJECT_ID));
+            return geometry.setObjectId(item.objectId);
         } else {
             throw new GeometryException("Failed to parse geometry hierarchy item.");
         }
     }
 
-    private <T extends Geometry<?>> T getPrimitive(JSONObject item, List<? extends Geometry<?>> primitives, Class<T> type) throws GeometryException {
-        Integer index = item.getInteger(Properties.JSON_KEY_GEOMETRY_INDEX);
-        if (index == null) {
+    private <T extends Geometry<?>> T getPrimitive(Item item, List<? extends Geometry<?>> primitives, Class<T> type) throws GeometryException {
+        int index = item.geometryIndex;
+        if (index == Item.UNDEFINED) {
             throw new GeometryException("Missing geometry index.");
         } else if (index < 0 || index >= primitives.size()) {
             throw new GeometryException("Geometry index out of bounds.");
@@ -142,10 +140,11 @@ public class GeometryBuilder {
         }
     }
 
-    private Geometry<?> getParent(JSONObject item, Map<Integer, Geometry<?>> parents) throws GeometryException {
-        Integer index = item.getInteger(Properties.JSON_KEY_PARENT);
-        if (index != null) {
-            Geometry<?> parent = parents.get(index);
+    private Geometry<?> getParent(Item item, Geometry<?>[] parents) throws GeometryException {
+        if (item.parent != Item.UNDEFINED) {
+            Geometry<?> parent = item.parent >= 0 && item.parent < parents.length ?
+                    parents[item.parent] :
+                    null;
             if (parent == null) {
                 throw new GeometryException("Parent index out of bounds.");
             }
@@ -185,30 +184,94 @@ public class GeometryBuilder {
         }
     }
 
-    private Map<Integer, JSONObject> buildHierarchy(JSONObject properties) {
-        JSONArray items = properties.getJSONArray(Properties.JSON_KEY_HIERARCHY);
-        if (items != null && !items.isEmpty()) {
-            Map<Integer, JSONObject> hierarchy = new TreeMap<>();
-            for (int i = 0; i < items.size(); i++) {
-                Object item = items.get(i);
-                if (item instanceof JSONObject) {
-                    hierarchy.put(i, (JSONObject) item);
+    private Metadata readProperties(String properties) throws GeometryException {
+        Metadata metadata = new Metadata();
+        try (JSONReader reader = JSONReader.of(properties)) {
+            if (reader.nextIfObjectStart()) {
+                while (!reader.nextIfObjectEnd()) {
+                    String name = reader.readFieldName();
+                    if (reader.nextIfNull()) {
+                        continue;
+                    }
+
+                    if (Properties.JSON_KEY_OBJECT_ID.equals(name)) {
+                        metadata.objectId = reader.readString();
+                    } else if (Properties.JSON_KEY_IS_2D.equals(name)) {
+                        metadata.is2D = reader.readBoolValue();
+                    } else if (Properties.JSON_KEY_HIERARCHY.equals(name) && reader.nextIfArrayStart()) {
+                        while (!reader.nextIfArrayEnd()) {
+                            if (reader.nextIfObjectStart()) {
+                                metadata.hierarchy.add(readItem(reader));
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
                 }
             }
+        } catch (JSONException e) {
+            throw new GeometryException("Failed to parse geometry properties.", e);
+        }
+
+        return metadata;
+    }
+
+    private Item readItem(JSONReader reader) {
+        Item item = new Item();
+        while (!reader.nextIfObjectEnd()) {
+            String name = reader.readFieldName();
+            if (reader.nextIfNull()) {
+                continue;
+            }
 
-            return hierarchy;
+            switch (name) {
+                case Properties.JSON_KEY_TYPE:
+                    item.type = reader.readInt32Value();
+                    break;
+                case Properties.JSON_KEY_OBJECT_ID:
+                    item.objectId = reader.readString();
+                    break;
+                case Properties.JSON_KEY_PARENT:
+                    item.parent = reader.readInt32Value();
+                    break;
+                case Properties.JSON_KEY_GEOMETRY_INDEX:
+                    item.geometryIndex = reader.readInt32Value();
+                    break;
+                case Properties.JSON_KEY_IS_REVERSED:
+                    item.isReversed = reader.readBoolValue();
+                    break;
+                default:
+                    reader.skipValue();
+            }
         }
 
-        return Collections.emptyMap();
+        return item;
     }
 
-    private void processMetadata(Geometry<?> geometry, JSONObject properties) {
+    private void processMetadata(Geometry<?> geometry, Metadata metadata) {
         if (geometry.getObjectId().isEmpty()) {
-            geometry.setObjectId(properties.getString(Properties.JSON_KEY_OBJECT_ID));
+            geometry.setObjectId(metadata.objectId);
         }
 
-        if (properties.getBooleanValue(Properties.JSON_KEY_IS_2D, false)) {
+        if (metadata.is2D) {
             geometry.force2D();
         }
     }
+
+    private static class Metadata {
+        private final List<Item> hierarchy = new ArrayList<>();
+        private String objectId;
+        private boolean is2D;
+    }
+
+    private static class Item {
+        private static final int UNDEFINED = Integer.MIN_VALUE;
+        private int type = -1;
+        private String objectId;
+        private int parent = UNDEFINED;
+        private int geometryIndex = UNDEFINED;
+        private boolean isReversed;
+    }
 }
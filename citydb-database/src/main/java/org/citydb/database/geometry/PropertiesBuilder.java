@@ -21,49 +21,50 @@
 
 package org.citydb.database.geometry;
 
-import com.alibaba.fastjson2.JSONArray;
-import com.alibaba.fastjson2.JSONObject;
+import com.alibaba.fastjson2.JSONWriter;
 import org.citydb.model.geometry.*;
 
 public class PropertiesBuilder {
 
-    public JSONObject buildProperties(Geometry<?> geometry) {
+    public String buildProperties(Geometry<?> geometry) {
         if (geometry != null) {
-            JSONObject properties = new JSONObject();
-
-            properties.put(Properties.JSON_KEY_OBJECT_ID, geometry.getOrCreateObjectId());
-            if (geometry.getVertexDimension() == 2) {
-                properties.put(Properties.JSON_KEY_IS_2D, true);
-            }
-
-            Hierarchy hierarchy = new Hierarchy();
-            switch (geometry.getGeometryType()) {
-                case MULTI_POINT:
-                    buildHierarchy((MultiPoint) geometry, hierarchy);
-                    break;
-                case MULTI_LINE_STRING:
-                    buildHierarchy((MultiLineString) geometry, hierarchy);
-                    break;
-                case MULTI_SURFACE:
-                case TRIANGULATED_SURFACE:
-                case COMPOSITE_SURFACE:
-                    buildHierarchy((SurfaceCollection<?>) geometry, -1, hierarchy);
-                    break;
-                case SOLID:
-                    buildHierarchy((Solid) geometry, -1, hierarchy);
-                    break;
-                case COMPOSITE_SOLID:
-                case MULTI_SOLID:
-                    buildHierarchy((SolidCollection<?>) geometry, hierarchy);
-                    break;
-            }
-
-            if (!hierarchy.isEmpty()) {
-                properties.put(Properties.JSON_KEY_HIERARCHY, hierarchy.getContent());
-            }
-
-            if (!properties.isEmpty()) {
-                return properties;
+            try (JSONWriter writer = JSONWriter.of()) {
+                writer.startObject();
+                writer.writeName(Properties.JSON_KEY_OBJECT_ID);
+                writer.writeColon();
+                writer.writeString(geometry.getOrCreateObjectId());
+
+                if (geometry.getVertexDimension() == 2) {
+                    writer.writeName(Properties.JSON_KEY_IS_2D);
+                    writer.writeColon();
+                    writer.writeBool(true);
+                }
+
+                Hierarchy hierarchy = new Hierarchy(writer);
+                switch (geometry.getGeometryType()) {
+                    case MULTI_POINT:
+                        buildHierarchy((MultiPoint) geometry, hierarchy);
+                        break;
+                    case MULTI_LINE_STRING:
+                        buildHierarchy((MultiLineString) geometry, hierarchy);
+                        break;
+                    case MULTI_SURFACE:
+                    case TRIANGULATED_SURFACE:
+                    case COMPOSITE_SURFACE:
+                        buildHierarchy((SurfaceCollection<?>) geometry, -1, hierarchy);
+                        break;
+                    case SOLID:
+                        buildHierarchy((Solid) geometry, -1, hierarchy);
+                        break;
+                    case COMPOSITE_SOLID:
+                    case MULTI_SOLID:
+                        buildHierarchy((SolidCollection<?>) geometry, hierarchy);
+                        break;
+                }
+
+                hierarchy.end();
+                writer.endObject();
+                return writer.toString();
             }
         }
 
@@ -108,38 +109,60 @@ public class PropertiesBuilder {
     }
 
     private static class Hierarchy {
-        private final JSONArray content = new JSONArray();
+        private final JSONWriter writer;
+        private int size;
         private int geometryIndex;
 
-        private JSONArray getContent() {
-            return content;
+        private Hierarchy(JSONWriter writer) {
+            this.writer = writer;
         }
 
         private int add(Geometry<?> geometry, int parent) {
-            JSONObject item = content.addObject()
-                    .fluentPut(Properties.JSON_KEY_TYPE, geometry.getGeometryType().getDatabaseValue())
-                    .fluentPut(Properties.JSON_KEY_OBJECT_ID, geometry.getOrCreateObjectId());
+            if (size == 0) {
+                writer.writeName(Properties.JSON_KEY_HIERARCHY);
+                writer.writeColon();
+                writer.startArray();
+            } else {
+                writer.writeComma();
+            }
+
+            writer.startObject();
+            writer.writeName(Properties.JSON_KEY_TYPE);
+            writer.writeColon();
+            writer.writeInt32(geometry.getGeometryType().getDatabaseValue());
+            writer.writeName(Properties.JSON_KEY_OBJECT_ID);
+            writer.writeColon();
+            writer.writeString(geometry.getOrCreateObjectId());
 
             if (parent >= 0) {
-                item.put(Properties.JSON_KEY_PARENT, parent);
+                writer.writeName(Properties.JSON_KEY_PARENT);
+                writer.writeColon();
+                writer.writeInt32(parent);
             }
 
             switch (geometry.getGeometryType()) {
                 case POINT:
                 case LINE_STRING:
                 case POLYGON:
-                    item.put(Properties.JSON_KEY_GEOMETRY_INDEX, geometryIndex++);
+                    writer.writeName(Properties.JSON_KEY_GEOMETRY_INDEX);
+                    writer.writeColon();
+                    writer.writeInt32(geometryIndex++);
             }
 
             if (geometry instanceof Polygon && ((Polygon) geometry).isReversed()) {
-                item.put(Properties.JSON_KEY_IS_REVERSED, true);
+                writer.writeName(Properties.JSON_KEY_IS_REVERSED);
+                writer.writeColon();
+                writer.writeBool(true);
             }
 
-            return content.size() - 1;
+            writer.endObject();
+            return size++;
         }
 
-        private boolean isEmpty() {
-            return content.isEmpty();
+        private void end() {
+            if (size > 0) {
+                writer.endArray();
+            }
         }
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.database.schema;
+
+import java.util.Objects;
+
+public class ForeignKey {
+    private final String name;
+    private final String table;
+    private final String definition;
+
+    private ForeignKey(String name, String table, String definition) {
+        this.name = Objects.requireNonNull(name, "The foreign key name must not be null.");
+        this.table = Objects.requireNonNull(table, "The foreign key table must not be null.");
+        this.definition = Objects.requireNonNull(definition, "The foreign key definition must not be null.");
+    }
+
+    public static ForeignKey of(String name, String table, String definition) {
+        return new ForeignKey(name, table, definition);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getDefinition() {
+        return definition;
+    }
+
+    @Override
+    public String toString() {
+        return table + "." + name;
+    }
+}
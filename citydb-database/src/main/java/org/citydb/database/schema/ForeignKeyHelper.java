@@ -0,0 +1,215 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.database.schema;
+
+import org.citydb.core.CoreConstants;
+import org.citydb.database.adapter.DatabaseAdapter;
+import org.citydb.database.connection.ConnectionDetails;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+public class ForeignKeyHelper {
+    private final DatabaseAdapter adapter;
+
+    private ForeignKeyHelper(DatabaseAdapter adapter) {
+        this.adapter = adapter;
+    }
+
+    public static ForeignKeyHelper newInstance(DatabaseAdapter adapter) {
+        return new ForeignKeyHelper(adapter);
+    }
+
+    public List<ForeignKey> getForeignKeys() throws SQLException {
+        List<ForeignKey> foreignKeys = new ArrayList<>();
+        try (Connection connection = adapter.getPool().getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(adapter.getSchemaAdapter().getForeignKeys())) {
+            while (rs.next()) {
+                foreignKeys.add(ForeignKey.of(rs.getString("name"),
+                        rs.getString("table_name"),
+                        rs.getString("definition")));
+            }
+        }
+
+        return foreignKeys;
+    }
+
+    public Path getRecoveryFile() {
+        ConnectionDetails details = adapter.getConnectionDetails();
+        String name = String.join("-", details.getHost(), String.valueOf(details.getPort()),
+                details.getDatabase(), details.getSchema());
+        return CoreConstants.WORKING_DIR.resolve("citydb-foreign-keys-" +
+                name.replaceAll("[^A-Za-z0-9._-]", "_") + ".sql");
+    }
+
+    public List<String> getMissingForeignKeys() throws SQLException, IOException {
+        Path recoveryFile = getRecoveryFile();
+        if (!Files.exists(recoveryFile)) {
+            return Collections.emptyList();
+        }
+
+        Set<String> foreignKeys = getForeignKeys().stream()
+                .map(ForeignKey::getName)
+                .collect(Collectors.toSet());
+
+        List<String> missing = new ArrayList<>();
+        for (String line : Files.readAllLines(recoveryFile, StandardCharsets.UTF_8)) {
+            String[] tokens = line.trim().split("\\s+");
+            for (int i = 0; i < tokens.length - 1; i++) {
+                if (tokens[i].equalsIgnoreCase("constraint")) {
+                    if (!foreignKeys.contains(tokens[i + 1])) {
+                        missing.add(tokens[i + 1]);
+                    }
+
+                    break;
+                }
+            }
+        }
+
+        // the constraints have been restored outside this tool
+        if (missing.isEmpty()) {
+            Files.deleteIfExists(recoveryFile);
+        }
+
+        return missing;
+    }
+
+    public List<ForeignKey> dropAll() throws SQLException, IOException {
+        List<ForeignKey> foreignKeys = getForeignKeys();
+        Path recoveryFile = getRecoveryFile();
+        writeRecoveryFile(recoveryFile, foreignKeys);
+
+        try (Connection connection = adapter.getPool().getConnection(false)) {
+            try (Statement stmt = connection.createStatement()) {
+                for (ForeignKey foreignKey : foreignKeys) {
+                    stmt.executeUpdate(adapter.getSchemaAdapter().getDropForeignKey(foreignKey));
+                }
+
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                Files.deleteIfExists(recoveryFile);
+                throw e;
+            }
+        }
+
+        return foreignKeys;
+    }
+
+    public Map<ForeignKey, String> createAll(Collection<ForeignKey> foreignKeys, int numberOfThreads) throws SQLException, IOException {
+        // adding the constraints without validation only takes a short lock on each table
+        try (Connection connection = adapter.getPool().getConnection(false)) {
+            try (Statement stmt = connection.createStatement()) {
+                for (ForeignKey foreignKey : foreignKeys) {
+                    stmt.executeUpdate(adapter.getSchemaAdapter().getCreateForeignKey(foreignKey, false));
+                }
+
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+
+        Files.deleteIfExists(getRecoveryFile());
+        return validateAll(foreignKeys, numberOfThreads);
+    }
+
+    private void writeRecoveryFile(Path recoveryFile, List<ForeignKey> foreignKeys) throws IOException {
+        // make the definitions durable before dropping the constraints, so that they can be restored
+        // after a crash. An existing file belongs to an earlier run that has not restored its constraints.
+        if (Files.exists(recoveryFile)) {
+            throw new IOException("The foreign key recovery file " + recoveryFile + " already exists.");
+        }
+
+        Path tempFile = recoveryFile.resolveSibling(recoveryFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            writer.write("-- Foreign keys dropped on " + OffsetDateTime.now() + ". " +
+                    "Execute these statements to restore them.");
+            writer.newLine();
+            for (ForeignKey foreignKey : foreignKeys) {
+                writer.write(adapter.getSchemaAdapter().getCreateForeignKey(foreignKey, true) + ";");
+                writer.newLine();
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+
+        Files.move(tempFile, recoveryFile);
+    }
+
+    private Map<ForeignKey, String> validateAll(Collection<ForeignKey> foreignKeys, int numberOfThreads) throws SQLException {
+        Map<ForeignKey, String> violations = new ConcurrentHashMap<>();
+        ExecutorService service = Executors.newFixedThreadPool(Math.max(1, Math.min(numberOfThreads,
+                foreignKeys.size())));
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (ForeignKey foreignKey : foreignKeys) {
+                futures.add(service.submit(() -> {
+                    try (Connection connection = adapter.getPool().getConnection();
+                         Statement stmt = connection.createStatement()) {
+                        stmt.executeUpdate(adapter.getSchemaAdapter().getValidateForeignKey(foreignKey));
+                    } catch (SQLException e) {
+                        if (adapter.getSchemaAdapter().isForeignKeyViolation(e)) {
+                            violations.put(foreignKey, e.getMessage());
+                        } else {
+                            throw e;
+                        }
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof SQLException ?
+                    (SQLException) e.getCause() :
+                    new SQLException("Failed to validate foreign keys.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while validating foreign keys.", e);
+        } finally {
+            service.shutdown();
+        }
+
+        return violations;
+    }
+}
@@ -33,6 +33,7 @@ public class Index {
     public static final Index FEATURE_TERMINATION_DATE = Index.normal("feature_termination_date_inx", Table.FEATURE, "termination_date");
     public static final Index FEATURE_VALID_FROM = Index.normal("feature_valid_from_inx", Table.FEATURE, "valid_from");
     public static final Index FEATURE_VALID_TO = Index.normal("feature_valid_to_inx", Table.FEATURE, "valid_to");
+    public static final Index FEATURE_CONTENT_HASH = Index.normal("feature_content_hash_inx", Table.FEATURE, List.of("objectid", "content_hash"));
     public static final Index GEOMETRY_DATA_GEOMETRY = Index.spatial("geometry_data_spx", Table.GEOMETRY_DATA, "geometry");
     public static final Index IMPLICIT_GEOMETRY_OBJECTID = Index.normal("implicit_geometry_objectid_inx", Table.IMPLICIT_GEOMETRY, "objectid");
     public static final Index PROPERTY_NAME = Index.normal("property_name_inx", Table.PROPERTY, "name");
@@ -0,0 +1,98 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.database.schema;
+
+import org.citydb.model.common.Name;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+public class Projection {
+    private Set<Name> propertyNames;
+    private Set<String> lods;
+    private boolean withAppearances = true;
+
+    private Projection() {
+    }
+
+    public static Projection newInstance() {
+        return new Projection();
+    }
+
+    public boolean hasPropertyNames() {
+        return propertyNames != null && !propertyNames.isEmpty();
+    }
+
+    public Set<Name> getPropertyNames() {
+        if (propertyNames == null) {
+            propertyNames = new LinkedHashSet<>();
+        }
+
+        return propertyNames;
+    }
+
+    public Projection setPropertyNames(Collection<Name> propertyNames) {
+        this.propertyNames = propertyNames != null ? new LinkedHashSet<>(propertyNames) : null;
+        return this;
+    }
+
+    public Projection addPropertyName(Name propertyName) {
+        getPropertyNames().add(Objects.requireNonNull(propertyName, "The property name must not be null."));
+        return this;
+    }
+
+    public boolean hasLods() {
+        return lods != null && !lods.isEmpty();
+    }
+
+    public Set<String> getLods() {
+        if (lods == null) {
+            lods = new LinkedHashSet<>();
+        }
+
+        return lods;
+    }
+
+    public Projection setLods(Collection<String> lods) {
+        this.lods = lods != null ? new LinkedHashSet<>(lods) : null;
+        return this;
+    }
+
+    public Projection addLod(String lod) {
+        getLods().add(Objects.requireNonNull(lod, "The LoD must not be null."));
+        return this;
+    }
+
+    public boolean isWithAppearances() {
+        return withAppearances;
+    }
+
+    public Projection setWithAppearances(boolean withAppearances) {
+        this.withAppearances = withAppearances;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return !hasPropertyNames() && !hasLods() && withAppearances;
+    }
+}
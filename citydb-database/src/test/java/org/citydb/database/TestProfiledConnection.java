@@ -0,0 +1,73 @@
+package org.citydb.database;
+
+import org.citydb.database.connection.SessionProfile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestProfiledConnection {
+
+    interface PgConnection extends Connection {
+    }
+
+    @Test
+    @DisplayName("Unwrap profiled connections and reset the profile on close")
+    void testProfiledConnection() throws Throwable {
+        List<String> calls = new ArrayList<>();
+        boolean[] state = {false, true};
+        PgConnection target = (PgConnection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PgConnection.class},
+                (proxy, method, args) -> {
+                    calls.add(method.getName());
+                    switch (method.getName()) {
+                        case "isClosed":
+                            return state[0];
+                        case "close":
+                            state[0] = true;
+                            return null;
+                        case "getAutoCommit":
+                            return state[1];
+                        case "setAutoCommit":
+                            state[1] = (Boolean) args[0];
+                            return null;
+                        case "isWrapperFor":
+                            return ((Class<?>) args[0]).isInstance(proxy);
+                        case "unwrap":
+                            return ((Class<?>) args[0]).cast(proxy);
+                        default:
+                            return null;
+                    }
+                });
+
+        SessionProfile profile = new SessionProfile() {
+            @Override
+            public void reset(Connection connection) {
+                calls.add("reset");
+            }
+        };
+
+        Connection connection = ProfiledConnection.of(target, profile);
+        assertTrue(connection.isWrapperFor(PgConnection.class));
+        assertTrue(connection.isWrapperFor(ProfiledConnection.class));
+        assertSame(target, connection.unwrap(PgConnection.class));
+        assertSame(connection, connection.unwrap(Connection.class));
+
+        connection.setAutoCommit(false);
+        connection.commit();
+        calls.clear();
+
+        connection.close();
+        assertEquals(List.of("isClosed", "getAutoCommit", "rollback", "setAutoCommit", "reset", "close"), calls);
+        assertTrue(state[1]);
+
+        calls.clear();
+        connection.close();
+        assertEquals(List.of("isClosed"), calls);
+    }
+}
@@ -0,0 +1,66 @@
+package org.citydb.database.geometry;
+
+import org.citydb.model.geometry.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestGeometryProperties {
+    PropertiesBuilder propertiesBuilder = new PropertiesBuilder();
+    GeometryBuilder geometryBuilder = new GeometryBuilder();
+
+    @Test
+    @DisplayName("Test round trip of MultiSurface properties")
+    void testMultiSurfaceRoundTrip() throws Throwable {
+        MultiSurface multiSurface = MultiSurface.of(List.of(
+                createPolygon().setObjectId("p1"),
+                createPolygon().setReversed(true).setObjectId("p2")));
+        multiSurface.setObjectId("ms");
+
+        String properties = propertiesBuilder.buildProperties(multiSurface);
+        Geometry<?> geometry = geometryBuilder.buildGeometry(
+                MultiSurface.of(List.of(createPolygon(), createPolygon())), properties);
+
+        assertEquals(GeometryType.MULTI_SURFACE, geometry.getGeometryType());
+        assertEquals("ms", geometry.getObjectId().orElse(null));
+        List<Polygon> polygons = ((MultiSurface) geometry).getPolygons();
+        assertEquals(2, polygons.size());
+        assertEquals("p1", polygons.get(0).getObjectId().orElse(null));
+        assertFalse(polygons.get(0).isReversed());
+        assertEquals("p2", polygons.get(1).getObjectId().orElse(null));
+        assertTrue(polygons.get(1).isReversed());
+    }
+
+    @Test
+    @DisplayName("Test properties of a primitive without hierarchy")
+    void testPrimitiveWithoutHierarchy() throws Throwable {
+        Point point = Point.of(Coordinate.of(1, 2, 3));
+        point.setObjectId("pt");
+
+        String properties = propertiesBuilder.buildProperties(point);
+        assertFalse(properties.contains(Properties.JSON_KEY_HIERARCHY));
+
+        Geometry<?> geometry = geometryBuilder.buildGeometry(Point.of(Coordinate.of(1, 2, 3)), properties);
+        assertEquals("pt", geometry.getObjectId().orElse(null));
+    }
+
+    @Test
+    @DisplayName("Test properties with null values")
+    void testNullValues() throws Throwable {
+        Geometry<?> geometry = geometryBuilder.buildGeometry(Point.of(Coordinate.of(1, 2, 3)),
+                "{\"objectId\":\"pt\",\"is2D\":null,\"hierarchy\":null}");
+        assertEquals(GeometryType.POINT, geometry.getGeometryType());
+        assertEquals("pt", geometry.getObjectId().orElse(null));
+    }
+
+    private Polygon createPolygon() {
+        return Polygon.of(LinearRing.of(List.of(
+                Coordinate.of(0, 0, 0),
+                Coordinate.of(1, 0, 0),
+                Coordinate.of(1, 1, 0),
+                Coordinate.of(0, 0, 0))));
+    }
+}
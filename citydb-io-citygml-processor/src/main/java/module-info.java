@@ -0,0 +1,6 @@
+module org.citydb.io.citygml.processor {
+    requires java.compiler;
+
+    provides javax.annotation.processing.Processor with
+            org.citydb.io.citygml.processor.AdapterRegistryProcessor;
+}
@@ -0,0 +1,130 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.io.citygml.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+@SupportedAnnotationTypes({
+        "org.citydb.io.citygml.annotation.DatabaseType",
+        "org.citydb.io.citygml.annotation.DatabaseTypes"})
+public class AdapterRegistryProcessor extends AbstractProcessor {
+    public static final String REGISTRY = "META-INF/citydb/citygml-adapters";
+    private static final String MODEL_BUILDER = "org.citydb.io.citygml.builder.ModelBuilder";
+    private static final String MODEL_SERIALIZER = "org.citydb.io.citygml.serializer.ModelSerializer";
+
+    private final Set<String> entries = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS
+                        && !element.getModifiers().contains(Modifier.ABSTRACT)) {
+                    addEntry("builder", (TypeElement) element, MODEL_BUILDER);
+                    addEntry("serializer", (TypeElement) element, MODEL_SERIALIZER);
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !entries.isEmpty()) {
+            writeRegistry();
+        }
+
+        return false;
+    }
+
+    private void addEntry(String kind, TypeElement element, String interfaceName) {
+        DeclaredType type = findSupertype(element.asType(), interfaceName);
+        if (type != null && type.getTypeArguments().size() == 2) {
+            String sourceType = getBinaryName(type.getTypeArguments().get(0));
+            String targetType = getBinaryName(type.getTypeArguments().get(1));
+            // adapters with unresolved type arguments are inspected at runtime instead
+            if (sourceType != null && targetType != null) {
+                entries.add(kind + "\t" + processingEnv.getElementUtils().getBinaryName(element) +
+                        "\t" + sourceType + "\t" + targetType);
+            }
+        }
+    }
+
+    private DeclaredType findSupertype(TypeMirror type, String name) {
+        List<? extends TypeMirror> supertypes = processingEnv.getTypeUtils().directSupertypes(type);
+        for (TypeMirror supertype : supertypes) {
+            if (supertype.getKind() == TypeKind.DECLARED) {
+                DeclaredType declaredType = (DeclaredType) supertype;
+                if (((TypeElement) declaredType.asElement()).getQualifiedName().contentEquals(name)) {
+                    return declaredType;
+                }
+
+                DeclaredType candidate = findSupertype(supertype, name);
+                if (candidate != null) {
+                    return candidate;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private String getBinaryName(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED ?
+                processingEnv.getElementUtils()
+                        .getBinaryName((TypeElement) ((DeclaredType) type).asElement())
+                        .toString() :
+                null;
+    }
+
+    private void writeRegistry() {
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    REGISTRY);
+            try (Writer writer = resource.openWriter()) {
+                for (String entry : entries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Failed to write adapter registry " + REGISTRY + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.citydb.io.citygml.processor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestAdapterRegistryProcessor {
+    private static final Map<String, String> SOURCES = Map.of(
+            "org/citydb/model/common/Child.java",
+            "package org.citydb.model.common; public abstract class Child {}",
+            "org/citydb/io/citygml/annotation/DatabaseType.java",
+            "package org.citydb.io.citygml.annotation; import java.lang.annotation.*; " +
+                    "@Repeatable(DatabaseTypes.class) @Retention(RetentionPolicy.RUNTIME) " +
+                    "public @interface DatabaseType { String name(); String namespace(); }",
+            "org/citydb/io/citygml/annotation/DatabaseTypes.java",
+            "package org.citydb.io.citygml.annotation; import java.lang.annotation.*; " +
+                    "@Retention(RetentionPolicy.RUNTIME) public @interface DatabaseTypes { DatabaseType[] value(); }",
+            "org/citydb/io/citygml/builder/ModelBuilder.java",
+            "package org.citydb.io.citygml.builder; import org.citydb.model.common.Child; " +
+                    "public interface ModelBuilder<T, R extends Child> {}",
+            "org/citydb/io/citygml/serializer/ModelSerializer.java",
+            "package org.citydb.io.citygml.serializer; import org.citydb.model.common.Child; " +
+                    "public interface ModelSerializer<T extends Child, R> {}",
+            "test/Adapters.java",
+            "package test; " +
+                    "import org.citydb.io.citygml.annotation.DatabaseType; " +
+                    "import org.citydb.io.citygml.builder.ModelBuilder; " +
+                    "import org.citydb.io.citygml.serializer.ModelSerializer; " +
+                    "import org.citydb.model.common.Child; " +
+                    "class Feature extends Child {} " +
+                    "class Building {} " +
+                    "class Road {} " +
+                    "abstract class AbstractAdapter<T> implements ModelBuilder<T, Feature>, ModelSerializer<Feature, T> {} " +
+                    "@DatabaseType(name = \"Building\", namespace = \"bldg\") " +
+                    "class BuildingAdapter extends AbstractAdapter<Building> {} " +
+                    "@DatabaseType(name = \"Road\", namespace = \"tran\") " +
+                    "@DatabaseType(name = \"Track\", namespace = \"tran\") " +
+                    "class RoadAdapter implements ModelBuilder<Road, Feature> {} " +
+                    "class Outer { @DatabaseType(name = \"Inner\", namespace = \"gen\") " +
+                    "static class InnerAdapter implements ModelBuilder<Road, Feature> {} } " +
+                    "@DatabaseType(name = \"Generic\", namespace = \"gen\") " +
+                    "class GenericAdapter<T> implements ModelBuilder<T, Feature> {} " +
+                    "@DatabaseType(name = \"Abstract\", namespace = \"gen\") " +
+                    "abstract class AbstractBuildingAdapter implements ModelBuilder<Building, Feature> {}");
+
+    @Test
+    @DisplayName("Generate adapter registry from annotated adapters")
+    void testRegistry() throws Throwable {
+        Path sourceDir = Files.createTempDirectory("adapter-registry-sources");
+        Path outputDir = Files.createTempDirectory("adapter-registry-classes");
+        List<Path> files = new ArrayList<>();
+        for (Map.Entry<String, String> entry : SOURCES.entrySet()) {
+            Path file = sourceDir.resolve(entry.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, entry.getValue());
+            files.add(file);
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null,
+                StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-d", outputDir.toString()), null, fileManager.getJavaFileObjectsFromPaths(files));
+            task.setProcessors(List.of(new AdapterRegistryProcessor()));
+            assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+        }
+
+        List<String> entries = Files.readAllLines(outputDir.resolve(AdapterRegistryProcessor.REGISTRY));
+        assertEquals(List.of(
+                "builder\ttest.BuildingAdapter\ttest.Building\ttest.Feature",
+                "builder\ttest.Outer$InnerAdapter\ttest.Road\ttest.Feature",
+                "builder\ttest.RoadAdapter\ttest.Road\ttest.Feature",
+                "serializer\ttest.BuildingAdapter\ttest.Feature\ttest.Building"), entries);
+    }
+}
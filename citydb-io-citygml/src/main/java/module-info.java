@@ -3,6 +3,7 @@ module org.citydb.io.citygml {
     requires transitive org.citydb.logging;
     requires transitive org.citygml4j.xml;
     requires transitive org.citygml4j.cityjson;
+    requires com.fasterxml.jackson.databind;
 
     exports org.citydb.io.citygml;
     exports org.citydb.io.citygml.adapter.address;
@@ -0,0 +1,81 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.io.citygml;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+class AdapterRegistry {
+    static final String REGISTRY = "META-INF/citydb/citygml-adapters";
+    private final Map<String, String[]> builders = new HashMap<>();
+    private final Map<String, String[]> serializers = new HashMap<>();
+
+    private AdapterRegistry() {
+    }
+
+    static AdapterRegistry load(ClassLoader loader) {
+        AdapterRegistry registry = new AdapterRegistry();
+        try {
+            Enumeration<URL> resources = loader.getResources(REGISTRY);
+            while (resources.hasMoreElements()) {
+                registry.read(resources.nextElement());
+            }
+        } catch (IOException e) {
+            // adapters without registry entry are inspected using reflection
+            registry.builders.clear();
+            registry.serializers.clear();
+        }
+
+        return registry;
+    }
+
+    String[] getBuilderTypes(Class<?> type) {
+        return builders.get(type.getName());
+    }
+
+    String[] getSerializerTypes(Class<?> type) {
+        return serializers.get(type.getName());
+    }
+
+    private void read(URL resource) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] entry = line.split("\t");
+                if (entry.length == 4) {
+                    if ("builder".equals(entry[0])) {
+                        builders.put(entry[1], new String[]{entry[2], entry[3]});
+                    } else if ("serializer".equals(entry[0])) {
+                        serializers.put(entry[1], new String[]{entry[2], entry[3]});
+                    }
+                }
+            }
+        }
+    }
+}
@@ -39,15 +39,19 @@ import org.citygml4j.xml.CityGMLContextException;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class CityGMLAdapterContext {
     private final CityGMLContext context;
-    private final Map<String, BuilderInfo> builders = new ConcurrentHashMap<>();
-    private final Map<String, Map<String, SerializerInfo>> serializers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, BuilderInfo> builders = new HashMap<>();
+    private final Map<Name, SerializerInfo> serializers = new HashMap<>();
+    private final ClassValue<BuilderInfo> builderLookup = new ClassValue<>() {
+        @Override
+        protected BuilderInfo computeValue(Class<?> type) {
+            return builders.get(type);
+        }
+    };
 
     CityGMLAdapterContext(ClassLoader loader) throws IOAdapterException {
         try {
@@ -57,8 +61,9 @@ public class CityGMLAdapterContext {
             throw new IOAdapterException("Failed to create CityGML context.", e);
         }
 
-        loadBuilders(loader);
-        loadSerializers(loader);
+        AdapterRegistry registry = AdapterRegistry.load(loader);
+        loadBuilders(loader, registry);
+        loadSerializers(loader, registry);
     }
 
     public CityGMLContext getCityGMLContext() {
@@ -67,14 +72,14 @@ public class CityGMLAdapterContext {
 
     @SuppressWarnings("unchecked")
     public <T, R extends Child> ModelBuilder<T, R> getBuilder(Class<T> sourceType, Class<R> targetType) {
-        BuilderInfo info = builders.get(sourceType.getName());
+        BuilderInfo info = builderLookup.get(sourceType);
         return info != null && targetType.isAssignableFrom(info.targetType) ?
                 (ModelBuilder<T, R>) info.builder :
                 null;
     }
 
     public <T, R extends ModelBuilder<T, ? extends Child>> R getBuilderByType(Class<T> sourceType, Class<R> builderType) {
-        BuilderInfo info = builders.get(sourceType.getName());
+        BuilderInfo info = builderLookup.get(sourceType);
         return info != null && builderType.isInstance(info.builder) ?
                 builderType.cast(info.builder) :
                 null;
@@ -82,9 +87,7 @@ public class CityGMLAdapterContext {
 
     @SuppressWarnings("unchecked")
     public <T extends Child, R> ModelSerializer<T, R> getSerializer(Name name, Class<T> sourceType, Class<R> targetType) {
-        SerializerInfo info = serializers
-                .getOrDefault(name.getNamespace(), Collections.emptyMap())
-                .get(name.getLocalName());
+        SerializerInfo info = serializers.get(name);
         return info != null
                 && sourceType.isAssignableFrom(info.sourceType)
                 && targetType.isAssignableFrom(info.targetType) ?
@@ -93,9 +96,7 @@ public class CityGMLAdapterContext {
     }
 
     public <T, R extends ModelSerializer<?, T>> R getSerializerByType(Name name, Class<T> sourceType, Class<R> serializerType) {
-        SerializerInfo info = serializers
-                .getOrDefault(name.getNamespace(), Collections.emptyMap())
-                .get(name.getLocalName());
+        SerializerInfo info = serializers.get(name);
         return info != null
                 && sourceType.isAssignableFrom(info.targetType)
                 && serializerType.isInstance(info.serializer) ?
@@ -104,7 +105,7 @@ public class CityGMLAdapterContext {
     }
 
     @SuppressWarnings("rawtypes")
-    private void loadBuilders(ClassLoader loader) throws IOAdapterException {
+    private void loadBuilders(ClassLoader loader, AdapterRegistry registry) throws IOAdapterException {
         for (Class<? extends ModelBuilder> type : ClassFilter.only()
                 .withoutModifiers(Modifier.ABSTRACT)
                 .satisfying(c -> c.isAnnotationPresent(DatabaseType.class)
@@ -126,12 +127,12 @@ public class CityGMLAdapterContext {
                 throw new IOAdapterException("The builder " + type.getName() + " lacks a default constructor.", e);
             }
 
-            registerBuilder(getBuilderInfo(builder));
+            registerBuilder(getBuilderInfo(builder, registry.getBuilderTypes(type), loader));
         }
     }
 
     @SuppressWarnings("rawtypes")
-    private void loadSerializers(ClassLoader loader) throws IOAdapterException {
+    private void loadSerializers(ClassLoader loader, AdapterRegistry registry) throws IOAdapterException {
         for (Class<? extends ModelSerializer> type : ClassFilter.only()
                 .withoutModifiers(Modifier.ABSTRACT)
                 .satisfying(c -> c.isAnnotationPresent(DatabaseType.class)
@@ -153,7 +154,7 @@ public class CityGMLAdapterContext {
                 throw new IOAdapterException("The serializer " + type.getName() + " lacks a default constructor.", e);
             }
 
-            SerializerInfo info = getSerializerInfo(serializer);
+            SerializerInfo info = getSerializerInfo(serializer, registry.getSerializerTypes(type), loader);
             if (isSetType) {
                 DatabaseType databaseType = type.getAnnotation(DatabaseType.class);
                 registerSerializer(info, databaseType.namespace(), databaseType.name());
@@ -167,7 +168,7 @@ public class CityGMLAdapterContext {
     }
 
     private void registerBuilder(BuilderInfo info) throws IOAdapterException {
-        BuilderInfo current = builders.put(info.sourceType.getName(), info);
+        BuilderInfo current = builders.put(info.sourceType, info);
         if (current != null && current.builder != info.builder) {
             throw new IOAdapterException("Two builders are registered for the object type " +
                     info.sourceType.getName() + ": " +
@@ -176,7 +177,7 @@ public class CityGMLAdapterContext {
     }
 
     private void registerSerializer(SerializerInfo info, String namespace, String name) throws IOAdapterException {
-        SerializerInfo current = serializers.computeIfAbsent(namespace, v -> new HashMap<>()).put(name, info);
+        SerializerInfo current = serializers.put(Name.of(name, namespace), info);
         if (current != null && current.serializer != info.serializer) {
             throw new IOAdapterException("Two serializers are registered for the " +
                     "database type {" + namespace + "}" + name + ": " +
@@ -184,7 +185,15 @@ public class CityGMLAdapterContext {
         }
     }
 
-    private BuilderInfo getBuilderInfo(ModelBuilder<?, ?> builder) throws IOAdapterException {
+    private BuilderInfo getBuilderInfo(ModelBuilder<?, ?> builder, String[] types, ClassLoader loader) throws IOAdapterException {
+        if (types != null) {
+            Class<?> sourceType = loadType(types[0], loader);
+            Class<?> targetType = loadType(types[1], loader);
+            if (sourceType != null && targetType != null && Child.class.isAssignableFrom(targetType)) {
+                return new BuilderInfo(builder, sourceType, targetType.asSubclass(Child.class));
+            }
+        }
+
         Class<?> type = builder.getClass();
         Class<?> sourceType = null;
         Class<? extends Child> targetType = null;
@@ -221,7 +230,15 @@ public class CityGMLAdapterContext {
         }
     }
 
-    private SerializerInfo getSerializerInfo(ModelSerializer<?, ?> serializer) throws IOAdapterException {
+    private SerializerInfo getSerializerInfo(ModelSerializer<?, ?> serializer, String[] types, ClassLoader loader) throws IOAdapterException {
+        if (types != null) {
+            Class<?> sourceType = loadType(types[0], loader);
+            Class<?> targetType = loadType(types[1], loader);
+            if (sourceType != null && targetType != null && Child.class.isAssignableFrom(sourceType)) {
+                return new SerializerInfo(serializer, sourceType.asSubclass(Child.class), targetType);
+            }
+        }
+
         Class<?> type = serializer.getClass();
         Class<? extends Child> sourceType = null;
         Class<?> targetType = null;
@@ -259,6 +276,14 @@ public class CityGMLAdapterContext {
         }
     }
 
+    private Class<?> loadType(String name, ClassLoader loader) {
+        try {
+            return Class.forName(name, false, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
     private static class BuilderInfo {
         final ModelBuilder<?, ?> builder;
         final Class<?> sourceType;
@@ -45,27 +45,34 @@ public abstract class AbstractFeatureAdapter<T extends AbstractFeature> extends
     public void build(T source, Feature target, ModelBuilderHelper helper) throws ModelBuildException {
         super.build(source, target, helper);
 
-        if (helper.isComputeEnvelopes()
-                || source.getBoundedBy() == null
-                || !source.getBoundedBy().isSetEnvelope()) {
-            source.computeEnvelope(EnvelopeOptions.defaults().setEnvelopeOnFeatures(true));
+        if (helper.isComputeEnvelopes()) {
+            // the model caches geometry envelopes, so nested features do not rescan their geometries
+            target.computeEnvelope().ifPresent(envelope -> envelope.setSrsName(
+                    source.getBoundedBy() != null && source.getBoundedBy().isSetEnvelope() ?
+                            helper.getInheritedSrsName(source.getBoundedBy().getEnvelope()) :
+                            envelope.getSrsName().orElseGet(helper::getRootSrsName)));
         } else {
-            // make sure implicit geometries are included in envelope
-            source.accept(new ObjectWalker() {
-                @Override
-                public void visit(ImplicitGeometry implicitGeometry) {
-                    source.getBoundedBy().getEnvelope().include(implicitGeometry.computeEnvelope());
-                }
-            });
-        }
+            if (source.getBoundedBy() == null
+                    || !source.getBoundedBy().isSetEnvelope()) {
+                source.computeEnvelope(EnvelopeOptions.defaults().setEnvelopeOnFeatures(true));
+            } else {
+                // make sure implicit geometries are included in envelope
+                source.accept(new ObjectWalker() {
+                    @Override
+                    public void visit(ImplicitGeometry implicitGeometry) {
+                        source.getBoundedBy().getEnvelope().include(implicitGeometry.computeEnvelope());
+                    }
+                });
+            }
 
-        if (source.getBoundedBy() != null
-                && source.getBoundedBy().isSetEnvelope()) {
-            List<Double> coordinates = source.getBoundedBy().getEnvelope().toCoordinateList3D();
-            target.setEnvelope(Envelope.of(
-                            Coordinate.of(coordinates.get(0), coordinates.get(1), coordinates.get(2)),
-                            Coordinate.of(coordinates.get(3), coordinates.get(4), coordinates.get(5)))
-                    .setSrsName(helper.getInheritedSrsName(source.getBoundedBy().getEnvelope())));
+            if (source.getBoundedBy() != null
+                    && source.getBoundedBy().isSetEnvelope()) {
+                List<Double> coordinates = source.getBoundedBy().getEnvelope().toCoordinateList3D();
+                target.setEnvelope(Envelope.of(
+                                Coordinate.of(coordinates.get(0), coordinates.get(1), coordinates.get(2)),
+                                Coordinate.of(coordinates.get(3), coordinates.get(4), coordinates.get(5)))
+                        .setSrsName(helper.getInheritedSrsName(source.getBoundedBy().getEnvelope())));
+            }
         }
 
         if (source.hasADEProperties()) {
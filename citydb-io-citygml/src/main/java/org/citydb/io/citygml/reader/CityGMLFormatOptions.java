@@ -29,6 +29,9 @@ public class CityGMLFormatOptions {
     private boolean mapLod0RoofEdge;
     private boolean mapLod1MultiSurfaces;
     private boolean importXALSource;
+    private boolean parallelTokenization;
+    private int geometryCacheSize = 10000;
+    private int appearanceTargetCacheSize = 100000;
 
     public boolean isResolveGeometryReferences() {
         return resolveGeometryReferences;
@@ -92,4 +95,37 @@ public class CityGMLFormatOptions {
         this.importXALSource = importXALSource;
         return this;
     }
+
+    public boolean isParallelTokenization() {
+        return parallelTokenization;
+    }
+
+    public CityGMLFormatOptions setParallelTokenization(boolean parallelTokenization) {
+        this.parallelTokenization = parallelTokenization;
+        return this;
+    }
+
+    public int getGeometryCacheSize() {
+        return geometryCacheSize;
+    }
+
+    public CityGMLFormatOptions setGeometryCacheSize(int geometryCacheSize) {
+        if (geometryCacheSize > 0) {
+            this.geometryCacheSize = geometryCacheSize;
+        }
+
+        return this;
+    }
+
+    public int getAppearanceTargetCacheSize() {
+        return appearanceTargetCacheSize;
+    }
+
+    public CityGMLFormatOptions setAppearanceTargetCacheSize(int appearanceTargetCacheSize) {
+        if (appearanceTargetCacheSize > 0) {
+            this.appearanceTargetCacheSize = appearanceTargetCacheSize;
+        }
+
+        return this;
+    }
 }
@@ -26,8 +26,11 @@ import org.citydb.core.cache.PersistentMapStore;
 import org.citydb.core.concurrent.CountLatch;
 import org.citydb.core.concurrent.ExecutorHelper;
 import org.citydb.core.file.InputFile;
+import org.citydb.core.file.input.RegularInputFile;
 import org.citydb.io.citygml.CityGMLAdapterContext;
+import org.citydb.io.citygml.reader.preprocess.FeatureFilter;
 import org.citydb.io.citygml.reader.preprocess.Preprocessor;
+import org.citydb.io.citygml.reader.util.CityGMLSplitter;
 import org.citydb.io.citygml.reader.util.FileMetadata;
 import org.citydb.io.reader.FeatureReader;
 import org.citydb.io.reader.ReadException;
@@ -40,13 +43,16 @@ import org.citygml4j.core.model.core.AbstractFeature;
 import org.citygml4j.xml.reader.CityGMLChunk;
 import org.citygml4j.xml.reader.CityGMLInputFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.Iterator;
-import java.util.Objects;
+import java.util.*;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
 public class CityGMLReader implements FeatureReader {
+    private static final long CHUNK_SIZE = 8 * 1024 * 1024;
     private final Logger logger = LoggerManager.getInstance().getLogger();
     private final CityGMLAdapterContext context;
     private final CityGMLReaderFactory factory;
@@ -83,7 +89,8 @@ public class CityGMLReader implements FeatureReader {
         }
 
         // set preprocessing options
-        preprocessor = new Preprocessor()
+        preprocessor = new Preprocessor(store, context.getCityGMLContext().getXMLObjects(),
+                formatOptions.getGeometryCacheSize(), formatOptions.getAppearanceTargetCacheSize())
                 .resolveGeometryReferences(formatOptions.isResolveGeometryReferences())
                 .resolveCrossLodReferences(formatOptions.isResolveCrossLodReferences())
                 .createCityObjectRelations(formatOptions.isCreateCityObjectRelations())
@@ -110,43 +117,41 @@ public class CityGMLReader implements FeatureReader {
                 options.getNumberOfThreads() :
                 Math.max(2, Runtime.getRuntime().availableProcessors()));
         CountLatch countLatch = new CountLatch();
+        FeatureFilter filter = FeatureFilter.of(options.getFilterOptions());
 
-        try (org.citygml4j.xml.reader.CityGMLReader reader = factory.createReader(file, inputFactory)) {
-            int featureId = 0;
+        // chunks are filtered only after they have been numbered, so that feature ids
+        // match those assigned to all top-level features during preprocessing
+        try (org.citygml4j.xml.reader.CityGMLReader reader = factory.createReader(file, inputFactory);
+             CityGMLSplitter splitter = createSplitter()) {
             FileMetadata metadata = FileMetadata.of(reader);
             ThreadLocal<ModelBuilderHelper> helpers = ThreadLocal.withInitial(() ->
                     new ModelBuilderHelper(file, store, context).initialize(metadata, options, formatOptions));
 
-            while (shouldRun && reader.hasNext()) {
-                CityGMLChunk chunk = reader.nextChunk();
-                chunk.getLocalProperties().set("featureId", featureId++);
-
-                countLatch.increment();
-                service.execute(() -> {
-                    try {
-                        AbstractFeature feature = chunk.build();
-                        if (preprocessor.process(feature, (int) chunk.getLocalProperties().get("featureId"))) {
-                            process(feature, consumer, helpers.get());
-                        }
-                    } catch (Throwable e) {
-                        shouldRun = false;
-                        exception = e;
-                    } finally {
-                        countLatch.decrement();
-                    }
-                });
+            int featureId = 0;
+            if (splitter != null) {
+                featureId = readInParallel(splitter, inputFactory, filter, service, countLatch, helpers, consumer);
+            } else {
+                while (shouldRun && reader.hasNext()) {
+                    CityGMLChunk chunk = reader.nextChunk();
+                    chunk.getLocalProperties().set("featureId", featureId++);
+                    submit(chunk, filter, service, countLatch, helpers, consumer);
+                }
             }
 
             countLatch.await();
             preprocessor.postprocess();
 
+            // number city object groups after all other features, using their document order
             Iterator<CityObjectGroup> iterator = preprocessor.getCityObjectGroups().iterator();
             while (shouldRun && iterator.hasNext()) {
                 CityObjectGroup group = iterator.next();
+                long index = featureId + (long) group.getLocalProperties().get("featureId", Integer.class);
                 countLatch.increment();
                 service.execute(() -> {
                     try {
-                        process(group, consumer, helpers.get());
+                        if (filter.isSelectedExtent(group)) {
+                            process(group, index, consumer, helpers.get());
+                        }
                     } catch (Throwable e) {
                         shouldRun = false;
                         exception = e;
@@ -167,9 +172,101 @@ public class CityGMLReader implements FeatureReader {
         }
     }
 
-    private void process(AbstractFeature feature, Consumer<Feature> consumer, ModelBuilderHelper helper) throws Exception {
+    private int readInParallel(CityGMLSplitter splitter, CityGMLInputFactory inputFactory, FeatureFilter filter,
+                               ExecutorService service, CountLatch countLatch,
+                               ThreadLocal<ModelBuilderHelper> helpers, Consumer<Feature> consumer) throws Exception {
+        // tokenize the parts of the input file in parallel but hand over their chunks in
+        // document order, so that feature ids match those assigned during preprocessing
+        int threads = options.getNumberOfThreads() > 0 ?
+                options.getNumberOfThreads() :
+                Math.max(2, Runtime.getRuntime().availableProcessors());
+        ExecutorService tokenizers = Executors.newFixedThreadPool(threads);
+        Deque<Future<List<CityGMLChunk>>> documents = new ArrayDeque<>();
+
+        try {
+            int featureId = 0;
+            while (shouldRun) {
+                byte[] document;
+                while (documents.size() < threads && (document = splitter.nextDocument()) != null) {
+                    byte[] input = document;
+                    documents.add(tokenizers.submit(() -> tokenize(input, inputFactory)));
+                }
+
+                if (documents.isEmpty()) {
+                    break;
+                }
+
+                for (CityGMLChunk chunk : documents.poll().get()) {
+                    chunk.getLocalProperties().set("featureId", featureId++);
+                    submit(chunk, filter, service, countLatch, helpers, consumer);
+                }
+            }
+
+            return featureId;
+        } finally {
+            tokenizers.shutdownNow();
+        }
+    }
+
+    private List<CityGMLChunk> tokenize(byte[] document, CityGMLInputFactory inputFactory) throws Exception {
+        List<CityGMLChunk> chunks = new ArrayList<>();
+        try (org.citygml4j.xml.reader.CityGMLReader reader = factory.createReader(
+                new ByteArrayInputStream(document), inputFactory, null)) {
+            while (shouldRun && reader.hasNext()) {
+                chunks.add(reader.nextChunk());
+            }
+        }
+
+        return chunks;
+    }
+
+    private void submit(CityGMLChunk chunk, FeatureFilter filter, ExecutorService service, CountLatch countLatch,
+                        ThreadLocal<ModelBuilderHelper> helpers, Consumer<Feature> consumer) {
+        countLatch.increment();
+        service.execute(() -> {
+            try {
+                if (!filter.isSelected(chunk)) {
+                    return;
+                }
+
+                AbstractFeature feature = chunk.build();
+                int featureId = (int) chunk.getLocalProperties().get("featureId");
+                if (filter.isSelectedExtent(feature)
+                        && preprocessor.process(feature, featureId)
+                        && filter.filterLods(feature)) {
+                    process(feature, featureId, consumer, helpers.get());
+                }
+            } catch (Throwable e) {
+                shouldRun = false;
+                exception = e;
+            } finally {
+                countLatch.decrement();
+            }
+        });
+    }
+
+    private CityGMLSplitter createSplitter() throws IOException {
+        if (formatOptions.isParallelTokenization()) {
+            CityGMLSplitter splitter = file instanceof RegularInputFile ?
+                    CityGMLSplitter.of(file.getFile(), options.getEncoding(), CHUNK_SIZE) :
+                    null;
+
+            if (splitter == null) {
+                logger.warn("Parallel tokenization is not supported for " + file.getContentFile() + ". " +
+                        "Reading the file sequentially.");
+            }
+
+            return splitter;
+        }
+
+        return null;
+    }
+
+    private void process(AbstractFeature feature, long index, Consumer<Feature> consumer,
+                         ModelBuilderHelper helper) throws Exception {
         Feature object = helper.getTopLevelFeature(feature);
         if (object != null) {
+            object.getUserProperties().set(FEATURE_INDEX, index);
             consumer.accept(object);
         }
     }
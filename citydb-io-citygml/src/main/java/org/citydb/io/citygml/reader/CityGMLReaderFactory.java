@@ -32,6 +32,8 @@ import org.citygml4j.xml.reader.CityGMLReader;
 import org.citygml4j.xml.reader.*;
 import org.xmlobjects.xml.TextContent;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.SecureRandom;
 import java.time.ZoneOffset;
 import java.util.Arrays;
@@ -89,7 +91,15 @@ public class CityGMLReaderFactory {
 
     public CityGMLReader createReader(InputFile file, CityGMLInputFactory inputFactory, CityGMLInputFilter filter) throws ReadException {
         try {
-            CityGMLReader reader = inputFactory.createCityGMLReader(file.openStream(), options.getEncoding());
+            return createReader(file.openStream(), inputFactory, filter);
+        } catch (IOException e) {
+            throw new ReadException("Failed to create CityGML reader.", e);
+        }
+    }
+
+    public CityGMLReader createReader(InputStream stream, CityGMLInputFactory inputFactory, CityGMLInputFilter filter) throws ReadException {
+        try {
+            CityGMLReader reader = inputFactory.createCityGMLReader(stream, options.getEncoding());
             if (filter != null) {
                 reader = inputFactory.createFilteredCityGMLReader(reader, filter);
             }
@@ -23,6 +23,7 @@ package org.citydb.io.citygml.reader;
 
 public class CityJSONFormatOptions {
     private boolean mapUnsupportedTypesToGenerics;
+    private boolean memoryMappedVertices;
 
     public boolean isMapUnsupportedTypesToGenerics() {
         return mapUnsupportedTypesToGenerics;
@@ -32,4 +33,13 @@ public class CityJSONFormatOptions {
         this.mapUnsupportedTypesToGenerics = mapUnsupportedTypesToGenerics;
         return this;
     }
+
+    public boolean isMemoryMappedVertices() {
+        return memoryMappedVertices;
+    }
+
+    public CityJSONFormatOptions setMemoryMappedVertices(boolean memoryMappedVertices) {
+        this.memoryMappedVertices = memoryMappedVertices;
+        return this;
+    }
 }
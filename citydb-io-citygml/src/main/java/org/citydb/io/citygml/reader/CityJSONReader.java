@@ -26,7 +26,10 @@ import org.citydb.core.cache.PersistentMapStore;
 import org.citydb.core.concurrent.CountLatch;
 import org.citydb.core.concurrent.ExecutorHelper;
 import org.citydb.core.file.InputFile;
+import org.citydb.core.file.input.RegularInputFile;
 import org.citydb.io.citygml.CityGMLAdapterContext;
+import org.citydb.io.citygml.reader.preprocess.FeatureFilter;
+import org.citydb.io.citygml.reader.util.CityJSONIndex;
 import org.citydb.io.citygml.reader.util.FileMetadata;
 import org.citydb.io.reader.FeatureReader;
 import org.citydb.io.reader.ReadException;
@@ -39,18 +42,29 @@ import org.citygml4j.core.model.core.AbstractFeature;
 import org.citygml4j.core.util.reference.DefaultReferenceResolver;
 import org.xmlobjects.gml.util.reference.ReferenceResolver;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 public class CityJSONReader implements FeatureReader {
+    private static final int MAX_HEADER_LENGTH = 16 * 1024 * 1024;
     private final Logger logger = LoggerManager.getInstance().getLogger();
     private final CityGMLAdapterContext adapterContext;
     private final CityJSONContext cityJSONContext;
 
     private InputFile file;
     private ReadOptions options;
+    private CityJSONFormatOptions formatOptions;
     private CityJSONReaderFactory factory;
     private PersistentMapStore store;
     private Throwable exception;
@@ -75,10 +89,11 @@ public class CityJSONReader implements FeatureReader {
             throw new ReadException("Failed to initialize local cache.", e);
         }
 
+        formatOptions = FormatOptions.parseElseGet(options.getFormatOptions(),
+                CityJSONFormatOptions.class, CityJSONFormatOptions::new);
         factory = CityJSONReaderFactory.newInstance(cityJSONContext)
                 .setReadOptions(options)
-                .setFormatOptions(FormatOptions.parseElseGet(options.getFormatOptions(),
-                        CityJSONFormatOptions.class, CityJSONFormatOptions::new));
+                .setFormatOptions(formatOptions);
 
         isInitialized = true;
         shouldRun = true;
@@ -94,24 +109,44 @@ public class CityJSONReader implements FeatureReader {
                 options.getNumberOfThreads() :
                 Math.max(2, Runtime.getRuntime().availableProcessors()));
         CountLatch countLatch = new CountLatch();
+        FeatureFilter filter = FeatureFilter.of(options.getFilterOptions());
+        ReferenceResolver referenceResolver = DefaultReferenceResolver.newInstance();
 
+        try {
+            if (isCityJSONSeq()) {
+                readCityJSONSeq(consumer, service, countLatch, filter, referenceResolver);
+            } else if (useMemoryMappedVertices()) {
+                readIndexedCityJSON(consumer, service, countLatch, filter, referenceResolver);
+            } else {
+                readCityJSON(consumer, service, countLatch, filter, referenceResolver);
+            }
+
+            if (exception != null) {
+                throw exception;
+            }
+        } catch (Throwable e) {
+            throw new ReadException("Failed to read input file.", e);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private void readCityJSON(Consumer<Feature> consumer, ExecutorService service, CountLatch countLatch,
+                              FeatureFilter filter, ReferenceResolver referenceResolver) throws Exception {
         try (org.citygml4j.cityjson.reader.CityJSONReader reader = factory.createReader(file)) {
             FileMetadata metadata = FileMetadata.of(reader);
-            ReferenceResolver referenceResolver = DefaultReferenceResolver.newInstance();
             ThreadLocal<ModelBuilderHelper> helpers = ThreadLocal.withInitial(() ->
                     new ModelBuilderHelper(file, store, adapterContext).initialize(metadata, options));
 
+            long featureIndex = 0;
             while (shouldRun && reader.hasNext()) {
                 AbstractFeature feature = reader.next();
+                long index = featureIndex++;
 
                 countLatch.increment();
                 service.execute(() -> {
                     try {
-                        referenceResolver.resolveReferences(feature);
-                        Feature object = helpers.get().getTopLevelFeature(feature);
-                        if (object != null) {
-                            consumer.accept(object);
-                        }
+                        process(feature, index, filter, referenceResolver, helpers, consumer);
                     } catch (Throwable e) {
                         shouldRun = false;
                         exception = e;
@@ -122,14 +157,192 @@ public class CityJSONReader implements FeatureReader {
             }
 
             countLatch.await();
-            if (exception != null) {
-                throw exception;
+        }
+    }
+
+    private void readCityJSONSeq(Consumer<Feature> consumer, ExecutorService service, CountLatch countLatch,
+                                 FeatureFilter filter, ReferenceResolver referenceResolver) throws Exception {
+        // only split the lines of the sequence on this thread and parse the features in parallel
+        try (BufferedReader reader = openReader()) {
+            String header = nextLine(reader);
+            String line = nextLine(reader);
+
+            FileMetadata metadata;
+            try (org.citygml4j.cityjson.reader.CityJSONReader metadataReader =
+                         factory.createReader(new StringReader(header + "\n" + line))) {
+                metadata = FileMetadata.of(metadataReader);
             }
-        } catch (Throwable e) {
-            throw new ReadException("Failed to read input file.", e);
-        } finally {
-            service.shutdown();
+
+            ThreadLocal<ModelBuilderHelper> helpers = ThreadLocal.withInitial(() ->
+                    new ModelBuilderHelper(file, store, adapterContext).initialize(metadata, options));
+
+            CompletableFuture<Long> featureIndex = CompletableFuture.completedFuture(0L);
+            while (shouldRun && line != null) {
+                featureIndex = submit(header + "\n" + line, featureIndex, service, countLatch, filter,
+                        referenceResolver, helpers, consumer);
+                line = nextLine(reader);
+            }
+
+            countLatch.await();
+        }
+    }
+
+    private void readIndexedCityJSON(Consumer<Feature> consumer, ExecutorService service, CountLatch countLatch,
+                                     FeatureFilter filter, ReferenceResolver referenceResolver) throws Exception {
+        // keep the vertices in memory-mapped buffers and assemble each top-level city object
+        // as CityJSONFeature that only carries the vertices it references
+        try (CityJSONIndex index = CityJSONIndex.of(file.getFile(), store)) {
+            logger.debug("Indexed " + index.getNumberOfFeatures() + " top-level city object(s) of " +
+                    file.getContentFile() + ".");
+
+            String header = index.getHeader();
+            String line = index.nextFeature();
+
+            FileMetadata metadata;
+            try (org.citygml4j.cityjson.reader.CityJSONReader metadataReader =
+                         factory.createReader(new StringReader(line != null ? header + "\n" + line : header))) {
+                metadata = FileMetadata.of(metadataReader);
+            }
+
+            ThreadLocal<ModelBuilderHelper> helpers = ThreadLocal.withInitial(() ->
+                    new ModelBuilderHelper(file, store, adapterContext).initialize(metadata, options));
+
+            CompletableFuture<Long> featureIndex = CompletableFuture.completedFuture(0L);
+            while (shouldRun && line != null) {
+                featureIndex = submit(header + "\n" + line, featureIndex, service, countLatch, filter,
+                        referenceResolver, helpers, consumer);
+                line = index.nextFeature();
+            }
+
+            countLatch.await();
+        }
+    }
+
+    private CompletableFuture<Long> submit(String chunk, CompletableFuture<Long> featureIndex, ExecutorService service,
+                                           CountLatch countLatch, FeatureFilter filter,
+                                           ReferenceResolver referenceResolver,
+                                           ThreadLocal<ModelBuilderHelper> helpers, Consumer<Feature> consumer) {
+        CompletableFuture<Long> nextFeatureIndex = new CompletableFuture<>();
+        countLatch.increment();
+        service.execute(() -> {
+            try (org.citygml4j.cityjson.reader.CityJSONReader chunkReader =
+                         factory.createReader(new StringReader(chunk))) {
+                List<AbstractFeature> features = new ArrayList<>();
+                while (shouldRun && chunkReader.hasNext()) {
+                    features.add(chunkReader.next());
+                }
+
+                // a line may contain more than one feature, so number the features in the order of the
+                // lines to keep the feature index unique and stable across runs
+                long index;
+                try {
+                    index = featureIndex.join();
+                } catch (CompletionException e) {
+                    nextFeatureIndex.completeExceptionally(e.getCause());
+                    return;
+                }
+
+                nextFeatureIndex.complete(index + features.size());
+                for (AbstractFeature feature : features) {
+                    process(feature, index++, filter, referenceResolver, helpers, consumer);
+                }
+            } catch (Throwable e) {
+                shouldRun = false;
+                exception = e;
+                nextFeatureIndex.completeExceptionally(e);
+            } finally {
+                countLatch.decrement();
+            }
+        });
+
+        return nextFeatureIndex;
+    }
+
+    private void process(AbstractFeature feature, long index, FeatureFilter filter,
+                         ReferenceResolver referenceResolver, ThreadLocal<ModelBuilderHelper> helpers,
+                         Consumer<Feature> consumer) throws Exception {
+        if (filter.isSelectedExtent(feature)) {
+            referenceResolver.resolveReferences(feature);
+            if (filter.filterLods(feature)) {
+                Feature object = helpers.get().getTopLevelFeature(feature);
+                if (object != null) {
+                    object.getUserProperties().set(FEATURE_INDEX, index);
+                    consumer.accept(object);
+                }
+            }
+        }
+    }
+
+    private boolean isCityJSONSeq() throws IOException {
+        if (options.getNumberOfThreads() == 1) {
+            return false;
         }
+
+        // a CityJSONSeq file starts with a CityJSON header line followed by CityJSONFeature lines
+        try (BufferedReader reader = openReader()) {
+            String header = nextLine(reader, MAX_HEADER_LENGTH);
+            if (header != null
+                    && header.startsWith("{")
+                    && header.endsWith("}")
+                    && header.contains("\"CityJSON\"")) {
+                String line = nextLine(reader, MAX_HEADER_LENGTH);
+                return line != null && line.contains("\"CityJSONFeature\"");
+            }
+
+            return false;
+        }
+    }
+
+    private boolean useMemoryMappedVertices() {
+        if (formatOptions.isMemoryMappedVertices()) {
+            if (file instanceof RegularInputFile) {
+                return true;
+            }
+
+            logger.warn("Memory-mapped vertices are only supported for uncompressed files. " +
+                    "Reading " + file.getContentFile() + " into memory.");
+        }
+
+        return false;
+    }
+
+    private BufferedReader openReader() throws IOException {
+        return new BufferedReader(new InputStreamReader(file.openStream(), options.getEncoding() != null ?
+                Charset.forName(options.getEncoding()) :
+                StandardCharsets.UTF_8));
+    }
+
+    private String nextLine(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty()) {
+                return line;
+            }
+        }
+
+        return null;
+    }
+
+    private String nextLine(BufferedReader reader, int maxLength) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                if (builder.toString().isBlank()) {
+                    builder.setLength(0);
+                } else {
+                    break;
+                }
+            } else if (builder.length() < maxLength) {
+                builder.append((char) c);
+            } else {
+                return null;
+            }
+        }
+
+        String line = builder.toString().trim();
+        return !line.isEmpty() ? line : null;
     }
 
     @Override
@@ -33,18 +33,20 @@ import org.citygml4j.core.model.CityGMLVersion;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.security.SecureRandom;
 import java.util.Objects;
 
 public class CityJSONReaderFactory {
     private final CityJSONContext context;
-    private final String seed;
+    private final IdCreator idCreator;
     private ReadOptions options;
     private CityJSONFormatOptions formatOptions = new CityJSONFormatOptions();
 
     private CityJSONReaderFactory(CityJSONContext context) {
         this.context = Objects.requireNonNull(context, "CityJSON context must not be null.");
-        seed = "citydb-" + Long.toUnsignedString(new SecureRandom().nextLong() ^ System.currentTimeMillis());
+        idCreator = new IdCreator("citydb-" +
+                Long.toUnsignedString(new SecureRandom().nextLong() ^ System.currentTimeMillis()));
     }
 
     public static CityJSONReaderFactory newInstance(CityJSONContext context) {
@@ -70,13 +72,7 @@ public class CityJSONReaderFactory {
 
     public CityJSONReader createReader(InputFile file, CityJSONInputFilter filter) throws ReadException {
         try {
-            CityJSONInputFactory inputFactory = context.createCityJSONInputFactory()
-                    .chunkByTopLevelCityObjects(true)
-                    .withTargetCityGMLVersion(CityGMLVersion.v3_0)
-                    .assignAppearancesToImplicitGeometries(true)
-                    .mapUnsupportedTypesToGenerics(formatOptions.isMapUnsupportedTypesToGenerics())
-                    .withIdCreator(new IdCreator(seed));
-
+            CityJSONInputFactory inputFactory = createInputFactory();
             CityJSONReader reader = options.getEncoding() != null ?
                     inputFactory.createCityJSONReader(
                             new BufferedReader(new InputStreamReader(file.openStream(), options.getEncoding()))) :
@@ -90,4 +86,21 @@ public class CityJSONReaderFactory {
             throw new ReadException("Failed to create CityJSON reader.", e);
         }
     }
+
+    public CityJSONReader createReader(Reader reader) throws ReadException {
+        try {
+            return createInputFactory().createCityJSONReader(reader);
+        } catch (Exception e) {
+            throw new ReadException("Failed to create CityJSON reader.", e);
+        }
+    }
+
+    private CityJSONInputFactory createInputFactory() {
+        return context.createCityJSONInputFactory()
+                .chunkByTopLevelCityObjects(true)
+                .withTargetCityGMLVersion(CityGMLVersion.v3_0)
+                .assignAppearancesToImplicitGeometries(true)
+                .mapUnsupportedTypesToGenerics(formatOptions.isMapUnsupportedTypesToGenerics())
+                .withIdCreator(idCreator);
+    }
 }
@@ -38,6 +38,7 @@ import org.citydb.io.citygml.builder.ModelBuilder;
 import org.citydb.io.citygml.reader.util.FeatureHelper;
 import org.citydb.io.citygml.reader.util.FileMetadata;
 import org.citydb.io.reader.ReadOptions;
+import org.citydb.io.reader.options.FilterOptions;
 import org.citydb.logging.LoggerManager;
 import org.citydb.model.address.Address;
 import org.citydb.model.appearance.Appearance;
@@ -88,6 +89,7 @@ public class ModelBuilderHelper {
     private boolean failFast;
     private boolean computeEnvelopes;
     private boolean importXALSource;
+    private FilterOptions filterOptions;
 
     ModelBuilderHelper(InputFile file, PersistentMapStore store, CityGMLAdapterContext context) {
         this.file = Objects.requireNonNull(file, "The input file must not be null.");
@@ -104,6 +106,7 @@ public class ModelBuilderHelper {
         rootSrsName = metadata.getSrsName();
         failFast = options.isFailFast();
         computeEnvelopes = options.isComputeEnvelopes();
+        filterOptions = options.getFilterOptions();
         return this;
     }
 
@@ -160,6 +163,10 @@ public class ModelBuilderHelper {
         return FeatureHelper.getIdFromReference(reference);
     }
 
+    public String getRootSrsName() {
+        return rootSrsName;
+    }
+
     public String getInheritedSrsName(SRSReference source) {
         SRSReference reference = source.getInheritedSRSReference();
         return reference.getSrsName() != null ?
@@ -582,12 +589,21 @@ public class ModelBuilderHelper {
         }
     }
 
-    @SuppressWarnings("unchecked")
     public <T extends AbstractGML> Feature getFeature(T source) throws ModelBuildException {
+        return getFeature(source, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends AbstractGML> Feature getFeature(T source, boolean isTopLevel) throws ModelBuildException {
         if (source != null && !(source instanceof AbstractGeometry)) {
             ModelBuilder<T, Feature> builder = context.getBuilder((Class<T>) source.getClass(), Feature.class);
             if (builder != null) {
-                return buildObject(source, builder.createModel(source), builder);
+                Feature feature = builder.createModel(source);
+                return !isTopLevel
+                        || feature == null
+                        || filterOptions.isSelectedFeatureType(feature.getFeatureType()) ?
+                        buildObject(source, feature, builder) :
+                        null;
             } else {
                 logOrThrow(Level.DEBUG, formatMessage(source,
                         "Skipping object because the object type is not supported."));
@@ -599,8 +615,11 @@ public class ModelBuilderHelper {
 
     Feature getTopLevelFeature(AbstractFeature source) throws ModelBuildException {
         try {
-            Feature feature = getFeature(source);
-            appearanceHelper.processTargets(source);
+            Feature feature = getFeature(source, true);
+            if (feature != null) {
+                appearanceHelper.processTargets(source);
+            }
+
             return feature;
         } finally {
             appearanceHelper.reset();
@@ -0,0 +1,187 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.io.citygml.reader.preprocess;
+
+import org.citydb.io.reader.options.FilterOptions;
+import org.citygml4j.core.model.core.AbstractFeature;
+import org.citygml4j.xml.module.citygml.CityGMLModules;
+import org.citygml4j.xml.module.citygml.CoreModule;
+import org.citygml4j.xml.reader.CityGMLChunk;
+import org.citygml4j.xml.reader.CityGMLInputFilter;
+import org.xmlobjects.gml.model.geometry.DirectPosition;
+import org.xmlobjects.gml.model.geometry.Envelope;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class FeatureFilter {
+    private final FilterOptions options;
+    private final CityGMLInputFilter typeFilter;
+    private final LodFilter lodFilter;
+
+    private FeatureFilter(FilterOptions options) {
+        this.options = Objects.requireNonNull(options, "The filter options must not be null.");
+        typeFilter = createTypeFilter(options);
+        lodFilter = options.hasLods() ?
+                new LodFilter()
+                        .withLods(options.getLods().stream().mapToInt(Integer::intValue).toArray())
+                        .setMode(LodFilter.Mode.KEEP)
+                        .updateExtents(true) :
+                null;
+    }
+
+    public static FeatureFilter of(FilterOptions options) {
+        return new FeatureFilter(options);
+    }
+
+    public CityGMLInputFilter getInputFilter() {
+        return typeFilter;
+    }
+
+    public boolean isSelected(CityGMLChunk chunk) throws XMLStreamException {
+        // test the raw chunk so that features of other types or outside the bbox are never built,
+        // features without gml:boundedBy are tested against their computed envelope after building
+        if (typeFilter != null || options.getBbox().isPresent()) {
+            XMLStreamReader reader = chunk.toXMLStreamReader();
+            try {
+                int event = reader.getEventType();
+                while (event != XMLStreamConstants.START_ELEMENT && reader.hasNext()) {
+                    event = reader.next();
+                }
+
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    return true;
+                } else if (typeFilter != null && !typeFilter.accept(reader.getName())) {
+                    return false;
+                } else if (options.getBbox().isPresent()) {
+                    double[] corners = getBoundedBy(reader);
+                    if (corners != null) {
+                        return options.isSelectedExtent(corners[0], corners[1], corners[2], corners[3]);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        return true;
+    }
+
+    public boolean isSelectedExtent(AbstractFeature feature) {
+        if (options.getBbox().isPresent()) {
+            Envelope envelope = feature.getBoundedBy() != null && feature.getBoundedBy().isSetEnvelope() ?
+                    feature.getBoundedBy().getEnvelope() :
+                    feature.computeEnvelope();
+
+            if (envelope != null && !envelope.isEmpty()) {
+                List<Double> lowerCorner = getValue(envelope.getLowerCorner());
+                List<Double> upperCorner = getValue(envelope.getUpperCorner());
+                if (lowerCorner.size() >= 2 && upperCorner.size() >= 2) {
+                    return options.isSelectedExtent(lowerCorner.get(0), lowerCorner.get(1),
+                            upperCorner.get(0), upperCorner.get(1));
+                }
+            }
+        }
+
+        return true;
+    }
+
+    public boolean filterLods(AbstractFeature feature) {
+        return lodFilter == null || lodFilter.filter(feature);
+    }
+
+    private CityGMLInputFilter createTypeFilter(FilterOptions options) {
+        // CityGML 3.0 element names match the feature type names of the model, whereas
+        // CityGML 1.0/2.0 and ADE types are mapped while building and are checked later
+        // the core wrapper elements must pass so that the features they contain are read
+        return options.hasFeatureTypes() ?
+                name -> !CityGMLModules.isCityGMLNamespace(name.getNamespaceURI())
+                        || !name.getNamespaceURI().endsWith("/3.0")
+                        || (CoreModule.v3_0.getNamespaceURI().equals(name.getNamespaceURI())
+                        && ("CityModel".equals(name.getLocalPart())
+                        || "cityObjectMember".equals(name.getLocalPart())))
+                        || options.isSelectedLocalName(name.getLocalPart()) :
+                null;
+    }
+
+    private double[] getBoundedBy(XMLStreamReader reader) throws XMLStreamException {
+        // the reader is positioned on the start element of the feature
+        List<String> positions = new ArrayList<>(2);
+        boolean isBoundedBy = false;
+        int depth = 1;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                boolean isGML = isGMLNamespace(reader.getNamespaceURI());
+                if (depth == 2) {
+                    if (isGML && "boundedBy".equals(reader.getLocalName())) {
+                        isBoundedBy = true;
+                    } else if (!isGML) {
+                        // gml:boundedBy may only be preceded by other GML properties
+                        break;
+                    }
+                } else if (isBoundedBy && isGML) {
+                    switch (reader.getLocalName()) {
+                        case "lowerCorner":
+                        case "upperCorner":
+                        case "pos":
+                            positions.add(reader.getElementText());
+                            depth--;
+                            break;
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && depth-- == 2 && isBoundedBy) {
+                break;
+            }
+        }
+
+        if (positions.size() == 2) {
+            String[] lowerCorner = positions.get(0).trim().split("\\s+");
+            String[] upperCorner = positions.get(1).trim().split("\\s+");
+            if (lowerCorner.length >= 2 && upperCorner.length >= 2) {
+                try {
+                    return new double[]{
+                            Double.parseDouble(lowerCorner[0]), Double.parseDouble(lowerCorner[1]),
+                            Double.parseDouble(upperCorner[0]), Double.parseDouble(upperCorner[1])};
+                } catch (NumberFormatException e) {
+                    //
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private boolean isGMLNamespace(String namespaceURI) {
+        return "http://www.opengis.net/gml/3.2".equals(namespaceURI)
+                || "http://www.opengis.net/gml".equals(namespaceURI);
+    }
+
+    private List<Double> getValue(DirectPosition position) {
+        return position != null && position.getValue() != null ? position.getValue() : List.of();
+    }
+}
@@ -21,6 +21,8 @@
 
 package org.citydb.io.citygml.reader.preprocess;
 
+import org.citydb.core.cache.PersistentMapStore;
+import org.citydb.core.cache.SpillableCache;
 import org.citydb.io.citygml.reader.util.FeatureHelper;
 import org.citygml4j.core.model.core.*;
 import org.citygml4j.core.util.reference.DefaultReferenceResolver;
@@ -39,12 +41,15 @@ import java.util.function.Supplier;
 public class GeometryReferenceResolver {
     private final Supplier<CopyBuilder> copyBuilderSupplier;
     private final Map<String, GeometryReference> references = new ConcurrentHashMap<>();
+    private final SpillableCache<String, AbstractGeometry> geometries;
     private final GeometryProcessor geometryProcessor = new GeometryProcessor();
 
     private boolean createCityObjectRelations;
 
-    GeometryReferenceResolver(Supplier<CopyBuilder> copyBuilderSupplier) {
+    GeometryReferenceResolver(PersistentMapStore store, int cacheSize, GeometrySerializer serializer,
+                              Supplier<CopyBuilder> copyBuilderSupplier) {
         this.copyBuilderSupplier = copyBuilderSupplier;
+        geometries = SpillableCache.of(store, "referenced-geometries", cacheSize, serializer);
     }
 
     GeometryReferenceResolver createCityObjectRelations(boolean createCityObjectRelations) {
@@ -119,14 +124,16 @@ public class GeometryReferenceResolver {
             if (property.getObject() == null
                     && property.getHref() != null
                     && property.getParent(ImplicitGeometry.class) == null) {
-                GeometryReference reference = references.get(FeatureHelper.getIdFromReference(property.getHref()));
-                if (reference != null && reference.geometry != null) {
+                String id = FeatureHelper.getIdFromReference(property.getHref());
+                GeometryReference reference = references.get(id);
+                if (reference != null && reference.hasGeometry()) {
                     AbstractCityObject cityObject = property.getParent(AbstractCityObject.class);
                     if (cityObject != null) {
                         String target = reference.getTarget(featureId, childIds.get(cityObject));
-                        if (target != null) {
-                            AbstractGeometry geometry = reference.createGeometryFor(featureId, copyBuilderSupplier);
-                            property.setInlineObjectIfValid(geometry);
+                        AbstractGeometry geometry = target != null ? geometries.get(id) : null;
+                        if (geometry != null) {
+                            property.setInlineObjectIfValid(reference.createGeometryFor(geometry, featureId,
+                                    copyBuilderSupplier));
                             property.setHref(null);
 
                             if (createCityObjectRelations
@@ -199,28 +206,33 @@ public class GeometryReferenceResolver {
             if (geometry.getId() != null) {
                 GeometryReference reference = references.get(geometry.getId());
                 if (reference != null) {
-                    reference.setGeometry(geometry);
+                    geometries.put(geometry.getId(), geometry);
                     reference.setOwner(geometry.getParent(AbstractCityObject.class));
+                    reference.setHasGeometry(true);
                 }
             }
         }
     }
 
     private static class GeometryReference {
-        private AbstractGeometry geometry;
+        private volatile boolean hasGeometry;
         private String owner;
         private final Map<Integer, String> geometryIds = new HashMap<>();
         private final Map<String, String> targets = new HashMap<>();
 
-        AbstractGeometry createGeometryFor(int featureId, Supplier<CopyBuilder> copyBuilderSupplier) {
+        AbstractGeometry createGeometryFor(AbstractGeometry geometry, int featureId, Supplier<CopyBuilder> copyBuilderSupplier) {
             GeometryCopyBuilder copyBuilder = new GeometryCopyBuilder(copyBuilderSupplier);
             AbstractGeometry copy = copyBuilder.copy(geometry);
             copy.setId(getOrCreateGeometryId(featureId));
             return copy;
         }
 
-        void setGeometry(AbstractGeometry geometry) {
-            this.geometry = geometry;
+        boolean hasGeometry() {
+            return hasGeometry;
+        }
+
+        void setHasGeometry(boolean hasGeometry) {
+            this.hasGeometry = hasGeometry;
         }
 
         String getOrCreateGeometryId(int featureId) {
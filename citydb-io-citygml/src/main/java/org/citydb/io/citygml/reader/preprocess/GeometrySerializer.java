@@ -0,0 +1,85 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.io.citygml.reader.preprocess;
+
+import org.citydb.core.cache.SpillableCache;
+import org.xmlobjects.XMLObjects;
+import org.xmlobjects.gml.model.geometry.AbstractGeometry;
+import org.xmlobjects.stream.XMLReader;
+import org.xmlobjects.stream.XMLReaderFactory;
+import org.xmlobjects.stream.XMLWriter;
+import org.xmlobjects.stream.XMLWriterFactory;
+import org.xmlobjects.xml.Namespaces;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+class GeometrySerializer implements SpillableCache.ValueSerializer<AbstractGeometry> {
+    private final XMLObjects xmlObjects;
+    private final XMLWriterFactory writerFactory;
+    private final XMLReaderFactory readerFactory;
+    private final Namespaces namespaces;
+
+    GeometrySerializer(XMLObjects xmlObjects) throws IOException {
+        this.xmlObjects = xmlObjects;
+        writerFactory = XMLWriterFactory.newInstance(xmlObjects);
+        namespaces = Namespaces.of(xmlObjects.getSerializableNamespaces());
+        try {
+            readerFactory = XMLReaderFactory.newInstance(xmlObjects);
+        } catch (Exception e) {
+            throw new IOException("Failed to create XML reader factory.", e);
+        }
+    }
+
+    @Override
+    public byte[] serialize(AbstractGeometry geometry) throws IOException {
+        try (ByteArrayOutputStream stream = new ByteArrayOutputStream(1024)) {
+            try (XMLWriter writer = writerFactory.createWriter(stream, StandardCharsets.UTF_8.name())
+                    .writeXMLDeclaration(false)) {
+                xmlObjects.toXML(writer, geometry, namespaces);
+            }
+
+            return stream.toByteArray();
+        } catch (Exception e) {
+            throw new IOException("Failed to serialize geometry " + geometry.getId() + ".", e);
+        }
+    }
+
+    @Override
+    public AbstractGeometry deserialize(byte[] bytes) throws IOException {
+        AbstractGeometry geometry;
+        try (XMLReader reader = readerFactory.createReader(
+                new StringReader(new String(bytes, StandardCharsets.UTF_8)))) {
+            geometry = xmlObjects.fromXML(reader, AbstractGeometry.class);
+        } catch (Exception e) {
+            throw new IOException("Failed to deserialize geometry.", e);
+        }
+
+        if (geometry == null) {
+            throw new IOException("Failed to deserialize geometry.");
+        }
+
+        return geometry;
+    }
+}
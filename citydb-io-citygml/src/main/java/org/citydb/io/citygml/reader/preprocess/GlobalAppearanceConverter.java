@@ -21,6 +21,8 @@
 
 package org.citydb.io.citygml.reader.preprocess;
 
+import org.citydb.core.cache.PersistentMapStore;
+import org.citydb.core.cache.SpillableCache;
 import org.citydb.io.citygml.reader.util.FeatureHelper;
 import org.citygml4j.core.model.appearance.*;
 import org.citygml4j.core.model.core.AbstractAppearanceProperty;
@@ -35,17 +37,28 @@ import org.xmlobjects.gml.model.base.AbstractGML;
 import org.xmlobjects.gml.model.base.AbstractInlineOrByReferenceProperty;
 import org.xmlobjects.gml.model.geometry.AbstractGeometry;
 import org.xmlobjects.gml.model.geometry.GeometryProperty;
+import org.xmlobjects.XMLObjects;
 import org.xmlobjects.model.Child;
+import org.xmlobjects.stream.XMLReader;
+import org.xmlobjects.stream.XMLReaderFactory;
+import org.xmlobjects.stream.XMLWriter;
+import org.xmlobjects.stream.XMLWriterFactory;
 import org.xmlobjects.util.copy.CopyBuilder;
+import org.xmlobjects.xml.Namespaces;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 public class GlobalAppearanceConverter {
     private final Supplier<CopyBuilder> copyBuilderSupplier;
-    private final Map<String, List<AbstractSurfaceData>> targets = new ConcurrentHashMap<>();
-    private final String ID = "id";
+    private final SpillableCache<String, int[]> targets;
+    private final SpillableCache<Integer, AbstractSurfaceData> sources;
+    private static final String ID = "id";
 
     private Mode mode = Mode.TOPLEVEL;
 
@@ -59,8 +72,14 @@ public class GlobalAppearanceConverter {
         }
     }
 
-    GlobalAppearanceConverter(Supplier<CopyBuilder> copyBuilderSupplier) {
+    private int numberOfSources;
+
+    GlobalAppearanceConverter(PersistentMapStore store, XMLObjects xmlObjects, int cacheSize,
+                              Supplier<CopyBuilder> copyBuilderSupplier) throws IOException {
         this.copyBuilderSupplier = copyBuilderSupplier;
+        targets = SpillableCache.of(store, "global-appearance-targets", cacheSize, new IndexSerializer());
+        sources = SpillableCache.of(store, "global-appearance-sources", cacheSize,
+                new SurfaceDataSerializer(xmlObjects));
     }
 
     GlobalAppearanceConverter setMode(Mode mode) {
@@ -74,6 +93,8 @@ public class GlobalAppearanceConverter {
 
     void preprocess(List<Appearance> appearances) {
         if (!appearances.isEmpty()) {
+            Map<AbstractSurfaceData, Integer> indexes = new IdentityHashMap<>();
+            Map<String, List<Integer>> updates = new HashMap<>();
             ObjectWalker preprocessor = new ObjectWalker() {
                 private int id;
 
@@ -106,9 +127,7 @@ public class GlobalAppearanceConverter {
                                 texture.getTextureParameterizations().add(new TextureAssociationProperty(copy));
                                 iterator.remove();
                             } else if (reference.getURI() != null) {
-                                targets.computeIfAbsent(
-                                        FeatureHelper.getIdFromReference(reference.getURI()),
-                                        v -> new ArrayList<>()).add(texture);
+                                addTarget(FeatureHelper.getIdFromReference(reference.getURI()), texture);
                             }
                         }
                     }
@@ -116,9 +135,7 @@ public class GlobalAppearanceConverter {
                     for (TextureAssociationProperty property : texture.getTextureParameterizations()) {
                         GeometryReference reference = getGeometryReference(property);
                         if (reference != null && reference.getHref() != null) {
-                            targets.computeIfAbsent(
-                                    FeatureHelper.getIdFromReference(reference.getHref()),
-                                    v -> new ArrayList<>()).add(texture);
+                            addTarget(FeatureHelper.getIdFromReference(reference.getHref()), texture);
                         }
                     }
 
@@ -129,9 +146,7 @@ public class GlobalAppearanceConverter {
                 public void visit(GeoreferencedTexture texture) {
                     for (GeometryReference reference : texture.getTargets()) {
                         if (reference.getHref() != null) {
-                            targets.computeIfAbsent(
-                                    FeatureHelper.getIdFromReference(reference.getHref()),
-                                    v -> new ArrayList<>()).add(texture);
+                            addTarget(FeatureHelper.getIdFromReference(reference.getHref()), texture);
                         }
                     }
 
@@ -142,18 +157,40 @@ public class GlobalAppearanceConverter {
                 public void visit(X3DMaterial material) {
                     for (GeometryReference reference : material.getTargets()) {
                         if (reference.getHref() != null) {
-                            targets.computeIfAbsent(
-                                    FeatureHelper.getIdFromReference(reference.getHref()),
-                                    v -> new ArrayList<>()).add(material);
+                            addTarget(FeatureHelper.getIdFromReference(reference.getHref()), material);
                         }
                     }
 
                     super.visit(material);
                 }
+
+                private void addTarget(String target, AbstractSurfaceData surfaceData) {
+                    Integer index = indexes.computeIfAbsent(surfaceData, v -> numberOfSources++);
+                    updates.computeIfAbsent(target, v -> new ArrayList<>()).add(index);
+                }
             };
 
             DefaultReferenceResolver.newInstance().resolveReferences(appearances);
-            appearances.forEach(preprocessor::visit);
+            for (Appearance appearance : appearances) {
+                preprocessor.visit(appearance);
+
+                // sources are only cached once they are complete, and targets are updated per appearance
+                indexes.forEach((surfaceData, index) -> sources.put(index, surfaceData));
+                for (Map.Entry<String, List<Integer>> entry : updates.entrySet()) {
+                    List<Integer> added = entry.getValue();
+                    int[] current = targets.get(entry.getKey());
+                    int offset = current != null ? current.length : 0;
+                    int[] updated = Arrays.copyOf(current != null ? current : new int[0], offset + added.size());
+                    for (int i = 0; i < added.size(); i++) {
+                        updated[offset + i] = added.get(i);
+                    }
+
+                    targets.put(entry.getKey(), updated);
+                }
+
+                indexes.clear();
+                updates.clear();
+            }
         }
     }
 
@@ -180,11 +217,12 @@ public class GlobalAppearanceConverter {
         @Override
         public void visit(AbstractGeometry geometry) {
             if (geometry.getId() != null) {
-                List<AbstractSurfaceData> sources = targets.remove(geometry.getId());
-                if (sources != null) {
-                    for (AbstractSurfaceData source : sources) {
+                int[] indexes = targets.remove(geometry.getId());
+                if (indexes != null) {
+                    for (int index : indexes) {
+                        AbstractSurfaceData source = sources.get(index);
                         AbstractGML target = getTargetObject(geometry);
-                        if (target != null) {
+                        if (source != null && target != null) {
                             convertAppearance(target, source, geometry);
                         }
                     }
@@ -282,4 +320,106 @@ public class GlobalAppearanceConverter {
             return surfaceData;
         }
     }
+
+    private static class IndexSerializer implements SpillableCache.ValueSerializer<int[]> {
+
+        @Override
+        public byte[] serialize(int[] indexes) {
+            ByteBuffer buffer = ByteBuffer.allocate(indexes.length * Integer.BYTES);
+            buffer.asIntBuffer().put(indexes);
+            return buffer.array();
+        }
+
+        @Override
+        public int[] deserialize(byte[] bytes) throws IOException {
+            if (bytes.length % Integer.BYTES != 0) {
+                throw new IOException("Invalid length " + bytes.length + " of serialized target indexes.");
+            }
+
+            int[] indexes = new int[bytes.length / Integer.BYTES];
+            ByteBuffer.wrap(bytes).asIntBuffer().get(indexes);
+            return indexes;
+        }
+    }
+
+    private class SurfaceDataSerializer implements SpillableCache.ValueSerializer<AbstractSurfaceData> {
+        private final XMLObjects xmlObjects;
+        private final XMLWriterFactory writerFactory;
+        private final XMLReaderFactory readerFactory;
+        private final Namespaces namespaces;
+
+        SurfaceDataSerializer(XMLObjects xmlObjects) throws IOException {
+            this.xmlObjects = xmlObjects;
+            writerFactory = XMLWriterFactory.newInstance(xmlObjects);
+            namespaces = Namespaces.of(xmlObjects.getSerializableNamespaces());
+            try {
+                readerFactory = XMLReaderFactory.newInstance(xmlObjects);
+            } catch (Exception e) {
+                throw new IOException("Failed to create XML reader factory.", e);
+            }
+        }
+
+        @Override
+        public byte[] serialize(AbstractSurfaceData surfaceData) throws IOException {
+            Appearance appearance = surfaceData.getParent(Appearance.class);
+            if (appearance == null) {
+                throw new IOException("Failed to serialize surface data without parent appearance.");
+            }
+
+            // the surface data is temporarily moved to a copy of its appearance
+            Child parent = surfaceData.getParent();
+            Appearance container = copyBuilderSupplier.get().shallowCopy(appearance);
+            container.setSurfaceData(null);
+            container.setLocalProperties(null);
+            container.getSurfaceData().add(new AbstractSurfaceDataProperty(surfaceData));
+
+            try (ByteArrayOutputStream stream = new ByteArrayOutputStream(1024)) {
+                stream.write(ByteBuffer.allocate(2 * Integer.BYTES)
+                        .putInt((Integer) appearance.getLocalProperties().get(ID))
+                        .putInt((Integer) surfaceData.getLocalProperties().get(ID))
+                        .array());
+
+                try (XMLWriter writer = writerFactory.createWriter(stream, StandardCharsets.UTF_8.name())
+                        .writeXMLDeclaration(false)) {
+                    xmlObjects.toXML(writer, container, namespaces);
+                }
+
+                return stream.toByteArray();
+            } catch (Exception e) {
+                throw new IOException("Failed to serialize surface data.", e);
+            } finally {
+                surfaceData.setParent(parent);
+            }
+        }
+
+        @Override
+        public AbstractSurfaceData deserialize(byte[] bytes) throws IOException {
+            if (bytes.length < 2 * Integer.BYTES) {
+                throw new IOException("Invalid length " + bytes.length + " of serialized surface data.");
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            int appearanceId = buffer.getInt();
+            int surfaceDataId = buffer.getInt();
+
+            Appearance appearance;
+            try (XMLReader reader = readerFactory.createReader(new StringReader(new String(bytes, buffer.position(),
+                    bytes.length - buffer.position(), StandardCharsets.UTF_8)))) {
+                appearance = xmlObjects.fromXML(reader, Appearance.class);
+            } catch (Exception e) {
+                throw new IOException("Failed to deserialize surface data.", e);
+            }
+
+            if (appearance == null
+                    || appearance.getSurfaceData().isEmpty()
+                    || appearance.getSurfaceData().get(0).getObject() == null) {
+                throw new IOException("Failed to deserialize surface data.");
+            }
+
+            AbstractSurfaceData surfaceData = appearance.getSurfaceData().get(0).getObject();
+            appearance.getLocalProperties().set(ID, appearanceId);
+            surfaceData.getLocalProperties().set(ID, surfaceDataId);
+            return surfaceData;
+        }
+    }
 }
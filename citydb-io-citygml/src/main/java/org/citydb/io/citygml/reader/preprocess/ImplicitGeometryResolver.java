@@ -21,6 +21,8 @@
 
 package org.citydb.io.citygml.reader.preprocess;
 
+import org.citydb.core.cache.PersistentMapStore;
+import org.citydb.core.cache.SpillableCache;
 import org.citydb.io.citygml.reader.util.FeatureHelper;
 import org.citygml4j.core.model.core.AbstractFeature;
 import org.citygml4j.core.model.core.ImplicitGeometry;
@@ -28,14 +30,12 @@ import org.citygml4j.core.visitor.ObjectWalker;
 import org.xmlobjects.gml.model.geometry.AbstractGeometry;
 import org.xmlobjects.gml.model.geometry.GeometryProperty;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 public class ImplicitGeometryResolver {
-    private final Map<String, AbstractGeometry> geometries = new ConcurrentHashMap<>();
+    private final SpillableCache<String, AbstractGeometry> geometries;
     private final ResolverProcessor processor = new ResolverProcessor();
 
-    ImplicitGeometryResolver() {
+    ImplicitGeometryResolver(PersistentMapStore store, int cacheSize, GeometrySerializer serializer) {
+        geometries = SpillableCache.of(store, "implicit-geometry-templates", cacheSize, serializer);
     }
 
     void addImplicitGeometry(AbstractGeometry geometry) {
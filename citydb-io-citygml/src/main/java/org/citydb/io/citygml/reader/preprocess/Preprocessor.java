@@ -21,6 +21,7 @@
 
 package org.citydb.io.citygml.reader.preprocess;
 
+import org.citydb.core.cache.PersistentMapStore;
 import org.citydb.core.concurrent.CountLatch;
 import org.citydb.core.concurrent.ExecutorHelper;
 import org.citydb.core.file.InputFile;
@@ -35,9 +36,11 @@ import org.citygml4j.core.visitor.ObjectWalker;
 import org.citygml4j.xml.reader.CityGMLChunk;
 import org.citygml4j.xml.reader.CityGMLInputFactory;
 import org.citygml4j.xml.reader.CityGMLReader;
+import org.xmlobjects.XMLObjects;
 import org.xmlobjects.gml.util.reference.ReferenceResolver;
 import org.xmlobjects.util.copy.CopyBuilder;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -52,7 +55,7 @@ public class Preprocessor {
     private final CrossLodReferenceResolver crossLodResolver;
     private final ConcurrentLinkedQueue<CityObjectGroup> cityObjectGroups = new ConcurrentLinkedQueue<>();
     private final ReferenceResolver referenceResolver = DefaultReferenceResolver.newInstance();
-    private final ImplicitGeometryResolver implicitGeometryResolver = new ImplicitGeometryResolver();
+    private final ImplicitGeometryResolver implicitGeometryResolver;
 
     private boolean resolveGeometryReferences = true;
     private boolean resolveCrossLodReferences = true;
@@ -60,12 +63,23 @@ public class Preprocessor {
     private Throwable exception;
     private volatile boolean shouldRun = true;
 
-    public Preprocessor() {
+    public Preprocessor(PersistentMapStore store, XMLObjects xmlObjects, int geometryCacheSize,
+                        int targetCacheSize) throws ReadException {
         ThreadLocal<CopyBuilder> copyBuilders = ThreadLocal.withInitial(() ->
                 new CopyBuilder().failOnError(true));
 
-        appearanceConverter = new GlobalAppearanceConverter(copyBuilders::get);
-        globalReferenceResolver = new GeometryReferenceResolver(copyBuilders::get);
+        GeometrySerializer serializer;
+        try {
+            serializer = new GeometrySerializer(xmlObjects);
+            appearanceConverter = new GlobalAppearanceConverter(store, xmlObjects, targetCacheSize,
+                    copyBuilders::get);
+        } catch (IOException e) {
+            throw new ReadException("Failed to initialize preprocessing caches.", e);
+        }
+
+        globalReferenceResolver = new GeometryReferenceResolver(store, geometryCacheSize, serializer,
+                copyBuilders::get);
+        implicitGeometryResolver = new ImplicitGeometryResolver(store, geometryCacheSize, serializer);
         propertiesProcessor = new DeprecatedPropertiesProcessor(copyBuilders::get);
         crossLodResolver = new CrossLodReferenceResolver(copyBuilders::get)
                 .setMode(CrossLodReferenceResolver.Mode.REMOVE_LOD4_REFERENCES);
@@ -142,6 +156,8 @@ public class Preprocessor {
                             if (feature instanceof Appearance) {
                                 appearances.add((Appearance) feature);
                             } else if (feature instanceof CityObjectGroup) {
+                                feature.getLocalProperties().set("featureId",
+                                        chunk.getLocalProperties().get("featureId"));
                                 cityObjectGroups.add((CityObjectGroup) feature);
                             } else {
                                 feature.accept(collector);
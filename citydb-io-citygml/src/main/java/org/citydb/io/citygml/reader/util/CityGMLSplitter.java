@@ -0,0 +1,286 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.io.citygml.reader.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class CityGMLSplitter implements AutoCloseable {
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final Pattern ENCODING = Pattern.compile("encoding\\s*=\\s*[\"']([^\"']+)[\"']");
+    private static final byte[] PI_END = "?>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMMENT_START = "<!--".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMMENT_END = "-->".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CDATA_START = "<![CDATA[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CDATA_END = "]]>".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final long size;
+    private final long chunkSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private byte[] head;
+    private byte[] tail;
+    private long position;
+    private long rangeStart;
+    private int depth;
+    private boolean isDone;
+
+    private CityGMLSplitter(FileChannel channel, long chunkSize) throws IOException {
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+        size = channel.size();
+    }
+
+    public static CityGMLSplitter of(Path file, String encoding, long chunkSize) throws IOException {
+        Objects.requireNonNull(file, "The input file must not be null.");
+        CityGMLSplitter splitter = new CityGMLSplitter(FileChannel.open(file, StandardOpenOption.READ),
+                Math.max(1, chunkSize));
+        try {
+            if (splitter.readHead(encoding)) {
+                return splitter;
+            }
+        } catch (Throwable e) {
+            splitter.close();
+            throw e;
+        }
+
+        splitter.close();
+        return null;
+    }
+
+    public byte[] nextDocument() throws IOException {
+        // split at the end tags of the children of the root element, so that every document
+        // consists of the original root start tag including its namespace context, a range
+        // of complete members and the matching root end tag
+        boolean hasMembers = false;
+        while (!isDone) {
+            long start = indexOf('<', position);
+            if (start < 0) {
+                throw new IOException("Unexpected end of input file.");
+            }
+
+            int next = get(start + 1);
+            if (next == '?') {
+                position = skipTo(start + 2, PI_END);
+            } else if (next == '!') {
+                if (startsWith(start, COMMENT_START)) {
+                    position = skipTo(start + COMMENT_START.length, COMMENT_END);
+                } else if (startsWith(start, CDATA_START)) {
+                    position = skipTo(start + CDATA_START.length, CDATA_END);
+                } else {
+                    throw new IOException("Unsupported markup at byte offset " + start + ".");
+                }
+            } else if (next == '/') {
+                long end = skipTag(start + 2);
+                if (--depth == 0) {
+                    isDone = true;
+                    return hasMembers ? createDocument(rangeStart, start) : null;
+                }
+
+                position = end;
+                hasMembers |= depth == 1;
+            } else {
+                long end = skipTag(start + 1);
+                if (get(end - 2) != '/') {
+                    depth++;
+                } else {
+                    hasMembers |= depth == 1;
+                }
+
+                position = end;
+            }
+
+            if (hasMembers && depth == 1 && position - rangeStart >= chunkSize) {
+                byte[] document = createDocument(rangeStart, position);
+                rangeStart = position;
+                return document;
+            }
+        }
+
+        return null;
+    }
+
+    private boolean readHead(String encoding) throws IOException {
+        if (size >= 2 && ((get(0) == 0xfe && get(1) == 0xff) || (get(0) == 0xff && get(1) == 0xfe))) {
+            return false;
+        }
+
+        while (true) {
+            long start = indexOf('<', position);
+            if (start < 0) {
+                return false;
+            }
+
+            int next = get(start + 1);
+            if (next == '?') {
+                position = skipTo(start + 2, PI_END);
+            } else if (startsWith(start, COMMENT_START)) {
+                position = skipTo(start + COMMENT_START.length, COMMENT_END);
+            } else if (next == '!' || next < 0) {
+                // document type declarations may define entities used by the members
+                return false;
+            } else {
+                long end = skipTag(start + 1);
+                if (get(end - 2) == '/') {
+                    return false;
+                }
+
+                head = read(0, end);
+                if (!isSupportedEncoding(encoding != null ?
+                        encoding :
+                        getDeclaredEncoding(new String(head, StandardCharsets.ISO_8859_1)))) {
+                    return false;
+                }
+
+                long nameEnd = start + 1;
+                for (int c = get(nameEnd); c > ' ' && c != '/' && c != '>'; c = get(++nameEnd)) ;
+                tail = ("</" + new String(read(start + 1, nameEnd), StandardCharsets.UTF_8) + ">")
+                        .getBytes(StandardCharsets.UTF_8);
+
+                position = rangeStart = end;
+                depth = 1;
+                return true;
+            }
+        }
+    }
+
+    private String getDeclaredEncoding(String head) {
+        Matcher matcher = ENCODING.matcher(head);
+        return head.startsWith("<?xml") && matcher.find() ? matcher.group(1) : null;
+    }
+
+    private boolean isSupportedEncoding(String encoding) {
+        // the byte scanner requires an ASCII-compatible encoding
+        if (encoding != null) {
+            encoding = encoding.toUpperCase(Locale.ROOT);
+            return encoding.equals("UTF-8")
+                    || encoding.equals("US-ASCII")
+                    || encoding.startsWith("ISO-8859-")
+                    || encoding.startsWith("WINDOWS-125");
+        }
+
+        return true;
+    }
+
+    private byte[] createDocument(long start, long end) throws IOException {
+        if (end - start > Integer.MAX_VALUE - head.length - tail.length) {
+            throw new IOException("The member range at byte offset " + start + " is too large.");
+        }
+
+        byte[] document = new byte[head.length + (int) (end - start) + tail.length];
+        System.arraycopy(head, 0, document, 0, head.length);
+        read(start, end, document, head.length);
+        System.arraycopy(tail, 0, document, document.length - tail.length, tail.length);
+        return document;
+    }
+
+    private long skipTag(long position) throws IOException {
+        int quote = 0;
+        for (int c = get(position); c >= 0; c = get(++position)) {
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return position + 1;
+            }
+        }
+
+        throw new IOException("Unexpected end of input file.");
+    }
+
+    private long skipTo(long position, byte[] pattern) throws IOException {
+        while ((position = indexOf(pattern[0], position)) >= 0) {
+            if (startsWith(position, pattern)) {
+                return position + pattern.length;
+            }
+
+            position++;
+        }
+
+        throw new IOException("Unexpected end of input file.");
+    }
+
+    private long indexOf(int b, long position) throws IOException {
+        for (int c = get(position); c >= 0; c = get(++position)) {
+            if (c == b) {
+                return position;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean startsWith(long position, byte[] pattern) throws IOException {
+        for (int i = 0; i < pattern.length; i++) {
+            if (get(position + i) != pattern[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int get(long position) throws IOException {
+        if (position < 0 || position >= size) {
+            return -1;
+        } else if (window == null || position < windowStart || position >= windowStart + window.limit()) {
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                    Math.min(WINDOW_SIZE, size - windowStart));
+        }
+
+        return window.get((int) (position - windowStart)) & 0xff;
+    }
+
+    private byte[] read(long start, long end) throws IOException {
+        byte[] bytes = new byte[(int) (end - start)];
+        read(start, end, bytes, 0);
+        return bytes;
+    }
+
+    private void read(long start, long end, byte[] target, int offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(target, offset, (int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position() - offset) < 0) {
+                throw new IOException("Unexpected end of input file.");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
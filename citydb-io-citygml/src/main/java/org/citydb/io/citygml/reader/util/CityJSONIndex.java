@@ -0,0 +1,389 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.io.citygml.reader.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.citydb.core.cache.PersistentMapStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public class CityJSONIndex implements AutoCloseable {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ObjectNode header = mapper.createObjectNode();
+    private final Path file;
+    private final PersistentMapStore store;
+    private final String prefix;
+    private final Map<String, long[]> offsets;
+    private final Map<String, String[]> children;
+    private final Map<Long, String> topLevelObjects;
+
+    private ObjectNode appearance;
+    private VertexBuffer vertices;
+    private VertexBuffer textureVertices;
+    private FileChannel channel;
+    private long numberOfTopLevelObjects;
+    private long next;
+
+    private CityJSONIndex(Path file, PersistentMapStore store) {
+        this.file = file;
+        this.store = store;
+        prefix = "cityjson-index-" + UUID.randomUUID() + "-";
+        offsets = store.getOrCreateMap(prefix + "offsets");
+        children = store.getOrCreateMap(prefix + "children");
+        topLevelObjects = store.getOrCreateMap(prefix + "top-level-objects");
+    }
+
+    public static CityJSONIndex of(Path file, PersistentMapStore store) throws IOException {
+        Objects.requireNonNull(file, "The input file must not be null.");
+        Objects.requireNonNull(store, "The local cache must not be null.");
+
+        CityJSONIndex index = new CityJSONIndex(file, store);
+        try {
+            return index.build();
+        } catch (Throwable e) {
+            index.close();
+            throw e;
+        }
+    }
+
+    public String getHeader() throws IOException {
+        return mapper.writeValueAsString(header);
+    }
+
+    public long getNumberOfFeatures() {
+        return numberOfTopLevelObjects;
+    }
+
+    public String nextFeature() throws IOException {
+        if (next >= numberOfTopLevelObjects) {
+            return null;
+        }
+
+        String id = topLevelObjects.get(next++);
+        ObjectNode feature = mapper.createObjectNode()
+                .put("type", "CityJSONFeature")
+                .put("id", id);
+
+        VertexMapping vertexMapping = new VertexMapping(vertices);
+        VertexMapping textureMapping = new VertexMapping(textureVertices);
+        addCityObject(id, feature.putObject("CityObjects"), vertexMapping, textureMapping, new HashSet<>());
+        feature.set("vertices", vertexMapping.toJson(header.has("transform")));
+
+        if (appearance != null) {
+            ObjectNode featureAppearance = feature.putObject("appearance").setAll(appearance);
+            if (!textureMapping.isEmpty()) {
+                featureAppearance.set("vertices-texture", textureMapping.toJson(false));
+            }
+        }
+
+        return mapper.writeValueAsString(feature);
+    }
+
+    private CityJSONIndex build() throws IOException {
+        // first pass: copy the vertex arrays to off-heap buffers and only record the byte
+        // range of each city object, so that features can be assembled on demand
+        try (JsonParser parser = mapper.getFactory().createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("The input file is not a CityJSON object.");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name) {
+                    case "CityObjects":
+                        indexCityObjects(parser);
+                        break;
+                    case "vertices":
+                        vertices = readVertices(parser, 3);
+                        break;
+                    case "appearance":
+                        readAppearance(parser);
+                        break;
+                    default:
+                        header.set(name, mapper.readTree(parser));
+                }
+            }
+        }
+
+        if (vertices == null) {
+            vertices = VertexBuffer.newInstance(3, getTempDirectory()).seal();
+        }
+
+        if (textureVertices == null) {
+            textureVertices = VertexBuffer.newInstance(2, getTempDirectory()).seal();
+        }
+
+        header.putObject("CityObjects");
+        header.putArray("vertices");
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        return this;
+    }
+
+    private void indexCityObjects(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("The CityObjects member must be a JSON object.");
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String id = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("The city object " + id + " must be a JSON object.");
+            }
+
+            long start = parser.currentTokenLocation().getByteOffset();
+            boolean hasParents = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if ("parents".equals(name)) {
+                    hasParents = mapper.readTree(parser).size() > 0;
+                } else if ("children".equals(name)) {
+                    List<String> ids = new ArrayList<>();
+                    mapper.<JsonNode>readTree(parser).forEach(child -> ids.add(child.asText()));
+                    if (!ids.isEmpty()) {
+                        children.put(id, ids.toArray(new String[0]));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            offsets.put(id, new long[]{start, parser.currentLocation().getByteOffset()});
+            if (!hasParents) {
+                topLevelObjects.put(numberOfTopLevelObjects++, id);
+            }
+        }
+    }
+
+    private void readAppearance(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("The appearance member must be a JSON object.");
+        }
+
+        appearance = mapper.createObjectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if ("vertices-texture".equals(name)) {
+                textureVertices = readVertices(parser, 2);
+            } else {
+                appearance.set(name, mapper.readTree(parser));
+            }
+        }
+    }
+
+    private VertexBuffer readVertices(JsonParser parser, int dimension) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("The vertices must be provided as JSON array.");
+        }
+
+        VertexBuffer buffer = VertexBuffer.newInstance(dimension, getTempDirectory());
+        try {
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                int ordinates = 0;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (ordinates++ < dimension) {
+                        buffer.add(parser.getDoubleValue());
+                    }
+                }
+
+                if (ordinates != dimension) {
+                    throw new IOException("Expected " + dimension + " ordinates per vertex but found " +
+                            ordinates + ".");
+                }
+            }
+
+            return buffer.seal();
+        } catch (Throwable e) {
+            buffer.close();
+            throw e;
+        }
+    }
+
+    private void addCityObject(String id, ObjectNode cityObjects, VertexMapping vertexMapping,
+                               VertexMapping textureMapping, Set<String> visited) throws IOException {
+        long[] range = offsets.get(id);
+        if (range == null || !visited.add(id)) {
+            return;
+        }
+
+        JsonNode node = mapper.readTree(read(range[0], (int) (range[1] - range[0])));
+        if (node instanceof ObjectNode) {
+            ObjectNode cityObject = (ObjectNode) node;
+            for (JsonNode geometry : cityObject.path("geometry")) {
+                remapGeometry(geometry, vertexMapping, textureMapping);
+            }
+
+            for (JsonNode address : cityObject.path("address")) {
+                remapGeometry(address.path("location"), vertexMapping, textureMapping);
+            }
+
+            cityObjects.set(id, cityObject);
+        }
+
+        String[] childIds = children.get(id);
+        if (childIds != null) {
+            for (String childId : childIds) {
+                addCityObject(childId, cityObjects, vertexMapping, textureMapping, visited);
+            }
+        }
+    }
+
+    private void remapGeometry(JsonNode geometry, VertexMapping vertexMapping,
+                               VertexMapping textureMapping) throws IOException {
+        if (geometry.isObject()) {
+            remapBoundaries(geometry.path("boundaries"), vertexMapping);
+            for (JsonNode theme : geometry.path("texture")) {
+                remapTextureValues(theme.path("values"), textureMapping);
+            }
+        }
+    }
+
+    private void remapBoundaries(JsonNode boundaries, VertexMapping mapping) throws IOException {
+        if (boundaries instanceof ArrayNode) {
+            ArrayNode array = (ArrayNode) boundaries;
+            for (int i = 0; i < array.size(); i++) {
+                JsonNode element = array.get(i);
+                if (element.isIntegralNumber()) {
+                    array.set(i, mapping.getLocalIndex(element.longValue()));
+                } else {
+                    remapBoundaries(element, mapping);
+                }
+            }
+        }
+    }
+
+    private void remapTextureValues(JsonNode values, VertexMapping mapping) throws IOException {
+        if (values instanceof ArrayNode) {
+            ArrayNode array = (ArrayNode) values;
+            boolean isRing = true;
+            for (JsonNode element : array) {
+                if (element.isArray()) {
+                    isRing = false;
+                    remapTextureValues(element, mapping);
+                }
+            }
+
+            // the first value of a ring references the texture, the remaining ones the texture vertices
+            if (isRing) {
+                for (int i = 1; i < array.size(); i++) {
+                    JsonNode element = array.get(i);
+                    if (element.isIntegralNumber()) {
+                        array.set(i, mapping.getLocalIndex(element.longValue()));
+                    }
+                }
+            }
+        }
+    }
+
+    private byte[] read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of input file.");
+            }
+        }
+
+        return buffer.array();
+    }
+
+    private Path getTempDirectory() {
+        return store.getBackingFile().toAbsolutePath().getParent();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+
+            if (vertices != null) {
+                vertices.close();
+            }
+
+            if (textureVertices != null) {
+                textureVertices.close();
+            }
+        } finally {
+            store.removeMap(prefix + "offsets");
+            store.removeMap(prefix + "children");
+            store.removeMap(prefix + "top-level-objects");
+        }
+    }
+
+    private class VertexMapping {
+        private final VertexBuffer buffer;
+        private final Map<Long, Integer> indexes = new HashMap<>();
+        private final List<Long> vertices = new ArrayList<>();
+
+        VertexMapping(VertexBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        boolean isEmpty() {
+            return vertices.isEmpty();
+        }
+
+        int getLocalIndex(long index) throws IOException {
+            if (index < 0 || index >= buffer.size()) {
+                throw new IOException("Invalid vertex index " + index + ".");
+            }
+
+            Integer localIndex = indexes.get(index);
+            if (localIndex == null) {
+                localIndex = vertices.size();
+                indexes.put(index, localIndex);
+                vertices.add(index);
+            }
+
+            return localIndex;
+        }
+
+        ArrayNode toJson(boolean integers) {
+            ArrayNode array = mapper.createArrayNode();
+            for (long index : vertices) {
+                ArrayNode vertex = array.addArray();
+                for (int i = 0; i < buffer.getDimension(); i++) {
+                    double value = buffer.get(index, i);
+                    if (integers) {
+                        vertex.add((long) value);
+                    } else {
+                        vertex.add(value);
+                    }
+                }
+            }
+
+            return array;
+        }
+    }
+}
@@ -25,11 +25,12 @@ import org.xmlobjects.gml.util.id.DefaultIdCreator;
 
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class IdCreator implements org.xmlobjects.gml.util.id.IdCreator {
     private final String seed;
     private final String prefix = DefaultIdCreator.getInstance().getDefaultPrefix();
-    private long index;
+    private final AtomicLong index = new AtomicLong();
 
     public IdCreator(String seed) {
         this.seed = Objects.requireNonNull(seed, "The seed must not be null.");
@@ -37,7 +38,7 @@ public class IdCreator implements org.xmlobjects.gml.util.id.IdCreator {
 
     @Override
     public String createId() {
-        String id = seed + index++;
+        String id = seed + index.getAndIncrement();
         return prefix + UUID.nameUUIDFromBytes(id.getBytes());
     }
 }
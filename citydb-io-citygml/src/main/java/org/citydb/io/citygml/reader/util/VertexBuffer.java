@@ -0,0 +1,118 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.io.citygml.reader.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class VertexBuffer implements AutoCloseable {
+    // 2^27 doubles per mapped segment, which keeps each segment below the 2 GB mapping limit
+    private static final int SEGMENT_SHIFT = 27;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final int dimension;
+    private final Path file;
+    private final List<DoubleBuffer> segments = new ArrayList<>();
+    private DataOutputStream stream;
+    private long values;
+
+    private VertexBuffer(int dimension, Path file) throws IOException {
+        this.dimension = dimension;
+        this.file = file;
+        stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+    }
+
+    public static VertexBuffer newInstance(int dimension, Path tempDirectory) throws IOException {
+        Objects.requireNonNull(tempDirectory, "The temp directory must not be null.");
+        if (dimension < 1) {
+            throw new IllegalArgumentException("The vertex dimension must be a positive number.");
+        }
+
+        return new VertexBuffer(dimension, Files.createTempFile(tempDirectory, "vertices-", ".bin"));
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public long size() {
+        return values / dimension;
+    }
+
+    public VertexBuffer add(double value) throws IOException {
+        if (stream == null) {
+            throw new IllegalStateException("Illegal to add values to a sealed vertex buffer.");
+        }
+
+        stream.writeDouble(value);
+        values++;
+        return this;
+    }
+
+    public VertexBuffer seal() throws IOException {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long segmentSize = (SEGMENT_MASK + 1) * Double.BYTES;
+                for (long position = 0, length = values * Double.BYTES; position < length;
+                     position += segmentSize) {
+                    segments.add(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                            Math.min(segmentSize, length - position)).asDoubleBuffer());
+                }
+            }
+        }
+
+        return this;
+    }
+
+    public double get(long vertex, int ordinate) {
+        if (stream != null) {
+            throw new IllegalStateException("Illegal to read values from an unsealed vertex buffer.");
+        } else if (vertex < 0 || vertex >= size() || ordinate < 0 || ordinate >= dimension) {
+            throw new IndexOutOfBoundsException("Invalid vertex index " + vertex + ".");
+        }
+
+        long index = vertex * dimension + ordinate;
+        return segments.get((int) (index >>> SEGMENT_SHIFT)).get((int) (index & SEGMENT_MASK));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+
+        segments.clear();
+        Files.deleteIfExists(file);
+    }
+}
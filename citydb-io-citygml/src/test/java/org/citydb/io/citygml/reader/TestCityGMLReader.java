@@ -0,0 +1,65 @@
+package org.citydb.io.citygml.reader;
+
+import org.apache.tika.mime.MediaType;
+import org.citydb.core.file.input.RegularInputFile;
+import org.citydb.io.citygml.CityGMLAdapter;
+import org.citydb.io.reader.FeatureReader;
+import org.citydb.io.reader.ReadOptions;
+import org.citydb.io.reader.options.FilterOptions;
+import org.citydb.model.common.Name;
+import org.citydb.model.feature.Feature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCityGMLReader {
+    String CORE = "http://www.opengis.net/citygml/3.0";
+    String BUILDING = "http://www.opengis.net/citygml/building/3.0";
+    String TRANSPORTATION = "http://www.opengis.net/citygml/transportation/3.0";
+
+    String CITY_MODEL = "<core:CityModel xmlns:core=\"" + CORE + "\" xmlns:bldg=\"" + BUILDING + "\" " +
+            "xmlns:tran=\"" + TRANSPORTATION + "\" xmlns:gml=\"http://www.opengis.net/gml/3.2\" " +
+            "xmlns:xlink=\"http://www.w3.org/1999/xlink\">" +
+            "<core:cityObjectMember><tran:Road gml:id=\"road\"><core:lod2MultiSurface>" +
+            "<gml:MultiSurface gml:id=\"shared\"><gml:surfaceMember><gml:Polygon><gml:exterior>" +
+            "<gml:LinearRing><gml:posList>0 0 0 1 0 0 1 1 0 0 0 0</gml:posList></gml:LinearRing>" +
+            "</gml:exterior></gml:Polygon></gml:surfaceMember></gml:MultiSurface>" +
+            "</core:lod2MultiSurface></tran:Road></core:cityObjectMember>" +
+            "<core:cityObjectMember><bldg:Building gml:id=\"building\">" +
+            "<core:lod2MultiSurface xlink:href=\"#shared\"/>" +
+            "</bldg:Building></core:cityObjectMember>" +
+            "</core:CityModel>";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Resolve geometry references from features skipped by the type filter")
+    void testFilteredGeometryReference() throws Throwable {
+        Path file = tempDir.resolve("input.gml");
+        Files.write(file, CITY_MODEL.getBytes(StandardCharsets.UTF_8));
+
+        CityGMLAdapter adapter = new CityGMLAdapter();
+        adapter.initialize(getClass().getClassLoader());
+
+        List<Feature> features = Collections.synchronizedList(new ArrayList<>());
+        try (FeatureReader reader = adapter.createReader()) {
+            reader.initialize(new RegularInputFile(file, MediaType.application("xml")), ReadOptions.defaults()
+                    .setFilterOptions(new FilterOptions().addFeatureType(Name.of("Building", BUILDING))));
+            reader.read(features::add);
+        }
+
+        assertEquals(1, features.size());
+        assertEquals("building", features.get(0).getObjectId().orElse(null));
+        assertTrue(features.get(0).hasGeometries());
+    }
+}
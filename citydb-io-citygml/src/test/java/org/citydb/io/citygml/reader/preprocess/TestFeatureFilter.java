@@ -0,0 +1,114 @@
+package org.citydb.io.citygml.reader.preprocess;
+
+import org.citydb.io.reader.options.FilterOptions;
+import org.citydb.model.common.Name;
+import org.citydb.model.geometry.Coordinate;
+import org.citydb.model.geometry.Envelope;
+import org.citygml4j.core.model.core.AbstractFeature;
+import org.citygml4j.xml.CityGMLContext;
+import org.citygml4j.xml.reader.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFeatureFilter {
+    String CORE = "http://www.opengis.net/citygml/3.0";
+    String BUILDING = "http://www.opengis.net/citygml/building/3.0";
+    String TRANSPORTATION = "http://www.opengis.net/citygml/transportation/3.0";
+
+    String CITY_MODEL = "<core:CityModel xmlns:core=\"" + CORE + "\" xmlns:bldg=\"" + BUILDING + "\" " +
+            "xmlns:tran=\"" + TRANSPORTATION + "\" xmlns:gml=\"http://www.opengis.net/gml/3.2\">" +
+            "<core:cityObjectMember><bldg:Building gml:id=\"inside\">" + boundedBy("1 1 0", "2 2 10") +
+            "</bldg:Building></core:cityObjectMember>" +
+            "<core:cityObjectMember><bldg:Building gml:id=\"outside\">" + boundedBy("20 20 0", "30 30 10") +
+            "</bldg:Building></core:cityObjectMember>" +
+            "<core:cityObjectMember><bldg:Building gml:id=\"unbounded\"/></core:cityObjectMember>" +
+            "<core:cityObjectMember><tran:Road gml:id=\"road\">" + boundedBy("1 1 0", "2 2 0") +
+            "</tran:Road></core:cityObjectMember>" +
+            "</core:CityModel>";
+
+    @Test
+    @DisplayName("Keep core wrapper elements in CityGML 3.0 input filter")
+    void testInputFilter() throws Throwable {
+        CityGMLInputFilter filter = FeatureFilter.of(new FilterOptions()
+                        .addFeatureType(Name.of("Building", BUILDING)))
+                .getInputFilter();
+
+        assertTrue(filter.accept(new QName(CORE, "CityModel")));
+        assertTrue(filter.accept(new QName(CORE, "cityObjectMember")));
+        assertTrue(filter.accept(new QName(BUILDING, "Building")));
+        assertFalse(filter.accept(new QName(TRANSPORTATION, "Road")));
+        assertTrue(filter.accept(new QName("http://www.opengis.net/citygml/transportation/2.0", "Road")));
+
+        List<String> ids = new ArrayList<>();
+        for (CityGMLChunk chunk : read(filter)) {
+            ids.add(chunk.build().getId());
+        }
+
+        assertEquals(List.of("inside", "outside", "unbounded"), ids);
+    }
+
+    @Test
+    @DisplayName("Test bbox on gml:boundedBy before building features")
+    void testChunkExtent() throws Throwable {
+        FeatureFilter filter = FeatureFilter.of(new FilterOptions()
+                .setBbox(Envelope.of(Coordinate.of(0, 0), Coordinate.of(10, 10))));
+
+        List<String> ids = new ArrayList<>();
+        for (CityGMLChunk chunk : read(null)) {
+            if (filter.isSelected(chunk)) {
+                AbstractFeature feature = chunk.build();
+                ids.add(feature.getId());
+            }
+        }
+
+        assertEquals(List.of("inside", "unbounded", "road"), ids);
+    }
+
+    @Test
+    @DisplayName("Test feature types on chunks before building features")
+    void testChunkFeatureType() throws Throwable {
+        FeatureFilter filter = FeatureFilter.of(new FilterOptions()
+                .addFeatureType(Name.of("Road", TRANSPORTATION)));
+
+        List<String> ids = new ArrayList<>();
+        for (CityGMLChunk chunk : read(null)) {
+            if (filter.isSelected(chunk)) {
+                ids.add(chunk.build().getId());
+            }
+        }
+
+        assertEquals(List.of("road"), ids);
+    }
+
+    private List<CityGMLChunk> read(CityGMLInputFilter filter) throws Exception {
+        CityGMLInputFactory factory = CityGMLContext.newInstance().createCityGMLInputFactory()
+                .withChunking(ChunkOptions.defaults());
+        List<CityGMLChunk> chunks = new ArrayList<>();
+        try (CityGMLReader reader = filter != null ?
+                factory.createFilteredCityGMLReader(factory.createCityGMLReader(
+                        new ByteArrayInputStream(CITY_MODEL.getBytes(StandardCharsets.UTF_8)), "UTF-8"), filter) :
+                factory.createCityGMLReader(
+                        new ByteArrayInputStream(CITY_MODEL.getBytes(StandardCharsets.UTF_8)), "UTF-8")) {
+            while (reader.hasNext()) {
+                chunks.add(reader.nextChunk());
+            }
+        }
+
+        return chunks;
+    }
+
+    private String boundedBy(String lowerCorner, String upperCorner) {
+        return "<gml:boundedBy><gml:Envelope srsDimension=\"3\">" +
+                "<gml:lowerCorner>" + lowerCorner + "</gml:lowerCorner>" +
+                "<gml:upperCorner>" + upperCorner + "</gml:upperCorner>" +
+                "</gml:Envelope></gml:boundedBy>";
+    }
+}
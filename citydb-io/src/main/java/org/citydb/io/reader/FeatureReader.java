@@ -27,6 +27,9 @@ import org.citydb.model.feature.Feature;
 import java.util.function.Consumer;
 
 public interface FeatureReader extends AutoCloseable {
+    // user property holding the position of a top-level feature in its input file
+    String FEATURE_INDEX = "featureIndex";
+
     void initialize(InputFile file, ReadOptions options) throws ReadException;
     void read(Consumer<Feature> consumer) throws ReadException;
     void cancel();
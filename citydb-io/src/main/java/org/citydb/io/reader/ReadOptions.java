@@ -21,11 +21,14 @@
 
 package org.citydb.io.reader;
 
+import org.citydb.io.reader.options.FilterOptions;
+
 public class ReadOptions {
     private boolean failFast;
     private int numberOfThreads;
     private String encoding;
     private boolean computeEnvelopes;
+    private FilterOptions filterOptions;
     private Object formatOptions;
 
     private ReadOptions() {
@@ -74,6 +77,19 @@ public class ReadOptions {
         return this;
     }
 
+    public FilterOptions getFilterOptions() {
+        if (filterOptions == null) {
+            filterOptions = new FilterOptions();
+        }
+
+        return filterOptions;
+    }
+
+    public ReadOptions setFilterOptions(FilterOptions filterOptions) {
+        this.filterOptions = filterOptions;
+        return this;
+    }
+
     public Object getFormatOptions() {
         return formatOptions;
     }
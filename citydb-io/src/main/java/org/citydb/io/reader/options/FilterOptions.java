@@ -0,0 +1,109 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.io.reader.options;
+
+import org.citydb.model.common.Name;
+import org.citydb.model.geometry.Envelope;
+
+import java.util.*;
+
+public class FilterOptions {
+    private Set<Name> featureTypes;
+    private Envelope bbox;
+    private Set<Integer> lods;
+
+    public Set<Name> getFeatureTypes() {
+        if (featureTypes == null) {
+            featureTypes = new HashSet<>();
+        }
+
+        return featureTypes;
+    }
+
+    public boolean hasFeatureTypes() {
+        return featureTypes != null && !featureTypes.isEmpty();
+    }
+
+    public FilterOptions setFeatureTypes(Collection<Name> featureTypes) {
+        this.featureTypes = featureTypes != null ? new HashSet<>(featureTypes) : null;
+        return this;
+    }
+
+    public FilterOptions addFeatureType(Name featureType) {
+        getFeatureTypes().add(Objects.requireNonNull(featureType, "The feature type must not be null."));
+        return this;
+    }
+
+    public Optional<Envelope> getBbox() {
+        return Optional.ofNullable(bbox);
+    }
+
+    public FilterOptions setBbox(Envelope bbox) {
+        this.bbox = bbox != null ? bbox.copy().force2D() : null;
+        return this;
+    }
+
+    public Set<Integer> getLods() {
+        if (lods == null) {
+            lods = new TreeSet<>();
+        }
+
+        return lods;
+    }
+
+    public boolean hasLods() {
+        return lods != null && !lods.isEmpty();
+    }
+
+    public FilterOptions setLods(Collection<Integer> lods) {
+        this.lods = lods != null ? new TreeSet<>(lods) : null;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return !hasFeatureTypes() && bbox == null && !hasLods();
+    }
+
+    public boolean isSelectedFeatureType(Name featureType) {
+        return !hasFeatureTypes() || featureTypes.contains(featureType);
+    }
+
+    public boolean isSelectedLocalName(String localName) {
+        if (hasFeatureTypes()) {
+            for (Name featureType : featureTypes) {
+                if (featureType.getLocalName().equals(localName)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        return true;
+    }
+
+    public boolean isSelectedExtent(double minX, double minY, double maxX, double maxY) {
+        return bbox == null || !(minX > bbox.getUpperCorner().getX()
+                || maxX < bbox.getLowerCorner().getX()
+                || minY > bbox.getUpperCorner().getY()
+                || maxY < bbox.getLowerCorner().getY());
+    }
+}
@@ -24,16 +24,22 @@ package org.citydb.logging;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.ConsoleAppender;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.apache.logging.log4j.core.config.builder.api.*;
 import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 public class LoggerManager {
     private final LogConsole logConsole = new LogConsole(this);
     private final LogFile logFile = new LogFile(this);
+    private boolean async;
+    private int asyncBufferSize = 8192;
+    private RepeatedMessageFilter warningFilter;
 
     private static final LoggerManager instance = new LoggerManager();
 
@@ -48,12 +54,13 @@ public class LoggerManager {
     protected LoggerManager updateConfigurations() {
         ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
         RootLoggerComponentBuilder rootLogger = builder.newRootLogger(Level.ALL);
+        List<AppenderRefComponentBuilder> appenderRefs = new ArrayList<>();
 
         // configure console log
         if (logConsole.isEnabled()) {
             final String CONSOLE_LOGGER_NAME = "LOG_CONSOLE";
 
-            rootLogger.add(builder.newAppenderRef(CONSOLE_LOGGER_NAME)
+            appenderRefs.add(builder.newAppenderRef(CONSOLE_LOGGER_NAME)
                     .addAttribute("level", logConsole.getLogLevel().name()));
 
             LayoutComponentBuilder patternLayoutBuilder = builder.newLayout("PatternLayout")
@@ -69,7 +76,7 @@ public class LoggerManager {
         if (logFile.isEnabled()) {
             final String FILE_LOGGER_NAME = "LOG_FILE";
 
-            rootLogger.add(builder.newAppenderRef(FILE_LOGGER_NAME)
+            appenderRefs.add(builder.newAppenderRef(FILE_LOGGER_NAME)
                     .addAttribute("level", logFile.getLogLevel().name()));
 
             LayoutComponentBuilder patternLayoutBuilder = builder.newLayout("PatternLayout")
@@ -90,11 +97,75 @@ public class LoggerManager {
             builder.add(appenderComponentBuilder);
         }
 
+        // route log events through a bounded queue so that callers do not block on console or file I/O
+        if (async && !appenderRefs.isEmpty()) {
+            final String ASYNC_LOGGER_NAME = "LOG_ASYNC";
+
+            AppenderComponentBuilder asyncAppender = builder.newAppender(ASYNC_LOGGER_NAME, "Async")
+                    .addAttribute("bufferSize", asyncBufferSize)
+                    .addAttribute("blocking", true);
+            appenderRefs.forEach(asyncAppender::addComponent);
+
+            builder.add(asyncAppender);
+            rootLogger.add(builder.newAppenderRef(ASYNC_LOGGER_NAME));
+        } else {
+            appenderRefs.forEach(rootLogger::add);
+        }
+
         Configurator.reconfigure(builder.add(rootLogger).build());
 
+        if (warningFilter != null) {
+            LoggerContext context = LoggerContext.getContext(false);
+            context.getConfiguration().getRootLogger().addFilter(warningFilter);
+            context.updateLoggers();
+        }
+
+        return this;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public LoggerManager setAsync(boolean async) {
+        this.async = async;
+        return this;
+    }
+
+    public int getAsyncBufferSize() {
+        return asyncBufferSize;
+    }
+
+    public LoggerManager setAsyncBufferSize(int asyncBufferSize) {
+        if (asyncBufferSize > 0) {
+            this.asyncBufferSize = asyncBufferSize;
+        }
+
+        return this;
+    }
+
+    public int getWarningLimit() {
+        return warningFilter != null ? warningFilter.getLimit() : 0;
+    }
+
+    public LoggerManager setWarningLimit(int warningLimit) {
+        warningFilter = warningLimit > 0 ? new RepeatedMessageFilter(Level.WARN, warningLimit) : null;
         return this;
     }
 
+    public LoggerManager configure() {
+        return updateConfigurations();
+    }
+
+    public void logSuppressedWarnings() {
+        if (warningFilter != null) {
+            Logger logger = getLogger();
+            warningFilter.forEachSuppressed((message, count) -> logger.log(Level.WARN,
+                    RepeatedMessageFilter.SUMMARY, "Suppressed " + count + " further warning(s) like: " + message));
+            warningFilter.reset();
+        }
+    }
+
     public Logger getLogger() {
         return LogManager.getLogger();
     }
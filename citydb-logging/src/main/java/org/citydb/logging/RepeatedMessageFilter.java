@@ -0,0 +1,112 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+class RepeatedMessageFilter extends AbstractFilter {
+    static final Marker SUMMARY = MarkerManager.getMarker("CITYDB_SUMMARY");
+    private static final int MAX_MESSAGE_TYPES = 10000;
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final Level level;
+    private final int limit;
+
+    RepeatedMessageFilter(Level level, int limit) {
+        super(Result.NEUTRAL, Result.DENY);
+        this.level = level;
+        this.limit = limit;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public Result filter(LogEvent event) {
+        if (event.getLevel() != level || event.getMarker() == SUMMARY) {
+            return Result.NEUTRAL;
+        }
+
+        String key = getMessageType(event.getMessage().getFormattedMessage());
+        AtomicLong counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() >= MAX_MESSAGE_TYPES) {
+                return Result.NEUTRAL;
+            }
+
+            counter = counters.computeIfAbsent(key, v -> new AtomicLong());
+        }
+
+        return counter.incrementAndGet() <= limit ? onMatch : onMismatch;
+    }
+
+    void forEachSuppressed(BiConsumer<String, Long> consumer) {
+        counters.forEach((key, counter) -> {
+            long suppressed = counter.get() - limit;
+            if (suppressed > 0) {
+                consumer.accept(key, suppressed);
+            }
+        });
+    }
+
+    void reset() {
+        counters.clear();
+    }
+
+    private String getMessageType(String message) {
+        // messages only differing in quoted values or numbers are considered the same
+        StringBuilder builder = new StringBuilder(Math.min(message.length(), 256));
+        boolean quoted = false, digits = false;
+        for (int i = 0; i < message.length() && builder.length() < 256; i++) {
+            char c = message.charAt(i);
+            if (c == '\'') {
+                if (!quoted) {
+                    builder.append("'*'");
+                }
+
+                quoted = !quoted;
+                digits = false;
+            } else if (!quoted) {
+                if (Character.isDigit(c)) {
+                    if (!digits) {
+                        builder.append('#');
+                        digits = true;
+                    }
+                } else {
+                    builder.append(c);
+                    digits = false;
+                }
+            }
+        }
+
+        return builder.toString();
+    }
+}
@@ -50,6 +50,9 @@ public abstract class Child implements Serializable {
         this.parent = parent;
     }
 
+    protected void childrenChanged() {
+    }
+
     protected <T extends Child> T asChild(T child) {
         if (child != null) {
             child.setParent(this);
@@ -24,6 +24,7 @@ package org.citydb.model.common;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 
 public class ChildList<T extends Child> extends ArrayList<T> {
@@ -57,36 +58,73 @@ public class ChildList<T extends Child> extends ArrayList<T> {
     public void add(int index, T element) {
         applyParent(element);
         super.add(index, element);
+        parent.childrenChanged();
     }
 
     @Override
     public boolean add(T o) {
         applyParent(o);
-        return super.add(o);
+        boolean added = super.add(o);
+        parent.childrenChanged();
+        return added;
     }
 
     @Override
     public boolean addAll(Collection<? extends T> c) {
         applyParent(c);
-        return super.addAll(c);
+        boolean added = super.addAll(c);
+        parent.childrenChanged();
+        return added;
     }
 
     @Override
     public boolean addAll(int index, Collection<? extends T> c) {
         applyParent(c);
-        return super.addAll(index, c);
+        boolean added = super.addAll(index, c);
+        parent.childrenChanged();
+        return added;
     }
 
     @Override
     public T set(int index, T element) {
         applyParent(element);
-        return super.set(index, element);
+        T previous = super.set(index, element);
+        parent.childrenChanged();
+        return previous;
     }
 
     @Override
     public void replaceAll(UnaryOperator<T> operator) {
         super.replaceAll(operator);
         applyParent(this);
+        parent.childrenChanged();
+    }
+
+    @Override
+    public T remove(int index) {
+        T removed = super.remove(index);
+        parent.childrenChanged();
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        boolean removed = super.remove(o);
+        parent.childrenChanged();
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        boolean removed = super.removeIf(filter);
+        parent.childrenChanged();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        parent.childrenChanged();
     }
 
     private void applyParent(T child) {
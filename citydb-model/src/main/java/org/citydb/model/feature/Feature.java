@@ -23,6 +23,7 @@ package org.citydb.model.feature;
 
 import org.citydb.model.common.*;
 import org.citydb.model.geometry.Envelope;
+import org.citydb.model.geometry.ImplicitGeometry;
 import org.citydb.model.property.*;
 
 import java.time.OffsetDateTime;
@@ -79,6 +80,70 @@ public class Feature extends ModelObject<Feature> implements Describable<Feature
         return this;
     }
 
+    public Optional<Envelope> computeEnvelope() {
+        Envelope envelope = computeExtent();
+        if (envelope != null) {
+            setEnvelope(envelope);
+        }
+
+        return Optional.ofNullable(envelope);
+    }
+
+    private Envelope computeExtent() {
+        Envelope envelope = null;
+        if (hasFeatures()) {
+            envelope = computeEnvelope(envelope, features.getAll());
+        }
+
+        if (hasGeometries()) {
+            envelope = computeEnvelope(envelope, geometries.getAll());
+        }
+
+        if (hasImplicitGeometries()) {
+            envelope = computeEnvelope(envelope, implicitGeometries.getAll());
+        }
+
+        if (hasAttributes()) {
+            envelope = computeEnvelope(envelope, attributes.getAll());
+        }
+
+        return envelope;
+    }
+
+    private Envelope computeEnvelope(Envelope envelope, List<? extends Property<?>> properties) {
+        for (Property<?> property : properties) {
+            if (property instanceof GeometryProperty) {
+                envelope = include(envelope, ((GeometryProperty) property).getObject().getEnvelope());
+            } else if (property instanceof ImplicitGeometryProperty) {
+                ImplicitGeometryProperty implicitGeometryProperty = (ImplicitGeometryProperty) property;
+                ImplicitGeometry implicitGeometry = implicitGeometryProperty.getObject().orElse(null);
+                if (implicitGeometry != null) {
+                    envelope = include(envelope, implicitGeometry.getEnvelope(
+                            implicitGeometryProperty.getTransformationMatrix().orElse(null),
+                            implicitGeometryProperty.getReferencePoint().orElse(null)));
+                }
+            } else if (property instanceof FeatureProperty) {
+                Feature feature = ((FeatureProperty) property).getObject().orElse(null);
+                if (feature != null) {
+                    // nested features keep their own envelopes
+                    envelope = include(envelope, feature.computeExtent());
+                }
+            } else if (property instanceof Attribute && ((Attribute) property).hasProperties()) {
+                envelope = computeEnvelope(envelope, ((Attribute) property).getProperties().getAll());
+            }
+        }
+
+        return envelope;
+    }
+
+    private Envelope include(Envelope envelope, Envelope other) {
+        if (other != null) {
+            return envelope != null ? envelope.include(other) : other.copy();
+        } else {
+            return envelope;
+        }
+    }
+
     public Optional<OffsetDateTime> getLastModificationDate() {
         return Optional.ofNullable(lastModificationDate);
     }
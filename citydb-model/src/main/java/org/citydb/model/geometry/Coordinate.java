@@ -88,20 +88,29 @@ public class Coordinate implements Serializable {
 
     public Coordinate setX(double x) {
         this.x = x;
+        Geometry.coordinatesChanged();
         return this;
     }
 
     public Coordinate setY(double y) {
         this.y = y;
+        Geometry.coordinatesChanged();
         return this;
     }
 
     public Coordinate setZ(double z) {
         this.z = z;
         dimension = 3;
+        Geometry.coordinatesChanged();
         return this;
     }
 
+    void update(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
     public int getDimension() {
         return dimension;
     }
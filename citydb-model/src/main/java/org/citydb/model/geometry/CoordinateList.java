@@ -0,0 +1,68 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.model.geometry;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+class CoordinateList extends AbstractList<Coordinate> implements RandomAccess, Serializable {
+    private final List<Coordinate> coordinates;
+
+    CoordinateList(List<Coordinate> coordinates) {
+        this.coordinates = Objects.requireNonNull(coordinates, "The coordinate list must not be null.");
+    }
+
+    @Override
+    public Coordinate get(int index) {
+        return coordinates.get(index);
+    }
+
+    @Override
+    public int size() {
+        return coordinates.size();
+    }
+
+    @Override
+    public Coordinate set(int index, Coordinate element) {
+        Coordinate previous = coordinates.set(index, element);
+        Geometry.coordinatesChanged();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Coordinate element) {
+        coordinates.add(index, element);
+        modCount++;
+        Geometry.coordinatesChanged();
+    }
+
+    @Override
+    public Coordinate remove(int index) {
+        Coordinate removed = coordinates.remove(index);
+        modCount++;
+        Geometry.coordinatesChanged();
+        return removed;
+    }
+}
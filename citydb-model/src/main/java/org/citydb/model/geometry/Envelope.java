@@ -95,6 +95,20 @@ public class Envelope extends Child implements SRSReference {
         return this;
     }
 
+    public Envelope copy() {
+        Envelope envelope = getDimension() == 2 ?
+                Envelope.of(
+                        Coordinate.of(lowerCorner.getX(), lowerCorner.getY()),
+                        Coordinate.of(upperCorner.getX(), upperCorner.getY())) :
+                Envelope.of(
+                        Coordinate.of(lowerCorner.getX(), lowerCorner.getY(), lowerCorner.getZ()),
+                        Coordinate.of(upperCorner.getX(), upperCorner.getY(), upperCorner.getZ()));
+
+        return envelope
+                .setSRID(srid)
+                .setSrsName(srsName);
+    }
+
     public Coordinate getCenter() {
         Coordinate center = Coordinate.of(
                 (lowerCorner.getX() + upperCorner.getX()) / 2,
@@ -155,32 +169,14 @@ public class Envelope extends Child implements SRSReference {
     }
 
     public Envelope include(Coordinate coordinate) {
-        if (coordinate.getX() < lowerCorner.getX()) {
-            lowerCorner.setX(coordinate.getX());
-        }
-
-        if (coordinate.getY() < lowerCorner.getY()) {
-            lowerCorner.setY(coordinate.getY());
-        }
-
-        if (coordinate.getX() > upperCorner.getX()) {
-            upperCorner.setX(coordinate.getX());
-        }
-
-        if (coordinate.getY() > upperCorner.getY()) {
-            upperCorner.setY(coordinate.getY());
-        }
-
-        if (coordinate.getDimension() == 3 && getDimension() == 3) {
-            if (coordinate.getZ() < lowerCorner.getZ()) {
-                lowerCorner.setZ(coordinate.getZ());
-            }
-
-            if (coordinate.getZ() > upperCorner.getZ()) {
-                upperCorner.setZ(coordinate.getZ());
-            }
-        }
-
+        // the corners are not part of a geometry, so they are updated without invalidating geometry envelopes
+        boolean includeZ = coordinate.getDimension() == 3 && getDimension() == 3;
+        lowerCorner.update(Math.min(lowerCorner.getX(), coordinate.getX()),
+                Math.min(lowerCorner.getY(), coordinate.getY()),
+                includeZ ? Math.min(lowerCorner.getZ(), coordinate.getZ()) : lowerCorner.getZ());
+        upperCorner.update(Math.max(upperCorner.getX(), coordinate.getX()),
+                Math.max(upperCorner.getY(), coordinate.getY()),
+                includeZ ? Math.max(upperCorner.getZ(), coordinate.getZ()) : upperCorner.getZ());
         return this;
     }
 
@@ -190,6 +186,7 @@ public class Envelope extends Child implements SRSReference {
     }
 
     public Envelope include(Geometry<?> geometry) {
-        return include(geometry.getEnvelope());
+        Envelope envelope = geometry.getEnvelope();
+        return envelope != null ? include(envelope) : this;
     }
 }
@@ -25,15 +25,18 @@ import org.citydb.model.common.Child;
 import org.citydb.model.common.Describable;
 import org.citydb.model.common.Referencable;
 import org.citydb.model.common.Visitable;
-import org.citydb.model.walker.ModelWalker;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class Geometry<T extends Geometry<?>> extends Child implements Referencable, Visitable, SRSReference, Describable<GeometryDescriptor> {
     private String objectId;
     private Integer srid;
     private String srsName;
     private GeometryDescriptor descriptor;
+    private transient volatile Extent extent;
+
+    private static final AtomicLong coordinateChanges = new AtomicLong();
 
     public abstract int getVertexDimension();
     public abstract GeometryType getGeometryType();
@@ -111,63 +114,132 @@ public abstract class Geometry<T extends Geometry<?>> extends Child implements R
     }
 
     public Envelope getEnvelope() {
-        double[] coordinates = new double[]{
-                Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE,
-                -Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        Extent extent = getExtent();
+        if (extent.isEmpty()) {
+            return null;
+        }
 
-        accept(new ModelWalker() {
-            @Override
-            public void visit(Point point) {
-                update(point.getCoordinate());
-            }
+        double[] values = extent.values;
+        Envelope envelope = extent.dimension == 2 ?
+                Envelope.of(
+                        Coordinate.of(values[0], values[1]),
+                        Coordinate.of(values[3], values[4])) :
+                Envelope.of(
+                        Coordinate.of(values[0], values[1], values[2]),
+                        Coordinate.of(values[3], values[4], values[5]));
 
-            @Override
-            public void visit(LineString lineString) {
-                lineString.getPoints().forEach(this::update);
-            }
+        return envelope
+                .setSRID(srid)
+                .setSrsName(srsName);
+    }
 
-            @Override
-            public void visit(Polygon polygon) {
-                polygon.getExteriorRing().getPoints().forEach(this::update);
-            }
+    public T invalidateEnvelope() {
+        Geometry<?> geometry = this;
+        do {
+            geometry.extent = null;
+        } while ((geometry = geometry.getParent(Geometry.class)) != null);
 
-            private void update(Coordinate coordinate) {
-                if (coordinate.getX() < coordinates[0]) {
-                    coordinates[0] = coordinate.getX();
-                }
+        return self();
+    }
 
-                if (coordinate.getY() < coordinates[1]) {
-                    coordinates[1] = coordinate.getY();
-                }
+    @Override
+    protected void childrenChanged() {
+        invalidateEnvelope();
+    }
 
-                if (coordinate.getZ() < coordinates[2]) {
-                    coordinates[2] = coordinate.getZ();
-                }
+    static void coordinatesChanged() {
+        coordinateChanges.incrementAndGet();
+    }
 
-                if (coordinate.getX() > coordinates[3]) {
-                    coordinates[3] = coordinate.getX();
-                }
+    Extent getExtent() {
+        // coordinates do not know their geometry, so coordinate edits invalidate all cached extents
+        long stamp = coordinateChanges.get();
+        Extent extent = this.extent;
+        if (extent == null || extent.stamp != stamp) {
+            extent = computeExtent(stamp);
+            this.extent = extent;
+        }
 
-                if (coordinate.getY() > coordinates[4]) {
-                    coordinates[4] = coordinate.getY();
-                }
+        return extent;
+    }
 
-                if (coordinate.getZ() > coordinates[5]) {
-                    coordinates[5] = coordinate.getZ();
-                }
+    private Extent computeExtent(long stamp) {
+        Extent extent = new Extent(stamp);
+        switch (getGeometryType()) {
+            case POINT:
+                extent.update(((Point) this).getCoordinate());
+                break;
+            case LINE_STRING:
+                ((LineString) this).getPoints().forEach(extent::update);
+                break;
+            case POLYGON:
+                ((Polygon) this).getExteriorRing().getPoints().forEach(extent::update);
+                break;
+            case MULTI_POINT:
+                ((MultiPoint) this).getPoints().forEach(point -> extent.update(point.getExtent()));
+                break;
+            case MULTI_LINE_STRING:
+                ((MultiLineString) this).getLineStrings().forEach(lineString -> extent.update(lineString.getExtent()));
+                break;
+            case COMPOSITE_SURFACE:
+            case TRIANGULATED_SURFACE:
+            case MULTI_SURFACE:
+                ((SurfaceCollection<?>) this).getPolygons().forEach(polygon -> extent.update(polygon.getExtent()));
+                break;
+            case SOLID:
+                extent.update(((Solid) this).getShell().getExtent());
+                break;
+            case COMPOSITE_SOLID:
+            case MULTI_SOLID:
+                ((SolidCollection<?>) this).getSolids().forEach(solid -> extent.update(solid.getExtent()));
+                break;
+        }
+
+        return extent;
+    }
+
+    private static class Extent {
+        private final double[] values = new double[]{
+                Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE,
+                -Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        private final long stamp;
+        private int dimension = 3;
+        private boolean empty = true;
+
+        private Extent(long stamp) {
+            this.stamp = stamp;
+        }
+
+        private boolean isEmpty() {
+            return empty;
+        }
+
+        private void update(Coordinate coordinate) {
+            update(coordinate.getX(), coordinate.getY(), coordinate.getZ(),
+                    coordinate.getX(), coordinate.getY(), coordinate.getZ());
+            if (coordinate.getDimension() == 2) {
+                dimension = 2;
             }
-        });
+        }
 
-        Envelope envelope = getVertexDimension() == 2 ?
-                Envelope.of(
-                        Coordinate.of(coordinates[0], coordinates[1]),
-                        Coordinate.of(coordinates[3], coordinates[4])) :
-                Envelope.of(
-                        Coordinate.of(coordinates[0], coordinates[1], coordinates[2]),
-                        Coordinate.of(coordinates[3], coordinates[4], coordinates[5]));
+        private void update(Extent other) {
+            if (!other.empty) {
+                double[] v = other.values;
+                update(v[0], v[1], v[2], v[3], v[4], v[5]);
+                if (other.dimension == 2) {
+                    dimension = 2;
+                }
+            }
+        }
 
-        return envelope
-                .setSRID(srid)
-                .setSrsName(srsName);
+        private void update(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+            values[0] = Math.min(values[0], minX);
+            values[1] = Math.min(values[1], minY);
+            values[2] = Math.min(values[2], minZ);
+            values[3] = Math.max(values[3], maxX);
+            values[4] = Math.max(values[4], maxY);
+            values[5] = Math.max(values[5], maxZ);
+            empty = false;
+        }
     }
 }
@@ -117,7 +117,8 @@ public class ImplicitGeometry extends Child implements Referencable, Visitable {
     }
 
     public Envelope getEnvelope(List<Double> transformationMatrix, Point referencePoint) {
-        if (geometry != null
+        Envelope template = geometry != null ? geometry.getEnvelope() : null;
+        if (template != null
                 && transformationMatrix != null
                 && transformationMatrix.size() > 15
                 && referencePoint != null) {
@@ -132,7 +133,6 @@ public class ImplicitGeometry extends Child implements Referencable, Visitable {
             matrix[1][3] += referencePoint.getCoordinate().getY();
             matrix[2][3] += referencePoint.getCoordinate().getZ();
 
-            Envelope template = geometry.getEnvelope();
             return Envelope.of(
                             multiply(matrix, template.getLowerCorner()),
                             multiply(matrix, template.getUpperCorner()))
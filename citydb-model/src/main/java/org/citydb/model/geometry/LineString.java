@@ -32,12 +32,12 @@ public class LineString extends Geometry<LineString> {
     private final List<Coordinate> points;
 
     private LineString(List<Coordinate> points) {
-        this.points = Objects.requireNonNull(points, "The point list must not be null.");
+        this.points = new CoordinateList(Objects.requireNonNull(points, "The point list must not be null."));
     }
 
     private LineString(Coordinate[] points) {
         Objects.requireNonNull(points, "The point array must not be null.");
-        this.points = new ArrayList<>(Arrays.asList(points));
+        this.points = new CoordinateList(new ArrayList<>(Arrays.asList(points)));
     }
 
     public static LineString of(List<Coordinate> points) {
@@ -68,6 +68,7 @@ public class LineString extends Geometry<LineString> {
     @Override
     public LineString force2D() {
         points.forEach(Coordinate::force2D);
+        invalidateEnvelope();
         return this;
     }
 
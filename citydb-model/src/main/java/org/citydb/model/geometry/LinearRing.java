@@ -31,12 +31,12 @@ public class LinearRing extends Child implements Referencable {
     private final List<Coordinate> points;
 
     private LinearRing(List<Coordinate> points) {
-        this.points = Objects.requireNonNull(points, "The point list must not be null.");
+        this.points = new CoordinateList(Objects.requireNonNull(points, "The point list must not be null."));
     }
 
     private LinearRing(Coordinate[] points) {
         Objects.requireNonNull(points, "The point array must not be null.");
-        this.points = new ArrayList<>(Arrays.asList(points));
+        this.points = new CoordinateList(new ArrayList<>(Arrays.asList(points)));
     }
 
     public static LinearRing of(List<Coordinate> points) {
@@ -48,6 +48,7 @@ public class Point extends Geometry<Point> {
     @Override
     public Point force2D() {
         coordinate.force2D();
+        invalidateEnvelope();
         return this;
     }
 
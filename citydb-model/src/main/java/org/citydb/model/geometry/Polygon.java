@@ -69,14 +69,21 @@ public class Polygon extends Surface<Polygon> {
         Objects.requireNonNull(envelope, "The envelope must not be null.");
         Coordinate lowerLeft = envelope.getLowerCorner();
         Coordinate upperRight = envelope.getUpperCorner();
-        Coordinate lowerRight = Coordinate.of(upperRight.getX(), lowerLeft.getY());
-        Coordinate upperLeft = Coordinate.of(lowerLeft.getX(), upperRight.getY());
         if (envelope.getDimension() == 3) {
-            lowerRight.setZ(lowerLeft.getZ());
-            upperLeft.setZ(upperRight.getZ());
+            return Polygon.of(LinearRing.of(Arrays.asList(
+                    Coordinate.of(lowerLeft.getX(), lowerLeft.getY(), lowerLeft.getZ()),
+                    Coordinate.of(upperRight.getX(), lowerLeft.getY(), lowerLeft.getZ()),
+                    Coordinate.of(upperRight.getX(), upperRight.getY(), upperRight.getZ()),
+                    Coordinate.of(lowerLeft.getX(), upperRight.getY(), upperRight.getZ()),
+                    Coordinate.of(lowerLeft.getX(), lowerLeft.getY(), lowerLeft.getZ()))));
+        } else {
+            return Polygon.of(LinearRing.of(Arrays.asList(
+                    Coordinate.of(lowerLeft.getX(), lowerLeft.getY()),
+                    Coordinate.of(upperRight.getX(), lowerLeft.getY()),
+                    Coordinate.of(upperRight.getX(), upperRight.getY()),
+                    Coordinate.of(lowerLeft.getX(), upperRight.getY()),
+                    Coordinate.of(lowerLeft.getX(), lowerLeft.getY()))));
         }
-
-        return Polygon.of(LinearRing.of(Arrays.asList(lowerLeft, lowerRight, upperRight, upperLeft, lowerLeft)));
     }
 
     public static Polygon empty() {
@@ -132,6 +139,7 @@ public class Polygon extends Surface<Polygon> {
             interiorRings.forEach(LinearRing::force2D);
         }
 
+        invalidateEnvelope();
         return this;
     }
 
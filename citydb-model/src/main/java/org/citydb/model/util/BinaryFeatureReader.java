@@ -0,0 +1,678 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.model.util;
+
+import org.citydb.model.address.Address;
+import org.citydb.model.appearance.*;
+import org.citydb.model.common.*;
+import org.citydb.model.feature.Feature;
+import org.citydb.model.geometry.*;
+import org.citydb.model.property.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Consumer;
+
+public class BinaryFeatureReader implements AutoCloseable {
+    private final BinaryInput input;
+    private final Map<Integer, Object> targets = new HashMap<>();
+    private final List<Runnable> resolvers = new ArrayList<>();
+    private Feature next;
+    private boolean endOfStream;
+
+    private BinaryFeatureReader(InputStream stream) throws IOException {
+        input = new BinaryInput(stream);
+        for (byte b : BinaryFormat.MAGIC) {
+            if (input.isEndOfStream() || input.readByte() != b) {
+                throw new IOException("The input is not a binary feature stream.");
+            }
+        }
+
+        int version = input.readVarInt();
+        if (version > BinaryFormat.VERSION) {
+            throw new IOException("Unsupported binary feature format version " + version + ".");
+        }
+    }
+
+    public static BinaryFeatureReader of(InputStream stream) throws IOException {
+        return new BinaryFeatureReader(stream);
+    }
+
+    public static Feature fromBytes(byte[] bytes) throws IOException {
+        try (BinaryFeatureReader reader = new BinaryFeatureReader(new ByteArrayInputStream(bytes))) {
+            if (reader.hasNext()) {
+                return reader.next();
+            } else {
+                throw new IOException("The binary feature stream is empty.");
+            }
+        }
+    }
+
+    public static Geometry<?> geometryFromBytes(byte[] bytes) throws IOException {
+        try (BinaryFeatureReader reader = new BinaryFeatureReader(new ByteArrayInputStream(bytes))) {
+            if (!reader.input.isEndOfStream() && reader.input.readByte() == BinaryFormat.GEOMETRY) {
+                return reader.readGeometry(Geometry.class);
+            } else {
+                throw new IOException("The binary stream does not contain a geometry.");
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to read geometry from binary stream.", e);
+        }
+    }
+
+    public boolean hasNext() throws IOException {
+        if (next == null && !endOfStream) {
+            int tag = !input.isEndOfStream() ? input.readByte() : BinaryFormat.END_OF_STREAM;
+            if (tag == BinaryFormat.FEATURE) {
+                next = readTopLevelFeature();
+            } else if (tag == BinaryFormat.END_OF_STREAM) {
+                endOfStream = true;
+            } else {
+                throw new IOException("Invalid record type " + tag + " in binary feature stream.");
+            }
+        }
+
+        return next != null;
+    }
+
+    public Feature next() throws IOException {
+        if (hasNext()) {
+            Feature feature = next;
+            next = null;
+            return feature;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private Feature readTopLevelFeature() throws IOException {
+        try {
+            Feature feature = readFeature();
+            resolvers.forEach(Runnable::run);
+            return feature;
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to read feature from binary feature stream.", e);
+        } finally {
+            targets.clear();
+            resolvers.clear();
+        }
+    }
+
+    private Feature readFeature() throws IOException {
+        Feature feature = Feature.of(readName());
+        readModelObject(feature);
+        feature.setEnvelope(readEnvelope())
+                .setLastModificationDate(readTimestamp())
+                .setUpdatingPerson(input.readString())
+                .setReasonForUpdate(input.readString())
+                .setLineage(input.readString());
+
+        int count = input.readVarInt();
+        for (int i = 0; i < count; i++) {
+            feature.addProperty(readProperty());
+        }
+
+        return feature;
+    }
+
+    private void readModelObject(ModelObject<?> object) throws IOException {
+        object.setObjectId(input.readString())
+                .setIdentifier(input.readString())
+                .setIdentifierCodeSpace(input.readSymbol())
+                .setCreationDate(readTimestamp())
+                .setTerminationDate(readTimestamp())
+                .setValidFrom(readTimestamp())
+                .setValidTo(readTimestamp());
+    }
+
+    private Property<?> readProperty() throws IOException {
+        int type = input.readByte();
+        Name name = readName();
+        switch (type) {
+            case BinaryFormat.ATTRIBUTE:
+                return readAttribute(name);
+            case BinaryFormat.GEOMETRY_PROPERTY:
+                String lod = input.readSymbol();
+                return GeometryProperty.of(name, readGeometry(Geometry.class)).setLod(lod);
+            case BinaryFormat.IMPLICIT_GEOMETRY_PROPERTY:
+                return readImplicitGeometryProperty(name);
+            case BinaryFormat.FEATURE_PROPERTY:
+                return isInline() ?
+                        FeatureProperty.of(name, readFeature()) :
+                        FeatureProperty.of(name, readReference());
+            case BinaryFormat.APPEARANCE_PROPERTY:
+                return AppearanceProperty.of(name, readAppearance());
+            case BinaryFormat.ADDRESS_PROPERTY:
+                return isInline() ?
+                        AddressProperty.of(name, readAddress()) :
+                        AddressProperty.of(name, readReference());
+            default:
+                throw new IOException("Invalid property type " + type + " in binary feature stream.");
+        }
+    }
+
+    private Attribute readAttribute(Name name) throws IOException {
+        int flags = input.readVarInt();
+        Attribute attribute = Attribute.of(name, BinaryFormat.isSet(flags, 1) ? readName() : null);
+
+        if (BinaryFormat.isSet(flags, 1 << 1)) {
+            attribute.setIntValue(input.readSignedVarLong());
+        }
+
+        if (BinaryFormat.isSet(flags, 1 << 2)) {
+            attribute.setDoubleValue(input.readDouble());
+        }
+
+        if (BinaryFormat.isSet(flags, 1 << 3)) {
+            attribute.setStringValue(input.readString());
+        }
+
+        if (BinaryFormat.isSet(flags, 1 << 4)) {
+            attribute.setArrayValue(readArrayValue());
+        }
+
+        if (BinaryFormat.isSet(flags, 1 << 5)) {
+            attribute.setTimeStamp(readTimestamp());
+        }
+
+        if (BinaryFormat.isSet(flags, 1 << 6)) {
+            attribute.setURI(input.readString());
+        }
+
+        if (BinaryFormat.isSet(flags, 1 << 7)) {
+            attribute.setCodeSpace(input.readSymbol());
+        }
+
+        if (BinaryFormat.isSet(flags, 1 << 8)) {
+            attribute.setUom(input.readSymbol());
+        }
+
+        if (BinaryFormat.isSet(flags, 1 << 9)) {
+            attribute.setGenericContent(input.readString());
+        }
+
+        if (BinaryFormat.isSet(flags, 1 << 10)) {
+            attribute.setGenericContentMimeType(input.readSymbol());
+        }
+
+        if (BinaryFormat.isSet(flags, 1 << 11)) {
+            int count = input.readVarInt();
+            for (int i = 0; i < count; i++) {
+                attribute.addProperty(readProperty());
+            }
+        }
+
+        return attribute;
+    }
+
+    private ArrayValue readArrayValue() throws IOException {
+        int count = input.readVarInt();
+        ArrayValue arrayValue = ArrayValue.newInstance();
+        for (int i = 0; i < count; i++) {
+            int type = input.readByte();
+            switch (type) {
+                case BinaryFormat.BOOLEAN_FALSE:
+                case BinaryFormat.BOOLEAN_TRUE:
+                    arrayValue.add(Value.of(type == BinaryFormat.BOOLEAN_TRUE));
+                    break;
+                case BinaryFormat.INT:
+                    arrayValue.add(Value.of((int) input.readSignedVarLong()));
+                    break;
+                case BinaryFormat.LONG:
+                    arrayValue.add(Value.of(input.readSignedVarLong()));
+                    break;
+                case BinaryFormat.DOUBLE:
+                    arrayValue.add(Value.of(input.readDouble()));
+                    break;
+                case BinaryFormat.STRING:
+                    arrayValue.add(Value.of(input.readString()));
+                    break;
+                default:
+                    throw new IOException("Invalid value type " + type + " in binary feature stream.");
+            }
+        }
+
+        return arrayValue;
+    }
+
+    private ImplicitGeometryProperty readImplicitGeometryProperty(Name name) throws IOException {
+        String lod = input.readSymbol();
+        List<Double> transformationMatrix = readDoubles();
+        Point referencePoint = readNullableGeometry(Point.class);
+        ImplicitGeometryProperty property = isInline() ?
+                ImplicitGeometryProperty.of(name, readImplicitGeometry()) :
+                ImplicitGeometryProperty.of(name, readReference());
+
+        return property.setLod(lod)
+                .setTransformationMatrix(transformationMatrix)
+                .setReferencePoint(referencePoint);
+    }
+
+    private ImplicitGeometry readImplicitGeometry() throws IOException {
+        ImplicitGeometry implicitGeometry = isInline() ?
+                ImplicitGeometry.of(readGeometry(Geometry.class)) :
+                ImplicitGeometry.of(readExternalFile());
+
+        implicitGeometry.setObjectId(input.readString());
+        int count = input.readVarInt();
+        for (int i = 0; i < count; i++) {
+            Property<?> property = readProperty();
+            if (property instanceof AppearanceProperty) {
+                implicitGeometry.addAppearance((AppearanceProperty) property);
+            } else {
+                throw new IOException("Invalid appearance property of implicit geometry in binary feature stream.");
+            }
+        }
+
+        return implicitGeometry;
+    }
+
+    private Address readAddress() throws IOException {
+        int flags = input.readVarInt();
+        String[] values = new String[10];
+        for (int i = 0; i < values.length; i++) {
+            if (BinaryFormat.isSet(flags, 1 << i)) {
+                values[i] = input.readString();
+            }
+        }
+
+        return Address.newInstance()
+                .setObjectId(values[0])
+                .setIdentifier(values[1])
+                .setStreet(values[2])
+                .setHouseNumber(values[3])
+                .setPoBox(values[4])
+                .setZipCode(values[5])
+                .setCity(values[6])
+                .setState(values[7])
+                .setCountry(values[8])
+                .setGenericContent(values[9])
+                .setIdentifierCodeSpace(input.readSymbol())
+                .setGenericContentMimeType(input.readSymbol())
+                .setFreeText(input.readBoolean() ? readArrayValue() : null)
+                .setMultiPoint(readNullableGeometry(MultiPoint.class));
+    }
+
+    private Appearance readAppearance() throws IOException {
+        Appearance appearance = Appearance.newInstance();
+        readModelObject(appearance);
+        appearance.setTheme(input.readSymbol());
+
+        int count = input.readVarInt();
+        for (int i = 0; i < count; i++) {
+            appearance.getSurfaceData().add(isInline() ?
+                    SurfaceDataProperty.of(readSurfaceData()) :
+                    SurfaceDataProperty.of(readReference()));
+        }
+
+        return appearance;
+    }
+
+    private SurfaceData<?> readSurfaceData() throws IOException {
+        int type = input.readByte();
+        SurfaceData<?> surfaceData;
+        switch (type) {
+            case BinaryFormat.X3D_MATERIAL:
+                surfaceData = X3DMaterial.newInstance();
+                break;
+            case BinaryFormat.PARAMETERIZED_TEXTURE:
+                surfaceData = ParameterizedTexture.newInstance();
+                break;
+            case BinaryFormat.GEOREFERENCED_TEXTURE:
+                surfaceData = GeoreferencedTexture.newInstance();
+                break;
+            default:
+                throw new IOException("Invalid surface data type " + type + " in binary feature stream.");
+        }
+
+        surfaceData.setObjectId(input.readString());
+        surfaceData.setIdentifier(input.readString());
+        surfaceData.setIdentifierCodeSpace(input.readSymbol());
+        surfaceData.setIsFront(input.readNullableBoolean());
+
+        if (surfaceData instanceof X3DMaterial) {
+            X3DMaterial material = ((X3DMaterial) surfaceData)
+                    .setShininess(readNullableDouble())
+                    .setTransparency(readNullableDouble())
+                    .setAmbientIntensity(readNullableDouble())
+                    .setDiffuseColor(readColor())
+                    .setEmissiveColor(readColor())
+                    .setSpecularColor(readColor())
+                    .setIsSmooth(input.readNullableBoolean());
+            readTargets(material::addTarget);
+        } else {
+            Texture<?> texture = (Texture<?>) surfaceData;
+            int textureImage = input.readByte();
+            if (textureImage == BinaryFormat.INLINE) {
+                texture.setTextureImageProperty(TextureImageProperty.of(readExternalFile()));
+            } else if (textureImage == BinaryFormat.BY_REFERENCE) {
+                texture.setTextureImageProperty(TextureImageProperty.of(readReference()));
+            }
+
+            String textureType = input.readSymbol();
+            if (textureType != null) {
+                texture.setTextureType(TextureType.fromDatabaseValue(textureType));
+            }
+
+            String wrapMode = input.readSymbol();
+            if (wrapMode != null) {
+                texture.setWrapMode(WrapMode.fromDatabaseValue(wrapMode));
+            }
+
+            texture.setBorderColor(readColor());
+
+            if (texture instanceof ParameterizedTexture) {
+                ParameterizedTexture parameterizedTexture = (ParameterizedTexture) texture;
+                int count = input.readVarInt();
+                for (int i = 0; i < count; i++) {
+                    int target = input.readVarInt();
+                    List<TextureCoordinate> textureCoordinates = readTextureCoordinates();
+                    resolvers.add(() -> {
+                        if (targets.get(target) instanceof LinearRing) {
+                            parameterizedTexture.addTextureCoordinates((LinearRing) targets.get(target),
+                                    textureCoordinates);
+                        }
+                    });
+                }
+
+                count = input.readVarInt();
+                for (int i = 0; i < count; i++) {
+                    int target = input.readVarInt();
+                    List<Double> transformationMatrix = readDoubles();
+                    resolvers.add(() -> {
+                        if (targets.get(target) instanceof Surface) {
+                            parameterizedTexture.addWorldToTextureMapping((Surface<?>) targets.get(target),
+                                    transformationMatrix);
+                        }
+                    });
+                }
+            } else {
+                GeoreferencedTexture georeferencedTexture = ((GeoreferencedTexture) texture)
+                        .setReferencePoint(readNullableGeometry(Point.class))
+                        .setOrientation(readDoubles());
+                readTargets(georeferencedTexture::addTarget);
+            }
+        }
+
+        return surfaceData;
+    }
+
+    private void readTargets(Consumer<Surface<?>> consumer) throws IOException {
+        int count = input.readVarInt();
+        for (int i = 0; i < count; i++) {
+            int target = input.readVarInt();
+            resolvers.add(() -> {
+                if (targets.get(target) instanceof Surface) {
+                    consumer.accept((Surface<?>) targets.get(target));
+                }
+            });
+        }
+    }
+
+    private List<TextureCoordinate> readTextureCoordinates() throws IOException {
+        int count = input.readVarInt();
+        if (count > 0) {
+            List<TextureCoordinate> textureCoordinates = new ArrayList<>(count - 1);
+            for (int i = 1; i < count; i++) {
+                textureCoordinates.add(TextureCoordinate.of(input.readDouble(), input.readDouble()));
+            }
+
+            return textureCoordinates;
+        } else {
+            return null;
+        }
+    }
+
+    private <T extends Geometry<?>> T readNullableGeometry(Class<T> type) throws IOException {
+        int geometryType = input.readByte();
+        return geometryType != 0 ? readGeometry(geometryType, type) : null;
+    }
+
+    private <T extends Geometry<?>> T readGeometry(Class<T> type) throws IOException {
+        return readGeometry(input.readByte(), type);
+    }
+
+    private <T extends Geometry<?>> T readGeometry(int value, Class<T> type) throws IOException {
+        GeometryType geometryType = GeometryType.fromDatabaseValue(value);
+        if (geometryType == null) {
+            throw new IOException("Invalid geometry type " + value + " in binary feature stream.");
+        }
+
+        int flags = input.readByte();
+        Integer target = BinaryFormat.isSet(flags, BinaryFormat.TARGET) ? input.readVarInt() : null;
+        String objectId = BinaryFormat.isSet(flags, BinaryFormat.OBJECT_ID) ? input.readString() : null;
+        Integer srid = BinaryFormat.isSet(flags, BinaryFormat.SRID) ? (int) input.readSignedVarLong() : null;
+        String srsName = BinaryFormat.isSet(flags, BinaryFormat.SRS_NAME) ? input.readSymbol() : null;
+
+        Geometry<?> geometry;
+        switch (geometryType) {
+            case POINT:
+                List<Coordinate> coordinates = readCoordinates();
+                if (coordinates.size() != 1) {
+                    throw new IOException("Invalid point geometry in binary feature stream.");
+                }
+
+                geometry = Point.of(coordinates.get(0));
+                break;
+            case MULTI_POINT:
+                geometry = MultiPoint.of(readGeometries(Point.class));
+                break;
+            case LINE_STRING:
+                geometry = LineString.of(readCoordinates());
+                break;
+            case MULTI_LINE_STRING:
+                geometry = MultiLineString.of(readGeometries(LineString.class));
+                break;
+            case POLYGON:
+                LinearRing exteriorRing = readLinearRing();
+                int count = input.readVarInt();
+                List<LinearRing> interiorRings = count > 0 ? new ArrayList<>(count) : null;
+                for (int i = 0; i < count; i++) {
+                    interiorRings.add(readLinearRing());
+                }
+
+                geometry = Polygon.of(exteriorRing, interiorRings, BinaryFormat.isSet(flags, BinaryFormat.REVERSED));
+                break;
+            case COMPOSITE_SURFACE:
+                geometry = CompositeSurface.of(readGeometries(Polygon.class));
+                break;
+            case TRIANGULATED_SURFACE:
+                geometry = TriangulatedSurface.of(readGeometries(Polygon.class));
+                break;
+            case MULTI_SURFACE:
+                geometry = MultiSurface.of(readGeometries(Polygon.class));
+                break;
+            case SOLID:
+                geometry = Solid.of(readGeometry(CompositeSurface.class));
+                break;
+            case COMPOSITE_SOLID:
+                geometry = CompositeSolid.of(readGeometries(Solid.class));
+                break;
+            case MULTI_SOLID:
+                geometry = MultiSolid.of(readGeometries(Solid.class));
+                break;
+            default:
+                throw new IOException("Unsupported geometry type " + geometryType + " in binary feature stream.");
+        }
+
+        if (!type.isInstance(geometry)) {
+            throw new IOException("Expected a geometry of type " + type.getSimpleName() +
+                    " but found " + geometryType + " in binary feature stream.");
+        }
+
+        geometry.setObjectId(objectId)
+                .setSRID(srid)
+                .setSrsName(srsName);
+
+        if (target != null) {
+            targets.put(target, geometry);
+        }
+
+        return type.cast(geometry);
+    }
+
+    private <T extends Geometry<?>> List<T> readGeometries(Class<T> type) throws IOException {
+        int count = input.readVarInt();
+        List<T> geometries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            geometries.add(readGeometry(type));
+        }
+
+        return geometries;
+    }
+
+    private LinearRing readLinearRing() throws IOException {
+        int flags = input.readByte();
+        Integer target = BinaryFormat.isSet(flags, BinaryFormat.TARGET) ? input.readVarInt() : null;
+        String objectId = BinaryFormat.isSet(flags, BinaryFormat.OBJECT_ID) ? input.readString() : null;
+        LinearRing linearRing = LinearRing.of(readCoordinates()).setObjectId(objectId);
+
+        if (target != null) {
+            targets.put(target, linearRing);
+        }
+
+        return linearRing;
+    }
+
+    private List<Coordinate> readCoordinates() throws IOException {
+        int count = input.readVarInt();
+        List<Coordinate> coordinates = new ArrayList<>(count);
+        if (count > 0) {
+            int dimension = input.readByte();
+            for (int i = 0; i < count; i++) {
+                int coordinateDimension = dimension == BinaryFormat.MIXED_DIMENSION ? input.readByte() : dimension;
+                if (coordinateDimension == 2) {
+                    coordinates.add(Coordinate.of(input.readDouble(), input.readDouble()));
+                } else if (coordinateDimension == 3) {
+                    coordinates.add(Coordinate.of(input.readDouble(), input.readDouble(), input.readDouble()));
+                } else {
+                    throw new IOException("Invalid coordinate dimension " + coordinateDimension +
+                            " in binary feature stream.");
+                }
+            }
+        }
+
+        return coordinates;
+    }
+
+    private Envelope readEnvelope() throws IOException {
+        if (input.readBoolean()) {
+            int flags = input.readByte();
+            Integer srid = BinaryFormat.isSet(flags, BinaryFormat.SRID) ? (int) input.readSignedVarLong() : null;
+            String srsName = BinaryFormat.isSet(flags, BinaryFormat.SRS_NAME) ? input.readSymbol() : null;
+            List<Coordinate> corners = readCoordinates();
+            if (corners.size() != 2) {
+                throw new IOException("Invalid envelope in binary feature stream.");
+            }
+
+            return Envelope.of(corners.get(0), corners.get(1))
+                    .setSRID(srid)
+                    .setSrsName(srsName);
+        } else {
+            return null;
+        }
+    }
+
+    private ExternalFile readExternalFile() throws IOException {
+        boolean isPath = input.readByte() == BinaryFormat.INLINE;
+        String location = input.readString();
+        ExternalFile externalFile = isPath ? ExternalFile.of(Path.of(location)) : ExternalFile.of(location);
+
+        String objectId = input.readString();
+        if (objectId != null) {
+            externalFile.setObjectId(objectId);
+        }
+
+        return externalFile.setMimeType(input.readSymbol())
+                .setMimeTypeCodeSpace(input.readSymbol());
+    }
+
+    private Reference readReference() throws IOException {
+        String target = input.readString();
+        ReferenceType type = ReferenceType.fromDatabaseValue(input.readByte());
+        if (target == null || type == null) {
+            throw new IOException("Invalid reference in binary feature stream.");
+        }
+
+        return Reference.of(target, type);
+    }
+
+    private boolean isInline() throws IOException {
+        return input.readByte() == BinaryFormat.INLINE;
+    }
+
+    private Name readName() throws IOException {
+        String namespace = input.readSymbol();
+        return Name.of(input.readSymbol(), namespace);
+    }
+
+    private OffsetDateTime readTimestamp() throws IOException {
+        if (input.readBoolean()) {
+            long epochSecond = input.readSignedVarLong();
+            int nano = input.readVarInt();
+            return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano),
+                    ZoneOffset.ofTotalSeconds((int) input.readSignedVarLong()));
+        } else {
+            return null;
+        }
+    }
+
+    private Double readNullableDouble() throws IOException {
+        return input.readBoolean() ? input.readDouble() : null;
+    }
+
+    private List<Double> readDoubles() throws IOException {
+        int count = input.readVarInt();
+        if (count > 0) {
+            boolean hasNulls = input.readBoolean();
+            List<Double> values = new ArrayList<>(count - 1);
+            for (int i = 1; i < count; i++) {
+                values.add(hasNulls ? readNullableDouble() : input.readDouble());
+            }
+
+            return values;
+        } else {
+            return null;
+        }
+    }
+
+    private Color readColor() throws IOException {
+        return input.readBoolean() ?
+                Color.of(input.readDouble(), input.readDouble(), input.readDouble(), input.readDouble()) :
+                null;
+    }
+}
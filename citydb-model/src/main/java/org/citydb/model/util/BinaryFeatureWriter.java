@@ -0,0 +1,776 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.model.util;
+
+import org.citydb.model.address.Address;
+import org.citydb.model.appearance.*;
+import org.citydb.model.common.ExternalFile;
+import org.citydb.model.common.ModelObject;
+import org.citydb.model.common.Name;
+import org.citydb.model.common.Reference;
+import org.citydb.model.feature.Feature;
+import org.citydb.model.geometry.*;
+import org.citydb.model.property.*;
+import org.citydb.model.walker.ModelWalker;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+public class BinaryFeatureWriter implements AutoCloseable {
+    private final BinaryOutput output;
+    private final Map<Object, Integer> targets = new IdentityHashMap<>();
+    private final TargetCollector targetCollector = new TargetCollector();
+    private final boolean contentOnly;
+
+    private BinaryFeatureWriter(OutputStream stream, boolean contentOnly) throws IOException {
+        this.contentOnly = contentOnly;
+        output = new BinaryOutput(stream);
+        output.writeBytes(BinaryFormat.MAGIC);
+        output.writeVarInt(BinaryFormat.VERSION);
+    }
+
+    public static BinaryFeatureWriter of(OutputStream stream) throws IOException {
+        return new BinaryFeatureWriter(stream, false);
+    }
+
+    static BinaryFeatureWriter ofContent(OutputStream stream) throws IOException {
+        return new BinaryFeatureWriter(stream, true);
+    }
+
+    public static byte[] toBytes(Feature feature) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (BinaryFeatureWriter writer = new BinaryFeatureWriter(stream, false)) {
+            writer.write(feature);
+        }
+
+        return stream.toByteArray();
+    }
+
+    public static byte[] toBytes(Geometry<?> geometry) throws IOException {
+        Objects.requireNonNull(geometry, "The geometry must not be null.");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (BinaryFeatureWriter writer = new BinaryFeatureWriter(stream, false)) {
+            writer.output.writeByte(BinaryFormat.GEOMETRY);
+            writer.writeGeometry(geometry);
+        }
+
+        return stream.toByteArray();
+    }
+
+    public void write(Feature feature) throws IOException {
+        Objects.requireNonNull(feature, "The feature must not be null.");
+        try {
+            feature.accept(targetCollector);
+            if (contentOnly && !targets.isEmpty()) {
+                orderTargets(feature);
+            }
+
+            output.writeByte(BinaryFormat.FEATURE);
+            writeFeature(feature);
+        } finally {
+            targets.clear();
+        }
+    }
+
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            output.writeByte(BinaryFormat.END_OF_STREAM);
+        } finally {
+            output.close();
+        }
+    }
+
+    private void writeFeature(Feature feature) throws IOException {
+        writeName(feature.getFeatureType());
+        writeModelObject(feature);
+        if (!contentOnly) {
+            writeEnvelope(feature.getEnvelope().orElse(null));
+            writeTimestamp(feature.getLastModificationDate().orElse(null));
+            output.writeString(feature.getUpdatingPerson().orElse(null));
+            output.writeString(feature.getReasonForUpdate().orElse(null));
+            output.writeString(feature.getLineage().orElse(null));
+        }
+
+        writeProperties(feature.hasProperties() ? feature.getProperties() : Collections.emptyList());
+    }
+
+    private void writeModelObject(ModelObject<?> object) throws IOException {
+        output.writeString(getObjectId(object.getObjectId().orElse(null)));
+        output.writeString(object.getIdentifier().orElse(null));
+        output.writeSymbol(object.getIdentifierCodeSpace().orElse(null));
+        writeTimestamp(object.getCreationDate().orElse(null));
+        writeTimestamp(object.getTerminationDate().orElse(null));
+        writeTimestamp(object.getValidFrom().orElse(null));
+        writeTimestamp(object.getValidTo().orElse(null));
+    }
+
+    private void writeProperties(List<? extends Property<?>> properties) throws IOException {
+        output.writeVarInt(properties.size());
+        for (Property<?> property : properties) {
+            writeProperty(property);
+        }
+    }
+
+    private void writeProperty(Property<?> property) throws IOException {
+        if (property instanceof Attribute) {
+            output.writeByte(BinaryFormat.ATTRIBUTE);
+            writeName(property.getName());
+            writeAttribute((Attribute) property);
+        } else if (property instanceof GeometryProperty) {
+            GeometryProperty geometryProperty = (GeometryProperty) property;
+            output.writeByte(BinaryFormat.GEOMETRY_PROPERTY);
+            writeName(property.getName());
+            output.writeSymbol(geometryProperty.getLod().orElse(null));
+            writeGeometry(geometryProperty.getObject());
+        } else if (property instanceof ImplicitGeometryProperty) {
+            ImplicitGeometryProperty implicitGeometryProperty = (ImplicitGeometryProperty) property;
+            output.writeByte(BinaryFormat.IMPLICIT_GEOMETRY_PROPERTY);
+            writeName(property.getName());
+            output.writeSymbol(implicitGeometryProperty.getLod().orElse(null));
+            writeDoubles(implicitGeometryProperty.getTransformationMatrix().orElse(null));
+            writeNullableGeometry(implicitGeometryProperty.getReferencePoint().orElse(null));
+            if (implicitGeometryProperty.getObject().isPresent()) {
+                output.writeByte(BinaryFormat.INLINE);
+                writeImplicitGeometry(implicitGeometryProperty.getObject().get());
+            } else {
+                writeReference(implicitGeometryProperty.getReference().orElse(null));
+            }
+        } else if (property instanceof FeatureProperty) {
+            FeatureProperty featureProperty = (FeatureProperty) property;
+            output.writeByte(BinaryFormat.FEATURE_PROPERTY);
+            writeName(property.getName());
+            if (featureProperty.getObject().isPresent()) {
+                output.writeByte(BinaryFormat.INLINE);
+                writeFeature(featureProperty.getObject().get());
+            } else {
+                writeReference(featureProperty.getReference().orElse(null));
+            }
+        } else if (property instanceof AppearanceProperty) {
+            output.writeByte(BinaryFormat.APPEARANCE_PROPERTY);
+            writeName(property.getName());
+            writeAppearance(((AppearanceProperty) property).getObject());
+        } else if (property instanceof AddressProperty) {
+            AddressProperty addressProperty = (AddressProperty) property;
+            output.writeByte(BinaryFormat.ADDRESS_PROPERTY);
+            writeName(property.getName());
+            if (addressProperty.getObject().isPresent()) {
+                output.writeByte(BinaryFormat.INLINE);
+                writeAddress(addressProperty.getObject().get());
+            } else {
+                writeReference(addressProperty.getReference().orElse(null));
+            }
+        } else {
+            throw new IOException("Unsupported property type " + property.getClass().getName() + ".");
+        }
+    }
+
+    private void writeAttribute(Attribute attribute) throws IOException {
+        Name dataType = attribute.getDataType().orElse(null);
+        Long intValue = attribute.getIntValue().orElse(null);
+        Double doubleValue = attribute.getDoubleValue().orElse(null);
+        String stringValue = attribute.getStringValue().orElse(null);
+        ArrayValue arrayValue = attribute.getArrayValue().orElse(null);
+        OffsetDateTime timeStamp = attribute.getTimeStamp().orElse(null);
+        String uri = attribute.getURI().orElse(null);
+        String codeSpace = attribute.getCodeSpace().orElse(null);
+        String uom = attribute.getUom().orElse(null);
+        String genericContent = attribute.getGenericContent().orElse(null);
+        String genericContentMimeType = attribute.getGenericContentMimeType().orElse(null);
+
+        output.writeVarInt(getPresenceFlags(dataType, intValue, doubleValue, stringValue, arrayValue, timeStamp,
+                uri, codeSpace, uom, genericContent, genericContentMimeType,
+                attribute.hasProperties() ? attribute.getProperties() : null));
+
+        if (dataType != null) {
+            writeName(dataType);
+        }
+
+        if (intValue != null) {
+            output.writeSignedVarLong(intValue);
+        }
+
+        if (doubleValue != null) {
+            output.writeDouble(doubleValue);
+        }
+
+        if (stringValue != null) {
+            output.writeString(stringValue);
+        }
+
+        if (arrayValue != null) {
+            writeArrayValue(arrayValue);
+        }
+
+        if (timeStamp != null) {
+            writeTimestamp(timeStamp);
+        }
+
+        if (uri != null) {
+            output.writeString(uri);
+        }
+
+        if (codeSpace != null) {
+            output.writeSymbol(codeSpace);
+        }
+
+        if (uom != null) {
+            output.writeSymbol(uom);
+        }
+
+        if (genericContent != null) {
+            output.writeString(genericContent);
+        }
+
+        if (genericContentMimeType != null) {
+            output.writeSymbol(genericContentMimeType);
+        }
+
+        if (attribute.hasProperties()) {
+            writeProperties(attribute.getProperties().getAll());
+        }
+    }
+
+    private void writeArrayValue(ArrayValue arrayValue) throws IOException {
+        output.writeVarInt(arrayValue.size());
+        for (Value value : arrayValue.getValues()) {
+            Object rawValue = value.rawValue();
+            if (rawValue instanceof Boolean) {
+                output.writeByte((Boolean) rawValue ? BinaryFormat.BOOLEAN_TRUE : BinaryFormat.BOOLEAN_FALSE);
+            } else if (rawValue instanceof Integer) {
+                output.writeByte(BinaryFormat.INT);
+                output.writeSignedVarLong((Integer) rawValue);
+            } else if (rawValue instanceof Long) {
+                output.writeByte(BinaryFormat.LONG);
+                output.writeSignedVarLong((Long) rawValue);
+            } else if (rawValue instanceof Double) {
+                output.writeByte(BinaryFormat.DOUBLE);
+                output.writeDouble((Double) rawValue);
+            } else if (rawValue instanceof String) {
+                output.writeByte(BinaryFormat.STRING);
+                output.writeString((String) rawValue);
+            } else {
+                throw new IOException("Unsupported array value type " + rawValue.getClass().getName() + ".");
+            }
+        }
+    }
+
+    private void writeImplicitGeometry(ImplicitGeometry implicitGeometry) throws IOException {
+        if (implicitGeometry.getGeometry().isPresent()) {
+            output.writeByte(BinaryFormat.INLINE);
+            writeGeometry(implicitGeometry.getGeometry().get());
+        } else if (implicitGeometry.getLibraryObject().isPresent()) {
+            output.writeByte(BinaryFormat.BY_REFERENCE);
+            writeExternalFile(implicitGeometry.getLibraryObject().get());
+        } else {
+            throw new IOException("An implicit geometry must either provide a geometry or a library object.");
+        }
+
+        output.writeString(getObjectId(implicitGeometry.getObjectId().orElse(null)));
+        writeProperties(implicitGeometry.hasAppearances() ?
+                implicitGeometry.getAppearances().getAll() :
+                Collections.emptyList());
+    }
+
+    private void writeAddress(Address address) throws IOException {
+        String[] values = new String[]{
+                getObjectId(address.getObjectId().orElse(null)),
+                address.getIdentifier().orElse(null),
+                address.getStreet().orElse(null),
+                address.getHouseNumber().orElse(null),
+                address.getPoBox().orElse(null),
+                address.getZipCode().orElse(null),
+                address.getCity().orElse(null),
+                address.getState().orElse(null),
+                address.getCountry().orElse(null),
+                address.getGenericContent().orElse(null)};
+        String identifierCodeSpace = address.getIdentifierCodeSpace().orElse(null);
+        String genericContentMimeType = address.getGenericContentMimeType().orElse(null);
+        ArrayValue freeText = address.getFreeText().orElse(null);
+        MultiPoint multiPoint = address.getMultiPoint().orElse(null);
+
+        output.writeVarInt(getPresenceFlags((Object[]) values));
+        for (String value : values) {
+            if (value != null) {
+                output.writeString(value);
+            }
+        }
+
+        output.writeSymbol(identifierCodeSpace);
+        output.writeSymbol(genericContentMimeType);
+        if (freeText != null) {
+            output.writeBoolean(true);
+            writeArrayValue(freeText);
+        } else {
+            output.writeBoolean(false);
+        }
+
+        writeNullableGeometry(multiPoint);
+    }
+
+    private void writeAppearance(Appearance appearance) throws IOException {
+        writeModelObject(appearance);
+        output.writeSymbol(appearance.getTheme().orElse(null));
+        if (appearance.hasSurfaceData()) {
+            output.writeVarInt(appearance.getSurfaceData().size());
+            for (SurfaceDataProperty property : appearance.getSurfaceData()) {
+                if (property.getObject().isPresent()) {
+                    output.writeByte(BinaryFormat.INLINE);
+                    writeSurfaceData(property.getObject().get());
+                } else {
+                    writeReference(property.getReference().orElse(null));
+                }
+            }
+        } else {
+            output.writeVarInt(0);
+        }
+    }
+
+    private void writeSurfaceData(SurfaceData<?> surfaceData) throws IOException {
+        if (surfaceData instanceof X3DMaterial) {
+            output.writeByte(BinaryFormat.X3D_MATERIAL);
+        } else if (surfaceData instanceof ParameterizedTexture) {
+            output.writeByte(BinaryFormat.PARAMETERIZED_TEXTURE);
+        } else if (surfaceData instanceof GeoreferencedTexture) {
+            output.writeByte(BinaryFormat.GEOREFERENCED_TEXTURE);
+        } else {
+            throw new IOException("Unsupported surface data type " + surfaceData.getClass().getName() + ".");
+        }
+
+        output.writeString(getObjectId(surfaceData.getObjectId().orElse(null)));
+        output.writeString(surfaceData.getIdentifier().orElse(null));
+        output.writeSymbol(surfaceData.getIdentifierCodeSpace().orElse(null));
+        output.writeBoolean(surfaceData.isFront().orElse(null));
+
+        if (surfaceData instanceof X3DMaterial) {
+            X3DMaterial material = (X3DMaterial) surfaceData;
+            writeDouble(material.getShininess().orElse(null));
+            writeDouble(material.getTransparency().orElse(null));
+            writeDouble(material.getAmbientIntensity().orElse(null));
+            writeColor(material.getDiffuseColor().orElse(null));
+            writeColor(material.getEmissiveColor().orElse(null));
+            writeColor(material.getSpecularColor().orElse(null));
+            output.writeBoolean(material.getIsSmooth().orElse(null));
+            writeTargets(material.hasTargets() ? material.getTargets() : Collections.emptyList());
+        } else {
+            Texture<?> texture = (Texture<?>) surfaceData;
+            TextureImageProperty textureImage = texture.getTextureImageProperty().orElse(null);
+            if (textureImage == null) {
+                output.writeByte(0);
+            } else if (textureImage.getObject().isPresent()) {
+                output.writeByte(BinaryFormat.INLINE);
+                writeExternalFile(textureImage.getObject().get());
+            } else {
+                writeReference(textureImage.getReference().orElse(null));
+            }
+
+            output.writeSymbol(texture.getTextureType().map(TextureType::getDatabaseValue).orElse(null));
+            output.writeSymbol(texture.getWrapMode().map(WrapMode::getDatabaseValue).orElse(null));
+            writeColor(texture.getBorderColor().orElse(null));
+
+            if (texture instanceof ParameterizedTexture) {
+                ParameterizedTexture parameterizedTexture = (ParameterizedTexture) texture;
+                Map<LinearRing, List<TextureCoordinate>> textureCoordinates =
+                        parameterizedTexture.hasTextureCoordinates() ?
+                                parameterizedTexture.getTextureCoordinates() :
+                                Collections.emptyMap();
+                output.writeVarInt(textureCoordinates.size());
+                for (Map.Entry<LinearRing, List<TextureCoordinate>> entry : getEntries(textureCoordinates)) {
+                    output.writeVarInt(getTarget(entry.getKey()));
+                    writeTextureCoordinates(entry.getValue());
+                }
+
+                Map<Surface<?>, List<Double>> worldToTextureMappings =
+                        parameterizedTexture.hasWorldToTextureMappings() ?
+                                parameterizedTexture.getWorldToTextureMappings() :
+                                Collections.emptyMap();
+                output.writeVarInt(worldToTextureMappings.size());
+                for (Map.Entry<Surface<?>, List<Double>> entry : getEntries(worldToTextureMappings)) {
+                    output.writeVarInt(getTarget(entry.getKey()));
+                    writeDoubles(entry.getValue());
+                }
+            } else {
+                GeoreferencedTexture georeferencedTexture = (GeoreferencedTexture) texture;
+                writeNullableGeometry(georeferencedTexture.getReferencePoint().orElse(null));
+                writeDoubles(georeferencedTexture.getOrientation().orElse(null));
+                writeTargets(georeferencedTexture.hasTargets() ?
+                        georeferencedTexture.getTargets() :
+                        Collections.emptyList());
+            }
+        }
+    }
+
+    private void writeTargets(List<Surface<?>> surfaces) throws IOException {
+        output.writeVarInt(surfaces.size());
+        for (Surface<?> surface : surfaces) {
+            output.writeVarInt(getTarget(surface));
+        }
+    }
+
+    private void writeTextureCoordinates(List<TextureCoordinate> textureCoordinates) throws IOException {
+        if (textureCoordinates != null) {
+            output.writeVarInt(textureCoordinates.size() + 1);
+            for (TextureCoordinate textureCoordinate : textureCoordinates) {
+                output.writeDouble(textureCoordinate.getS());
+                output.writeDouble(textureCoordinate.getT());
+            }
+        } else {
+            output.writeVarInt(0);
+        }
+    }
+
+    private void writeNullableGeometry(Geometry<?> geometry) throws IOException {
+        if (geometry != null) {
+            writeGeometry(geometry);
+        } else {
+            output.writeByte(0);
+        }
+    }
+
+    private void writeGeometry(Geometry<?> geometry) throws IOException {
+        output.writeByte(geometry.getGeometryType().getDatabaseValue());
+
+        int flags = getSRSFlags(geometry);
+        Integer target = targets.get(geometry);
+        String objectId = getObjectId(geometry.getObjectId().orElse(null));
+        if (objectId != null) flags |= BinaryFormat.OBJECT_ID;
+        if (target != null) flags |= BinaryFormat.TARGET;
+        if (geometry instanceof Polygon && ((Polygon) geometry).isReversed()) flags |= BinaryFormat.REVERSED;
+
+        output.writeByte(flags);
+        if (target != null) output.writeVarInt(target);
+        if (objectId != null) output.writeString(objectId);
+        writeSRS(geometry, flags);
+
+        switch (geometry.getGeometryType()) {
+            case POINT:
+                writeCoordinates(Collections.singletonList(((Point) geometry).getCoordinate()));
+                break;
+            case MULTI_POINT:
+                writeGeometries(((MultiPoint) geometry).getPoints());
+                break;
+            case LINE_STRING:
+                writeCoordinates(((LineString) geometry).getPoints());
+                break;
+            case MULTI_LINE_STRING:
+                writeGeometries(((MultiLineString) geometry).getLineStrings());
+                break;
+            case POLYGON:
+                Polygon polygon = (Polygon) geometry;
+                writeLinearRing(polygon.getExteriorRing());
+                if (polygon.hasInteriorRings()) {
+                    output.writeVarInt(polygon.getInteriorRings().size());
+                    for (LinearRing interiorRing : polygon.getInteriorRings()) {
+                        writeLinearRing(interiorRing);
+                    }
+                } else {
+                    output.writeVarInt(0);
+                }
+                break;
+            case COMPOSITE_SURFACE:
+            case TRIANGULATED_SURFACE:
+            case MULTI_SURFACE:
+                writeGeometries(((SurfaceCollection<?>) geometry).getPolygons());
+                break;
+            case SOLID:
+                writeGeometry(((Solid) geometry).getShell());
+                break;
+            case COMPOSITE_SOLID:
+            case MULTI_SOLID:
+                writeGeometries(((SolidCollection<?>) geometry).getSolids());
+                break;
+        }
+    }
+
+    private void writeGeometries(List<? extends Geometry<?>> geometries) throws IOException {
+        output.writeVarInt(geometries.size());
+        for (Geometry<?> geometry : geometries) {
+            writeGeometry(geometry);
+        }
+    }
+
+    private void writeLinearRing(LinearRing linearRing) throws IOException {
+        int flags = 0;
+        Integer target = targets.get(linearRing);
+        String objectId = getObjectId(linearRing.getObjectId().orElse(null));
+        if (objectId != null) flags |= BinaryFormat.OBJECT_ID;
+        if (target != null) flags |= BinaryFormat.TARGET;
+
+        output.writeByte(flags);
+        if (target != null) output.writeVarInt(target);
+        if (objectId != null) output.writeString(objectId);
+        writeCoordinates(linearRing.getPoints());
+    }
+
+    private void writeCoordinates(List<Coordinate> coordinates) throws IOException {
+        output.writeVarInt(coordinates.size());
+        if (!coordinates.isEmpty()) {
+            int dimension = getDimension(coordinates);
+            output.writeByte(dimension);
+            for (Coordinate coordinate : coordinates) {
+                if (dimension == BinaryFormat.MIXED_DIMENSION) {
+                    output.writeByte(coordinate.getDimension());
+                }
+
+                output.writeDouble(coordinate.getX());
+                output.writeDouble(coordinate.getY());
+                if (dimension == 3
+                        || (dimension == BinaryFormat.MIXED_DIMENSION && coordinate.getDimension() == 3)) {
+                    output.writeDouble(coordinate.getZ());
+                }
+            }
+        }
+    }
+
+    private int getDimension(List<Coordinate> coordinates) {
+        int dimension = coordinates.get(0).getDimension();
+        for (Coordinate coordinate : coordinates) {
+            if (coordinate.getDimension() != dimension) {
+                return BinaryFormat.MIXED_DIMENSION;
+            }
+        }
+
+        return dimension;
+    }
+
+    private void writeEnvelope(Envelope envelope) throws IOException {
+        if (envelope != null) {
+            int flags = getSRSFlags(envelope);
+            output.writeBoolean(true);
+            output.writeByte(flags);
+            writeSRS(envelope, flags);
+            writeCoordinates(List.of(envelope.getLowerCorner(), envelope.getUpperCorner()));
+        } else {
+            output.writeBoolean(false);
+        }
+    }
+
+    private int getSRSFlags(SRSReference reference) {
+        SRSReference parent = reference.getInheritedSRSReference();
+        int flags = 0;
+        if (reference.getSRID().isPresent()
+                && (parent == null || !reference.getSRID().equals(parent.getSRID()))) {
+            flags |= BinaryFormat.SRID;
+        }
+
+        if (reference.getSrsName().isPresent()
+                && (parent == null || !reference.getSrsName().equals(parent.getSrsName()))) {
+            flags |= BinaryFormat.SRS_NAME;
+        }
+
+        return flags;
+    }
+
+    private void writeSRS(SRSReference reference, int flags) throws IOException {
+        if (BinaryFormat.isSet(flags, BinaryFormat.SRID)) output.writeSignedVarLong(reference.getSRID().get());
+        if (BinaryFormat.isSet(flags, BinaryFormat.SRS_NAME)) output.writeSymbol(reference.getSrsName().get());
+    }
+
+    private void writeExternalFile(ExternalFile externalFile) throws IOException {
+        Path path = externalFile.getPath().orElse(null);
+        if (path != null && path.getFileSystem() == FileSystems.getDefault()) {
+            output.writeByte(BinaryFormat.INLINE);
+        } else {
+            output.writeByte(BinaryFormat.BY_REFERENCE);
+        }
+
+        output.writeString(externalFile.getFileLocation());
+        output.writeString(getObjectId(externalFile.getObjectId().orElse(null)));
+        output.writeSymbol(externalFile.getMimeType().orElse(null));
+        output.writeSymbol(externalFile.getMimeTypeCodeSpace().orElse(null));
+    }
+
+    private void writeReference(Reference reference) throws IOException {
+        if (reference == null) {
+            throw new IOException("A property must either provide an inline object or a reference.");
+        }
+
+        output.writeByte(BinaryFormat.BY_REFERENCE);
+        output.writeString(reference.getTarget());
+        output.writeByte(reference.getType().getDatabaseValue());
+    }
+
+    private void writeName(Name name) throws IOException {
+        output.writeSymbol(name.getNamespace());
+        output.writeSymbol(name.getLocalName());
+    }
+
+    private void writeTimestamp(OffsetDateTime timestamp) throws IOException {
+        if (timestamp != null) {
+            output.writeByte(1);
+            output.writeSignedVarLong(timestamp.toEpochSecond());
+            output.writeVarInt(timestamp.getNano());
+            output.writeSignedVarLong(timestamp.getOffset().getTotalSeconds());
+        } else {
+            output.writeByte(0);
+        }
+    }
+
+    private void writeDouble(Double value) throws IOException {
+        if (value != null) {
+            output.writeByte(1);
+            output.writeDouble(value);
+        } else {
+            output.writeByte(0);
+        }
+    }
+
+    private void writeDoubles(List<Double> values) throws IOException {
+        if (values != null) {
+            output.writeVarInt(values.size() + 1);
+            boolean hasNulls = values.contains(null);
+            output.writeBoolean(hasNulls);
+            for (Double value : values) {
+                if (hasNulls) {
+                    writeDouble(value);
+                } else {
+                    output.writeDouble(value);
+                }
+            }
+        } else {
+            output.writeVarInt(0);
+        }
+    }
+
+    private void writeColor(Color color) throws IOException {
+        if (color != null) {
+            output.writeByte(1);
+            output.writeDouble(color.getRed());
+            output.writeDouble(color.getGreen());
+            output.writeDouble(color.getBlue());
+            output.writeDouble(color.getAlpha());
+        } else {
+            output.writeByte(0);
+        }
+    }
+
+    private String getObjectId(String objectId) {
+        return contentOnly
+                && objectId != null
+                && objectId.startsWith(IdCreator.getInstance().getDefaultPrefix()) ? null : objectId;
+    }
+
+    private int getTarget(Object target) {
+        Integer id = targets.get(target);
+        if (id == null) {
+            id = targets.size();
+            targets.put(target, id);
+        }
+
+        return id;
+    }
+
+    private void orderTargets(Feature feature) {
+        Set<Object> collected = Collections.newSetFromMap(new IdentityHashMap<>());
+        collected.addAll(targets.keySet());
+        targets.clear();
+
+        feature.accept(new ModelWalker() {
+            @Override
+            public void visit(Surface<?> surface) {
+                addTarget(surface);
+            }
+
+            @Override
+            public void visit(Polygon polygon) {
+                super.visit(polygon);
+                polygon.getRings().forEach(this::addTarget);
+            }
+
+            private void addTarget(Object target) {
+                if (collected.remove(target)) {
+                    getTarget(target);
+                }
+            }
+        });
+
+        collected.forEach(this::getTarget);
+    }
+
+    private <K, V> Collection<Map.Entry<K, V>> getEntries(Map<K, V> map) {
+        if (contentOnly && map.size() > 1) {
+            List<Map.Entry<K, V>> entries = new ArrayList<>(map.entrySet());
+            entries.sort(Comparator.comparingInt(entry -> getTarget(entry.getKey())));
+            return entries;
+        }
+
+        return map.entrySet();
+    }
+
+    private int getPresenceFlags(Object... values) {
+        int flags = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                flags |= 1 << i;
+            }
+        }
+
+        return flags;
+    }
+
+    private class TargetCollector extends ModelWalker {
+
+        @Override
+        public void visit(ParameterizedTexture texture) {
+            if (texture.hasTextureCoordinates()) {
+                texture.getTextureCoordinates().keySet().forEach(this::addTarget);
+            }
+
+            if (texture.hasWorldToTextureMappings()) {
+                texture.getWorldToTextureMappings().keySet().forEach(this::addTarget);
+            }
+
+            super.visit(texture);
+        }
+
+        @Override
+        public void visit(GeoreferencedTexture texture) {
+            if (texture.hasTargets()) {
+                texture.getTargets().forEach(this::addTarget);
+            }
+
+            super.visit(texture);
+        }
+
+        @Override
+        public void visit(X3DMaterial material) {
+            if (material.hasTargets()) {
+                material.getTargets().forEach(this::addTarget);
+            }
+
+            super.visit(material);
+        }
+
+        private void addTarget(Object target) {
+            getTarget(target);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.model.util;
+
+final class BinaryFormat {
+    static final byte[] MAGIC = {'C', 'D', 'B', 'M'};
+    static final int VERSION = 1;
+    static final int MAX_SYMBOLS = 4096;
+
+    static final int END_OF_STREAM = 0;
+    static final int FEATURE = 1;
+    static final int GEOMETRY = 2;
+
+    static final int ATTRIBUTE = 1;
+    static final int GEOMETRY_PROPERTY = 2;
+    static final int IMPLICIT_GEOMETRY_PROPERTY = 3;
+    static final int FEATURE_PROPERTY = 4;
+    static final int APPEARANCE_PROPERTY = 5;
+    static final int ADDRESS_PROPERTY = 6;
+
+    static final int INLINE = 1;
+    static final int BY_REFERENCE = 2;
+
+    static final int X3D_MATERIAL = 1;
+    static final int PARAMETERIZED_TEXTURE = 2;
+    static final int GEOREFERENCED_TEXTURE = 3;
+
+    static final int BOOLEAN_FALSE = 1;
+    static final int BOOLEAN_TRUE = 2;
+    static final int INT = 3;
+    static final int LONG = 4;
+    static final int DOUBLE = 5;
+    static final int STRING = 6;
+
+    static final int MIXED_DIMENSION = 0;
+
+    static final int OBJECT_ID = 1;
+    static final int SRID = 1 << 1;
+    static final int SRS_NAME = 1 << 2;
+    static final int TARGET = 1 << 3;
+    static final int REVERSED = 1 << 4;
+
+    private BinaryFormat() {
+    }
+
+    static boolean isSet(int flags, int flag) {
+        return (flags & flag) != 0;
+    }
+}
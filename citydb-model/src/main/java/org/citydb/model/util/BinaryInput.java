@@ -0,0 +1,189 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.model.util;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+class BinaryInput implements Closeable {
+    private final InputStream stream;
+    private final byte[] buffer = new byte[8192];
+    private final List<String> symbols = new ArrayList<>();
+    private int position;
+    private int limit;
+
+    BinaryInput(InputStream stream) {
+        this.stream = Objects.requireNonNull(stream, "The input stream must not be null.");
+    }
+
+    boolean isEndOfStream() throws IOException {
+        return position == limit && !fillBuffer();
+    }
+
+    int readByte() throws IOException {
+        if (position == limit && !fillBuffer()) {
+            throw new EOFException("Unexpected end of stream.");
+        }
+
+        return buffer[position++] & 0xff;
+    }
+
+    byte[] readBytes(int length) throws IOException {
+        checkLength(length);
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            if (position == limit && !fillBuffer()) {
+                throw new EOFException("Unexpected end of stream.");
+            }
+
+            int count = Math.min(length - offset, limit - position);
+            System.arraycopy(buffer, position, bytes, offset, count);
+            position += count;
+            offset += count;
+        }
+
+        return bytes;
+    }
+
+    boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    Boolean readNullableBoolean() throws IOException {
+        switch (readByte()) {
+            case BinaryFormat.BOOLEAN_TRUE:
+                return true;
+            case BinaryFormat.BOOLEAN_FALSE:
+                return false;
+            default:
+                return null;
+        }
+    }
+
+    int readVarInt() throws IOException {
+        long value = readVarLong();
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Invalid variable-length integer.");
+        }
+
+        return (int) value;
+    }
+
+    long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Invalid variable-length integer.");
+    }
+
+    long readSignedVarLong() throws IOException {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    double readDouble() throws IOException {
+        long bits = 0;
+        if (limit - position >= 8) {
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | (buffer[position++] & 0xff);
+            }
+        } else {
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | readByte();
+            }
+        }
+
+        return Double.longBitsToDouble(bits);
+    }
+
+    String readString() throws IOException {
+        int length = readVarInt();
+        return length != 0 ? readUTF8(length - 1) : null;
+    }
+
+    String readSymbol() throws IOException {
+        int value = readVarInt();
+        if (value == 0) {
+            return null;
+        } else if ((value & 1) == 1) {
+            int index = value >>> 1;
+            if (index >= symbols.size()) {
+                throw new IOException("Invalid symbol reference " + index + ".");
+            }
+
+            return symbols.get(index);
+        } else {
+            String symbol = readUTF8((value >>> 1) - 1);
+            if (symbols.size() < BinaryFormat.MAX_SYMBOLS) {
+                symbols.add(symbol);
+            }
+
+            return symbol;
+        }
+    }
+
+    private String readUTF8(int length) throws IOException {
+        checkLength(length);
+        if (length <= limit - position) {
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        } else {
+            return new String(readBytes(length), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void checkLength(int length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Invalid length " + length + ".");
+        }
+    }
+
+    private boolean fillBuffer() throws IOException {
+        int count = stream.read(buffer);
+        if (count > 0) {
+            position = 0;
+            limit = count;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.model.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+class BinaryOutput implements Closeable {
+    private final OutputStream stream;
+    private final byte[] buffer = new byte[8192];
+    private final Map<String, Integer> symbols = new HashMap<>();
+    private int position;
+
+    BinaryOutput(OutputStream stream) {
+        this.stream = Objects.requireNonNull(stream, "The output stream must not be null.");
+    }
+
+    void writeByte(int value) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+
+        buffer[position++] = (byte) value;
+    }
+
+    void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                stream.write(bytes);
+                return;
+            }
+        }
+
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        writeByte(value ? 1 : 0);
+    }
+
+    void writeBoolean(Boolean value) throws IOException {
+        writeByte(value == null ? 0 : value ? BinaryFormat.BOOLEAN_TRUE : BinaryFormat.BOOLEAN_FALSE);
+    }
+
+    void writeVarInt(int value) throws IOException {
+        writeVarLong(value & 0xffffffffL);
+    }
+
+    void writeVarLong(long value) throws IOException {
+        if (buffer.length - position < 10) {
+            flushBuffer();
+        }
+
+        while ((value & ~0x7fL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+
+        buffer[position++] = (byte) value;
+    }
+
+    void writeSignedVarLong(long value) throws IOException {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeDouble(double value) throws IOException {
+        if (buffer.length - position < 8) {
+            flushBuffer();
+        }
+
+        long bits = Double.doubleToRawLongBits(value);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (bits >>> shift);
+        }
+    }
+
+    void writeString(String value) throws IOException {
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            writeBytes(bytes);
+        } else {
+            writeByte(0);
+        }
+    }
+
+    void writeSymbol(String value) throws IOException {
+        if (value != null) {
+            Integer index = symbols.get(value);
+            if (index != null) {
+                writeVarInt((index << 1) | 1);
+            } else {
+                if (symbols.size() < BinaryFormat.MAX_SYMBOLS) {
+                    symbols.put(value, symbols.size());
+                }
+
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarInt((bytes.length + 1) << 1);
+                writeBytes(bytes);
+            }
+        } else {
+            writeByte(0);
+        }
+    }
+
+    void flush() throws IOException {
+        flushBuffer();
+        stream.flush();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            stream.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            stream.close();
+        }
+    }
+}
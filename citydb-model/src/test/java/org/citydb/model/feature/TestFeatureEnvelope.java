@@ -0,0 +1,117 @@
+package org.citydb.model.feature;
+
+import org.citydb.model.common.Name;
+import org.citydb.model.geometry.*;
+import org.citydb.model.property.FeatureProperty;
+import org.citydb.model.property.GeometryProperty;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFeatureEnvelope {
+    Name BUILDING = Name.of("Building");
+    Name BUILDING_PART = Name.of("BuildingPart");
+    Name LOD2_MULTI_SURFACE = Name.of("lod2MultiSurface");
+    Name CONSISTS_OF_BUILDING_PART = Name.of("consistsOfBuildingPart");
+
+    @Test
+    @DisplayName("Compute feature envelopes bottom-up")
+    void testComputeEnvelope() throws Throwable {
+        Feature part = Feature.of(BUILDING_PART)
+                .addGeometry(GeometryProperty.of(LOD2_MULTI_SURFACE, square(10, 10, 5)));
+        Feature building = Feature.of(BUILDING)
+                .addGeometry(GeometryProperty.of(LOD2_MULTI_SURFACE, square(0, 0, 0)))
+                .addFeature(FeatureProperty.of(CONSISTS_OF_BUILDING_PART, part));
+
+        assertEnvelope(building.computeEnvelope().orElse(null), 0, 0, 0, 11, 11, 5);
+        assertEnvelope(building.getEnvelope().orElse(null), 0, 0, 0, 11, 11, 5);
+        assertTrue(part.getEnvelope().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Keep envelopes of nested features")
+    void testKeepNestedEnvelopes() throws Throwable {
+        Feature part = Feature.of(BUILDING_PART)
+                .setEnvelope(Envelope.of(Coordinate.of(-1, -1, -1), Coordinate.of(50, 50, 50)))
+                .addGeometry(GeometryProperty.of(LOD2_MULTI_SURFACE, square(10, 10, 5)));
+        Feature building = Feature.of(BUILDING)
+                .addGeometry(GeometryProperty.of(LOD2_MULTI_SURFACE, square(0, 0, 0)))
+                .addFeature(FeatureProperty.of(CONSISTS_OF_BUILDING_PART, part));
+
+        assertEnvelope(building.computeEnvelope().orElse(null), 0, 0, 0, 11, 11, 5);
+        assertEnvelope(part.getEnvelope().orElse(null), -1, -1, -1, 50, 50, 50);
+    }
+
+    @Test
+    @DisplayName("Return no envelope for empty geometries")
+    void testEmptyGeometry() throws Throwable {
+        MultiSurface multiSurface = MultiSurface.empty();
+        assertNull(multiSurface.getEnvelope());
+
+        Feature building = Feature.of(BUILDING)
+                .addGeometry(GeometryProperty.of(LOD2_MULTI_SURFACE, multiSurface));
+        assertTrue(building.computeEnvelope().isEmpty());
+
+        multiSurface.getPolygons().add(square(1, 2, 3).getPolygons().get(0));
+        assertEnvelope(multiSurface.getEnvelope(), 1, 2, 3, 2, 3, 3);
+    }
+
+    @Test
+    @DisplayName("Reflect child list changes in envelopes")
+    void testChildListChanges() throws Throwable {
+        MultiSurface multiSurface = square(0, 0, 0);
+        Feature building = Feature.of(BUILDING)
+                .addGeometry(GeometryProperty.of(LOD2_MULTI_SURFACE, multiSurface));
+        assertEnvelope(building.computeEnvelope().orElse(null), 0, 0, 0, 1, 1, 0);
+
+        multiSurface.getPolygons().add(square(20, 20, 3).getPolygons().get(0));
+        assertEnvelope(building.computeEnvelope().orElse(null), 0, 0, 0, 21, 21, 3);
+
+        multiSurface.getPolygons().remove(0);
+        assertEnvelope(building.computeEnvelope().orElse(null), 20, 20, 3, 21, 21, 3);
+
+        multiSurface.getPolygons().set(0, square(-5, -5, -1).getPolygons().get(0));
+        assertEnvelope(multiSurface.getEnvelope(), -5, -5, -1, -4, -4, -1);
+    }
+
+    @Test
+    @DisplayName("Reflect in-place coordinate edits in envelopes")
+    void testInPlaceEdits() throws Throwable {
+        MultiSurface multiSurface = square(0, 0, 0);
+        Feature building = Feature.of(BUILDING)
+                .addGeometry(GeometryProperty.of(LOD2_MULTI_SURFACE, multiSurface));
+        assertEnvelope(building.computeEnvelope().orElse(null), 0, 0, 0, 1, 1, 0);
+
+        LinearRing ring = multiSurface.getPolygons().get(0).getExteriorRing();
+        ring.getPoints().get(2).setX(7).setY(8).setZ(9);
+        assertEnvelope(multiSurface.getEnvelope(), 0, 0, 0, 7, 8, 9);
+        assertEnvelope(building.computeEnvelope().orElse(null), 0, 0, 0, 7, 8, 9);
+
+        ring.getPoints().add(3, Coordinate.of(-2, -3, -4));
+        assertEnvelope(building.computeEnvelope().orElse(null), -2, -3, -4, 7, 8, 9);
+
+        ring.getPoints().forEach(coordinate -> coordinate.setX(coordinate.getX() + 100));
+        assertEnvelope(building.computeEnvelope().orElse(null), 98, -3, -4, 107, 8, 9);
+    }
+
+    private MultiSurface square(double x, double y, double z) {
+        return MultiSurface.of(new Polygon[]{Polygon.of(LinearRing.of(new Coordinate[]{
+                Coordinate.of(x, y, z),
+                Coordinate.of(x + 1, y, z),
+                Coordinate.of(x + 1, y + 1, z),
+                Coordinate.of(x, y + 1, z),
+                Coordinate.of(x, y, z)}))});
+    }
+
+    private void assertEnvelope(Envelope envelope, double... expected) {
+        Coordinate lowerCorner = envelope.getLowerCorner();
+        Coordinate upperCorner = envelope.getUpperCorner();
+        assertEquals(expected[0], lowerCorner.getX());
+        assertEquals(expected[1], lowerCorner.getY());
+        assertEquals(expected[2], lowerCorner.getZ());
+        assertEquals(expected[3], upperCorner.getX());
+        assertEquals(expected[4], upperCorner.getY());
+        assertEquals(expected[5], upperCorner.getZ());
+    }
+}
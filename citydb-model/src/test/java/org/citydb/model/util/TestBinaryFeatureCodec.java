@@ -0,0 +1,203 @@
+package org.citydb.model.util;
+
+import org.citydb.model.address.Address;
+import org.citydb.model.appearance.Appearance;
+import org.citydb.model.appearance.ParameterizedTexture;
+import org.citydb.model.appearance.SurfaceDataProperty;
+import org.citydb.model.appearance.TextureCoordinate;
+import org.citydb.model.common.ExternalFile;
+import org.citydb.model.common.Name;
+import org.citydb.model.common.Reference;
+import org.citydb.model.common.ReferenceType;
+import org.citydb.model.feature.Feature;
+import org.citydb.model.geometry.*;
+import org.citydb.model.property.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBinaryFeatureCodec {
+    Name BUILDING = Name.of("Building", "http://3dcitydb.org/3dcitydb/building/5.0");
+    Name BUILDING_PART = Name.of("BuildingPart", "http://3dcitydb.org/3dcitydb/building/5.0");
+    Name GENERIC_ATTRIBUTE = Name.of("genericAttribute");
+
+    @Test
+    @DisplayName("Round-trip attribute values")
+    void testAttributeValues() throws Throwable {
+        OffsetDateTime timeStamp = OffsetDateTime.of(2024, 2, 29, 13, 45, 7, 123456789,
+                ZoneOffset.ofHoursMinutes(5, 30));
+        Feature feature = Feature.of(BUILDING)
+                .setObjectId("building")
+                .addAttribute(Attribute.of(Name.of("int"))
+                        .setIntValue(Long.MIN_VALUE))
+                .addAttribute(Attribute.of(Name.of("double"))
+                        .setDoubleValue(Double.NaN))
+                .addAttribute(Attribute.of(Name.of("string"))
+                        .setStringValue("\u00e4\u00f6\u00fc \u2603")
+                        .setCodeSpace("codeSpace"))
+                .addAttribute(Attribute.of(Name.of("timeStamp"))
+                        .setTimeStamp(timeStamp))
+                .addAttribute(Attribute.of(Name.of("array"))
+                        .setArrayValue(ArrayValue.newInstance()
+                                .add(Value.of(true))
+                                .add(Value.of(false))
+                                .add(Value.of(Integer.MAX_VALUE))
+                                .add(Value.of(Long.MAX_VALUE))
+                                .add(Value.of(-0.5))
+                                .add(Value.of("text"))))
+                .addAttribute(Attribute.of(GENERIC_ATTRIBUTE, Name.of("Measure"))
+                        .setDoubleValue(12.5)
+                        .setUom("m")
+                        .addProperty(Attribute.of(Name.of("nested")).setURI("http://example.org")));
+
+        Feature result = roundTrip(feature);
+        assertEquals("building", result.getObjectId().orElse(null));
+        assertEquals(Long.valueOf(Long.MIN_VALUE), getAttribute(result, "int").getIntValue().orElse(null));
+        assertTrue(getAttribute(result, "double").getDoubleValue().orElse(0.0).isNaN());
+        assertEquals("\u00e4\u00f6\u00fc \u2603", getAttribute(result, "string").getStringValue().orElse(null));
+        assertEquals("codeSpace", getAttribute(result, "string").getCodeSpace().orElse(null));
+        assertEquals(timeStamp, getAttribute(result, "timeStamp").getTimeStamp().orElse(null));
+
+        List<Value> values = getAttribute(result, "array").getArrayValue().orElseThrow().getValues();
+        assertEquals(6, values.size());
+        assertEquals(Boolean.TRUE, values.get(0).rawValue());
+        assertEquals(Boolean.FALSE, values.get(1).rawValue());
+        assertEquals(Integer.MAX_VALUE, values.get(2).rawValue());
+        assertEquals(Long.MAX_VALUE, values.get(3).rawValue());
+        assertEquals(-0.5, values.get(4).rawValue());
+        assertEquals("text", values.get(5).rawValue());
+
+        Attribute measure = result.getAttributes().get(GENERIC_ATTRIBUTE).get(0);
+        assertEquals(Name.of("Measure"), measure.getDataType().orElse(null));
+        assertEquals("m", measure.getUom().orElse(null));
+        assertEquals("http://example.org", ((Attribute) measure.getProperties().getAll().get(0)).getURI().orElse(null));
+    }
+
+    @Test
+    @DisplayName("Round-trip geometries with mixed coordinate dimensions")
+    void testGeometries() throws Throwable {
+        LineString lineString = LineString.of(new Coordinate[]{
+                Coordinate.of(1, 2, 3),
+                Coordinate.of(4, 5),
+                Coordinate.of(6, 7, 8)});
+        MultiSurface multiSurface = MultiSurface.of(new Polygon[]{
+                Polygon.of(LinearRing.of(List.of(0.0, 0.0, 1.0, 0.0, 1.0, 1.0, 0.0, 0.0), 2), true)});
+        multiSurface.setSRID(25832).setSrsName("EPSG:25832");
+
+        Feature feature = Feature.of(BUILDING)
+                .addGeometry(GeometryProperty.of(Name.of("lod1TerrainIntersectionCurve"), lineString).setLod("1"))
+                .addGeometry(GeometryProperty.of(Name.of("lod2MultiSurface"), multiSurface).setLod("2"));
+
+        Feature result = roundTrip(feature);
+        LineString resultLineString = (LineString) result.getGeometries()
+                .get(Name.of("lod1TerrainIntersectionCurve")).get(0).getObject();
+        assertEquals(3, resultLineString.getPoints().get(0).getDimension());
+        assertEquals(2, resultLineString.getPoints().get(1).getDimension());
+        assertEquals(8, resultLineString.getPoints().get(2).getZ());
+
+        MultiSurface resultMultiSurface = (MultiSurface) result.getGeometries()
+                .get(Name.of("lod2MultiSurface")).get(0).getObject();
+        assertEquals(Integer.valueOf(25832), resultMultiSurface.getSRID().orElse(null));
+        assertEquals("EPSG:25832", resultMultiSurface.getSrsName().orElse(null));
+        assertTrue(resultMultiSurface.getPolygons().get(0).isReversed());
+        assertEquals(2, resultMultiSurface.getVertexDimension());
+        assertArrayEquals(BinaryFeatureWriter.toBytes(feature), BinaryFeatureWriter.toBytes(result));
+    }
+
+    @Test
+    @DisplayName("Round-trip implicit geometries, nested features, addresses and references")
+    void testImplicitGeometriesAndReferences() throws Throwable {
+        Point referencePoint = Point.of(Coordinate.of(10, 20, 30));
+        List<Double> matrix = List.of(1.0, 0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 0.0, 1.0);
+        Feature part = Feature.of(BUILDING_PART)
+                .setObjectId("part")
+                .addImplicitGeometry(ImplicitGeometryProperty.of(Name.of("lod2ImplicitRepresentation"),
+                                ImplicitGeometry.of(ExternalFile.of("library/tree.obj")
+                                        .setMimeType("model/obj")))
+                        .setTransformationMatrix(matrix)
+                        .setReferencePoint(referencePoint));
+
+        Feature feature = Feature.of(BUILDING)
+                .setObjectId("building")
+                .addFeature(FeatureProperty.of(Name.of("buildingPart"), part))
+                .addFeature(FeatureProperty.of(Name.of("relatedTo"),
+                        Reference.of("other", ReferenceType.GLOBAL_REFERENCE)))
+                .addImplicitGeometry(ImplicitGeometryProperty.of(Name.of("lod1ImplicitRepresentation"),
+                                ImplicitGeometry.of(Point.of(Coordinate.of(0, 0, 0))))
+                        .setTransformationMatrix(matrix)
+                        .setReferencePoint(referencePoint))
+                .addAddress(AddressProperty.of(Name.of("address"), Address.newInstance()
+                        .setStreet("Main Street")
+                        .setHouseNumber("1")
+                        .setFreeText(ArrayValue.ofString(List.of("line 1", "line 2")))));
+
+        Feature result = roundTrip(feature);
+        Feature resultPart = result.getFeatures().get(Name.of("buildingPart")).get(0).getObject().orElseThrow();
+        ImplicitGeometry libraryObject = resultPart.getImplicitGeometries()
+                .get(Name.of("lod2ImplicitRepresentation")).get(0).getObject().orElseThrow();
+        assertEquals("library/tree.obj", libraryObject.getLibraryObject().orElseThrow().getFileLocation());
+        assertEquals("model/obj", libraryObject.getLibraryObject().orElseThrow().getMimeType().orElse(null));
+        assertEquals("other", result.getFeatures().get(Name.of("relatedTo")).get(0)
+                .getReference().orElseThrow().getTarget());
+
+        ImplicitGeometryProperty implicitGeometry = result.getImplicitGeometries()
+                .get(Name.of("lod1ImplicitRepresentation")).get(0);
+        assertEquals(matrix, implicitGeometry.getTransformationMatrix().orElse(null));
+        assertTrue(implicitGeometry.getObject().orElseThrow().getGeometry().isPresent());
+
+        Address address = result.getAddresses().get(Name.of("address")).get(0).getObject().orElseThrow();
+        assertEquals("Main Street", address.getStreet().orElse(null));
+        assertEquals(2, address.getFreeText().orElseThrow().size());
+        assertArrayEquals(BinaryFeatureWriter.toBytes(feature), BinaryFeatureWriter.toBytes(result));
+    }
+
+    @Test
+    @DisplayName("Round-trip texture coordinates and targets")
+    void testTextureTargets() throws Throwable {
+        LinearRing ring = LinearRing.of(List.of(0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 1.0, 1.0, 0.0, 0.0, 0.0, 0.0), 3);
+        Polygon polygon = Polygon.of(ring);
+        ParameterizedTexture texture = ParameterizedTexture.newInstance()
+                .addTextureCoordinates(ring, TextureCoordinate.of(List.of(0.0, 0.0, 1.0, 0.0, 1.0, 1.0, 0.0, 0.0)));
+        Appearance appearance = Appearance.of("rgbTexture");
+        appearance.getSurfaceData().add(SurfaceDataProperty.of(texture));
+
+        Feature feature = Feature.of(BUILDING)
+                .addGeometry(GeometryProperty.of(Name.of("lod2MultiSurface"), MultiSurface.of(new Polygon[]{polygon})))
+                .addAppearance(AppearanceProperty.of(Name.of("appearance"), appearance));
+
+        Feature result = roundTrip(feature);
+        Polygon resultPolygon = ((MultiSurface) result.getGeometries().get(Name.of("lod2MultiSurface")).get(0)
+                .getObject()).getPolygons().get(0);
+        ParameterizedTexture resultTexture = (ParameterizedTexture) result.getAppearances()
+                .get(Name.of("appearance")).get(0).getObject().getSurfaceData().get(0).getObject().orElseThrow();
+        assertEquals("rgbTexture", result.getAppearances().get(Name.of("appearance")).get(0).getObject()
+                .getTheme().orElse(null));
+        assertSame(resultPolygon.getExteriorRing(),
+                resultTexture.getTextureCoordinates().keySet().iterator().next());
+        assertEquals(4, resultTexture.getTextureCoordinates().get(resultPolygon.getExteriorRing()).size());
+    }
+
+    @Test
+    @DisplayName("Reject lengths out of range")
+    void testInvalidLength() throws Throwable {
+        byte[] bytes = new byte[]{(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x0f};
+        try (BinaryInput input = new BinaryInput(new ByteArrayInputStream(bytes))) {
+            assertThrows(IOException.class, input::readString);
+        }
+    }
+
+    private Feature roundTrip(Feature feature) throws Exception {
+        return BinaryFeatureReader.fromBytes(BinaryFeatureWriter.toBytes(feature));
+    }
+
+    private Attribute getAttribute(Feature feature, String name) {
+        return feature.getAttributes().get(Name.of(name)).get(0);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.operation.exporter.common;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ColumnIndexBenchmark {
+    private static final String[] COLUMNS = {"id", "feature_id", "parent_id", "root_id", "datatype_id",
+            "namespace_id", "name", "val_int", "val_double", "val_string", "val_timestamp", "val_uri",
+            "val_codespace", "val_uom", "val_array", "val_lod", "val_geometry_id", "val_implicitgeom_id",
+            "val_appearance_id", "val_address_id", "val_feature_id", "val_reference_type", "val_content"};
+
+    @Param("jdbc:postgresql://localhost:5432/citydb")
+    private String url;
+
+    @Param("postgres")
+    private String user;
+
+    @Param("")
+    private String password;
+
+    @Param("citydb")
+    private String schema;
+
+    @Param("1000")
+    private int rows;
+
+    private Connection connection;
+    private PreparedStatement stmt;
+    private ColumnMapper<int[]> columns;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        stmt = connection.prepareStatement("select " + String.join(", ", COLUMNS) + " from " +
+                schema + ".property limit " + rows);
+        columns = ColumnMapper.of(index -> {
+            int[] indexes = new int[COLUMNS.length];
+            for (int i = 0; i < COLUMNS.length; i++) {
+                indexes[i] = index.get(COLUMNS[i]);
+            }
+
+            return indexes;
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        stmt.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public void readByName(Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                for (String column : COLUMNS) {
+                    blackhole.consume(rs.getObject(column));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void readByIndex(Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            int[] indexes = columns.get(rs);
+            while (rs.next()) {
+                for (int index : indexes) {
+                    blackhole.consume(rs.getObject(index));
+                }
+            }
+        }
+    }
+}
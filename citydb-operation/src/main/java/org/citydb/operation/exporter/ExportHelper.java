@@ -33,20 +33,21 @@ import org.citydb.model.feature.Feature;
 import org.citydb.model.geometry.ImplicitGeometry;
 import org.citydb.operation.exporter.feature.FeatureExporter;
 import org.citydb.operation.exporter.geometry.ImplicitGeometryExporter;
+import org.citydb.operation.exporter.hierarchy.HierarchyBuilder;
+import org.citydb.operation.exporter.util.ImplicitGeometryCache;
 import org.citydb.operation.exporter.util.Postprocessor;
 import org.citydb.operation.exporter.util.SurfaceDataMapper;
 import org.citydb.operation.exporter.util.TableHelper;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 
 public class ExportHelper {
     private final DatabaseAdapter adapter;
     private final ExportOptions options;
     private final Connection connection;
+    private final ImplicitGeometryCache implicitGeometryCache;
     private final Postprocessor postprocessor;
     private final DataTypeHelper dataTypeHelper;
     private final NamespaceHelper namespaceHelper;
@@ -60,9 +61,10 @@ public class ExportHelper {
     private final Set<String> addressIdCache = new HashSet<>();
     private final Set<String> externalFileIdCache = new HashSet<>();
 
-    ExportHelper(DatabaseAdapter adapter, ExportOptions options) throws SQLException {
+    ExportHelper(DatabaseAdapter adapter, ExportOptions options, ImplicitGeometryCache implicitGeometryCache) throws SQLException {
         this.adapter = adapter;
         this.options = options;
+        this.implicitGeometryCache = implicitGeometryCache;
 
         connection = adapter.getPool().getConnection();
         postprocessor = new Postprocessor();
@@ -102,6 +104,10 @@ public class ExportHelper {
         return postprocessor.getSurfaceDataMapper();
     }
 
+    public ImplicitGeometryCache getImplicitGeometryCache() {
+        return implicitGeometryCache;
+    }
+
     public TableHelper getTableHelper() {
         return tableHelper;
     }
@@ -165,6 +171,30 @@ public class ExportHelper {
         }
     }
 
+    Map<Long, Feature> exportFeatures(List<Long> ids) throws ExportException {
+        try {
+            Map<Long, Feature> features = new HashMap<>();
+            for (Map.Entry<Long, HierarchyBuilder> entry : tableHelper.getOrCreateExporter(FeatureExporter.class)
+                    .getHierarchyBuilders(ids).entrySet()) {
+                try {
+                    Feature feature = entry.getValue().initialize().build().getFeature(entry.getKey());
+                    if (feature != null) {
+                        postprocessor.process(feature);
+                        features.put(entry.getKey(), feature);
+                    }
+                } finally {
+                    clear();
+                }
+            }
+
+            return features;
+        } catch (Exception e) {
+            throw new ExportException("Failed to export features (IDs: " + ids + ").", e);
+        } finally {
+            clear();
+        }
+    }
+
     ImplicitGeometry exportImplicitGeometry(long id) throws ExportException {
         try {
             ImplicitGeometry implicitGeometry = tableHelper.getOrCreateExporter(ImplicitGeometryExporter.class)
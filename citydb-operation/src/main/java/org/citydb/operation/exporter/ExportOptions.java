@@ -25,6 +25,8 @@ import com.alibaba.fastjson2.annotation.JSONField;
 import org.citydb.core.concurrent.LazyInitializer;
 import org.citydb.core.file.OutputFile;
 import org.citydb.core.file.output.RegularOutputFile;
+import org.citydb.database.schema.Projection;
+import org.citydb.operation.exporter.util.ImplicitGeometryCache;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -38,6 +40,9 @@ public class ExportOptions {
     private OutputFile outputFile;
     private int numberOfThreads;
     private int numberOfTextureBuckets;
+    private int implicitGeometryCacheSize = ImplicitGeometryCache.DEFAULT_CAPACITY;
+    private int featureBatchSize = 1;
+    private Projection projection;
 
     private ExportOptions() {
     }
@@ -91,4 +96,37 @@ public class ExportOptions {
 
         return this;
     }
+
+    public int getImplicitGeometryCacheSize() {
+        return implicitGeometryCacheSize;
+    }
+
+    public ExportOptions setImplicitGeometryCacheSize(int implicitGeometryCacheSize) {
+        if (implicitGeometryCacheSize > 0) {
+            this.implicitGeometryCacheSize = implicitGeometryCacheSize;
+        }
+
+        return this;
+    }
+
+    public int getFeatureBatchSize() {
+        return featureBatchSize;
+    }
+
+    public ExportOptions setFeatureBatchSize(int featureBatchSize) {
+        if (featureBatchSize > 0) {
+            this.featureBatchSize = featureBatchSize;
+        }
+
+        return this;
+    }
+
+    public Projection getProjection() {
+        return projection;
+    }
+
+    public ExportOptions setProjection(Projection projection) {
+        this.projection = projection;
+        return this;
+    }
 }
@@ -27,9 +27,9 @@ import org.citydb.core.function.CheckedSupplier;
 import org.citydb.database.adapter.DatabaseAdapter;
 import org.citydb.model.feature.Feature;
 import org.citydb.model.geometry.ImplicitGeometry;
+import org.citydb.operation.exporter.util.ImplicitGeometryCache;
 
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
@@ -38,7 +38,11 @@ public class Exporter {
     private ExecutorService service;
     private ThreadLocal<ExportHelper> contexts;
     private Set<ExportHelper> helpers;
+    private ImplicitGeometryCache implicitGeometryCache;
     private CountLatch countLatch;
+    private int batchSize;
+    private List<Long> batchIds;
+    private List<CompletableFuture<Feature>> batchResults;
 
     private volatile State state = State.SESSION_NOT_STARTED;
     private volatile boolean shouldRun;
@@ -74,14 +78,18 @@ public class Exporter {
 
         try {
             helpers = ConcurrentHashMap.newKeySet();
+            implicitGeometryCache = ImplicitGeometryCache.newInstance(options.getImplicitGeometryCacheSize());
             service = ExecutorHelper.newFixedAndBlockingThreadPool(options.getNumberOfThreads() > 0 ?
                     options.getNumberOfThreads() :
                     Math.max(2, Runtime.getRuntime().availableProcessors()));
 
             countLatch = new CountLatch();
+            batchSize = options.getFeatureBatchSize();
+            batchIds = new ArrayList<>(batchSize);
+            batchResults = new ArrayList<>(batchSize);
             contexts = ThreadLocal.withInitial(() -> {
                 try {
-                    ExportHelper helper = new ExportHelper(adapter, options);
+                    ExportHelper helper = new ExportHelper(adapter, options, implicitGeometryCache);
                     helpers.add(helper);
                     return helper;
                 } catch (Exception e) {
@@ -99,13 +107,56 @@ public class Exporter {
     }
 
     public CompletableFuture<Feature> exportFeature(long id) {
-        return doExport(() -> contexts.get().exportFeature(id));
+        return batchSize > 1 ?
+                addToBatch(id) :
+                doExport(() -> contexts.get().exportFeature(id));
     }
 
     public CompletableFuture<ImplicitGeometry> exportImplicitGeometry(long id) {
         return doExport(() -> contexts.get().exportImplicitGeometry(id));
     }
 
+    private synchronized CompletableFuture<Feature> addToBatch(long id) {
+        CompletableFuture<Feature> result = new CompletableFuture<>();
+        if (shouldRun) {
+            if (state == State.SESSION_STARTED) {
+                batchIds.add(id);
+                batchResults.add(result);
+                if (batchIds.size() >= batchSize) {
+                    executeBatch();
+                }
+            } else {
+                result.completeExceptionally(new ExportException("Illegal to export data outside a session."));
+            }
+        }
+
+        return result;
+    }
+
+    private synchronized void executeBatch() {
+        if (!batchIds.isEmpty()) {
+            List<Long> ids = batchIds;
+            List<CompletableFuture<Feature>> results = batchResults;
+            batchIds = new ArrayList<>(batchSize);
+            batchResults = new ArrayList<>(batchSize);
+
+            countLatch.increment();
+            service.execute(() -> {
+                try {
+                    Map<Long, Feature> features = contexts.get().exportFeatures(ids);
+                    for (int i = 0; i < ids.size(); i++) {
+                        results.get(i).complete(features.get(ids.get(i)));
+                    }
+                } catch (Throwable e) {
+                    shouldRun = false;
+                    results.forEach(result -> result.completeExceptionally(e));
+                } finally {
+                    countLatch.decrement();
+                }
+            });
+        }
+    }
+
     private <T> CompletableFuture<T> doExport(CheckedSupplier<T, Throwable> supplier) {
         CompletableFuture<T> result = new CompletableFuture<>();
         if (shouldRun) {
@@ -135,6 +186,10 @@ public class Exporter {
         }
 
         try {
+            if (shouldRun) {
+                executeBatch();
+            }
+
             state = State.SESSION_CLOSED;
             countLatch.await();
 
@@ -145,6 +200,7 @@ public class Exporter {
             shouldRun = false;
             throw new ExportException("Failed to close export session.", e);
         } finally {
+            implicitGeometryCache.clear();
             service.shutdown();
         }
     }
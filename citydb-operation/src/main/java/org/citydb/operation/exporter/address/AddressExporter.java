@@ -27,16 +27,19 @@ import org.citydb.model.address.AddressDescriptor;
 import org.citydb.model.geometry.MultiPoint;
 import org.citydb.operation.exporter.ExportException;
 import org.citydb.operation.exporter.ExportHelper;
+import org.citydb.operation.exporter.common.ColumnIndex;
+import org.citydb.operation.exporter.common.ColumnMapper;
 import org.citydb.operation.exporter.common.DatabaseExporter;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class AddressExporter extends DatabaseExporter {
+    private final ColumnMapper<Columns> columns = ColumnMapper.of(Columns::new);
 
     public AddressExporter(ExportHelper helper) throws SQLException {
         super(helper);
-        stmt = helper.getConnection().prepareStatement("select id, objectid, identifier as address_identifier, " +
+        stmt = helper.getConnection().prepareStatement("select id, objectid as address_object_id, identifier as address_identifier, " +
                 "identifier_codespace as address_identifier_codespace, street, house_number, po_box, " +
                 "zip_code, city, state, country, free_text, multi_point, content, content_mime_type " +
                 "from " + tableHelper.getPrefixedTableName(Table.ADDRESS) +
@@ -55,21 +58,56 @@ public class AddressExporter extends DatabaseExporter {
     }
 
     public Address doExport(long addressId, ResultSet rs) throws ExportException, SQLException {
+        Columns columns = this.columns.get(rs);
         return Address.newInstance()
-                .setObjectId(rs.getString("address_object_id"))
-                .setIdentifier(rs.getString("address_identifier"))
-                .setIdentifierCodeSpace(rs.getString("address_identifier_codespace"))
-                .setStreet(rs.getString("street"))
-                .setHouseNumber(rs.getString("house_number"))
-                .setPoBox(rs.getString("po_box"))
-                .setZipCode(rs.getString("zip_code"))
-                .setCity(rs.getString("city"))
-                .setState(rs.getString("state"))
-                .setCountry(rs.getString("country"))
-                .setFreeText(getArrayValue(rs.getString("free_text")))
-                .setMultiPoint(getGeometry(rs.getObject("multi_point"), MultiPoint.class))
-                .setGenericContent(rs.getString("content"))
-                .setGenericContentMimeType(rs.getString("content_mime_type"))
+                .setObjectId(rs.getString(columns.objectId))
+                .setIdentifier(rs.getString(columns.identifier))
+                .setIdentifierCodeSpace(rs.getString(columns.identifierCodeSpace))
+                .setStreet(rs.getString(columns.street))
+                .setHouseNumber(rs.getString(columns.houseNumber))
+                .setPoBox(rs.getString(columns.poBox))
+                .setZipCode(rs.getString(columns.zipCode))
+                .setCity(rs.getString(columns.city))
+                .setState(rs.getString(columns.state))
+                .setCountry(rs.getString(columns.country))
+                .setFreeText(getArrayValue(rs.getString(columns.freeText)))
+                .setMultiPoint(getGeometry(rs.getObject(columns.multiPoint), MultiPoint.class))
+                .setGenericContent(rs.getString(columns.content))
+                .setGenericContentMimeType(rs.getString(columns.contentMimeType))
                 .setDescriptor(AddressDescriptor.of(addressId));
     }
+
+    private static class Columns {
+        private final int objectId;
+        private final int identifier;
+        private final int identifierCodeSpace;
+        private final int street;
+        private final int houseNumber;
+        private final int poBox;
+        private final int zipCode;
+        private final int city;
+        private final int state;
+        private final int country;
+        private final int freeText;
+        private final int multiPoint;
+        private final int content;
+        private final int contentMimeType;
+
+        Columns(ColumnIndex columns) throws SQLException {
+            objectId = columns.get("address_object_id");
+            identifier = columns.get("address_identifier");
+            identifierCodeSpace = columns.get("address_identifier_codespace");
+            street = columns.get("street");
+            houseNumber = columns.get("house_number");
+            poBox = columns.get("po_box");
+            zipCode = columns.get("zip_code");
+            city = columns.get("city");
+            state = columns.get("state");
+            country = columns.get("country");
+            freeText = columns.get("free_text");
+            multiPoint = columns.get("multi_point");
+            content = columns.get("content");
+            contentMimeType = columns.get("content_mime_type");
+        }
+    }
 }
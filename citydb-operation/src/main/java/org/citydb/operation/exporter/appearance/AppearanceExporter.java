@@ -28,6 +28,8 @@ import org.citydb.model.common.Reference;
 import org.citydb.model.common.ReferenceType;
 import org.citydb.operation.exporter.ExportException;
 import org.citydb.operation.exporter.ExportHelper;
+import org.citydb.operation.exporter.common.ColumnIndex;
+import org.citydb.operation.exporter.common.ColumnMapper;
 import org.citydb.operation.exporter.common.DatabaseExporter;
 
 import java.sql.ResultSet;
@@ -40,6 +42,7 @@ public class AppearanceExporter extends DatabaseExporter {
     private final ObjectClass material;
     private final ObjectClass parameterizedTexture;
     private final ObjectClass georeferencedTexture;
+    private final ColumnMapper<Columns> columns = ColumnMapper.of(Columns::new);
 
     public AppearanceExporter(ExportHelper helper) throws SQLException {
         super(helper);
@@ -96,31 +99,32 @@ public class AppearanceExporter extends DatabaseExporter {
         Map<Long, Appearance> appearances = new HashMap<>();
         Map<Long, SurfaceData<?>> surfaceDataObjects = new HashMap<>();
         Map<Long, Set<Long>> surfaceDataByAppearance = new HashMap<>();
+        Columns columns = this.columns.get(rs);
 
         while (rs.next()) {
-            long id = rs.getLong("id");
+            long id = rs.getLong(columns.id);
 
             Appearance appearance = appearances.get(id);
             if (appearance == null) {
                 appearance = Appearance.newInstance()
-                        .setTheme(rs.getString("theme"))
-                        .setObjectId(rs.getString("objectid"))
-                        .setIdentifier(rs.getString("identifier"))
-                        .setIdentifierCodeSpace(rs.getString("identifier_codespace"))
-                        .setCreationDate(rs.getObject("creation_date", OffsetDateTime.class))
-                        .setTerminationDate(rs.getObject("termination_date", OffsetDateTime.class))
-                        .setValidFrom(rs.getObject("valid_from", OffsetDateTime.class))
-                        .setValidTo(rs.getObject("valid_to", OffsetDateTime.class))
+                        .setTheme(rs.getString(columns.theme))
+                        .setObjectId(rs.getString(columns.objectId))
+                        .setIdentifier(rs.getString(columns.identifier))
+                        .setIdentifierCodeSpace(rs.getString(columns.identifierCodeSpace))
+                        .setCreationDate(rs.getObject(columns.creationDate, OffsetDateTime.class))
+                        .setTerminationDate(rs.getObject(columns.terminationDate, OffsetDateTime.class))
+                        .setValidFrom(rs.getObject(columns.validFrom, OffsetDateTime.class))
+                        .setValidTo(rs.getObject(columns.validTo, OffsetDateTime.class))
                         .setDescriptor(AppearanceDescriptor.of(id)
-                                .setFeatureId(rs.getLong("feature_id"))
-                                .setImplicitGeometryId(rs.getLong("implicit_geometry_id")));
+                                .setFeatureId(rs.getLong(columns.featureId))
+                                .setImplicitGeometryId(rs.getLong(columns.implicitGeometryId)));
                 appearances.put(id, appearance);
             }
 
-            long surfaceDataId = rs.getLong("sd_id");
+            long surfaceDataId = rs.getLong(columns.surfaceDataId);
             SurfaceData<?> surfaceData = surfaceDataObjects.get(surfaceDataId);
             if (surfaceData == null) {
-                ObjectClass objectClass = objectClassHelper.getObjectClass(rs.getInt("objectclass_id"));
+                ObjectClass objectClass = objectClassHelper.getObjectClass(rs.getInt(columns.objectClassId));
                 if (objectClass == material) {
                     surfaceData = tableHelper.getOrCreateExporter(X3DMaterialExporter.class).doExport(rs);
                 } else if (objectClass == parameterizedTexture) {
@@ -147,4 +151,36 @@ public class AppearanceExporter extends DatabaseExporter {
 
         return appearances;
     }
+
+    private static class Columns {
+        private final int id;
+        private final int theme;
+        private final int objectId;
+        private final int identifier;
+        private final int identifierCodeSpace;
+        private final int creationDate;
+        private final int terminationDate;
+        private final int validFrom;
+        private final int validTo;
+        private final int featureId;
+        private final int implicitGeometryId;
+        private final int surfaceDataId;
+        private final int objectClassId;
+
+        Columns(ColumnIndex columns) throws SQLException {
+            id = columns.get("id");
+            theme = columns.get("theme");
+            objectId = columns.get("objectid");
+            identifier = columns.get("identifier");
+            identifierCodeSpace = columns.get("identifier_codespace");
+            creationDate = columns.get("creation_date");
+            terminationDate = columns.get("termination_date");
+            validFrom = columns.get("valid_from");
+            validTo = columns.get("valid_to");
+            featureId = columns.get("feature_id");
+            implicitGeometryId = columns.get("implicit_geometry_id");
+            surfaceDataId = columns.get("sd_id");
+            objectClassId = columns.get("objectclass_id");
+        }
+    }
 }
@@ -26,6 +26,8 @@ import org.citydb.model.appearance.GeoreferencedTexture;
 import org.citydb.model.geometry.Point;
 import org.citydb.operation.exporter.ExportException;
 import org.citydb.operation.exporter.ExportHelper;
+import org.citydb.operation.exporter.common.ColumnIndex;
+import org.citydb.operation.exporter.common.ColumnMapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -33,26 +35,38 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class GeoreferencedTextureExporter extends TextureExporter {
+    private final ColumnMapper<Columns> columns = ColumnMapper.of(Columns::new);
 
     public GeoreferencedTextureExporter(ExportHelper helper) throws SQLException {
         super(helper);
     }
 
     protected GeoreferencedTexture doExport(ResultSet rs) throws ExportException, SQLException {
+        Columns columns = this.columns.get(rs);
         GeoreferencedTexture texture = GeoreferencedTexture.newInstance();
 
-        JSONArray orientation = getJSONArray(rs.getString("gt_orientation"));
+        JSONArray orientation = getJSONArray(rs.getString(columns.orientation));
         if (orientation != null) {
             texture.setOrientation(IntStream.range(0, orientation.size())
                     .mapToObj(orientation::getDouble)
                     .collect(Collectors.toList()));
         }
 
-        Point referencePoint = getGeometry(rs.getObject("gt_reference_point"), Point.class);
+        Point referencePoint = getGeometry(rs.getObject(columns.referencePoint), Point.class);
         if (referencePoint != null) {
             texture.setReferencePoint(referencePoint.force2D());
         }
 
         return doExport(texture, rs);
     }
+
+    private static class Columns {
+        private final int orientation;
+        private final int referencePoint;
+
+        Columns(ColumnIndex columns) throws SQLException {
+            orientation = columns.get("gt_orientation");
+            referencePoint = columns.get("gt_reference_point");
+        }
+    }
 }
@@ -23,23 +23,41 @@ package org.citydb.operation.exporter.appearance;
 
 import org.citydb.model.appearance.SurfaceData;
 import org.citydb.operation.exporter.ExportHelper;
+import org.citydb.operation.exporter.common.ColumnIndex;
+import org.citydb.operation.exporter.common.ColumnMapper;
 import org.citydb.operation.exporter.common.DatabaseExporter;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public abstract class SurfaceDataExporter extends DatabaseExporter {
+    private final ColumnMapper<Columns> columns = ColumnMapper.of(Columns::new);
 
     public SurfaceDataExporter(ExportHelper helper) {
         super(helper);
     }
 
     protected <T extends SurfaceData<?>> T doExport(T surfaceData, ResultSet rs) throws SQLException {
-        surfaceData.setObjectId(rs.getString("sd_objectid"))
-                .setIdentifier(rs.getString("sd_identifier"))
-                .setIdentifierCodeSpace(rs.getString("sd_identifier_codespace"))
-                .setIsFront(getBoolean("is_front", rs));
+        Columns columns = this.columns.get(rs);
+        surfaceData.setObjectId(rs.getString(columns.objectId))
+                .setIdentifier(rs.getString(columns.identifier))
+                .setIdentifierCodeSpace(rs.getString(columns.identifierCodeSpace))
+                .setIsFront(getBoolean(columns.isFront, rs));
 
         return surfaceData;
     }
+
+    private static class Columns {
+        private final int objectId;
+        private final int identifier;
+        private final int identifierCodeSpace;
+        private final int isFront;
+
+        Columns(ColumnIndex columns) throws SQLException {
+            objectId = columns.get("sd_objectid");
+            identifier = columns.get("sd_identifier");
+            identifierCodeSpace = columns.get("sd_identifier_codespace");
+            isFront = columns.get("is_front");
+        }
+    }
 }
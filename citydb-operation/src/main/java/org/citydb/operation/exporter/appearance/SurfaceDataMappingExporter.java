@@ -23,23 +23,43 @@ package org.citydb.operation.exporter.appearance;
 
 import org.citydb.model.appearance.SurfaceData;
 import org.citydb.operation.exporter.ExportHelper;
+import org.citydb.operation.exporter.common.ColumnIndex;
+import org.citydb.operation.exporter.common.ColumnMapper;
 import org.citydb.operation.exporter.common.DatabaseExporter;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class SurfaceDataMappingExporter extends DatabaseExporter {
+    private final ColumnMapper<Columns> columns = ColumnMapper.of(Columns::new);
 
     public SurfaceDataMappingExporter(ExportHelper helper) {
         super(helper);
     }
 
     protected void doExport(SurfaceData<?> surfaceData, ResultSet rs) throws SQLException {
-        long geometryDataId = rs.getLong("geometry_data_id");
+        Columns columns = this.columns.get(rs);
+        long geometryDataId = rs.getLong(columns.geometryDataId);
         helper.getSurfaceDataMapper()
-                .buildMaterialMapping(getJSONObject(rs.getString("material_mapping")), geometryDataId, surfaceData)
-                .buildTextureMapping(getJSONObject(rs.getString("texture_mapping")), geometryDataId, surfaceData)
-                .buildWorldToTextureMapping(getJSONObject(rs.getString("world_to_texture_mapping")), geometryDataId, surfaceData)
-                .buildGeoreferencedTextureMapping(getJSONObject(rs.getString("georeferenced_texture_mapping")), geometryDataId, surfaceData);
+                .buildMaterialMapping(rs.getString(columns.materialMapping), geometryDataId, surfaceData)
+                .buildTextureMapping(rs.getString(columns.textureMapping), geometryDataId, surfaceData)
+                .buildWorldToTextureMapping(rs.getString(columns.worldToTextureMapping), geometryDataId, surfaceData)
+                .buildGeoreferencedTextureMapping(rs.getString(columns.georeferencedTextureMapping), geometryDataId, surfaceData);
+    }
+
+    private static class Columns {
+        private final int geometryDataId;
+        private final int materialMapping;
+        private final int textureMapping;
+        private final int worldToTextureMapping;
+        private final int georeferencedTextureMapping;
+
+        Columns(ColumnIndex columns) throws SQLException {
+            geometryDataId = columns.get("geometry_data_id");
+            materialMapping = columns.get("material_mapping");
+            textureMapping = columns.get("texture_mapping");
+            worldToTextureMapping = columns.get("world_to_texture_mapping");
+            georeferencedTextureMapping = columns.get("georeferenced_texture_mapping");
+        }
     }
 }
@@ -32,6 +32,8 @@ import org.citydb.model.common.ReferenceType;
 import org.citydb.operation.exporter.ExportException;
 import org.citydb.operation.exporter.ExportHelper;
 import org.citydb.operation.exporter.common.BlobExporter;
+import org.citydb.operation.exporter.common.ColumnIndex;
+import org.citydb.operation.exporter.common.ColumnMapper;
 import org.citydb.operation.exporter.util.ExportConstants;
 import org.citydb.operation.exporter.util.ExternalFileHelper;
 
@@ -41,6 +43,7 @@ import java.sql.SQLException;
 public abstract class TextureExporter extends SurfaceDataExporter {
     private final BlobExporter blobExporter;
     private final ExternalFileHelper externalFileHelper;
+    private final ColumnMapper<Columns> columns = ColumnMapper.of(Columns::new);
 
     public TextureExporter(ExportHelper helper) throws SQLException {
         super(helper);
@@ -53,14 +56,15 @@ public abstract class TextureExporter extends SurfaceDataExporter {
     }
 
     protected <T extends Texture<?>> T doExport(T texture, ResultSet rs) throws ExportException, SQLException {
-        texture.setBorderColor(getColor(rs.getString("tex_border_color")))
-                .setWrapMode(WrapMode.fromDatabaseValue(rs.getString("tex_wrap_mode")))
-                .setTextureType(TextureType.fromDatabaseValue(rs.getString("tex_texture_type")));
+        Columns columns = this.columns.get(rs);
+        texture.setBorderColor(getColor(rs.getString(columns.borderColor)))
+                .setWrapMode(WrapMode.fromDatabaseValue(rs.getString(columns.wrapMode)))
+                .setTextureType(TextureType.fromDatabaseValue(rs.getString(columns.textureType)));
 
-        long texImageId = rs.getLong("tex_image_id");
+        long texImageId = rs.getLong(columns.imageId);
         if (!rs.wasNull()) {
-            String imageURI = rs.getString("image_uri");
-            String mimeType = rs.getString("mime_type");
+            String imageURI = rs.getString(columns.imageURI);
+            String mimeType = rs.getString(columns.mimeType);
 
             ExternalFile textureImage = externalFileHelper.createExternalFile(texImageId, imageURI, mimeType);
             if (textureImage != null) {
@@ -72,7 +76,7 @@ public abstract class TextureExporter extends SurfaceDataExporter {
                     blobExporter.addBatch(texImageId, textureImage);
                     texture.setTextureImageProperty(TextureImageProperty.of(textureImage
                             .setMimeType(mimeType)
-                            .setMimeTypeCodeSpace(rs.getString("mime_type_codespace"))));
+                            .setMimeTypeCodeSpace(rs.getString(columns.mimeTypeCodeSpace))));
                 }
             }
         }
@@ -85,4 +89,24 @@ public abstract class TextureExporter extends SurfaceDataExporter {
         super.close();
         blobExporter.close();
     }
+
+    private static class Columns {
+        private final int borderColor;
+        private final int wrapMode;
+        private final int textureType;
+        private final int imageId;
+        private final int imageURI;
+        private final int mimeType;
+        private final int mimeTypeCodeSpace;
+
+        Columns(ColumnIndex columns) throws SQLException {
+            borderColor = columns.get("tex_border_color");
+            wrapMode = columns.get("tex_wrap_mode");
+            textureType = columns.get("tex_texture_type");
+            imageId = columns.get("tex_image_id");
+            imageURI = columns.get("image_uri");
+            mimeType = columns.get("mime_type");
+            mimeTypeCodeSpace = columns.get("mime_type_codespace");
+        }
+    }
 }
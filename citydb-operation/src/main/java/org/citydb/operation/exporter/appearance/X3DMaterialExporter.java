@@ -23,26 +23,50 @@ package org.citydb.operation.exporter.appearance;
 
 import org.citydb.model.appearance.X3DMaterial;
 import org.citydb.operation.exporter.ExportHelper;
+import org.citydb.operation.exporter.common.ColumnIndex;
+import org.citydb.operation.exporter.common.ColumnMapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class X3DMaterialExporter extends SurfaceDataExporter {
+    private final ColumnMapper<Columns> columns = ColumnMapper.of(Columns::new);
 
     public X3DMaterialExporter(ExportHelper helper) {
         super(helper);
     }
 
     protected X3DMaterial doExport(ResultSet rs) throws SQLException {
+        Columns columns = this.columns.get(rs);
         X3DMaterial material = X3DMaterial.newInstance()
-                .setShininess(getDouble("x3d_shininess", rs))
-                .setTransparency(getDouble("x3d_transparency", rs))
-                .setAmbientIntensity(getDouble("x3d_ambient_intensity", rs))
-                .setDiffuseColor(getColor(rs.getString("x3d_diffuse_color")))
-                .setEmissiveColor(getColor(rs.getString("x3d_emissive_color")))
-                .setSpecularColor(getColor(rs.getString("x3d_specular_color")))
-                .setIsSmooth(getBoolean("x3d_is_smooth", rs));
+                .setShininess(getDouble(columns.shininess, rs))
+                .setTransparency(getDouble(columns.transparency, rs))
+                .setAmbientIntensity(getDouble(columns.ambientIntensity, rs))
+                .setDiffuseColor(getColor(rs.getString(columns.diffuseColor)))
+                .setEmissiveColor(getColor(rs.getString(columns.emissiveColor)))
+                .setSpecularColor(getColor(rs.getString(columns.specularColor)))
+                .setIsSmooth(getBoolean(columns.isSmooth, rs));
 
         return doExport(material, rs);
     }
+
+    private static class Columns {
+        private final int shininess;
+        private final int transparency;
+        private final int ambientIntensity;
+        private final int diffuseColor;
+        private final int emissiveColor;
+        private final int specularColor;
+        private final int isSmooth;
+
+        Columns(ColumnIndex columns) throws SQLException {
+            shininess = columns.get("x3d_shininess");
+            transparency = columns.get("x3d_transparency");
+            ambientIntensity = columns.get("x3d_ambient_intensity");
+            diffuseColor = columns.get("x3d_diffuse_color");
+            emissiveColor = columns.get("x3d_emissive_color");
+            specularColor = columns.get("x3d_specular_color");
+            isSmooth = columns.get("x3d_is_smooth");
+        }
+    }
 }
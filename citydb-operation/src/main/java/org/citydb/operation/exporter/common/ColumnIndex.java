@@ -0,0 +1,56 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.operation.exporter.common;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class ColumnIndex {
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    private ColumnIndex(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            indexes.putIfAbsent(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+    }
+
+    public static ColumnIndex of(ResultSet rs) throws SQLException {
+        return new ColumnIndex(rs);
+    }
+
+    public int get(String column) throws SQLException {
+        int index = find(column);
+        if (index == 0) {
+            throw new SQLException("The column '" + column + "' is not part of the result set.");
+        }
+
+        return index;
+    }
+
+    public int find(String column) {
+        return indexes.getOrDefault(column.toLowerCase(Locale.ROOT), 0);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.operation.exporter.common;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+public class ColumnMapper<T> {
+    private final Factory<T> factory;
+    private final Map<Statement, T> columns = new WeakHashMap<>();
+    private ResultSet resultSet;
+    private T current;
+
+    private ColumnMapper(Factory<T> factory) {
+        this.factory = Objects.requireNonNull(factory, "The column factory must not be null.");
+    }
+
+    public static <T> ColumnMapper<T> of(Factory<T> factory) {
+        return new ColumnMapper<>(factory);
+    }
+
+    public T get(ResultSet rs) throws SQLException {
+        if (rs != resultSet) {
+            // the column layout of a statement does not change, so only resolve it once per statement
+            Statement statement = rs.getStatement();
+            T columns = statement != null ? this.columns.get(statement) : null;
+            if (columns == null) {
+                columns = factory.create(ColumnIndex.of(rs));
+                if (statement != null) {
+                    this.columns.put(statement, columns);
+                }
+            }
+
+            resultSet = rs;
+            current = columns;
+        }
+
+        return current;
+    }
+
+    @FunctionalInterface
+    public interface Factory<T> {
+        T create(ColumnIndex columns) throws SQLException;
+    }
+}
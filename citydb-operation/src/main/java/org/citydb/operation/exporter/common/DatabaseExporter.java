@@ -63,17 +63,17 @@ public abstract class DatabaseExporter {
         this.tableHelper = helper.getTableHelper();
     }
 
-    protected Long getLong(String column, ResultSet rs) throws SQLException {
+    protected Long getLong(int column, ResultSet rs) throws SQLException {
         long value = rs.getLong(column);
         return !rs.wasNull() ? value : null;
     }
 
-    protected Double getDouble(String column, ResultSet rs) throws SQLException {
+    protected Double getDouble(int column, ResultSet rs) throws SQLException {
         double value = rs.getDouble(column);
         return !rs.wasNull() ? value : null;
     }
 
-    protected Boolean getBoolean(String column, ResultSet rs) throws SQLException {
+    protected Boolean getBoolean(int column, ResultSet rs) throws SQLException {
         int value = rs.getInt(column);
         return !rs.wasNull() ? value == 1 : null;
     }
@@ -86,7 +86,7 @@ public abstract class DatabaseExporter {
         return JSON.parseArray(content, JSONReader.Feature.UseBigDecimalForDoubles);
     }
 
-    protected Name getName(String nameColumn, String namespaceIdColumn, ResultSet rs) throws SQLException {
+    protected Name getName(int nameColumn, int namespaceIdColumn, ResultSet rs) throws SQLException {
         String localName = rs.getString(nameColumn);
         if (!rs.wasNull()) {
             int namespaceId = rs.getInt(namespaceIdColumn);
@@ -98,7 +98,7 @@ public abstract class DatabaseExporter {
         return null;
     }
 
-    protected DataType getDataType(String column, ResultSet rs) throws SQLException {
+    protected DataType getDataType(int column, ResultSet rs) throws SQLException {
         int dataTypeId = rs.getInt(column);
         return !rs.wasNull() ?
                 DataType.of(dataTypeHelper.getDataType(dataTypeId)) :
@@ -26,20 +26,34 @@ import org.citydb.model.feature.Feature;
 import org.citydb.model.feature.FeatureDescriptor;
 import org.citydb.operation.exporter.ExportException;
 import org.citydb.operation.exporter.ExportHelper;
+import org.citydb.operation.exporter.common.ColumnIndex;
+import org.citydb.operation.exporter.common.ColumnMapper;
 import org.citydb.operation.exporter.common.DatabaseExporter;
 import org.citydb.operation.exporter.hierarchy.HierarchyBuilder;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
-import java.util.Collections;
-import java.util.Set;
+import java.util.*;
 
 public class FeatureExporter extends DatabaseExporter {
+    private PreparedStatement batchStmt;
+    private PreparedStatement nestedFeaturesStmt;
+    private final ColumnMapper<Columns> columns = ColumnMapper.of(Columns::new);
+    private final ColumnMapper<HierarchyBuilder.Columns> hierarchyColumns = ColumnMapper.of(HierarchyBuilder.Columns::new);
 
     public FeatureExporter(ExportHelper helper) throws SQLException {
         super(helper);
-        stmt = helper.getConnection().prepareStatement(adapter.getSchemaAdapter().getFeatureHierarchyQuery());
+        stmt = helper.getConnection().prepareStatement(adapter.getSchemaAdapter()
+                .getFeatureHierarchyQuery(helper.getOptions().getProjection()));
+
+        if (helper.getOptions().getFeatureBatchSize() > 1) {
+            batchStmt = helper.getConnection().prepareStatement(adapter.getSchemaAdapter()
+                    .getFeatureHierarchyBatchQuery(helper.getOptions().getProjection()));
+            nestedFeaturesStmt = helper.getConnection().prepareStatement(adapter.getSchemaAdapter()
+                    .getNestedFeaturesQuery());
+        }
     }
 
     public Feature doExport(long id) throws ExportException, SQLException {
@@ -50,27 +64,159 @@ public class FeatureExporter extends DatabaseExporter {
         stmt.setLong(1, id);
         try (ResultSet rs = stmt.executeQuery()) {
             return HierarchyBuilder.newInstance(helper)
-                    .initialize(rs, exportedFeatures)
+                    .initialize(rs, hierarchyColumns.get(rs), exportedFeatures)
                     .build()
                     .getFeature(id);
         }
     }
 
+    public Map<Long, HierarchyBuilder> getHierarchyBuilders(Collection<Long> ids) throws ExportException, SQLException {
+        Map<Long, HierarchyBuilder> builders = new LinkedHashMap<>();
+        for (long id : ids) {
+            builders.put(id, HierarchyBuilder.newInstance(helper));
+        }
+
+        if (batchStmt == null) {
+            for (Map.Entry<Long, HierarchyBuilder> entry : builders.entrySet()) {
+                read(entry.getKey(), entry.getValue());
+            }
+
+            return builders;
+        }
+
+        // assign all inline features to their top-level feature level by level, so that the
+        // rows of the batch can be fetched without walking the hierarchy recursively
+        Map<Long, Long> rootIds = new LinkedHashMap<>();
+        Set<Long> fallbacks = new HashSet<>();
+        for (long id : builders.keySet()) {
+            rootIds.put(id, id);
+        }
+
+        Collection<Long> level = builders.keySet();
+        while (!level.isEmpty()) {
+            List<Long> nextLevel = new ArrayList<>();
+            nestedFeaturesStmt.setArray(1, helper.getConnection().createArrayOf("bigint", level.toArray()));
+            try (ResultSet rs = nestedFeaturesStmt.executeQuery()) {
+                while (rs.next()) {
+                    long rootId = rootIds.get(rs.getLong(1));
+                    long nestedFeatureId = rs.getLong(2);
+                    Long otherRootId = rootIds.putIfAbsent(nestedFeatureId, rootId);
+                    if (otherRootId == null) {
+                        nextLevel.add(nestedFeatureId);
+                    } else {
+                        // cyclic or shared inline features are left to the recursive query
+                        fallbacks.add(rootId);
+                        fallbacks.add(otherRootId);
+                    }
+                }
+            }
+
+            level = nextLevel;
+        }
+
+        List<Long> roots = new ArrayList<>();
+        List<Long> features = new ArrayList<>();
+        rootIds.forEach((featureId, rootId) -> {
+            if (!fallbacks.contains(rootId)) {
+                roots.add(rootId);
+                features.add(featureId);
+            }
+        });
+
+        if (!roots.isEmpty()) {
+            batchStmt.setArray(1, helper.getConnection().createArrayOf("bigint", roots.toArray()));
+            batchStmt.setArray(2, helper.getConnection().createArrayOf("bigint", features.toArray()));
+            try (ResultSet rs = batchStmt.executeQuery()) {
+                HierarchyBuilder.Columns columns = hierarchyColumns.get(rs);
+                int rootId = this.columns.get(rs).rootFeatureId;
+                while (rs.next()) {
+                    HierarchyBuilder builder = builders.get(rs.getLong(rootId));
+                    if (builder != null) {
+                        builder.addRow(rs, columns);
+                    }
+                }
+            }
+        }
+
+        for (long id : fallbacks) {
+            HierarchyBuilder builder = builders.get(id);
+            if (builder != null) {
+                read(id, builder);
+            }
+        }
+
+        return builders;
+    }
+
+    private void read(long id, HierarchyBuilder builder) throws ExportException, SQLException {
+        stmt.setLong(1, id);
+        try (ResultSet rs = stmt.executeQuery()) {
+            HierarchyBuilder.Columns columns = hierarchyColumns.get(rs);
+            while (rs.next()) {
+                builder.addRow(rs, columns);
+            }
+        }
+    }
+
     public Feature doExport(long id, ResultSet rs) throws ExportException, SQLException {
-        ObjectClass objectClass = objectClassHelper.getObjectClass(rs.getInt("objectclass_id"));
+        Columns columns = this.columns.get(rs);
+        ObjectClass objectClass = objectClassHelper.getObjectClass(rs.getInt(columns.objectClassId));
         return Feature.of(objectClass.getName())
-                .setObjectId(rs.getString("objectid"))
-                .setIdentifier(rs.getString("identifier"))
-                .setIdentifierCodeSpace(rs.getString("identifier_codespace"))
-                .setEnvelope(getEnvelope(rs.getObject("envelope")))
-                .setLastModificationDate(rs.getObject("last_modification_date", OffsetDateTime.class))
-                .setUpdatingPerson(rs.getString("updating_person"))
-                .setReasonForUpdate(rs.getString("reason_for_update"))
-                .setLineage(rs.getString("lineage"))
-                .setCreationDate(rs.getObject("creation_date", OffsetDateTime.class))
-                .setTerminationDate(rs.getObject("termination_date", OffsetDateTime.class))
-                .setValidFrom(rs.getObject("valid_from", OffsetDateTime.class))
-                .setValidTo(rs.getObject("valid_to", OffsetDateTime.class))
+                .setObjectId(rs.getString(columns.objectId))
+                .setIdentifier(rs.getString(columns.identifier))
+                .setIdentifierCodeSpace(rs.getString(columns.identifierCodeSpace))
+                .setEnvelope(getEnvelope(rs.getObject(columns.envelope)))
+                .setLastModificationDate(rs.getObject(columns.lastModificationDate, OffsetDateTime.class))
+                .setUpdatingPerson(rs.getString(columns.updatingPerson))
+                .setReasonForUpdate(rs.getString(columns.reasonForUpdate))
+                .setLineage(rs.getString(columns.lineage))
+                .setCreationDate(rs.getObject(columns.creationDate, OffsetDateTime.class))
+                .setTerminationDate(rs.getObject(columns.terminationDate, OffsetDateTime.class))
+                .setValidFrom(rs.getObject(columns.validFrom, OffsetDateTime.class))
+                .setValidTo(rs.getObject(columns.validTo, OffsetDateTime.class))
                 .setDescriptor(FeatureDescriptor.of(id, objectClass.getId()));
     }
+
+    @Override
+    public void close() throws ExportException, SQLException {
+        super.close();
+        if (batchStmt != null) {
+            batchStmt.close();
+            nestedFeaturesStmt.close();
+        }
+    }
+
+    private static class Columns {
+        private final int objectClassId;
+        private final int objectId;
+        private final int identifier;
+        private final int identifierCodeSpace;
+        private final int envelope;
+        private final int lastModificationDate;
+        private final int updatingPerson;
+        private final int reasonForUpdate;
+        private final int lineage;
+        private final int creationDate;
+        private final int terminationDate;
+        private final int validFrom;
+        private final int validTo;
+        private final int rootFeatureId;
+
+        Columns(ColumnIndex columns) throws SQLException {
+            objectClassId = columns.get("objectclass_id");
+            objectId = columns.get("objectid");
+            identifier = columns.get("identifier");
+            identifierCodeSpace = columns.get("identifier_codespace");
+            envelope = columns.get("envelope");
+            lastModificationDate = columns.get("last_modification_date");
+            updatingPerson = columns.get("updating_person");
+            reasonForUpdate = columns.get("reason_for_update");
+            lineage = columns.get("lineage");
+            creationDate = columns.get("creation_date");
+            terminationDate = columns.get("termination_date");
+            validFrom = columns.get("valid_from");
+            validTo = columns.get("valid_to");
+            rootFeatureId = columns.find("root_feature_id");
+        }
+    }
 }
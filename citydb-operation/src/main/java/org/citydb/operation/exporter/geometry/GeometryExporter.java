@@ -21,19 +21,21 @@
 
 package org.citydb.operation.exporter.geometry;
 
-import com.alibaba.fastjson2.JSONObject;
 import org.citydb.database.geometry.GeometryException;
 import org.citydb.database.schema.Table;
 import org.citydb.model.geometry.Geometry;
 import org.citydb.model.geometry.GeometryDescriptor;
 import org.citydb.operation.exporter.ExportException;
 import org.citydb.operation.exporter.ExportHelper;
+import org.citydb.operation.exporter.common.ColumnIndex;
+import org.citydb.operation.exporter.common.ColumnMapper;
 import org.citydb.operation.exporter.common.DatabaseExporter;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class GeometryExporter extends DatabaseExporter {
+    private final ColumnMapper<Columns> columns = ColumnMapper.of(Columns::new);
 
     public GeometryExporter(ExportHelper helper) throws SQLException {
         super(helper);
@@ -59,10 +61,11 @@ public class GeometryExporter extends DatabaseExporter {
     }
 
     public Geometry<?> doExport(long id, boolean isImplicit, ResultSet rs) throws ExportException, SQLException {
+        Columns columns = this.columns.get(rs);
         Object geometryObject = isImplicit ?
-                rs.getObject("implicit_geometry") :
-                rs.getObject("geometry");
-        JSONObject properties = getJSONObject(rs.getString("geometry_properties"));
+                rs.getObject(columns.implicitGeometry) :
+                rs.getObject(columns.geometry);
+        String properties = rs.getString(columns.properties);
         if (geometryObject != null && properties != null) {
             try {
                 Geometry<?> geometry = adapter.getGeometryAdapter().buildGeometry(geometryObject, properties);
@@ -72,7 +75,8 @@ public class GeometryExporter extends DatabaseExporter {
                                 .setSrsName(helper.getSrsName());
                     }
 
-                    return geometry.setDescriptor(GeometryDescriptor.of(id, rs.getLong("geometry_feature_id")));
+                    return geometry.setDescriptor(GeometryDescriptor.of(id,
+                            rs.getLong(columns.featureId)));
                 }
             } catch (GeometryException e) {
                 throw new ExportException("Failed to export geometry (ID: " + id + ").", e);
@@ -81,4 +85,19 @@ public class GeometryExporter extends DatabaseExporter {
 
         return null;
     }
+
+    private static class Columns {
+        private final int geometry;
+        private final int implicitGeometry;
+        private final int properties;
+        private final int featureId;
+
+        Columns(ColumnIndex columns) throws SQLException {
+            // result sets of implicit geometries only provide one of the geometry columns
+            geometry = columns.find("geometry");
+            implicitGeometry = columns.find("implicit_geometry");
+            properties = columns.get("geometry_properties");
+            featureId = columns.get("geometry_feature_id");
+        }
+    }
 }
@@ -34,9 +34,12 @@ import org.citydb.operation.exporter.ExportException;
 import org.citydb.operation.exporter.ExportHelper;
 import org.citydb.operation.exporter.appearance.AppearanceExporter;
 import org.citydb.operation.exporter.common.BlobExporter;
+import org.citydb.operation.exporter.common.ColumnIndex;
+import org.citydb.operation.exporter.common.ColumnMapper;
 import org.citydb.operation.exporter.common.DatabaseExporter;
 import org.citydb.operation.exporter.util.ExportConstants;
 import org.citydb.operation.exporter.util.ExternalFileHelper;
+import org.citydb.operation.exporter.util.ImplicitGeometryCache;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -47,6 +50,8 @@ import java.util.stream.Collectors;
 public class ImplicitGeometryExporter extends DatabaseExporter {
     private final BlobExporter blobExporter;
     private final ExternalFileHelper externalFileHelper;
+    private final ImplicitGeometryCache cache;
+    private final ColumnMapper<Columns> columns = ColumnMapper.of(Columns::new);
 
     public ImplicitGeometryExporter(ExportHelper helper) throws SQLException {
         super(helper);
@@ -55,6 +60,7 @@ public class ImplicitGeometryExporter extends DatabaseExporter {
                 .withRelativeOutputFolder(ExportConstants.LIBRARY_OBJECTS_DIR)
                 .withFileNamePrefix(ExportConstants.LIBRARY_OBJECTS_PREFIX)
                 .createUniqueFileNames(true);
+        cache = helper.getImplicitGeometryCache();
         stmt = helper.getConnection().prepareStatement(getBaseQuery() +
                 "where ig.id = ?");
     }
@@ -77,64 +83,102 @@ public class ImplicitGeometryExporter extends DatabaseExporter {
                 .doExport(Collections.emptySet(), Collections.singleton(id))
                 .values();
 
-        stmt.setLong(1, id);
-        try (ResultSet rs = stmt.executeQuery()) {
-            return doExport(appearances, rs).get(id);
+        Map<Long, ImplicitGeometry> implicitGeometries = new HashMap<>();
+        ImplicitGeometry implicitGeometry = cache.get(id);
+        if (implicitGeometry != null) {
+            implicitGeometries.put(id, implicitGeometry);
+        } else {
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                doExport(rs, implicitGeometries);
+            }
         }
+
+        return addAppearances(implicitGeometries, appearances).get(id);
     }
 
     public Map<Long, ImplicitGeometry> doExport(Set<Long> ids, Collection<Appearance> appearances) throws ExportException, SQLException {
         if (!ids.isEmpty()) {
-            try (Statement stmt = helper.getConnection().createStatement();
-                 ResultSet rs = stmt.executeQuery(getQuery(ids))) {
-                return doExport(appearances, rs);
+            Map<Long, ImplicitGeometry> implicitGeometries = new HashMap<>();
+            Set<Long> uncachedIds = new HashSet<>();
+            for (long id : ids) {
+                ImplicitGeometry implicitGeometry = cache.get(id);
+                if (implicitGeometry != null) {
+                    implicitGeometries.put(id, implicitGeometry);
+                } else {
+                    uncachedIds.add(id);
+                }
             }
+
+            if (!uncachedIds.isEmpty()) {
+                try (Statement stmt = helper.getConnection().createStatement();
+                     ResultSet rs = stmt.executeQuery(getQuery(uncachedIds))) {
+                    doExport(rs, implicitGeometries);
+                }
+            }
+
+            return addAppearances(implicitGeometries, appearances);
         } else {
             return Collections.emptyMap();
         }
     }
 
-    private Map<Long, ImplicitGeometry> doExport(Collection<Appearance> appearances, ResultSet rs) throws ExportException, SQLException {
-        Map<Long, ImplicitGeometry> implicitGeometries = new HashMap<>();
-        Map<Long, List<Appearance>> appearancesById = appearances.stream()
-                .filter(appearance -> appearance.getDescriptor()
-                        .map(AppearanceDescriptor::getImplicitGeometryId).isPresent())
-                .collect(Collectors.groupingBy(appearance -> appearance.getDescriptor()
-                        .map(AppearanceDescriptor::getImplicitGeometryId).orElse(0L)));
-
+    private void doExport(ResultSet rs, Map<Long, ImplicitGeometry> implicitGeometries) throws ExportException, SQLException {
+        Columns columns = this.columns.get(rs);
         while (rs.next()) {
             ImplicitGeometry implicitGeometry = null;
-            long id = rs.getLong("id");
+            long id = rs.getLong(columns.id);
 
-            long geometryId = rs.getLong("relative_geometry_id");
+            long geometryId = rs.getLong(columns.relativeGeometryId);
             if (!rs.wasNull()) {
                 Geometry<?> geometry = tableHelper.getOrCreateExporter(GeometryExporter.class)
                         .doExport(geometryId, true, rs);
                 if (geometry != null) {
+                    cache.putGeometry(id, geometry);
                     implicitGeometry = ImplicitGeometry.of(geometry);
                 }
             } else {
-                String uri = rs.getString("reference_to_library");
+                String uri = rs.getString(columns.referenceToLibrary);
                 if (uri != null) {
-                    String mimeType = rs.getString("mime_type");
+                    String mimeType = rs.getString(columns.mimeType);
                     ExternalFile libraryObject = externalFileHelper.createExternalFile(id, uri, mimeType);
                     if (libraryObject != null) {
-                        blobExporter.addBatch(id, libraryObject);
-                        implicitGeometry = ImplicitGeometry.of(libraryObject
-                                .setMimeType(mimeType)
-                                .setMimeTypeCodeSpace(rs.getString("mime_type_codespace")));
+                        if (cache.requiresLibraryObjectExport(id)) {
+                            blobExporter.addBatch(id, libraryObject);
+                        }
+
+                        libraryObject.setMimeType(mimeType)
+                                .setMimeTypeCodeSpace(rs.getString(columns.mimeTypeCodeSpace));
+                        cache.putLibraryObject(id, libraryObject);
+                        implicitGeometry = ImplicitGeometry.of(libraryObject);
                     }
                 }
             }
 
             if (implicitGeometry != null) {
                 implicitGeometries.put(id, implicitGeometry);
-                for (Appearance appearance : appearancesById.getOrDefault(id, Collections.emptyList())) {
-                    implicitGeometry.addAppearance(
-                            AppearanceProperty.of(Name.of("appearance", Namespaces.APPEARANCE), appearance));
-                }
             }
         }
+    }
+
+    private Map<Long, ImplicitGeometry> addAppearances(Map<Long, ImplicitGeometry> implicitGeometries, Collection<Appearance> appearances) {
+        if (!implicitGeometries.isEmpty() && !appearances.isEmpty()) {
+            Map<Long, List<Appearance>> appearancesById = appearances.stream()
+                    .filter(appearance -> appearance.getDescriptor()
+                            .map(AppearanceDescriptor::getImplicitGeometryId).isPresent())
+                    .collect(Collectors.groupingBy(appearance -> appearance.getDescriptor()
+                            .map(AppearanceDescriptor::getImplicitGeometryId).orElse(0L)));
+
+            appearancesById.forEach((id, values) -> {
+                ImplicitGeometry implicitGeometry = implicitGeometries.get(id);
+                if (implicitGeometry != null) {
+                    for (Appearance appearance : values) {
+                        implicitGeometry.addAppearance(
+                                AppearanceProperty.of(Name.of("appearance", Namespaces.APPEARANCE), appearance));
+                    }
+                }
+            });
+        }
 
         return implicitGeometries;
     }
@@ -144,4 +188,20 @@ public class ImplicitGeometryExporter extends DatabaseExporter {
         super.close();
         blobExporter.close();
     }
+
+    private static class Columns {
+        private final int id;
+        private final int relativeGeometryId;
+        private final int referenceToLibrary;
+        private final int mimeType;
+        private final int mimeTypeCodeSpace;
+
+        Columns(ColumnIndex columns) throws SQLException {
+            id = columns.get("id");
+            relativeGeometryId = columns.get("relative_geometry_id");
+            referenceToLibrary = columns.get("reference_to_library");
+            mimeType = columns.get("mime_type");
+            mimeTypeCodeSpace = columns.get("mime_type_codespace");
+        }
+    }
 }
@@ -21,6 +21,7 @@
 
 package org.citydb.operation.exporter.hierarchy;
 
+import org.citydb.database.schema.Projection;
 import org.citydb.model.feature.Feature;
 import org.citydb.model.property.Attribute;
 import org.citydb.model.property.Property;
@@ -29,6 +30,7 @@ import org.citydb.operation.exporter.ExportException;
 import org.citydb.operation.exporter.ExportHelper;
 import org.citydb.operation.exporter.address.AddressExporter;
 import org.citydb.operation.exporter.appearance.AppearanceExporter;
+import org.citydb.operation.exporter.common.ColumnIndex;
 import org.citydb.operation.exporter.feature.FeatureExporter;
 import org.citydb.operation.exporter.geometry.GeometryExporter;
 import org.citydb.operation.exporter.geometry.ImplicitGeometryExporter;
@@ -43,12 +45,18 @@ import java.util.*;
 public class HierarchyBuilder {
     private final TableHelper tableHelper;
     private final PropertyBuilder propertyBuilder;
+    private final boolean withAppearances;
     private final Hierarchy hierarchy = new Hierarchy();
     private final List<PropertyStub> propertyStubs = new ArrayList<>();
+    private final Set<Long> appearanceIds = new HashSet<>();
+    private final Set<Long> implicitGeometryIds = new HashSet<>();
 
     private HierarchyBuilder(ExportHelper helper) {
         tableHelper = helper.getTableHelper();
         propertyBuilder = new PropertyBuilder(helper);
+
+        Projection projection = helper.getOptions().getProjection();
+        withAppearances = projection == null || projection.isWithAppearances();
     }
 
     public static HierarchyBuilder newInstance(ExportHelper helper) {
@@ -60,63 +68,76 @@ public class HierarchyBuilder {
     }
 
     public HierarchyBuilder initialize(ResultSet rs, Set<Long> exportedFeatures) throws ExportException, SQLException {
-        Set<Long> appearanceIds = new HashSet<>();
-        Set<Long> implicitGeometryIds = new HashSet<>();
+        return initialize(rs, Columns.of(rs), exportedFeatures);
+    }
 
+    public HierarchyBuilder initialize(ResultSet rs, Columns columns, Set<Long> exportedFeatures) throws ExportException, SQLException {
         if (exportedFeatures != null) {
             hierarchy.getInlineFeatures().addAll(exportedFeatures);
         }
 
         while (rs.next()) {
-            long nestedFeatureId = rs.getLong("val_feature_id");
-            if (!rs.wasNull()) {
-                Feature feature = hierarchy.getFeature(nestedFeatureId);
-                if (feature == null) {
-                    hierarchy.addFeature(nestedFeatureId, tableHelper.getOrCreateExporter(FeatureExporter.class)
-                            .doExport(nestedFeatureId, rs));
-                }
+            addRow(rs, columns);
+        }
 
-                int referenceType = rs.getInt("val_reference_type");
-                if (referenceType == 0) {
-                    hierarchy.addInlineFeature(nestedFeatureId);
-                }
-            }
+        return initialize();
+    }
 
-            long geometryId = rs.getLong("val_geometry_id");
-            if (!rs.wasNull() && hierarchy.getGeometry(geometryId) == null) {
-                hierarchy.addGeometry(geometryId, tableHelper.getOrCreateExporter(GeometryExporter.class)
-                        .doExport(geometryId, false, rs));
+    public HierarchyBuilder addRow(ResultSet rs, Columns columns) throws ExportException, SQLException {
+        long nestedFeatureId = rs.getLong(columns.nestedFeatureId);
+        if (!rs.wasNull()) {
+            Feature feature = hierarchy.getFeature(nestedFeatureId);
+            if (feature == null) {
+                hierarchy.addFeature(nestedFeatureId, tableHelper.getOrCreateExporter(FeatureExporter.class)
+                        .doExport(nestedFeatureId, rs));
             }
 
-            long appearanceId = rs.getLong("val_appearance_id");
-            if (!rs.wasNull()) {
-                appearanceIds.add(appearanceId);
+            int referenceType = rs.getInt(columns.referenceType);
+            if (referenceType == 0) {
+                hierarchy.addInlineFeature(nestedFeatureId);
             }
+        }
 
-            long addressId = rs.getLong("val_address_id");
-            if (!rs.wasNull() && hierarchy.getAddress(addressId) == null) {
-                hierarchy.addAddress(addressId, tableHelper.getOrCreateExporter(AddressExporter.class)
-                        .doExport(addressId, rs));
-            }
+        long geometryId = rs.getLong(columns.geometryId);
+        if (!rs.wasNull() && hierarchy.getGeometry(geometryId) == null) {
+            hierarchy.addGeometry(geometryId, tableHelper.getOrCreateExporter(GeometryExporter.class)
+                    .doExport(geometryId, false, rs));
+        }
 
-            long implicitGeometryId = rs.getLong("val_implicitgeom_id");
-            if (!rs.wasNull()) {
-                implicitGeometryIds.add(implicitGeometryId);
-            }
+        long appearanceId = rs.getLong(columns.appearanceId);
+        if (!rs.wasNull()) {
+            appearanceIds.add(appearanceId);
+        }
 
-            long featureId = rs.getLong("feature_id");
-            if (!rs.wasNull()) {
-                PropertyStub propertyStub = tableHelper.getOrCreateExporter(PropertyExporter.class)
-                        .doExport(featureId, rs);
-                if (propertyStub != null) {
-                    propertyStubs.add(propertyStub);
-                }
+        long addressId = rs.getLong(columns.addressId);
+        if (!rs.wasNull() && hierarchy.getAddress(addressId) == null) {
+            hierarchy.addAddress(addressId, tableHelper.getOrCreateExporter(AddressExporter.class)
+                    .doExport(addressId, rs));
+        }
+
+        long implicitGeometryId = rs.getLong(columns.implicitGeometryId);
+        if (!rs.wasNull()) {
+            implicitGeometryIds.add(implicitGeometryId);
+        }
+
+        long featureId = rs.getLong(columns.featureId);
+        if (!rs.wasNull()) {
+            PropertyStub propertyStub = tableHelper.getOrCreateExporter(PropertyExporter.class)
+                    .doExport(featureId, rs);
+            if (propertyStub != null) {
+                propertyStubs.add(propertyStub);
             }
         }
 
-        tableHelper.getOrCreateExporter(AppearanceExporter.class)
-                .doExport(appearanceIds, implicitGeometryIds)
-                .forEach(hierarchy::addAppearance);
+        return this;
+    }
+
+    public HierarchyBuilder initialize() throws ExportException, SQLException {
+        if (withAppearances) {
+            tableHelper.getOrCreateExporter(AppearanceExporter.class)
+                    .doExport(appearanceIds, implicitGeometryIds)
+                    .forEach(hierarchy::addAppearance);
+        }
 
         tableHelper.getOrCreateExporter(ImplicitGeometryExporter.class)
                 .doExport(implicitGeometryIds, hierarchy.getAppearances().values())
@@ -152,4 +173,28 @@ public class HierarchyBuilder {
 
         return hierarchy;
     }
+
+    public static class Columns {
+        private final int nestedFeatureId;
+        private final int referenceType;
+        private final int geometryId;
+        private final int appearanceId;
+        private final int addressId;
+        private final int implicitGeometryId;
+        private final int featureId;
+
+        public Columns(ColumnIndex columns) throws SQLException {
+            nestedFeatureId = columns.get("val_feature_id");
+            referenceType = columns.get("val_reference_type");
+            geometryId = columns.get("val_geometry_id");
+            appearanceId = columns.get("val_appearance_id");
+            addressId = columns.get("val_address_id");
+            implicitGeometryId = columns.get("val_implicitgeom_id");
+            featureId = columns.get("feature_id");
+        }
+
+        public static Columns of(ResultSet rs) throws SQLException {
+            return new Columns(ColumnIndex.of(rs));
+        }
+    }
 }
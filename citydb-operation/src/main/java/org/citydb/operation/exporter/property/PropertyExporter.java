@@ -27,6 +27,8 @@ import org.citydb.model.geometry.Point;
 import org.citydb.model.property.PropertyDescriptor;
 import org.citydb.operation.exporter.ExportException;
 import org.citydb.operation.exporter.ExportHelper;
+import org.citydb.operation.exporter.common.ColumnIndex;
+import org.citydb.operation.exporter.common.ColumnMapper;
 import org.citydb.operation.exporter.common.DatabaseExporter;
 
 import java.sql.ResultSet;
@@ -34,39 +36,95 @@ import java.sql.SQLException;
 import java.time.OffsetDateTime;
 
 public class PropertyExporter extends DatabaseExporter {
+    private final ColumnMapper<Columns> columns = ColumnMapper.of(Columns::new);
 
     public PropertyExporter(ExportHelper helper) {
         super(helper);
     }
 
     public PropertyStub doExport(long featureId, ResultSet rs) throws ExportException, SQLException {
-        Name name = getName("name", "namespace_id", rs);
+        Columns columns = this.columns.get(rs);
+        Name name = getName(columns.name, columns.namespaceId, rs);
         if (name != null) {
             return PropertyStub.of(name)
-                    .setDataType(getDataType("datatype_id", rs))
-                    .setIntValue(getLong("val_int", rs))
-                    .setDoubleValue(getDouble("val_double", rs))
-                    .setStringValue(rs.getString("val_string"))
-                    .setTimeStamp(rs.getObject("val_timestamp", OffsetDateTime.class))
-                    .setURI(rs.getString("val_uri"))
-                    .setCodeSpace(rs.getString("val_codespace"))
-                    .setUom(rs.getString("val_uom"))
-                    .setArrayValue(getArrayValue(rs.getString("val_array")))
-                    .setLod(rs.getString("val_lod"))
-                    .setGeometryId(getLong("val_geometry_id", rs))
-                    .setImplicitGeometryId(getLong("val_implicitgeom_id", rs))
-                    .setReferencePoint(getGeometry(rs.getObject("val_implicitgeom_refpoint"), Point.class))
-                    .setAppearanceId(getLong("val_appearance_id", rs))
-                    .setAddressId(getLong("val_address_id", rs))
-                    .setFeatureId(getLong("val_feature_id", rs))
-                    .setReferenceType(ReferenceType.fromDatabaseValue(rs.getInt("val_reference_type")))
-                    .setGenericContent(rs.getString("val_content"))
-                    .setGenericContentMimeType(rs.getString("val_content_mime_type"))
-                    .setDescriptor(PropertyDescriptor.of(rs.getLong("id"), featureId)
-                            .setParentId(rs.getLong("parent_id"))
-                            .setRootId(rs.getLong("root_id")));
+                    .setDataType(getDataType(columns.dataTypeId, rs))
+                    .setIntValue(getLong(columns.intValue, rs))
+                    .setDoubleValue(getDouble(columns.doubleValue, rs))
+                    .setStringValue(rs.getString(columns.stringValue))
+                    .setTimeStamp(rs.getObject(columns.timeStamp, OffsetDateTime.class))
+                    .setURI(rs.getString(columns.uri))
+                    .setCodeSpace(rs.getString(columns.codeSpace))
+                    .setUom(rs.getString(columns.uom))
+                    .setArrayValue(getArrayValue(rs.getString(columns.arrayValue)))
+                    .setLod(rs.getString(columns.lod))
+                    .setGeometryId(getLong(columns.geometryId, rs))
+                    .setImplicitGeometryId(getLong(columns.implicitGeometryId, rs))
+                    .setReferencePoint(getGeometry(rs.getObject(columns.referencePoint), Point.class))
+                    .setAppearanceId(getLong(columns.appearanceId, rs))
+                    .setAddressId(getLong(columns.addressId, rs))
+                    .setFeatureId(getLong(columns.featureId, rs))
+                    .setReferenceType(ReferenceType.fromDatabaseValue(rs.getInt(columns.referenceType)))
+                    .setGenericContent(rs.getString(columns.content))
+                    .setGenericContentMimeType(rs.getString(columns.contentMimeType))
+                    .setDescriptor(PropertyDescriptor.of(rs.getLong(columns.id), featureId)
+                            .setParentId(rs.getLong(columns.parentId))
+                            .setRootId(rs.getLong(columns.rootId)));
         } else {
             return null;
         }
     }
+
+    private static class Columns {
+        private final int id;
+        private final int parentId;
+        private final int rootId;
+        private final int dataTypeId;
+        private final int namespaceId;
+        private final int name;
+        private final int intValue;
+        private final int doubleValue;
+        private final int stringValue;
+        private final int timeStamp;
+        private final int uri;
+        private final int codeSpace;
+        private final int uom;
+        private final int arrayValue;
+        private final int lod;
+        private final int geometryId;
+        private final int implicitGeometryId;
+        private final int referencePoint;
+        private final int appearanceId;
+        private final int addressId;
+        private final int featureId;
+        private final int referenceType;
+        private final int content;
+        private final int contentMimeType;
+
+        Columns(ColumnIndex columns) throws SQLException {
+            id = columns.get("id");
+            parentId = columns.get("parent_id");
+            rootId = columns.get("root_id");
+            dataTypeId = columns.get("datatype_id");
+            namespaceId = columns.get("namespace_id");
+            name = columns.get("name");
+            intValue = columns.get("val_int");
+            doubleValue = columns.get("val_double");
+            stringValue = columns.get("val_string");
+            timeStamp = columns.get("val_timestamp");
+            uri = columns.get("val_uri");
+            codeSpace = columns.get("val_codespace");
+            uom = columns.get("val_uom");
+            arrayValue = columns.get("val_array");
+            lod = columns.get("val_lod");
+            geometryId = columns.get("val_geometry_id");
+            implicitGeometryId = columns.get("val_implicitgeom_id");
+            referencePoint = columns.get("val_implicitgeom_refpoint");
+            appearanceId = columns.get("val_appearance_id");
+            addressId = columns.get("val_address_id");
+            featureId = columns.get("val_feature_id");
+            referenceType = columns.get("val_reference_type");
+            content = columns.get("val_content");
+            contentMimeType = columns.get("val_content_mime_type");
+        }
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.operation.exporter.util;
+
+import org.citydb.model.common.ExternalFile;
+import org.citydb.model.geometry.Geometry;
+import org.citydb.model.geometry.GeometryDescriptor;
+import org.citydb.model.geometry.ImplicitGeometry;
+import org.citydb.model.util.BinaryFeatureReader;
+import org.citydb.model.util.BinaryFeatureWriter;
+import org.citydb.operation.exporter.ExportException;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ImplicitGeometryCache {
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final Map<Long, Template> templates;
+    private final Set<Long> exportedLibraryObjects = ConcurrentHashMap.newKeySet();
+
+    private ImplicitGeometryCache(int capacity) {
+        templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Template> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public static ImplicitGeometryCache newInstance() {
+        return new ImplicitGeometryCache(DEFAULT_CAPACITY);
+    }
+
+    public static ImplicitGeometryCache newInstance(int capacity) {
+        return new ImplicitGeometryCache(capacity > 0 ? capacity : DEFAULT_CAPACITY);
+    }
+
+    public ImplicitGeometry get(long id) throws ExportException {
+        Template template;
+        synchronized (templates) {
+            template = templates.get(id);
+        }
+
+        try {
+            return template != null ? template.create() : null;
+        } catch (IOException e) {
+            throw new ExportException("Failed to copy cached implicit geometry (ID: " + id + ").", e);
+        }
+    }
+
+    public void putGeometry(long id, Geometry<?> geometry) {
+        GeometryDescriptor descriptor = geometry.getDescriptor().orElse(null);
+        if (descriptor != null) {
+            try {
+                put(id, new GeometryTemplate(BinaryFeatureWriter.toBytes(geometry),
+                        descriptor.getId(), descriptor.getFeatureId()));
+            } catch (IOException e) {
+                // the template is not cached and will be queried again
+            }
+        }
+    }
+
+    public void putLibraryObject(long id, ExternalFile libraryObject) {
+        put(id, new LibraryObjectTemplate(libraryObject.getFileLocation(),
+                libraryObject.getMimeType().orElse(null),
+                libraryObject.getMimeTypeCodeSpace().orElse(null)));
+    }
+
+    public boolean requiresLibraryObjectExport(long id) {
+        return exportedLibraryObjects.add(id);
+    }
+
+    public void clear() {
+        synchronized (templates) {
+            templates.clear();
+        }
+
+        exportedLibraryObjects.clear();
+    }
+
+    private void put(long id, Template template) {
+        synchronized (templates) {
+            templates.put(id, template);
+        }
+    }
+
+    private interface Template {
+        ImplicitGeometry create() throws IOException;
+    }
+
+    private static class GeometryTemplate implements Template {
+        private final byte[] geometry;
+        private final long geometryId;
+        private final long featureId;
+
+        GeometryTemplate(byte[] geometry, long geometryId, long featureId) {
+            this.geometry = geometry;
+            this.geometryId = geometryId;
+            this.featureId = featureId;
+        }
+
+        @Override
+        public ImplicitGeometry create() throws IOException {
+            return ImplicitGeometry.of(BinaryFeatureReader.geometryFromBytes(geometry)
+                    .setDescriptor(GeometryDescriptor.of(geometryId, featureId)));
+        }
+    }
+
+    private static class LibraryObjectTemplate implements Template {
+        private final String fileLocation;
+        private final String mimeType;
+        private final String mimeTypeCodeSpace;
+
+        LibraryObjectTemplate(String fileLocation, String mimeType, String mimeTypeCodeSpace) {
+            this.fileLocation = fileLocation;
+            this.mimeType = mimeType;
+            this.mimeTypeCodeSpace = mimeTypeCodeSpace;
+        }
+
+        @Override
+        public ImplicitGeometry create() {
+            return ImplicitGeometry.of(ExternalFile.of(fileLocation)
+                    .setMimeType(mimeType)
+                    .setMimeTypeCodeSpace(mimeTypeCodeSpace));
+        }
+    }
+}
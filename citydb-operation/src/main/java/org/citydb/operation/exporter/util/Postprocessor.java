@@ -56,6 +56,12 @@ public class Postprocessor {
         try {
             visitable.accept(surfaceCollector);
             visitable.accept(processor);
+            if (visitable instanceof Feature) {
+                Feature feature = (Feature) visitable;
+                if (feature.getEnvelope().isEmpty()) {
+                    feature.computeEnvelope();
+                }
+            }
         } finally {
             surfaceDataMapper.clear();
             surfaces.clear();
@@ -21,93 +21,55 @@
 
 package org.citydb.operation.exporter.util;
 
-import com.alibaba.fastjson2.JSONArray;
-import com.alibaba.fastjson2.JSONObject;
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONReader;
+import org.apache.logging.log4j.Logger;
+import org.citydb.logging.LoggerManager;
 import org.citydb.model.appearance.SurfaceData;
 import org.citydb.model.appearance.TextureCoordinate;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.function.Function;
 
 public class SurfaceDataMapper {
+    private final Logger logger = LoggerManager.getInstance().getLogger();
     private final Map<SurfaceData<?>, List<String>> materialMappings = new IdentityHashMap<>();
     private final Map<SurfaceData<?>, Map<String, List<List<TextureCoordinate>>>> textureMappings = new IdentityHashMap<>();
     private final Map<SurfaceData<?>, Map<String, List<Double>>> worldToTextureMappings = new IdentityHashMap<>();
     private final Map<SurfaceData<?>, List<String>> georeferencedTextureMappings = new IdentityHashMap<>();
 
-    public SurfaceDataMapper buildMaterialMapping(JSONObject mapping, long geometryDataId, SurfaceData<?> surfaceData) {
-        if (mapping != null) {
-            for (Map.Entry<String, Object> entry : mapping.entrySet()) {
-                if (entry.getValue() == Boolean.TRUE) {
-                    materialMappings.computeIfAbsent(surfaceData, v -> new ArrayList<>())
-                            .add(getKey(geometryDataId, entry.getKey()));
-                }
-            }
+    public SurfaceDataMapper buildMaterialMapping(String mapping, long geometryDataId, SurfaceData<?> surfaceData) {
+        Map<String, Boolean> flags = readMapping(mapping, geometryDataId, this::readFlag);
+        if (!flags.isEmpty()) {
+            materialMappings.computeIfAbsent(surfaceData, v -> new ArrayList<>()).addAll(flags.keySet());
         }
 
         return this;
     }
 
-    public SurfaceDataMapper buildTextureMapping(JSONObject mapping, long geometryDataId, SurfaceData<?> surfaceData) {
-        if (mapping != null) {
-            for (Map.Entry<String, Object> entry : mapping.entrySet()) {
-                if (entry.getValue() instanceof JSONArray) {
-                    List<List<TextureCoordinate>> textureCoordinates = new ArrayList<>();
-                    for (Object ring : (JSONArray) entry.getValue()) {
-                        if (ring instanceof JSONArray) {
-                            List<TextureCoordinate> ringCoordinates = new ArrayList<>();
-                            for (Object coordinates : (JSONArray) ring) {
-                                if (coordinates instanceof JSONArray && ((JSONArray) coordinates).size() > 1) {
-                                    Double s = ((JSONArray) coordinates).getDouble(0);
-                                    Double t = ((JSONArray) coordinates).getDouble(1);
-                                    if (s != null && t != null) {
-                                        ringCoordinates.add(TextureCoordinate.of(s, t));
-                                    }
-                                }
-                            }
-
-                            if (!ringCoordinates.isEmpty()) {
-                                textureCoordinates.add(ringCoordinates);
-                            }
-                        }
-                    }
-
-                    if (!textureCoordinates.isEmpty()) {
-                        textureMappings.computeIfAbsent(surfaceData, v -> new HashMap<>())
-                                .put(getKey(geometryDataId, entry.getKey()), textureCoordinates);
-                    }
-                }
-            }
+    public SurfaceDataMapper buildTextureMapping(String mapping, long geometryDataId, SurfaceData<?> surfaceData) {
+        Map<String, List<List<TextureCoordinate>>> coordinates = readMapping(mapping, geometryDataId,
+                this::readTextureCoordinates);
+        if (!coordinates.isEmpty()) {
+            textureMappings.computeIfAbsent(surfaceData, v -> new HashMap<>()).putAll(coordinates);
         }
 
         return this;
     }
 
-    public SurfaceDataMapper buildWorldToTextureMapping(JSONObject mapping, long geometryDataId, SurfaceData<?> surfaceData) {
-        if (mapping != null) {
-            for (Map.Entry<String, Object> entry : mapping.entrySet()) {
-                if (entry.getValue() instanceof JSONArray) {
-                    List<Double> worldToTexture = IntStream.range(0, ((JSONArray) entry.getValue()).size())
-                            .mapToObj(((JSONArray) entry.getValue())::getDouble)
-                            .collect(Collectors.toList());
-                    worldToTextureMappings.computeIfAbsent(surfaceData, v -> new HashMap<>())
-                            .put(getKey(geometryDataId, entry.getKey()), worldToTexture);
-                }
-            }
+    public SurfaceDataMapper buildWorldToTextureMapping(String mapping, long geometryDataId, SurfaceData<?> surfaceData) {
+        Map<String, List<Double>> worldToTexture = readMapping(mapping, geometryDataId, this::readWorldToTexture);
+        if (!worldToTexture.isEmpty()) {
+            worldToTextureMappings.computeIfAbsent(surfaceData, v -> new HashMap<>()).putAll(worldToTexture);
         }
 
         return this;
     }
 
-    public SurfaceDataMapper buildGeoreferencedTextureMapping(JSONObject mapping, long geometryDataId, SurfaceData<?> surfaceData) {
-        if (mapping != null) {
-            for (Map.Entry<String, Object> entry : mapping.entrySet()) {
-                if (entry.getValue() == Boolean.TRUE) {
-                    georeferencedTextureMappings.computeIfAbsent(surfaceData, v -> new ArrayList<>())
-                            .add(getKey(geometryDataId, entry.getKey()));
-                }
-            }
+    public SurfaceDataMapper buildGeoreferencedTextureMapping(String mapping, long geometryDataId, SurfaceData<?> surfaceData) {
+        Map<String, Boolean> flags = readMapping(mapping, geometryDataId, this::readFlag);
+        if (!flags.isEmpty()) {
+            georeferencedTextureMappings.computeIfAbsent(surfaceData, v -> new ArrayList<>()).addAll(flags.keySet());
         }
 
         return this;
@@ -129,6 +91,104 @@ public class SurfaceDataMapper {
         return georeferencedTextureMappings.getOrDefault(surfaceData, Collections.emptyList());
     }
 
+    private <T> Map<String, T> readMapping(String mapping, long geometryDataId, Function<JSONReader, T> valueReader) {
+        if (mapping != null) {
+            Map<String, T> values = new LinkedHashMap<>();
+            try (JSONReader reader = JSONReader.of(mapping)) {
+                if (reader.nextIfObjectStart()) {
+                    while (!reader.nextIfObjectEnd()) {
+                        String objectId = reader.readFieldName();
+                        T value = valueReader.apply(reader);
+                        if (value != null) {
+                            values.put(getKey(geometryDataId, objectId), value);
+                        }
+                    }
+                }
+
+                return values;
+            } catch (JSONException e) {
+                logger.warn("Skipping invalid surface data mapping of geometry (ID " + geometryDataId + ").", e);
+            }
+        }
+
+        return Collections.emptyMap();
+    }
+
+    private Boolean readFlag(JSONReader reader) {
+        return reader.readAny() == Boolean.TRUE ? Boolean.TRUE : null;
+    }
+
+    private List<List<TextureCoordinate>> readTextureCoordinates(JSONReader reader) {
+        if (reader.nextIfArrayStart()) {
+            List<List<TextureCoordinate>> textureCoordinates = new ArrayList<>();
+            while (!reader.nextIfArrayEnd()) {
+                if (reader.nextIfArrayStart()) {
+                    List<TextureCoordinate> ringCoordinates = new ArrayList<>();
+                    while (!reader.nextIfArrayEnd()) {
+                        TextureCoordinate coordinate = readTextureCoordinate(reader);
+                        if (coordinate != null) {
+                            ringCoordinates.add(coordinate);
+                        }
+                    }
+
+                    if (!ringCoordinates.isEmpty()) {
+                        textureCoordinates.add(ringCoordinates);
+                    }
+                } else {
+                    reader.skipValue();
+                }
+            }
+
+            return !textureCoordinates.isEmpty() ? textureCoordinates : null;
+        } else {
+            reader.skipValue();
+            return null;
+        }
+    }
+
+    private List<Double> readWorldToTexture(JSONReader reader) {
+        if (reader.nextIfArrayStart()) {
+            List<Double> worldToTexture = new ArrayList<>(12);
+            while (!reader.nextIfArrayEnd()) {
+                worldToTexture.add(readDouble(reader));
+            }
+
+            return worldToTexture;
+        } else {
+            reader.skipValue();
+            return null;
+        }
+    }
+
+    private TextureCoordinate readTextureCoordinate(JSONReader reader) {
+        if (reader.nextIfArrayStart()) {
+            Double s = null, t = null;
+            for (int i = 0; !reader.nextIfArrayEnd(); i++) {
+                if (i == 0) {
+                    s = readDouble(reader);
+                } else if (i == 1) {
+                    t = readDouble(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+
+            return s != null && t != null ? TextureCoordinate.of(s, t) : null;
+        } else {
+            reader.skipValue();
+            return null;
+        }
+    }
+
+    private Double readDouble(JSONReader reader) {
+        if (reader.isNumber()) {
+            return reader.readDoubleValue();
+        } else {
+            reader.skipValue();
+            return null;
+        }
+    }
+
     private String getKey(long geometryDataId, String objectId) {
         return geometryDataId + "#" + objectId;
     }
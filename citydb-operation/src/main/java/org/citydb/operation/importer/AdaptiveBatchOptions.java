@@ -0,0 +1,77 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.operation.importer;
+
+public class AdaptiveBatchOptions {
+    private long minLatency = 250;
+    private long maxLatency = 1000;
+    private int minBatchSize = 10;
+    private long maxBatchBytes = 64 * 1024 * 1024;
+
+    private AdaptiveBatchOptions() {
+    }
+
+    public static AdaptiveBatchOptions defaults() {
+        return new AdaptiveBatchOptions();
+    }
+
+    public long getMinLatency() {
+        return minLatency;
+    }
+
+    public long getMaxLatency() {
+        return maxLatency;
+    }
+
+    public AdaptiveBatchOptions setLatencyWindow(long minLatency, long maxLatency) {
+        if (minLatency > 0 && maxLatency >= minLatency) {
+            this.minLatency = minLatency;
+            this.maxLatency = maxLatency;
+        }
+
+        return this;
+    }
+
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    public AdaptiveBatchOptions setMinBatchSize(int minBatchSize) {
+        if (minBatchSize > 0) {
+            this.minBatchSize = minBatchSize;
+        }
+
+        return this;
+    }
+
+    public long getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+
+    public AdaptiveBatchOptions setMaxBatchBytes(long maxBatchBytes) {
+        if (maxBatchBytes > 0) {
+            this.maxBatchBytes = maxBatchBytes;
+        }
+
+        return this;
+    }
+}
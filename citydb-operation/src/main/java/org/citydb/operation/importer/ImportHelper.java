@@ -22,27 +22,39 @@
 package org.citydb.operation.importer;
 
 import org.citydb.core.file.FileLocator;
+import org.citydb.core.file.ZipEntryReader;
 import org.citydb.database.adapter.DatabaseAdapter;
+import org.citydb.database.connection.SessionProfile;
 import org.citydb.database.schema.DataTypeHelper;
 import org.citydb.database.schema.NamespaceHelper;
 import org.citydb.database.schema.ObjectClassHelper;
 import org.citydb.database.schema.Table;
+import org.citydb.model.appearance.Texture;
+import org.citydb.model.appearance.TextureImageProperty;
 import org.citydb.model.common.ExternalFile;
 import org.citydb.model.common.Visitable;
 import org.citydb.model.feature.Feature;
 import org.citydb.model.feature.FeatureDescriptor;
+import org.citydb.model.util.ContentHash;
+import org.citydb.model.walker.ModelWalker;
+import org.citydb.operation.deleter.DeleteOptions;
 import org.citydb.operation.importer.common.DatabaseImporter;
 import org.citydb.operation.importer.feature.FeatureImporter;
+import org.citydb.operation.importer.geometry.ImplicitGeometryImporter;
 import org.citydb.operation.importer.reference.CacheType;
 import org.citydb.operation.importer.reference.ReferenceCache;
 import org.citydb.operation.importer.reference.ReferenceManager;
 import org.citydb.operation.importer.util.*;
 import org.citydb.operation.util.FeatureStatistics;
 
+import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -58,30 +70,52 @@ public class ImportHelper {
     private final TableHelper tableHelper;
     private final SequenceHelper sequenceHelper;
     private final FeatureStatistics statistics;
+    private final ImplicitGeometryCache.Transaction implicitGeometryCache;
+    private final ZipEntryReader zipEntryReader;
+    private final ImportJournal journal;
+    private final ContentHashHelper contentHashHelper;
+    private final TerminationHelper terminationHelper;
+    private final PreparedStatement committedFeatureStmt;
     private final Map<CacheType, ReferenceCache> caches = new EnumMap<>(CacheType.class);
     private final List<ImportLogEntry> logEntries = new ArrayList<>();
-    private final int batchSize;
+    private final Map<Long, Long> journalEntries = new LinkedHashMap<>();
+    private final BatchController batchController;
     private final boolean autoCommit;
 
     private SequenceValues sequenceValues;
     private int batchCounter;
 
     ImportHelper(DatabaseAdapter adapter, ImportOptions options, ReferenceManager referenceManager,
-                 ImportLogger logger, StatisticsConsumer statisticsConsumer, boolean autoCommit) throws SQLException {
+                 ImplicitGeometryCache implicitGeometryCache, DeleteOptions terminateOptions, ZipEntryReader zipEntryReader,
+                 SessionProfile sessionProfile, ImportLogger logger, StatisticsConsumer statisticsConsumer,
+                 BatchSizeListener batchSizeListener, ImportJournal journal, boolean autoCommit)
+            throws SQLException {
         this.adapter = adapter;
         this.referenceManager = referenceManager;
+        this.implicitGeometryCache = implicitGeometryCache.newTransaction();
+        this.zipEntryReader = zipEntryReader;
+        this.journal = journal;
         this.logger = logger;
         this.statisticsConsumer = statisticsConsumer;
         this.autoCommit = autoCommit;
 
-        connection = adapter.getPool().getConnection(false);
+        connection = adapter.getPool().getConnection(false, sessionProfile);
         dataTypeHelper = adapter.getSchemaAdapter().getDataTypeHelper();
         namespaceHelper = adapter.getSchemaAdapter().getNamespaceHelper();
         objectClassHelper = adapter.getSchemaAdapter().getObjectClassHelper();
         tableHelper = new TableHelper(this);
         sequenceHelper = new SequenceHelper(this);
         statistics = new FeatureStatistics(objectClassHelper, namespaceHelper);
-        batchSize = Math.min(options.getBatchSize(), adapter.getSchemaAdapter().getMaximumBatchSize());
+        batchController = options.isAdaptiveBatching() ?
+                BatchController.adaptive(options.getBatchSize(), adapter.getSchemaAdapter().getMaximumBatchSize(),
+                        options.getAdaptiveBatchOptions(), batchSizeListener) :
+                BatchController.fixed(options.getBatchSize(), adapter.getSchemaAdapter().getMaximumBatchSize());
+        contentHashHelper = terminateOptions != null ? new ContentHashHelper(this) : null;
+        terminationHelper = terminateOptions != null ? new TerminationHelper(this, terminateOptions) : null;
+        committedFeatureStmt = journal != null ?
+                connection.prepareStatement("select objectclass_id from " +
+                        tableHelper.getPrefixedTableName(Table.FEATURE) + " where id = ?") :
+                null;
     }
 
     public DatabaseAdapter getAdapter() {
@@ -112,10 +146,26 @@ public class ImportHelper {
         return sequenceValues;
     }
 
+    public ImplicitGeometryCache.Transaction getImplicitGeometryCache() {
+        return implicitGeometryCache;
+    }
+
+    public boolean isIncrementalMode() {
+        return contentHashHelper != null;
+    }
+
     public ReferenceCache getOrCreateReferenceCache(CacheType type) {
         return caches.computeIfAbsent(type, v -> new ReferenceCache(type));
     }
 
+    public BatchController getBatchController() {
+        return batchController;
+    }
+
+    public ZipEntryReader getZipEntryReader() {
+        return zipEntryReader;
+    }
+
     public FileLocator getFileLocator(ExternalFile file) {
         if (file != null) {
             return file.getPath().map(FileLocator::of)
@@ -125,10 +175,40 @@ public class ImportHelper {
         return null;
     }
 
-    FeatureDescriptor importFeature(Feature feature) throws ImportException {
+    FeatureDescriptor importFeature(Feature feature, Long index) throws ImportException {
         try {
-            generateSequenceValues(feature);
-            FeatureDescriptor descriptor = tableHelper.getOrCreateImporter(FeatureImporter.class).doImport(feature);
+            FeatureDescriptor committed = lookupCommittedFeature(feature, index);
+            if (committed != null) {
+                addJournalEntry(index, committed);
+                return committed;
+            }
+
+            String contentHash = null;
+            if (contentHashHelper != null) {
+                contentHash = ContentHash.of(feature);
+                FeatureDescriptor unchanged = terminateOutdatedVersions(feature, contentHash);
+                if (unchanged != null) {
+                    addJournalEntry(index, unchanged);
+                    return unchanged;
+                }
+            }
+
+            // only prefetch the texture images of features that are actually imported
+            TexturePrefetcher prefetcher = new TexturePrefetcher();
+            if (zipEntryReader.isPrefetching()) {
+                feature.accept(prefetcher);
+            }
+
+            FeatureDescriptor descriptor;
+            try {
+                generateSequenceValues(feature);
+                tableHelper.getOrCreateImporter(ImplicitGeometryImporter.class).lookupImplicitGeometries(feature);
+                descriptor = tableHelper.getOrCreateImporter(FeatureImporter.class)
+                        .doImport(feature, contentHash);
+            } finally {
+                // evict prefetched texture images that were not read, e.g. because they were imported before
+                zipEntryReader.release(prefetcher.paths);
+            }
 
             if (statisticsConsumer != null) {
                 statistics.add(feature);
@@ -138,6 +218,7 @@ public class ImportHelper {
                 logEntries.add(ImportLogEntry.of(feature, descriptor));
             }
 
+            addJournalEntry(index, descriptor);
             executeBatch(false, autoCommit);
             return descriptor;
         } catch (Exception e) {
@@ -145,13 +226,85 @@ public class ImportHelper {
         }
     }
 
+    private FeatureDescriptor lookupCommittedFeature(Feature feature, Long index) throws SQLException {
+        Long id = journal != null && index != null ? journal.getPendingFeatureId(index) : null;
+        if (id == null) {
+            return null;
+        }
+
+        // the feature was about to be committed when the previous import stopped, so only
+        // import it again if it is not in the database
+        committedFeatureStmt.setLong(1, id);
+        try (ResultSet rs = committedFeatureStmt.executeQuery()) {
+            if (rs.next()) {
+                FeatureDescriptor descriptor = FeatureDescriptor.of(id, rs.getInt(1));
+                feature.setDescriptor(descriptor);
+                return descriptor;
+            }
+        }
+
+        return null;
+    }
+
+    private FeatureDescriptor terminateOutdatedVersions(Feature feature, String contentHash) throws SQLException {
+        String objectId = feature.getObjectId().orElse(null);
+        if (objectId == null) {
+            return null;
+        }
+
+        // outdated versions are terminated on this connection and thus in the same transaction
+        // as the new version
+        ContentHashHelper.Result result = contentHashHelper.lookup(objectId, contentHash);
+        for (long id : result.getOutdated()) {
+            terminationHelper.terminate(id);
+        }
+
+        FeatureDescriptor descriptor = result.getUnchanged();
+        if (descriptor != null) {
+            ReferenceCache cache = getOrCreateReferenceCache(CacheType.FEATURE);
+            cache.putTarget(objectId, descriptor.getId());
+            if (hasNestedFeatures(feature)) {
+                for (Map.Entry<String, Long> entry : contentHashHelper.lookupNestedFeatures(descriptor.getId())
+                        .entrySet()) {
+                    cache.putTarget(entry.getKey(), entry.getValue());
+                }
+            }
+
+            feature.setDescriptor(descriptor);
+        }
+
+        return descriptor;
+    }
+
+    private boolean hasNestedFeatures(Feature feature) {
+        boolean[] hasNestedFeatures = new boolean[1];
+        feature.accept(new ModelWalker() {
+            @Override
+            public void visit(Feature nested) {
+                if (nested != feature && nested.getObjectId().isPresent()) {
+                    hasNestedFeatures[0] = true;
+                    setShouldWalk(false);
+                } else {
+                    super.visit(nested);
+                }
+            }
+        });
+
+        return hasNestedFeatures[0];
+    }
+
     private void generateSequenceValues(Visitable visitable) throws SQLException {
         sequenceValues = sequenceHelper.nextSequenceValues(visitable);
     }
 
     void executeBatch(boolean force, boolean commit) throws ImportException, SQLException {
-        if (force || ++batchCounter == batchSize) {
+        if (force || ++batchCounter >= batchController.getFeatureLimit()) {
             try {
+                long start = System.nanoTime();
+                if (terminationHelper != null) {
+                    terminationHelper.executeBatch();
+                }
+
                 if (batchCounter > 0) {
                     for (Table table : tableHelper.getCommitOrder()) {
                         for (DatabaseImporter importer : tableHelper.getImporters(table)) {
@@ -165,13 +318,19 @@ public class ImportHelper {
                 }
 
                 if (commit) {
+                    prepareJournal();
                     connection.commit();
+                    implicitGeometryCache.commit();
                     updateImportLog();
+                    updateJournal();
                 }
 
                 updateStatistics(commit);
-            } catch (SQLException e) {
+                batchController.featuresExecuted(batchCounter, System.nanoTime() - start);
+            } catch (SQLException | ImportException e) {
                 connection.rollback();
+                implicitGeometryCache.rollback();
+                journalEntries.clear();
                 throw e;
             } finally {
                 batchCounter = 0;
@@ -191,6 +350,36 @@ public class ImportHelper {
         }
     }
 
+    private void addJournalEntry(Long index, FeatureDescriptor descriptor) {
+        if (journal != null && index != null) {
+            journalEntries.put(index, descriptor.getId());
+        }
+    }
+
+    private void prepareJournal() throws ImportException {
+        if (journal != null && !journalEntries.isEmpty()) {
+            try {
+                // make the references and feature ids durable before committing the features
+                referenceManager.checkpoint();
+                journal.prepare(journalEntries);
+            } catch (Exception e) {
+                throw new ImportException("Failed to update import journal.", e);
+            }
+        }
+    }
+
+    private void updateJournal() throws ImportException {
+        if (journal != null && !journalEntries.isEmpty()) {
+            try {
+                journal.commit(journalEntries.keySet());
+            } catch (Exception e) {
+                throw new ImportException("Failed to update import journal.", e);
+            } finally {
+                journalEntries.clear();
+            }
+        }
+    }
+
     private void updateStatistics(boolean commit) {
         if (statisticsConsumer != null && !statistics.isEmpty()) {
             if ((commit && statisticsConsumer.getMode() == StatisticsConsumer.Mode.COUNT_COMMITTED)
@@ -208,11 +397,38 @@ public class ImportHelper {
         updateStatistics(false);
         logEntries.clear();
         sequenceHelper.close();
+        if (contentHashHelper != null) {
+            contentHashHelper.close();
+            terminationHelper.close();
+        }
+
+        if (committedFeatureStmt != null) {
+            committedFeatureStmt.close();
+        }
 
         try {
             tableHelper.close();
         } finally {
-            connection.close();
+            try {
+                // release locks held by uncommitted batches before returning the connection
+                connection.rollback();
+            } finally {
+                connection.close();
+            }
+        }
+    }
+
+    private class TexturePrefetcher extends ModelWalker {
+        private final List<Path> paths = new ArrayList<>();
+
+        @Override
+        public void visit(Texture<?> texture) {
+            texture.getTextureImageProperty()
+                    .flatMap(TextureImageProperty::getObject)
+                    .flatMap(ExternalFile::getPath)
+                    .filter(zipEntryReader::prefetch)
+                    .ifPresent(paths::add);
+            super.visit(texture);
         }
     }
 }
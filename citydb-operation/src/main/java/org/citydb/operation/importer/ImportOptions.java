@@ -21,9 +21,18 @@
 
 package org.citydb.operation.importer;
 
+import org.citydb.operation.deleter.DeleteOptions;
+
 public class ImportOptions {
     private int numberOfThreads;
     private int batchSize = 20;
+    private boolean incrementalMode;
+    private boolean bulkLoad;
+    private boolean deferForeignKeys;
+    private int texturePrefetchThreads;
+    private boolean adaptiveBatching;
+    private AdaptiveBatchOptions adaptiveBatchOptions;
+    private DeleteOptions terminateOptions;
 
     private ImportOptions() {
     }
@@ -55,4 +64,78 @@ public class ImportOptions {
 
         return this;
     }
+
+    public boolean isIncrementalMode() {
+        return incrementalMode;
+    }
+
+    public ImportOptions setIncrementalMode(boolean incrementalMode) {
+        this.incrementalMode = incrementalMode;
+        return this;
+    }
+
+    public boolean isBulkLoad() {
+        return bulkLoad;
+    }
+
+    public ImportOptions setBulkLoad(boolean bulkLoad) {
+        this.bulkLoad = bulkLoad;
+        return this;
+    }
+
+    public boolean isDeferForeignKeys() {
+        return deferForeignKeys;
+    }
+
+    public ImportOptions setDeferForeignKeys(boolean deferForeignKeys) {
+        this.deferForeignKeys = deferForeignKeys;
+        return this;
+    }
+
+    public int getTexturePrefetchThreads() {
+        return texturePrefetchThreads;
+    }
+
+    public ImportOptions setTexturePrefetchThreads(int texturePrefetchThreads) {
+        if (texturePrefetchThreads >= 0) {
+            this.texturePrefetchThreads = texturePrefetchThreads;
+        }
+
+        return this;
+    }
+
+    public boolean isAdaptiveBatching() {
+        return adaptiveBatching;
+    }
+
+    public ImportOptions setAdaptiveBatching(boolean adaptiveBatching) {
+        this.adaptiveBatching = adaptiveBatching;
+        return this;
+    }
+
+    public AdaptiveBatchOptions getAdaptiveBatchOptions() {
+        if (adaptiveBatchOptions == null) {
+            adaptiveBatchOptions = AdaptiveBatchOptions.defaults();
+        }
+
+        return adaptiveBatchOptions;
+    }
+
+    public ImportOptions setAdaptiveBatchOptions(AdaptiveBatchOptions adaptiveBatchOptions) {
+        this.adaptiveBatchOptions = adaptiveBatchOptions;
+        return this;
+    }
+
+    public DeleteOptions getTerminateOptions() {
+        if (terminateOptions == null) {
+            terminateOptions = DeleteOptions.defaults();
+        }
+
+        return terminateOptions;
+    }
+
+    public ImportOptions setTerminateOptions(DeleteOptions terminateOptions) {
+        this.terminateOptions = terminateOptions;
+        return this;
+    }
 }
@@ -23,14 +23,27 @@ package org.citydb.operation.importer;
 
 import org.citydb.core.concurrent.CountLatch;
 import org.citydb.core.concurrent.ExecutorHelper;
+import org.citydb.core.file.ZipEntryReader;
 import org.citydb.database.adapter.DatabaseAdapter;
+import org.citydb.database.connection.SessionProfile;
+import org.citydb.database.schema.ForeignKey;
+import org.citydb.database.schema.Table;
 import org.citydb.model.feature.Feature;
 import org.citydb.model.feature.FeatureDescriptor;
+import org.citydb.operation.deleter.DeleteOptions;
 import org.citydb.operation.importer.reference.ReferenceManager;
+import org.citydb.operation.importer.util.BatchSizeListener;
+import org.citydb.operation.importer.util.ImplicitGeometryCache;
+import org.citydb.operation.importer.util.ImportJournal;
 import org.citydb.operation.importer.util.ImportLogger;
 import org.citydb.operation.importer.util.StatisticsConsumer;
 import org.citydb.operation.util.FeatureStatistics;
 
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -39,12 +52,25 @@ import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 public class Importer {
+    private DatabaseAdapter adapter;
+    private SessionProfile sessionProfile;
     private ExecutorService service;
     private ReferenceManager referenceManager;
+    private ImplicitGeometryCache implicitGeometryCache;
+    private DeleteOptions terminateOptions;
+    private ZipEntryReader zipEntryReader;
     private ThreadLocal<ImportHelper> contexts;
     private Set<ImportHelper> helpers;
+    private Set<Table> tables;
+    private DatabaseAdapter foreignKeyAdapter;
+    private List<ForeignKey> foreignKeys;
+    private boolean sessionForeignKeys;
+    private int foreignKeyThreads;
+    private int numberOfThreads;
     private ImportLogger logger;
     private StatisticsConsumer statisticsConsumer;
+    private BatchSizeListener batchSizeListener;
+    private ImportJournal journal;
     private CountLatch countLatch;
     private Throwable exception;
     private boolean autoCommit = true;
@@ -84,6 +110,24 @@ public class Importer {
         return this;
     }
 
+    public BatchSizeListener getBatchSizeListener() {
+        return batchSizeListener;
+    }
+
+    public Importer setBatchSizeListener(BatchSizeListener batchSizeListener) {
+        this.batchSizeListener = batchSizeListener;
+        return this;
+    }
+
+    public ImportJournal getImportJournal() {
+        return journal;
+    }
+
+    public Importer setImportJournal(ImportJournal journal) {
+        this.journal = journal;
+        return this;
+    }
+
     public boolean isAutoCommit() {
         return autoCommit;
     }
@@ -101,6 +145,35 @@ public class Importer {
         return shouldRun;
     }
 
+    public Importer deferForeignKeys(DatabaseAdapter adapter, int numberOfThreads) throws ImportException {
+        Objects.requireNonNull(adapter, "The database adapter must not be null.");
+        if (foreignKeys == null) {
+            try {
+                // the constraints stay dropped for all following sessions until they are restored
+                foreignKeys = adapter.getSchemaAdapter().getForeignKeyHelper().dropAll();
+                foreignKeyAdapter = adapter;
+                foreignKeyThreads = numberOfThreads > 0 ?
+                        numberOfThreads :
+                        Math.max(2, Runtime.getRuntime().availableProcessors());
+                sessionForeignKeys = false;
+            } catch (Exception e) {
+                throw new ImportException("Failed to drop foreign key constraints.", e);
+            }
+        }
+
+        return this;
+    }
+
+    public void restoreForeignKeys() throws ImportException {
+        try {
+            recreateForeignKeys();
+        } catch (ImportException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ImportException("Failed to restore foreign key constraints.", e);
+        }
+    }
+
     public Importer startSession(DatabaseAdapter adapter, ImportOptions options) throws ImportException {
         if (state == State.SESSION_STARTED) {
             return this;
@@ -110,17 +183,27 @@ public class Importer {
         Objects.requireNonNull(options, "The import options must not be null.");
 
         try {
-            referenceManager = ReferenceManager.newInstance(adapter, options);
+            this.adapter = adapter;
+            sessionProfile = options.isBulkLoad() ? adapter.getBulkLoadProfile() : SessionProfile.DEFAULT;
+            referenceManager = ReferenceManager.newInstance(adapter, options, journal != null ?
+                    journal.openReferenceStore() :
+                    null);
+            implicitGeometryCache = ImplicitGeometryCache.newInstance();
+            terminateOptions = options.isIncrementalMode() ? options.getTerminateOptions() : null;
+            zipEntryReader = ZipEntryReader.newInstance(options.getTexturePrefetchThreads());
             helpers = ConcurrentHashMap.newKeySet();
-            service = ExecutorHelper.newFixedAndBlockingThreadPool(options.getNumberOfThreads() > 0 ?
+            tables = ConcurrentHashMap.newKeySet();
+            numberOfThreads = options.getNumberOfThreads() > 0 ?
                     options.getNumberOfThreads() :
-                    Math.max(2, Runtime.getRuntime().availableProcessors()));
+                    Math.max(2, Runtime.getRuntime().availableProcessors());
+            service = ExecutorHelper.newFixedAndBlockingThreadPool(numberOfThreads);
 
             countLatch = new CountLatch();
             contexts = ThreadLocal.withInitial(() -> {
                 try {
-                    ImportHelper helper = new ImportHelper(adapter, options, referenceManager, logger,
-                            statisticsConsumer, autoCommit);
+                    ImportHelper helper = new ImportHelper(adapter, options, referenceManager,
+                            implicitGeometryCache, terminateOptions, zipEntryReader, sessionProfile, logger, statisticsConsumer,
+                            batchSizeListener, journal, autoCommit);
                     helpers.add(helper);
                     return helper;
                 } catch (Exception e) {
@@ -129,6 +212,13 @@ public class Importer {
                 }
             });
 
+            if (options.isDeferForeignKeys() && foreignKeys == null) {
+                foreignKeys = adapter.getSchemaAdapter().getForeignKeyHelper().dropAll();
+                foreignKeyAdapter = adapter;
+                foreignKeyThreads = numberOfThreads;
+                sessionForeignKeys = true;
+            }
+
             state = State.SESSION_STARTED;
             shouldRun = true;
             return this;
@@ -138,13 +228,17 @@ public class Importer {
     }
 
     public CompletableFuture<FeatureDescriptor> importFeature(Feature feature) {
+        return importFeature(feature, null);
+    }
+
+    public CompletableFuture<FeatureDescriptor> importFeature(Feature feature, Long index) {
         CompletableFuture<FeatureDescriptor> result = new CompletableFuture<>();
         if (shouldRun) {
             if (state == State.SESSION_STARTED) {
                 countLatch.increment();
                 service.execute(() -> {
                     try {
-                        result.complete(contexts.get().importFeature(feature));
+                        result.complete(contexts.get().importFeature(feature, index));
                     } catch (Throwable e) {
                         shouldRun = false;
                         result.completeExceptionally(e);
@@ -176,6 +270,7 @@ public class Importer {
                 service.execute(() -> {
                     try {
                         helper.executeBatch(true, true);
+                        tables.addAll(helper.getTableHelper().getTables());
                         helper.close();
                     } catch (Throwable e) {
                         exception = e;
@@ -195,11 +290,26 @@ public class Importer {
             } finally {
                 referenceManager.close();
             }
+
+            if (sessionProfile != SessionProfile.DEFAULT && !tables.isEmpty()) {
+                try (Connection connection = adapter.getPool().getConnection()) {
+                    sessionProfile.afterCommit(connection, tables);
+                }
+            }
+
+            restoreSessionForeignKeys();
         } catch (Throwable e) {
             shouldRun = false;
+            try {
+                restoreSessionForeignKeys();
+            } catch (Exception suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
             throw new ImportException("Failed to commit import session.", e);
         } finally {
             service.shutdown();
+            closeZipEntryReader();
         }
     }
 
@@ -219,11 +329,55 @@ public class Importer {
             }
 
             referenceManager.close();
+
+            restoreSessionForeignKeys();
         } catch (Exception e) {
             shouldRun = false;
+            try {
+                restoreSessionForeignKeys();
+            } catch (Exception suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
             throw new ImportException("Failed to abort import session.", e);
         } finally {
             service.shutdown();
+            closeZipEntryReader();
+        }
+    }
+
+    private void closeZipEntryReader() {
+        try {
+            zipEntryReader.close();
+        } catch (IOException e) {
+            //
+        }
+    }
+
+    private void restoreSessionForeignKeys() throws ImportException, SQLException, IOException {
+        if (sessionForeignKeys) {
+            recreateForeignKeys();
+        }
+    }
+
+    private void recreateForeignKeys() throws ImportException, SQLException, IOException {
+        if (foreignKeys != null) {
+            try {
+                Map<ForeignKey, String> violations = foreignKeyAdapter.getSchemaAdapter().getForeignKeyHelper()
+                        .createAll(foreignKeys, foreignKeyThreads);
+                if (!violations.isEmpty()) {
+                    StringBuilder message = new StringBuilder("Failed to validate ")
+                            .append(violations.size())
+                            .append(" foreign key(s). The constraints have been restored as NOT VALID.");
+                    violations.forEach((foreignKey, violation) -> message.append(System.lineSeparator())
+                            .append(foreignKey).append(": ").append(violation));
+                    throw new ImportException(message.toString());
+                }
+            } finally {
+                foreignKeys = null;
+                foreignKeyAdapter = null;
+                sessionForeignKeys = false;
+            }
         }
     }
 }
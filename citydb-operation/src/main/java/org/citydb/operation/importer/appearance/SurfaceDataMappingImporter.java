@@ -57,25 +57,25 @@ public class SurfaceDataMappingImporter extends DatabaseImporter {
             stmt.setLong(2, entry.getKey());
 
             if (mapping.hasMaterialMapping()) {
-                stmt.setObject(3, mapping.getMaterialMapping().toString(), Types.OTHER);
+                stmt.setObject(3, mapping.getMaterialMapping(), Types.OTHER);
             } else {
                 stmt.setNull(3, Types.OTHER);
             }
 
             if (mapping.hasTextureMapping()) {
-                stmt.setObject(4, mapping.getTextureMapping().toString(), Types.OTHER);
+                stmt.setObject(4, mapping.getTextureMapping(), Types.OTHER);
             } else {
                 stmt.setNull(4, Types.OTHER);
             }
 
             if (mapping.hasWorldToTextureMapping()) {
-                stmt.setObject(5, mapping.getWorldToTextureMapping().toString(), Types.OTHER);
+                stmt.setObject(5, mapping.getWorldToTextureMapping(), Types.OTHER);
             } else {
                 stmt.setNull(5, Types.OTHER);
             }
 
             if (mapping.hasGeoreferencedTextureMapping()) {
-                stmt.setObject(6, mapping.getGeoreferencedTextureMapping().toString(), Types.OTHER);
+                stmt.setObject(6, mapping.getGeoreferencedTextureMapping(), Types.OTHER);
             } else {
                 stmt.setNull(6, Types.OTHER);
             }
@@ -22,6 +22,7 @@
 package org.citydb.operation.importer.appearance;
 
 import org.citydb.core.file.FileLocator;
+import org.citydb.core.file.ZipEntryReader;
 import org.citydb.database.schema.Sequence;
 import org.citydb.database.schema.Table;
 import org.citydb.model.common.ExternalFile;
@@ -32,6 +33,7 @@ import org.citydb.operation.importer.reference.CacheType;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Collections;
 
@@ -55,8 +57,10 @@ public class TextureImageImporter extends DatabaseImporter {
         stmt.setLong(1, texImageId);
         stmt.setString(2, locator.getFileName());
 
-        try (InputStream stream = locator.openStream()) {
-            stmt.setBytes(3, stream.readAllBytes());
+        byte[] data;
+        try {
+            data = readAllBytes(locator);
+            stmt.setBytes(3, data);
         } catch (IOException e) {
             throw new ImportException("Failed to load texture file " + textureImage.getFileLocation() + ".", e);
         }
@@ -64,9 +68,20 @@ public class TextureImageImporter extends DatabaseImporter {
         stmt.setString(4, textureImage.getMimeType().orElse(null));
         stmt.setString(5, textureImage.getMimeTypeCodeSpace().orElse(null));
 
-        addBatch();
+        addBatch(data.length);
         cacheTarget(CacheType.TEXTURE_IMAGE, textureImage.getObjectId().orElse(null), texImageId);
 
         return texImageId;
     }
+
+    private byte[] readAllBytes(FileLocator locator) throws IOException {
+        Path path = locator.getPath().orElse(null);
+        if (ZipEntryReader.isZipEntry(path)) {
+            return helper.getZipEntryReader().readAllBytes(path);
+        } else {
+            try (InputStream stream = locator.openStream()) {
+                return stream.readAllBytes();
+            }
+        }
+    }
 }
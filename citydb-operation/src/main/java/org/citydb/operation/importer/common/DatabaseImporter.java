@@ -40,7 +40,7 @@ import java.sql.SQLException;
 
 public abstract class DatabaseImporter {
     protected final Table table;
-    private final ImportHelper helper;
+    protected final ImportHelper helper;
     protected final DatabaseAdapter adapter;
     protected final DataTypeHelper dataTypeHelper;
     protected final NamespaceHelper namespaceHelper;
@@ -49,6 +49,7 @@ public abstract class DatabaseImporter {
     protected final PreparedStatement stmt;
 
     private int batchCounter;
+    private long batchBytes;
 
     public DatabaseImporter(Table table, ImportHelper helper) throws SQLException {
         this.table = table;
@@ -100,8 +101,13 @@ public abstract class DatabaseImporter {
     }
 
     protected void addBatch() throws SQLException {
+        addBatch(0);
+    }
+
+    protected void addBatch(long bytes) throws SQLException {
         stmt.addBatch();
-        if (++batchCounter == adapter.getSchemaAdapter().getMaximumBatchSize()) {
+        batchBytes += bytes;
+        if (helper.getBatchController().isFull(table, ++batchCounter, batchBytes)) {
             for (Table table : tableHelper.getCommitOrder(table)) {
                 for (DatabaseImporter importer : tableHelper.getImporters(table)) {
                     importer.executeBatch();
@@ -112,8 +118,15 @@ public abstract class DatabaseImporter {
 
     public void executeBatch() throws SQLException {
         if (batchCounter > 0) {
-            stmt.executeBatch();
-            batchCounter = 0;
+            try {
+                long start = System.nanoTime();
+                stmt.executeBatch();
+                helper.getBatchController().rowsExecuted(table, batchCounter, batchBytes,
+                        System.nanoTime() - start);
+            } finally {
+                batchCounter = 0;
+                batchBytes = 0;
+            }
         }
     }
 
@@ -47,11 +47,16 @@ public class FeatureImporter extends DatabaseImporter {
     protected String getInsertStatement() {
         return "insert into " + tableHelper.getPrefixedTableName(table) +
                 "(id, objectclass_id, objectid, identifier, identifier_codespace, envelope, last_modification_date, " +
-                "updating_person, reason_for_update, lineage, creation_date, termination_date, valid_from, valid_to) " +
-                "values (" + String.join(",", Collections.nCopies(14, "?")) + ")";
+                "updating_person, reason_for_update, lineage, creation_date, termination_date, valid_from, valid_to" +
+                (helper.isIncrementalMode() ? ", content_hash) " : ") ") +
+                "values (" + String.join(",", Collections.nCopies(helper.isIncrementalMode() ? 15 : 14, "?")) + ")";
     }
 
     public FeatureDescriptor doImport(Feature feature) throws ImportException, SQLException {
+        return doImport(feature, null);
+    }
+
+    public FeatureDescriptor doImport(Feature feature, String contentHash) throws ImportException, SQLException {
         long featureId = nextSequenceValue(Sequence.FEATURE);
         int objectClassId = objectClassHelper.getObjectClass(feature.getFeatureType()).getId();
         String objectId = feature.getObjectId().orElse(null);
@@ -63,7 +68,10 @@ public class FeatureImporter extends DatabaseImporter {
         stmt.setString(4, feature.getIdentifier().orElse(null));
         stmt.setString(5, feature.getIdentifierCodeSpace().orElse(null));
 
-        Object envelope = getEnvelope(feature.getEnvelope().orElse(null));
+        // geometry envelopes are cached, so nested features reuse the extents computed here
+        Object envelope = getEnvelope(feature.getEnvelope()
+                .or(feature::computeEnvelope)
+                .orElse(null));
         if (envelope != null) {
             stmt.setObject(6, envelope, adapter.getGeometryAdapter().getGeometrySQLType());
         } else {
@@ -98,6 +106,10 @@ public class FeatureImporter extends DatabaseImporter {
             stmt.setNull(14, Types.TIMESTAMP);
         }
 
+        if (helper.isIncrementalMode()) {
+            stmt.setString(15, contentHash);
+        }
+
         addBatch();
         cacheTarget(CacheType.FEATURE, objectId, featureId);
 
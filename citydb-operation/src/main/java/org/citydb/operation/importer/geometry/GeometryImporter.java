@@ -69,7 +69,7 @@ public class GeometryImporter extends DatabaseImporter {
         stmt.setNull(nullIndex, adapter.getGeometryAdapter().getGeometrySQLType(),
                 adapter.getGeometryAdapter().getGeometryTypeName());
 
-        stmt.setObject(4, adapter.getGeometryAdapter().buildGeometryProperties(geometry).toString(), Types.OTHER);
+        stmt.setObject(4, adapter.getGeometryAdapter().buildGeometryProperties(geometry), Types.OTHER);
         stmt.setLong(5, featureId);
 
         addBatch();
@@ -25,13 +25,16 @@ import org.citydb.core.file.FileLocator;
 import org.citydb.database.schema.Sequence;
 import org.citydb.database.schema.Table;
 import org.citydb.model.common.ExternalFile;
+import org.citydb.model.common.Visitable;
 import org.citydb.model.geometry.ImplicitGeometry;
 import org.citydb.model.property.AppearanceProperty;
+import org.citydb.model.walker.ModelWalker;
 import org.citydb.operation.importer.ImportException;
 import org.citydb.operation.importer.ImportHelper;
 import org.citydb.operation.importer.appearance.AppearanceImporter;
 import org.citydb.operation.importer.common.DatabaseImporter;
 import org.citydb.operation.importer.reference.CacheType;
+import org.citydb.operation.importer.util.ImplicitGeometryCache;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -39,16 +42,20 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
-import java.util.Collections;
+import java.util.*;
 
 public class ImplicitGeometryImporter extends DatabaseImporter {
-    private final PreparedStatement lookupImplicitGeometry;
+    private final ImplicitGeometryCache.Transaction cache;
+    private final PreparedStatement lookupImplicitGeometries;
+    private final int batchSize;
 
     public ImplicitGeometryImporter(ImportHelper helper) throws SQLException {
         super(Table.IMPLICIT_GEOMETRY, helper);
-        lookupImplicitGeometry = helper.getConnection().prepareStatement("select id from " +
+        cache = helper.getImplicitGeometryCache();
+        batchSize = Math.min(100, adapter.getSchemaAdapter().getMaximumNumberOfItemsForInOperator());
+        lookupImplicitGeometries = helper.getConnection().prepareStatement("select objectid, id from " +
                 tableHelper.getPrefixedTableName(table) +
-                " where objectid = ? fetch first 1 rows only");
+                " where objectid in (" + String.join(",", Collections.nCopies(batchSize, "?")) + ")");
     }
 
     @Override
@@ -100,6 +107,9 @@ public class ImplicitGeometryImporter extends DatabaseImporter {
 
         addBatch();
         cacheTarget(CacheType.IMPLICIT_GEOMETRY, objectId, implicitGeometryId);
+        if (objectId != null) {
+            cache.put(objectId, implicitGeometryId);
+        }
 
         if (implicitGeometry.hasAppearances()) {
             for (AppearanceProperty property : implicitGeometry.getAppearances().getAll()) {
@@ -111,13 +121,62 @@ public class ImplicitGeometryImporter extends DatabaseImporter {
         return implicitGeometryId;
     }
 
+    public void lookupImplicitGeometries(Visitable visitable) throws SQLException {
+        Set<String> objectIds = new HashSet<>();
+        visitable.accept(new ModelWalker() {
+            @Override
+            public void visit(ImplicitGeometry implicitGeometry) {
+                implicitGeometry.getObjectId()
+                        .filter(objectId -> !cache.isKnown(objectId))
+                        .ifPresent(objectIds::add);
+            }
+        });
+
+        if (!objectIds.isEmpty()) {
+            lookupImplicitGeometries(objectIds);
+        }
+    }
+
+    private Map<String, Long> lookupImplicitGeometries(Set<String> objectIds) throws SQLException {
+        Map<String, Long> implicitGeometryIds = new HashMap<>();
+        List<String> batch = new ArrayList<>(batchSize);
+        Iterator<String> iterator = objectIds.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                for (int i = 0; i < batchSize; i++) {
+                    lookupImplicitGeometries.setString(i + 1, i < batch.size() ? batch.get(i) : null);
+                }
+
+                try (ResultSet rs = lookupImplicitGeometries.executeQuery()) {
+                    while (rs.next()) {
+                        String objectId = rs.getString(1);
+                        long implicitGeometryId = rs.getLong(2);
+                        implicitGeometryIds.put(objectId, implicitGeometryId);
+                        cache.putCommitted(objectId, implicitGeometryId);
+                        batch.remove(objectId);
+                    }
+                }
+
+                cache.putUnknown(batch);
+                batch.clear();
+            }
+        }
+
+        return implicitGeometryIds;
+    }
+
     private long lookupImplicitGeometry(String objectId) throws SQLException {
         if (objectId != null) {
-            lookupImplicitGeometry.setString(1, objectId);
-            try (ResultSet rs = lookupImplicitGeometry.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getLong(1);
-                }
+            // entries may be evicted from the cache at any time, so a cache miss always triggers
+            // a database lookup whose result is used directly
+            Long implicitGeometryId = cache.get(objectId);
+            if (implicitGeometryId == null && !cache.isUnknown(objectId)) {
+                implicitGeometryId = lookupImplicitGeometries(Collections.singleton(objectId)).get(objectId);
+            }
+
+            if (implicitGeometryId != null) {
+                return implicitGeometryId;
             }
         }
 
@@ -127,6 +186,6 @@ public class ImplicitGeometryImporter extends DatabaseImporter {
     @Override
     public void close() throws SQLException {
         super.close();
-        lookupImplicitGeometry.close();
+        lookupImplicitGeometries.close();
     }
 }
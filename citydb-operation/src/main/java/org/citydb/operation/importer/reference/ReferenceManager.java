@@ -52,15 +52,20 @@ public class ReferenceManager {
     }
 
     public static ReferenceManager newInstance(DatabaseAdapter adapter, ImportOptions options) throws ImportException {
+        return newInstance(adapter, options, null);
+    }
+
+    public static ReferenceManager newInstance(DatabaseAdapter adapter, ImportOptions options,
+                                               PersistentMapStore store) throws ImportException {
         try {
-            return new ReferenceManager(adapter).initialize(options);
+            return new ReferenceManager(adapter).initialize(options, store);
         } catch (Exception e) {
             throw new ImportException("Failed to create reference manager.", e);
         }
     }
 
-    private ReferenceManager initialize(ImportOptions options) throws IOException {
-        store = PersistentMapStore.newInstance();
+    private ReferenceManager initialize(ImportOptions options, PersistentMapStore store) throws IOException {
+        this.store = store != null ? store : PersistentMapStore.newInstance();
         service = Executors.newFixedThreadPool(options.getNumberOfThreads() > 0 ?
                 options.getNumberOfThreads() :
                 Math.max(2, Runtime.getRuntime().availableProcessors()));
@@ -82,6 +87,14 @@ public class ReferenceManager {
         }
     }
 
+    public void checkpoint() {
+        // references are written synchronously to a persistent store, so there is no need to
+        // wait for the writes of other threads
+        if (store.isPersistent()) {
+            store.commit();
+        }
+    }
+
     public void resolveReferences() {
         countLatch.await();
         for (CacheType type : CacheType.values()) {
@@ -109,6 +122,11 @@ public class ReferenceManager {
     }
 
     private <K, V> void store(Map<K, V> unresolved, String name) {
+        if (store.isPersistent()) {
+            store.getOrCreateMap(name).putAll(unresolved);
+            return;
+        }
+
         Map<K, V> values = new HashMap<>(unresolved);
         countLatch.increment();
         service.execute(() -> {
@@ -0,0 +1,191 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.operation.importer.util;
+
+import com.alibaba.fastjson2.JSON;
+import org.citydb.operation.importer.ImportException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class AsyncImportLogger implements ImportLogger, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 10000;
+    private static final long FLUSH_INTERVAL = 100;
+    private static final Object CLOSE = new Object();
+
+    private final BufferedWriter writer;
+    private final Format format;
+    private final BlockingQueue<Object> queue;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Thread worker;
+
+    private boolean closed;
+    private volatile IOException exception;
+
+    public enum Format {
+        CSV,
+        JSON_LINES
+    }
+
+    private AsyncImportLogger(Path file, Format format, int capacity) throws IOException {
+        this.format = Objects.requireNonNull(format, "The log format must not be null.");
+        queue = new ArrayBlockingQueue<>(capacity > 0 ? capacity : DEFAULT_CAPACITY);
+        writer = Files.newBufferedWriter(Objects.requireNonNull(file, "The log file must not be null."),
+                StandardCharsets.UTF_8);
+
+        if (format == Format.CSV) {
+            writer.write("objectclass_id,objectid,database_id");
+            writer.newLine();
+        }
+
+        worker = new Thread(this::drain, "citydb-import-log");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public static AsyncImportLogger of(Path file, Format format, int capacity) throws IOException {
+        return new AsyncImportLogger(file, format, capacity);
+    }
+
+    public static AsyncImportLogger of(Path file, Format format) throws IOException {
+        return new AsyncImportLogger(file, format, DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public void log(ImportLogEntry logEntry) throws ImportException {
+        // the read lock keeps close() from enqueuing the end marker while entries are being added
+        lock.readLock().lock();
+        try {
+            if (exception != null) {
+                throw new ImportException("Failed to write import log.", exception);
+            } else if (closed) {
+                throw new ImportException("The import log has already been closed.");
+            }
+
+            queue.put(logEntry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImportException("Interrupted while writing import log.", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws ImportException {
+        lock.writeLock().lock();
+        try {
+            if (!closed) {
+                closed = true;
+                queue.put(CLOSE);
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            if (exception == null) {
+                exception = e;
+            }
+        }
+
+        if (exception != null) {
+            throw new ImportException("Failed to write import log.", exception);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Object item = queue.poll(FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+                if (item == CLOSE) {
+                    break;
+                } else if (exception == null) {
+                    // entries are still taken after a failure so that producers never block
+                    try {
+                        if (item != null) {
+                            write((ImportLogEntry) item);
+                        } else {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        exception = e;
+                    }
+                }
+            }
+
+            if (exception == null) {
+                writer.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            exception = e;
+        }
+    }
+
+    private void write(ImportLogEntry logEntry) throws IOException {
+        if (format == Format.CSV) {
+            writer.write(Integer.toString(logEntry.getObjectClassId()));
+            writer.write(',');
+            writer.write(escape(logEntry.getObjectId()));
+            writer.write(',');
+            writer.write(Long.toString(logEntry.getDatabaseId()));
+        } else {
+            writer.write("{\"objectclass_id\":");
+            writer.write(Integer.toString(logEntry.getObjectClassId()));
+            writer.write(",\"objectid\":");
+            writer.write(JSON.toJSONString(logEntry.getObjectId()));
+            writer.write(",\"database_id\":");
+            writer.write(Long.toString(logEntry.getDatabaseId()));
+            writer.write('}');
+        }
+
+        writer.newLine();
+    }
+
+    private String escape(String value) {
+        if (value == null) {
+            return "";
+        } else if (value.indexOf(',') != -1
+                || value.indexOf('"') != -1
+                || value.indexOf('\n') != -1
+                || value.indexOf('\r') != -1) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        } else {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.operation.importer.util;
+
+import org.citydb.database.schema.Table;
+import org.citydb.operation.importer.AdaptiveBatchOptions;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class BatchController {
+    private final Map<Table, Integer> rowLimits = new EnumMap<>(Table.class);
+    private final AdaptiveBatchOptions options;
+    private final BatchSizeListener listener;
+    private final int maxBatchSize;
+    private final long minLatency;
+    private final long maxLatency;
+    private final long targetLatency;
+    private int featureLimit;
+
+    private BatchController(int batchSize, int maxBatchSize, AdaptiveBatchOptions options,
+                            BatchSizeListener listener) {
+        this.options = options;
+        this.listener = listener;
+        this.maxBatchSize = maxBatchSize;
+        featureLimit = Math.min(batchSize, maxBatchSize);
+
+        if (options != null) {
+            minLatency = TimeUnit.MILLISECONDS.toNanos(options.getMinLatency());
+            maxLatency = TimeUnit.MILLISECONDS.toNanos(options.getMaxLatency());
+            targetLatency = (minLatency + maxLatency) / 2;
+        } else {
+            minLatency = maxLatency = targetLatency = 0;
+        }
+    }
+
+    public static BatchController fixed(int batchSize, int maxBatchSize) {
+        return new BatchController(batchSize, maxBatchSize, null, null);
+    }
+
+    public static BatchController adaptive(int batchSize, int maxBatchSize, AdaptiveBatchOptions options,
+                                           BatchSizeListener listener) {
+        return new BatchController(batchSize, maxBatchSize, options != null ?
+                options :
+                AdaptiveBatchOptions.defaults(), listener);
+    }
+
+    public boolean isAdaptive() {
+        return options != null;
+    }
+
+    public int getFeatureLimit() {
+        return featureLimit;
+    }
+
+    public int getRowLimit(Table table) {
+        return options != null ? rowLimits.getOrDefault(table, maxBatchSize) : maxBatchSize;
+    }
+
+    public boolean isFull(Table table, int rows, long bytes) {
+        return rows >= getRowLimit(table)
+                || (options != null && bytes >= options.getMaxBatchBytes());
+    }
+
+    public void featuresExecuted(int features, long latency) {
+        if (options != null && features > 0) {
+            int limit = adjust(featureLimit, features, latency, 1);
+            if (limit != featureLimit) {
+                if (listener != null) {
+                    listener.featureBatchSizeChanged(featureLimit, limit, features,
+                            TimeUnit.NANOSECONDS.toMillis(latency));
+                }
+
+                featureLimit = limit;
+            }
+        }
+    }
+
+    public void rowsExecuted(Table table, int rows, long bytes, long latency) {
+        if (options != null && rows > 0) {
+            int current = getRowLimit(table);
+            // batches cut short by the byte limit must not be taken as a reason to shrink
+            int limit = bytes >= options.getMaxBatchBytes() && latency <= maxLatency ?
+                    current :
+                    adjust(current, rows, latency, Math.min(options.getMinBatchSize(), maxBatchSize));
+            if (limit != current) {
+                if (listener != null) {
+                    listener.tableBatchSizeChanged(table, current, limit, rows, bytes,
+                            TimeUnit.NANOSECONDS.toMillis(latency));
+                }
+
+                rowLimits.put(table, limit);
+            }
+        }
+    }
+
+    private int adjust(int limit, int count, long latency, int minLimit) {
+        if (latency > maxLatency && limit > minLimit) {
+            // scale towards the middle of the latency window but at most halve the limit
+            long scaled = count * targetLatency / latency;
+            return (int) Math.max(minLimit, Math.min(limit - 1, Math.max(limit / 2, scaled)));
+        } else if (latency < minLatency && count >= limit && limit < maxBatchSize) {
+            // only grow if the batch was full, otherwise the limit was not the constraint
+            long scaled = latency > 0 ? count * targetLatency / latency : Long.MAX_VALUE;
+            return (int) Math.min(maxBatchSize, Math.max(limit + 1, Math.min(limit * 2L, scaled)));
+        } else {
+            return limit;
+        }
+    }
+}
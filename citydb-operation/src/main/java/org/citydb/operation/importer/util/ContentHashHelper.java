@@ -0,0 +1,107 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.operation.importer.util;
+
+import org.citydb.database.schema.Table;
+import org.citydb.model.feature.FeatureDescriptor;
+import org.citydb.operation.importer.ImportHelper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ContentHashHelper {
+    private final PreparedStatement stmt;
+    private final PreparedStatement nestedStmt;
+
+    public ContentHashHelper(ImportHelper helper) throws SQLException {
+        String feature = helper.getTableHelper().getPrefixedTableName(Table.FEATURE);
+        String property = helper.getTableHelper().getPrefixedTableName(Table.PROPERTY);
+
+        stmt = helper.getConnection().prepareStatement("select id, objectclass_id, content_hash from " +
+                feature + " where objectid = ? and termination_date is null");
+        nestedStmt = helper.getConnection().prepareStatement("with recursive nested(id) as (" +
+                "select val_feature_id from " + property + " " +
+                "where feature_id = ? and val_feature_id is not null and val_reference_type is null " +
+                "union all " +
+                "select p.val_feature_id from " + property + " p, nested n " +
+                "where p.feature_id = n.id and p.val_feature_id is not null and p.val_reference_type is null) " +
+                "select f.objectid, f.id from " + feature + " f, nested n " +
+                "where f.id = n.id and f.objectid is not null");
+    }
+
+    public Result lookup(String objectId, String contentHash) throws SQLException {
+        Result result = new Result();
+        stmt.setString(1, objectId);
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                long id = rs.getLong(1);
+                if (result.unchanged == null && contentHash.equals(rs.getString(3))) {
+                    result.unchanged = FeatureDescriptor.of(id, rs.getInt(2));
+                } else {
+                    result.outdated.add(id);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    public Map<String, Long> lookupNestedFeatures(long id) throws SQLException {
+        Map<String, Long> nestedFeatures = new HashMap<>();
+        nestedStmt.setLong(1, id);
+        try (ResultSet rs = nestedStmt.executeQuery()) {
+            while (rs.next()) {
+                nestedFeatures.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+
+        return nestedFeatures;
+    }
+
+    public void close() throws SQLException {
+        try {
+            stmt.close();
+        } finally {
+            nestedStmt.close();
+        }
+    }
+
+    public static class Result {
+        private final List<Long> outdated = new ArrayList<>();
+        private FeatureDescriptor unchanged;
+
+        private Result() {
+        }
+
+        public FeatureDescriptor getUnchanged() {
+            return unchanged;
+        }
+
+        public List<Long> getOutdated() {
+            return outdated;
+        }
+    }
+}
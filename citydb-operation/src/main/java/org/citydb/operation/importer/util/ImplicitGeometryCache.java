@@ -0,0 +1,150 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.operation.importer.util;
+
+import java.util.*;
+
+public class ImplicitGeometryCache {
+    public static final int DEFAULT_CAPACITY = 100000;
+
+    private final Map<String, Long> ids;
+    private final Set<String> unknownIds;
+
+    private ImplicitGeometryCache(int capacity) {
+        // evicted entries are looked up in the database again
+        ids = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        unknownIds = Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    public static ImplicitGeometryCache newInstance() {
+        return new ImplicitGeometryCache(DEFAULT_CAPACITY);
+    }
+
+    public static ImplicitGeometryCache newInstance(int capacity) {
+        return new ImplicitGeometryCache(capacity > 0 ? capacity : DEFAULT_CAPACITY);
+    }
+
+    public Transaction newTransaction() {
+        return new Transaction();
+    }
+
+    public void clear() {
+        synchronized (this) {
+            ids.clear();
+            unknownIds.clear();
+        }
+    }
+
+    private void putAll(Map<String, Long> committed) {
+        synchronized (this) {
+            for (Map.Entry<String, Long> entry : committed.entrySet()) {
+                ids.put(entry.getKey(), entry.getValue());
+                unknownIds.remove(entry.getKey());
+            }
+        }
+    }
+
+    public class Transaction {
+        private final Map<String, Long> uncommitted = new HashMap<>();
+
+        private Transaction() {
+        }
+
+        public Long get(String objectId) {
+            Long id = uncommitted.get(objectId);
+            if (id == null) {
+                synchronized (ImplicitGeometryCache.this) {
+                    id = ids.get(objectId);
+                }
+            }
+
+            return id;
+        }
+
+        public boolean isKnown(String objectId) {
+            if (uncommitted.containsKey(objectId)) {
+                return true;
+            }
+
+            synchronized (ImplicitGeometryCache.this) {
+                return ids.containsKey(objectId) || unknownIds.contains(objectId);
+            }
+        }
+
+        public boolean isUnknown(String objectId) {
+            if (uncommitted.containsKey(objectId)) {
+                return false;
+            }
+
+            synchronized (ImplicitGeometryCache.this) {
+                return unknownIds.contains(objectId);
+            }
+        }
+
+        public void put(String objectId, long id) {
+            uncommitted.put(objectId, id);
+        }
+
+        public void putCommitted(String objectId, long id) {
+            synchronized (ImplicitGeometryCache.this) {
+                ids.put(objectId, id);
+                unknownIds.remove(objectId);
+            }
+        }
+
+        public void putUnknown(Collection<String> objectIds) {
+            // another transaction may have committed an id after it was looked up, so the check
+            // and the insert must happen under the same lock that guards the commit
+            synchronized (ImplicitGeometryCache.this) {
+                for (String objectId : objectIds) {
+                    if (!ids.containsKey(objectId)) {
+                        unknownIds.add(objectId);
+                    }
+                }
+            }
+        }
+
+        public void commit() {
+            if (!uncommitted.isEmpty()) {
+                try {
+                    putAll(uncommitted);
+                } finally {
+                    uncommitted.clear();
+                }
+            }
+        }
+
+        public void rollback() {
+            uncommitted.clear();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.operation.importer.util;
+
+import org.citydb.core.cache.PersistentMapStore;
+import org.citydb.core.file.InputFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+public class ImportJournal implements AutoCloseable {
+    private static final String COMPLETED_FILES = "files";
+    private static final String INPUT_FILES = "inputs";
+    private static final String COMMITTED_RANGES = "ranges:";
+    private static final String PENDING_FEATURES = "pending:";
+    private final PersistentMapStore store;
+    private final Path referenceFile;
+    private final Map<String, Boolean> completedFiles;
+    private final Map<String, String> inputFiles;
+    private final NavigableMap<Long, Long> ranges = new TreeMap<>();
+    private Map<Long, Long> persistedRanges;
+    private Map<Long, Long> pendingFeatures;
+    private String file;
+    private long committed;
+
+    private ImportJournal(PersistentMapStore store, Path referenceFile) {
+        this.store = store;
+        this.referenceFile = referenceFile;
+        completedFiles = store.getOrCreateMap(COMPLETED_FILES);
+        inputFiles = store.getOrCreateMap(INPUT_FILES);
+    }
+
+    public static ImportJournal of(Path journalFile, boolean resume) throws IOException {
+        Objects.requireNonNull(journalFile, "The journal file must not be null.");
+        journalFile = journalFile.normalize().toAbsolutePath();
+        Path referenceFile = journalFile.resolveSibling(journalFile.getFileName() + ".refs");
+        if (!resume) {
+            Files.deleteIfExists(journalFile);
+            Files.deleteIfExists(referenceFile);
+        }
+
+        if (journalFile.getParent() != null) {
+            Files.createDirectories(journalFile.getParent());
+        }
+
+        return new ImportJournal(PersistentMapStore.builder()
+                .persistentFile(journalFile)
+                .build(), referenceFile);
+    }
+
+    public Path getJournalFile() {
+        return store.getBackingFile();
+    }
+
+    public synchronized ImportJournal checkInputFile(InputFile inputFile) throws IOException {
+        Objects.requireNonNull(inputFile, "The input file must not be null.");
+        String fingerprint = Files.size(inputFile.getFile()) + ":" +
+                Files.getLastModifiedTime(inputFile.getFile()).toMillis();
+        String recorded = inputFiles.putIfAbsent(inputFile.getContentFile(), fingerprint);
+        if (recorded == null) {
+            store.commit();
+        } else if (!recorded.equals(fingerprint)) {
+            throw new IOException("The input file " + inputFile.getContentFile() + " has been modified " +
+                    "since it was recorded in the journal " + getJournalFile() + ". Cannot resume the import.");
+        }
+
+        return this;
+    }
+
+    public synchronized boolean isCompleted(String file) {
+        return completedFiles.containsKey(file);
+    }
+
+    public synchronized ImportJournal startFile(String file) {
+        this.file = Objects.requireNonNull(file, "The file must not be null.");
+        persistedRanges = store.getOrCreateMap(COMMITTED_RANGES + file);
+        pendingFeatures = store.getOrCreateMap(PENDING_FEATURES + file);
+        ranges.clear();
+        ranges.putAll(persistedRanges);
+        committed = ranges.entrySet().stream()
+                .mapToLong(range -> range.getValue() - range.getKey() + 1)
+                .sum();
+        return this;
+    }
+
+    public synchronized long getNumberOfCommittedFeatures() {
+        return committed;
+    }
+
+    public synchronized boolean isCommitted(long index) {
+        Map.Entry<Long, Long> range = ranges.floorEntry(index);
+        return range != null && range.getValue() >= index;
+    }
+
+    public synchronized Long getPendingFeatureId(long index) {
+        return pendingFeatures != null ? pendingFeatures.get(index) : null;
+    }
+
+    public PersistentMapStore openReferenceStore() throws IOException {
+        return PersistentMapStore.builder()
+                .persistentFile(referenceFile)
+                .build();
+    }
+
+    public synchronized void prepare(Map<Long, Long> features) {
+        if (pendingFeatures != null && !features.isEmpty()) {
+            // record the feature ids before the database commit so that a resumed import can
+            // detect features that were committed but not yet recorded as committed
+            pendingFeatures.putAll(features);
+            store.commit();
+        }
+    }
+
+    public synchronized void commit(Collection<Long> indexes) {
+        if (persistedRanges != null && !indexes.isEmpty()) {
+            for (long index : indexes) {
+                add(index);
+                pendingFeatures.remove(index);
+            }
+
+            store.commit();
+        }
+    }
+
+    public synchronized void completeFile() throws IOException {
+        if (file != null) {
+            completedFiles.put(file, Boolean.TRUE);
+            store.removeMap(COMMITTED_RANGES + file);
+            store.removeMap(PENDING_FEATURES + file);
+            store.commit();
+            Files.deleteIfExists(referenceFile);
+            persistedRanges = null;
+            pendingFeatures = null;
+            ranges.clear();
+            committed = 0;
+            file = null;
+        }
+    }
+
+    private void add(long index) {
+        if (isCommitted(index)) {
+            return;
+        }
+
+        // merge the index with adjacent ranges to keep the journal compact
+        long start = index, end = index;
+        Map.Entry<Long, Long> lower = ranges.floorEntry(index);
+        if (lower != null && lower.getValue() == index - 1) {
+            start = lower.getKey();
+        }
+
+        Long upper = ranges.remove(index + 1);
+        if (upper != null) {
+            persistedRanges.remove(index + 1);
+            end = upper;
+        }
+
+        ranges.put(start, end);
+        persistedRanges.put(start, end);
+        committed++;
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+}
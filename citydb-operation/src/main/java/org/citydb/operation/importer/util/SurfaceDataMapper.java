@@ -21,7 +21,7 @@
 
 package org.citydb.operation.importer.util;
 
-import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONWriter;
 import org.citydb.model.appearance.*;
 import org.citydb.model.geometry.GeometryDescriptor;
 import org.citydb.model.geometry.LinearRing;
@@ -29,9 +29,13 @@ import org.citydb.model.geometry.Polygon;
 import org.citydb.model.geometry.Surface;
 import org.citydb.operation.importer.ImportException;
 
+import java.io.StringWriter;
 import java.util.*;
 
 public class SurfaceDataMapper {
+    private final MappingWriter textureMapping = new MappingWriter();
+    private final MappingWriter worldToTextureMapping = new MappingWriter();
+    private final MappingWriter flagMapping = new MappingWriter();
 
     private SurfaceDataMapper() {
     }
@@ -65,53 +69,94 @@ public class SurfaceDataMapper {
     private Map<Long, SurfaceDataMapping> getParameterizedTextureMapping(ParameterizedTexture texture, Map<Long, List<Surface<?>>> surfaces) {
         Map<Long, SurfaceDataMapping> mappings = new HashMap<>();
         for (Map.Entry<Long, List<Surface<?>>> entry : surfaces.entrySet()) {
-            SurfaceDataMapping mapping = new SurfaceDataMapping();
-
+            textureMapping.reset();
+            worldToTextureMapping.reset();
             for (Surface<?> surface : entry.getValue()) {
                 String objectId = surface.getObjectId().orElse(null);
                 if (objectId != null) {
                     List<Double> worldToTexture = texture.getWorldToTextureMapping(surface);
-                    if (worldToTexture != null) {
-                        mapping.getOrCreateWorldToTextureMapping().put(objectId, JSONArray.copyOf(worldToTexture));
-                    }
+                    if (worldToTexture != null && !worldToTextureMapping.hasName(objectId)) {
+                        JSONWriter writer = worldToTextureMapping.writeName(objectId);
+                        writer.startArray();
+                        for (int i = 0; i < worldToTexture.size(); i++) {
+                            if (i > 0) {
+                                writer.writeComma();
+                            }
 
-                    if (surface instanceof Polygon) {
-                        Polygon polygon = (Polygon) surface;
-                        JSONArray rings = new JSONArray(polygon.getRings().size());
-                        for (LinearRing ring : polygon.getRings()) {
-                            List<TextureCoordinate> coordinates = texture.getTextureCoordinates(ring);
-                            if (coordinates != null) {
-                                JSONArray ringCoordinates = new JSONArray(coordinates.size());
-                                coordinates.stream()
-                                        .map(coordinate -> JSONArray.of(coordinate.getS(), coordinate.getT()))
-                                        .forEach(ringCoordinates::add);
-                                rings.add(ringCoordinates);
+                            Double value = worldToTexture.get(i);
+                            if (value != null) {
+                                writer.writeDouble(value);
+                            } else {
+                                writer.writeNull();
                             }
                         }
 
-                        if (!rings.isEmpty()) {
-                            mapping.getOrCreateTextureMapping().put(objectId, rings);
-                        }
+                        writer.endArray();
+                    }
+
+                    if (surface instanceof Polygon
+                            && !textureMapping.hasName(objectId)
+                            && hasTextureCoordinates((Polygon) surface, texture)) {
+                        writeTextureCoordinates((Polygon) surface, texture, textureMapping.writeName(objectId));
                     }
                 }
             }
 
-            mappings.put(entry.getKey(), mapping);
+            mappings.put(entry.getKey(), new SurfaceDataMapping()
+                    .setTextureMapping(textureMapping.toJSONString())
+                    .setWorldToTextureMapping(worldToTextureMapping.toJSONString()));
         }
 
         return mappings;
     }
 
+    private boolean hasTextureCoordinates(Polygon polygon, ParameterizedTexture texture) {
+        for (LinearRing ring : polygon.getRings()) {
+            if (texture.getTextureCoordinates(ring) != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void writeTextureCoordinates(Polygon polygon, ParameterizedTexture texture, JSONWriter writer) {
+        writer.startArray();
+        boolean first = true;
+        for (LinearRing ring : polygon.getRings()) {
+            List<TextureCoordinate> coordinates = texture.getTextureCoordinates(ring);
+            if (coordinates != null) {
+                if (!first) {
+                    writer.writeComma();
+                }
+
+                writer.startArray();
+                for (int i = 0; i < coordinates.size(); i++) {
+                    if (i > 0) {
+                        writer.writeComma();
+                    }
+
+                    TextureCoordinate coordinate = coordinates.get(i);
+                    writer.startArray();
+                    writer.writeDouble(coordinate.getS());
+                    writer.writeComma();
+                    writer.writeDouble(coordinate.getT());
+                    writer.endArray();
+                }
+
+                writer.endArray();
+                first = false;
+            }
+        }
+
+        writer.endArray();
+    }
+
     private Map<Long, SurfaceDataMapping> getMaterialMapping(Map<Long, List<Surface<?>>> surfaces) {
         Map<Long, SurfaceDataMapping> mappings = new HashMap<>();
         for (Map.Entry<Long, List<Surface<?>>> entry : surfaces.entrySet()) {
-            SurfaceDataMapping mapping = new SurfaceDataMapping();
-            for (Surface<?> surface : entry.getValue()) {
-                surface.getObjectId().ifPresent(objectId ->
-                        mapping.getOrCreateMaterialMapping().put(objectId, true));
-            }
-
-            mappings.put(entry.getKey(), mapping);
+            mappings.put(entry.getKey(), new SurfaceDataMapping()
+                    .setMaterialMapping(getFlagMapping(entry.getValue())));
         }
 
         return mappings;
@@ -120,15 +165,71 @@ public class SurfaceDataMapper {
     private Map<Long, SurfaceDataMapping> getGeoreferencedTextureMapping(Map<Long, List<Surface<?>>> surfaces) {
         Map<Long, SurfaceDataMapping> mappings = new HashMap<>();
         for (Map.Entry<Long, List<Surface<?>>> entry : surfaces.entrySet()) {
-            SurfaceDataMapping mapping = new SurfaceDataMapping();
-            for (Surface<?> surface : entry.getValue()) {
-                surface.getObjectId().ifPresent(objectId ->
-                        mapping.getOrCreateGeoreferencedTextureMapping().put(objectId, true));
+            mappings.put(entry.getKey(), new SurfaceDataMapping()
+                    .setGeoreferencedTextureMapping(getFlagMapping(entry.getValue())));
+        }
+
+        return mappings;
+    }
+
+    private String getFlagMapping(List<Surface<?>> surfaces) {
+        flagMapping.reset();
+        for (Surface<?> surface : surfaces) {
+            String objectId = surface.getObjectId().orElse(null);
+            if (objectId != null && !flagMapping.hasName(objectId)) {
+                flagMapping.writeName(objectId).writeBool(true);
+            }
+        }
+
+        return flagMapping.toJSONString();
+    }
+
+    private static class MappingWriter {
+        // the writer and its output buffer are reused for all mappings of this mapper
+        private final StringWriter output = new StringWriter();
+        private final Set<String> names = new HashSet<>();
+        private JSONWriter writer = JSONWriter.of();
+        private boolean empty = true;
+
+        private void reset() {
+            names.clear();
+            if (!empty) {
+                // discard the state left behind by a failed mapping
+                writer.close();
+                writer = JSONWriter.of();
+                empty = true;
+            }
+        }
+
+        private JSONWriter writeName(String name) {
+            if (empty) {
+                writer.startObject();
+                empty = false;
             }
 
-            mappings.put(entry.getKey(), mapping);
+            names.add(name);
+            writer.writeName(name);
+            writer.writeColon();
+            return writer;
         }
 
-        return mappings;
+        private boolean hasName(String name) {
+            return names.contains(name);
+        }
+
+        private String toJSONString() {
+            names.clear();
+            if (!empty) {
+                writer.endObject();
+                writer.flushTo(output);
+                empty = true;
+
+                String json = output.toString();
+                output.getBuffer().setLength(0);
+                return json;
+            } else {
+                return null;
+            }
+        }
     }
 }
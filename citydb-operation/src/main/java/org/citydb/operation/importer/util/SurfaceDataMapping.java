@@ -21,75 +21,61 @@
 
 package org.citydb.operation.importer.util;
 
-import com.alibaba.fastjson2.JSONObject;
-
 public class SurfaceDataMapping {
-    private JSONObject textureMapping;
-    private JSONObject materialMapping;
-    private JSONObject worldToTextureMapping;
-    private JSONObject georeferencedTextureMapping;
-
-    JSONObject getOrCreateTextureMapping() {
-        if (textureMapping == null) {
-            textureMapping = new JSONObject();
-        }
-
-        return textureMapping;
-    }
+    private String textureMapping;
+    private String materialMapping;
+    private String worldToTextureMapping;
+    private String georeferencedTextureMapping;
 
     public boolean hasTextureMapping() {
-        return textureMapping != null && !textureMapping.isEmpty();
+        return textureMapping != null;
     }
 
-    public JSONObject getTextureMapping() {
+    public String getTextureMapping() {
         return textureMapping;
     }
 
-    JSONObject getOrCreateMaterialMapping() {
-        if (materialMapping == null) {
-            materialMapping = new JSONObject();
-        }
-
-        return materialMapping;
+    SurfaceDataMapping setTextureMapping(String textureMapping) {
+        this.textureMapping = textureMapping;
+        return this;
     }
 
     public boolean hasMaterialMapping() {
-        return materialMapping != null && !materialMapping.isEmpty();
+        return materialMapping != null;
     }
 
-    public JSONObject getMaterialMapping() {
+    public String getMaterialMapping() {
         return materialMapping;
     }
 
-    JSONObject getOrCreateWorldToTextureMapping() {
-        if (worldToTextureMapping == null) {
-            worldToTextureMapping = new JSONObject();
-        }
-
-        return worldToTextureMapping;
+    SurfaceDataMapping setMaterialMapping(String materialMapping) {
+        this.materialMapping = materialMapping;
+        return this;
     }
 
     public boolean hasWorldToTextureMapping() {
-        return worldToTextureMapping != null && !worldToTextureMapping.isEmpty();
+        return worldToTextureMapping != null;
     }
 
-    public JSONObject getWorldToTextureMapping() {
+    public String getWorldToTextureMapping() {
         return worldToTextureMapping;
     }
 
-    JSONObject getOrCreateGeoreferencedTextureMapping() {
-        if (georeferencedTextureMapping == null) {
-            georeferencedTextureMapping = new JSONObject();
-        }
-
-        return georeferencedTextureMapping;
+    SurfaceDataMapping setWorldToTextureMapping(String worldToTextureMapping) {
+        this.worldToTextureMapping = worldToTextureMapping;
+        return this;
     }
 
     public boolean hasGeoreferencedTextureMapping() {
-        return georeferencedTextureMapping != null && !georeferencedTextureMapping.isEmpty();
+        return georeferencedTextureMapping != null;
     }
 
-    public JSONObject getGeoreferencedTextureMapping() {
+    public String getGeoreferencedTextureMapping() {
         return georeferencedTextureMapping;
     }
+
+    SurfaceDataMapping setGeoreferencedTextureMapping(String georeferencedTextureMapping) {
+        this.georeferencedTextureMapping = georeferencedTextureMapping;
+        return this;
+    }
 }
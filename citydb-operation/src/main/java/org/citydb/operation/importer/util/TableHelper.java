@@ -168,6 +168,17 @@ public class TableHelper {
         return candidates;
     }
 
+    public Set<Table> getTables() {
+        Set<Table> tables = EnumSet.noneOf(Table.class);
+        for (Table table : commitOrder.getCommitOrder()) {
+            if (!getImporters(table).isEmpty()) {
+                tables.add(table);
+            }
+        }
+
+        return tables;
+    }
+
     public void close() throws SQLException {
         for (DatabaseImporter importer : importers.values()) {
             importer.close();
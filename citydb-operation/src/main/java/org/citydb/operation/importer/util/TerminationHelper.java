@@ -0,0 +1,104 @@
+/*
+ * citydb-tool - Command-line tool for the 3D City Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2022-2023
+ * Virtual City Systems, Germany
+ * https://vc.systems/
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.operation.importer.util;
+
+import org.citydb.database.schema.Table;
+import org.citydb.model.common.ReferenceType;
+import org.citydb.operation.deleter.DeleteOptions;
+import org.citydb.operation.importer.ImportHelper;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+
+public class TerminationHelper {
+    private final DeleteOptions options;
+    private final String updatingPerson;
+    private final PreparedStatement stmt;
+    private int batchCounter;
+
+    public TerminationHelper(ImportHelper helper, DeleteOptions options) throws SQLException {
+        this.options = options;
+        updatingPerson = options.getUpdatingPerson() != null ?
+                options.getUpdatingPerson() :
+                helper.getAdapter().getConnectionDetails().getUser();
+
+        // nested features are terminated together with their parent, following the same
+        // properties that are cascaded when deleting a feature
+        String property = helper.getTableHelper().getPrefixedTableName(Table.PROPERTY);
+        StringBuilder stmt = new StringBuilder("with recursive nested(id) as (")
+                .append("select cast(? as bigint) ")
+                .append("union ")
+                .append("select p.val_feature_id from ").append(property).append(" p, nested n ")
+                .append("where p.feature_id = n.id and p.val_feature_id is not null ")
+                .append("and (p.val_reference_type is null or p.val_reference_type = ")
+                .append(ReferenceType.LOCAL_REFERENCE.getDatabaseValue()).append(")) ")
+                .append("update ")
+                .append(helper.getTableHelper().getPrefixedTableName(Table.FEATURE))
+                .append(" set termination_date = ?, last_modification_date = ?, updating_person = ?");
+
+        if (options.getReasonForUpdate() != null) {
+            stmt.append(", reason_for_update = ?");
+        }
+
+        if (options.getLineage() != null) {
+            stmt.append(", lineage = ?");
+        }
+
+        stmt.append(" where id in (select id from nested) and termination_date is null");
+        this.stmt = helper.getConnection().prepareStatement(stmt.toString());
+    }
+
+    public void terminate(long id) throws SQLException {
+        OffsetDateTime now = OffsetDateTime.now();
+        int index = 1;
+
+        stmt.setLong(index++, id);
+        stmt.setObject(index++, options.getTerminationDate() != null ? options.getTerminationDate() : now);
+        stmt.setObject(index++, now);
+        stmt.setString(index++, updatingPerson);
+
+        if (options.getReasonForUpdate() != null) {
+            stmt.setString(index++, options.getReasonForUpdate());
+        }
+
+        if (options.getLineage() != null) {
+            stmt.setString(index++, options.getLineage());
+        }
+
+        stmt.addBatch();
+        batchCounter++;
+    }
+
+    public void executeBatch() throws SQLException {
+        if (batchCounter > 0) {
+            try {
+                stmt.executeBatch();
+            } finally {
+                batchCounter = 0;
+            }
+        }
+    }
+
+    public void close() throws SQLException {
+        stmt.close();
+    }
+}
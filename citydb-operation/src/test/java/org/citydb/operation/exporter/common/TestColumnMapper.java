@@ -0,0 +1,76 @@
+package org.citydb.operation.exporter.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestColumnMapper {
+
+    @Test
+    @DisplayName("Resolve column indexes once per statement")
+    void testPerStatement() throws Throwable {
+        AtomicInteger resolved = new AtomicInteger();
+        ColumnMapper<Integer> mapper = ColumnMapper.of(columns -> {
+            resolved.incrementAndGet();
+            return columns.get("ID");
+        });
+
+        Statement first = statement();
+        Statement second = statement();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Integer.valueOf(1), mapper.get(resultSet(first, "id", "name")));
+            assertEquals(Integer.valueOf(2), mapper.get(resultSet(second, "name", "id")));
+        }
+
+        assertEquals(2, resolved.get());
+    }
+
+    @Test
+    @DisplayName("Report missing columns only for mandatory lookups")
+    void testMissingColumn() throws Throwable {
+        ColumnIndex columns = ColumnIndex.of(resultSet(statement(), "id"));
+        assertEquals(0, columns.find("name"));
+        assertThrows(SQLException.class, () -> columns.get("name"));
+    }
+
+    private Statement statement() {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Statement.class},
+                (proxy, method, args) -> method.getName().equals("hashCode") ?
+                        System.identityHashCode(proxy) :
+                        method.getName().equals("equals") ? proxy == args[0] : null);
+    }
+
+    private ResultSet resultSet(Statement statement, String... labels) {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getColumnCount":
+                            return labels.length;
+                        case "getColumnLabel":
+                            return labels[(int) args[0] - 1];
+                        default:
+                            return null;
+                    }
+                });
+
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getStatement":
+                            return statement;
+                        case "getMetaData":
+                            return metaData;
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,64 @@
+package org.citydb.operation.exporter.util;
+
+import org.citydb.model.appearance.X3DMaterial;
+import org.citydb.model.geometry.Coordinate;
+import org.citydb.model.geometry.GeometryDescriptor;
+import org.citydb.model.geometry.LinearRing;
+import org.citydb.model.geometry.MultiSurface;
+import org.citydb.model.geometry.Polygon;
+import org.citydb.operation.importer.util.SurfaceDataMapping;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSurfaceDataMapper {
+
+    @Test
+    @DisplayName("Test round trip of material mapping")
+    void testMaterialMappingRoundTrip() throws Throwable {
+        Polygon p1 = createPolygon().setObjectId("p1");
+        Polygon p2 = createPolygon().setObjectId("p2");
+        MultiSurface multiSurface = MultiSurface.of(List.of(p1, p2));
+        multiSurface.setDescriptor(GeometryDescriptor.of(10, 1));
+
+        X3DMaterial material = X3DMaterial.newInstance()
+                .addTarget(p1)
+                .addTarget(p1)
+                .addTarget(p2);
+
+        Map<Long, SurfaceDataMapping> mappings = org.citydb.operation.importer.util.SurfaceDataMapper.newInstance()
+                .createMapping(material);
+        assertEquals(1, mappings.size());
+
+        String mapping = mappings.get(10L).getMaterialMapping();
+        assertEquals(mapping.indexOf("\"p1\""), mapping.lastIndexOf("\"p1\""));
+
+        SurfaceDataMapper mapper = new SurfaceDataMapper()
+                .buildMaterialMapping(mapping, 10, material);
+        assertEquals(List.of("10#p1", "10#p2"), mapper.getMaterialMappings(material));
+    }
+
+    @Test
+    @DisplayName("Test invalid mapping is skipped")
+    void testInvalidMapping() {
+        X3DMaterial material = X3DMaterial.newInstance();
+        SurfaceDataMapper mapper = new SurfaceDataMapper()
+                .buildMaterialMapping("{\"p1\":true,\"p2\":", 10, material)
+                .buildTextureMapping("{\"p1\":[[[0.0,", 10, material);
+
+        assertTrue(mapper.getMaterialMappings(material).isEmpty());
+        assertTrue(mapper.getTextureMappings(material).isEmpty());
+    }
+
+    private Polygon createPolygon() {
+        return Polygon.of(LinearRing.of(List.of(
+                Coordinate.of(0, 0, 0),
+                Coordinate.of(1, 0, 0),
+                Coordinate.of(1, 1, 0),
+                Coordinate.of(0, 0, 0))));
+    }
+}
@@ -0,0 +1,61 @@
+package org.citydb.operation.importer.util;
+
+import org.citydb.model.common.Name;
+import org.citydb.model.feature.Feature;
+import org.citydb.model.feature.FeatureDescriptor;
+import org.citydb.operation.importer.ImportException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestAsyncImportLogger {
+
+    @Test
+    @DisplayName("Write all entries logged by concurrent producers before closing")
+    void testConcurrentLogging() throws Throwable {
+        Path file = Files.createTempFile("import-log", ".csv");
+        AsyncImportLogger logger = AsyncImportLogger.of(file, AsyncImportLogger.Format.CSV, 16);
+        ExecutorService service = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                int producer = i;
+                results.add(service.submit(() -> {
+                    for (int j = 0; j < 5000; j++) {
+                        logger.log(ImportLogEntry.of(Feature.of(Name.of("Building"))
+                                        .setObjectId("id-" + producer + "-" + j),
+                                FeatureDescriptor.of(producer * 5000L + j, 901)));
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> result : results) {
+                result.get();
+            }
+
+            logger.close();
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertEquals(Integer.valueOf(40001), Integer.valueOf(lines.size()));
+            assertEquals("objectclass_id,objectid,database_id", lines.get(0));
+            assertThrows(ImportException.class, () -> logger.log(ImportLogEntry.of(
+                    Feature.of(Name.of("Building")), FeatureDescriptor.of(1, 901))));
+        } finally {
+            service.shutdown();
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.citydb.operation.importer.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestImplicitGeometryCache {
+
+    @Test
+    @DisplayName("Never report known templates without id when exceeding the capacity")
+    void testCapacity() throws Throwable {
+        ImplicitGeometryCache cache = ImplicitGeometryCache.newInstance(3);
+        ImplicitGeometryCache.Transaction transaction = cache.newTransaction();
+
+        for (int i = 0; i < 10; i++) {
+            transaction.put("template-" + i, i + 1);
+        }
+
+        transaction.commit();
+        for (int i = 10; i < 20; i++) {
+            transaction.putCommitted("template-" + i, i + 1);
+        }
+
+        int cached = 0;
+        for (int i = 0; i < 20; i++) {
+            String objectId = "template-" + i;
+            Long id = transaction.get(objectId);
+            if (id != null) {
+                assertEquals(Long.valueOf(i + 1), id);
+                cached++;
+            } else {
+                // evicted templates must be looked up again instead of being inserted
+                assertFalse(transaction.isKnown(objectId));
+                assertFalse(transaction.isUnknown(objectId));
+            }
+        }
+
+        assertEquals(Integer.valueOf(3), Integer.valueOf(cached));
+        for (int i = 17; i < 20; i++) {
+            assertEquals(Long.valueOf(i + 1), transaction.get("template-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Replace unknown templates by committed ids")
+    void testUnknown() throws Throwable {
+        ImplicitGeometryCache cache = ImplicitGeometryCache.newInstance(2);
+        ImplicitGeometryCache.Transaction first = cache.newTransaction();
+        ImplicitGeometryCache.Transaction second = cache.newTransaction();
+
+        first.putUnknown(List.of("a", "b", "c"));
+        assertFalse(first.isUnknown("a"));
+        assertTrue(first.isUnknown("b"));
+        assertTrue(first.isUnknown("c"));
+
+        first.put("b", 42);
+        assertFalse(first.isUnknown("b"));
+        assertTrue(second.isUnknown("b"));
+
+        first.commit();
+        assertFalse(second.isUnknown("b"));
+        assertEquals(Long.valueOf(42), second.get("b"));
+
+        first.putUnknown(List.of("d"));
+        second.putCommitted("d", 7);
+        assertFalse(first.isUnknown("d"));
+        assertEquals(Long.valueOf(7), first.get("d"));
+    }
+
+    @Test
+    @DisplayName("Ignore stale unknown templates committed by another transaction")
+    void testStaleUnknown() throws Throwable {
+        ImplicitGeometryCache cache = ImplicitGeometryCache.newInstance();
+        ImplicitGeometryCache.Transaction first = cache.newTransaction();
+        ImplicitGeometryCache.Transaction second = cache.newTransaction();
+
+        // the lookup of the first transaction misses the template committed in the meantime
+        second.put("a", 42);
+        second.commit();
+        first.putUnknown(List.of("a", "b"));
+
+        assertFalse(first.isUnknown("a"));
+        assertTrue(first.isKnown("a"));
+        assertEquals(Long.valueOf(42), first.get("a"));
+        assertTrue(first.isUnknown("b"));
+    }
+}
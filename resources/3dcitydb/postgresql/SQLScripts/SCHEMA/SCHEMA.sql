@@ -148,6 +148,7 @@ CREATE  TABLE feature (
 	termination_date     timestamptz    ,
 	valid_from           timestamptz    ,
 	valid_to             timestamptz    ,
+	content_hash         text    ,
 	CONSTRAINT feature_pk PRIMARY KEY ( id )
  );
 
@@ -167,6 +168,8 @@ CREATE INDEX feature_valid_from_inx ON feature  ( valid_from );
 
 CREATE INDEX feature_valid_to_inx ON feature  ( valid_to );
 
+CREATE INDEX feature_content_hash_inx ON feature  ( objectid , content_hash );
+
 CREATE  TABLE geometry_data (
 	id                   bigint DEFAULT nextval('geometry_data_seq'::regclass) NOT NULL  ,
 	geometry             geometry(GEOMETRYZ)    ,